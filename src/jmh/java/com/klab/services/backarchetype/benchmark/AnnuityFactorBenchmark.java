@@ -0,0 +1,51 @@
+package com.klab.services.backarchetype.benchmark;
+
+import com.klab.services.backarchetype.domain.calculator.AnnuityFactorTable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the annuity factor table lookup with computing the factor on every call.
+ * <b>Class</b>: AnnuityFactorBenchmark
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnnuityFactorBenchmark {
+
+  private final AnnuityFactorTable table = new AnnuityFactorTable();
+
+  @Param({"12.5", "18.37"})
+  private double annualInterestRate;
+
+  @Param({"24", "60"})
+  private int termMonths;
+
+  @Benchmark
+  public double lookup() {
+    return table.factor(annualInterestRate, termMonths);
+  }
+
+  @Benchmark
+  public double pow() {
+    double monthlyRate = AnnuityFactorTable.monthlyRate(annualInterestRate);
+    return monthlyRate / (1 - Math.pow(1 + monthlyRate, -termMonths));
+  }
+
+}
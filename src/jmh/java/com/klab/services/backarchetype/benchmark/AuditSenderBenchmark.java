@@ -0,0 +1,111 @@
+package com.klab.services.backarchetype.benchmark;
+
+import com.klab.services.backarchetype.domain.builder.LoanQuotationBuilder;
+import com.klab.services.backarchetype.mapper.LoanQuotationMapperImpl;
+import com.klab.services.backarchetype.messaging.AuditEncoder;
+import com.klab.services.backarchetype.messaging.AuditEncoder.AuditFormat;
+import com.klab.services.config.KafkaConfiguration;
+import com.klab.services.config.KafkaConfiguration.SenderScheduler;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import reactor.core.publisher.Flux;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+
+/**
+ * Measures the acked audit throughput of the producer settings of each application profile
+ * against a real broker, such as the one in {@code ops/kafka}. The broker and the topic are
+ * taken from the {@code benchmark.kafka.bootstrap} and {@code benchmark.kafka.topic} system
+ * properties.
+ * <b>Class</b>: AuditSenderBenchmark
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AuditSenderBenchmark {
+
+  private static final int BATCH = 1_000;
+
+  @Param({"local", "prod"})
+  private String profile;
+
+  private KafkaSender<String, byte[]> sender;
+  private String topic;
+  private byte[] payload;
+
+  @Setup
+  public void setUp() throws IOException {
+    List<PropertySource<?>> sources = new YamlPropertySourceLoader()
+        .load(profile, new ClassPathResource("application-" + profile + ".yml"));
+    Binder binder = new Binder(ConfigurationPropertySources.from(sources));
+    Map<String, Object> producerProperties = new HashMap<>(binder
+        .bind("spring.kafka.producer.properties", Bindable.mapOf(String.class, Object.class))
+        .orElseGet(Map::of));
+    producerProperties.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG,
+        System.getProperty("benchmark.kafka.bootstrap", "localhost:29092"));
+    producerProperties.put("security.protocol",
+        System.getProperty("benchmark.kafka.security-protocol", "PLAINTEXT"));
+    int maxInFlight = binder.bind("spring.kafka.producer.max-in-flight", Integer.class)
+        .orElse(1024);
+    SenderScheduler scheduler = binder
+        .bind("spring.kafka.producer.scheduler", SenderScheduler.class)
+        .orElse(SenderScheduler.SINGLE);
+    sender = KafkaSender.create(KafkaConfiguration.auditSenderOptions(Map.of(),
+        producerProperties, maxInFlight, scheduler));
+    topic = System.getProperty("benchmark.kafka.topic", "audit-benchmark");
+    payload = new AuditEncoder(AuditFormat.V2, 1).encode(new LoanQuotationMapperImpl().toAudit(
+        new LoanQuotationBuilder(BenchmarkFixtures.calculator())
+            .build(BenchmarkFixtures.request(), BenchmarkFixtures.exchangeRate())));
+  }
+
+  @TearDown
+  public void tearDown() {
+    sender.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public long sendAcked() {
+    Long failed = sender.send(Flux.range(0, BATCH)
+            .map(i -> SenderRecord.create(new ProducerRecord<String, byte[]>(topic, payload), i)))
+        .filter(result -> result.exception() != null)
+        .count()
+        .block();
+    if (failed != null && failed > 0) {
+      throw new IllegalStateException(failed + " audit records were not acked");
+    }
+    return BATCH;
+  }
+
+}
@@ -0,0 +1,59 @@
+package com.klab.services.backarchetype.benchmark;
+
+import com.klab.services.backarchetype.domain.calculator.AnnuityFactorTable;
+import com.klab.services.backarchetype.domain.calculator.LoanQuotationCalculator;
+import com.klab.services.model.api.ExchangeRateInfo;
+import com.klab.services.model.api.LoanQuotationRequest;
+import com.klab.services.thirdparty.currencyexchange.model.CurrencyExchangeResponse;
+import java.time.LocalDate;
+
+/**
+ * Shared inputs for the quotation benchmarks.
+ * <b>Class</b>: BenchmarkFixtures
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+final class BenchmarkFixtures {
+
+  static final String DNI = "12345678";
+  static final double BUY_RATE = 3.7412;
+  static final double SELL_RATE = 3.7521;
+  static final String SOURCE = "SUNAT";
+
+  private BenchmarkFixtures() {
+  }
+
+  static LoanQuotationCalculator calculator() {
+    return new LoanQuotationCalculator(new AnnuityFactorTable());
+  }
+
+  static LoanQuotationRequest request() {
+    LoanQuotationRequest request = new LoanQuotationRequest();
+    request.setDni(DNI);
+    request.setAmountUsd(25_000.50);
+    request.setTermMonths(36);
+    request.setAnnualInterestRate(14.75);
+    return request;
+  }
+
+  static ExchangeRateInfo exchangeRate() {
+    ExchangeRateInfo exchangeRate = new ExchangeRateInfo();
+    exchangeRate.setDate(LocalDate.now());
+    exchangeRate.setBuyRate(BUY_RATE);
+    exchangeRate.setSellRate(SELL_RATE);
+    exchangeRate.setSource(SOURCE);
+    return exchangeRate;
+  }
+
+  static CurrencyExchangeResponse currencyExchange() {
+    return new CurrencyExchangeResponse()
+        .date(LocalDate.now())
+        .currency("USD")
+        .buyRate(BUY_RATE)
+        .sellRate(SELL_RATE)
+        .source(SOURCE);
+  }
+
+}
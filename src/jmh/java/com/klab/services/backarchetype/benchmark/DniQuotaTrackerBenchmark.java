@@ -0,0 +1,94 @@
+package com.klab.services.backarchetype.benchmark;
+
+import com.klab.services.backarchetype.quota.DniQuotaTracker;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.jboss.logging.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the DNI-indexed quota counters with a concurrent map of boxed counters.
+ * Each operation takes a query from a DNI and gives it back, over a fixed set of DNIs drawn
+ * from a population of 1M or of all 100M DNIs, so the map stays bounded while the tracker has
+ * to touch up to every page. The memory of the tracker counters is logged at the end of each
+ * trial; run with {@code -prof gc} to compare the allocation rates.
+ * <b>Class</b>: DniQuotaTrackerBenchmark
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DniQuotaTrackerBenchmark {
+
+  private static final Logger LOGGER = Logger.getLogger(DniQuotaTrackerBenchmark.class);
+
+  private static final int DAILY_LIMIT = 10;
+  private static final int KEYS = 1 << 16;
+
+  @Param({"1000000", "100000000"})
+  private int population;
+
+  private final String[] dnis = new String[KEYS];
+  private final Map<String, Integer> map = new ConcurrentHashMap<>();
+  private DniQuotaTracker tracker;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(42);
+    for (int index = 0; index < KEYS; index++) {
+      dnis[index] = String.format("%08d", random.nextInt(population));
+    }
+    tracker = new DniQuotaTracker(DAILY_LIMIT, "America/Lima");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (tracker.footprintBytes() == 0) {
+      return;
+    }
+    LOGGER.infof("Tracker counters hold %d KiB for %d DNIs of a population of %d",
+        tracker.footprintBytes() / 1024, KEYS, population);
+  }
+
+  @Benchmark
+  public boolean tracker() {
+    String dni = nextDni();
+    boolean acquired = tracker.tryAcquire(dni);
+    tracker.release(dni);
+    return acquired;
+  }
+
+  @Benchmark
+  public boolean concurrentMap() {
+    String dni = nextDni();
+    boolean acquired = map.merge(dni, 1, Integer::sum) <= DAILY_LIMIT;
+    map.merge(dni, -1, Integer::sum);
+    return acquired;
+  }
+
+  private String nextDni() {
+    return dnis[next++ & (KEYS - 1)];
+  }
+
+}
@@ -0,0 +1,87 @@
+package com.klab.services.backarchetype.benchmark;
+
+import com.klab.services.backarchetype.concurrent.BlockingBulkhead;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Measures how long a trivial task waits for an event loop while a steady stream of blocking
+ * calls runs either on the event loop itself or in the {@link BlockingBulkhead}. A two thread
+ * parallel scheduler stands in for the Netty event loop.
+ * <b>Class</b>: EventLoopResponsivenessBenchmark
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventLoopResponsivenessBenchmark {
+
+  private static final Duration BLOCKING_CALL = Duration.ofMillis(2);
+  private static final int BLOCKING_CONCURRENCY = 32;
+
+  @Param({"event-loop", "bulkhead"})
+  private String mode;
+
+  private Scheduler eventLoop;
+  private BlockingBulkhead bulkhead;
+  private Disposable load;
+
+  @Setup
+  public void setUp() {
+    eventLoop = Schedulers.newParallel("event-loop", 2);
+    bulkhead = new BlockingBulkhead("benchmark-blocking", 256);
+    load = Flux.interval(Duration.ofMillis(1))
+        .onBackpressureDrop()
+        .flatMap(tick -> blockingCall(), BLOCKING_CONCURRENCY)
+        .subscribe();
+  }
+
+  @TearDown
+  public void tearDown() {
+    load.dispose();
+    bulkhead.dispose();
+    eventLoop.dispose();
+  }
+
+  @Benchmark
+  public Integer eventLoopTask() {
+    return Mono.fromCallable(() -> 1).subscribeOn(eventLoop).block();
+  }
+
+  private Mono<Long> blockingCall() {
+    if ("bulkhead".equals(mode)) {
+      return bulkhead.call(EventLoopResponsivenessBenchmark::block)
+          .publishOn(eventLoop);
+    }
+    return Mono.fromCallable(EventLoopResponsivenessBenchmark::block).subscribeOn(eventLoop);
+  }
+
+  private static Long block() throws InterruptedException {
+    Thread.sleep(BLOCKING_CALL.toMillis());
+    return BLOCKING_CALL.toMillis();
+  }
+
+}
@@ -0,0 +1,68 @@
+package com.klab.services.backarchetype.benchmark;
+
+import com.klab.services.backarchetype.domain.builder.LoanQuotationBuilder;
+import com.klab.services.backarchetype.domain.calculator.LoanQuotationCalculator;
+import com.klab.services.backarchetype.domain.calculator.LoanQuotationFigures;
+import com.klab.services.model.api.ExchangeRateInfo;
+import com.klab.services.model.api.LoanQuotationRequest;
+import com.klab.services.model.api.LoanQuotationResponse;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link LoanQuotationBuilder} with the original BigDecimal builder. Run with the gc
+ * profiler (enabled by the benchmark profile) to compare the allocation rate per operation.
+ * <b>Class</b>: LoanQuotationBuilderBenchmark
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoanQuotationBuilderBenchmark {
+
+  private final LoanQuotationCalculator calculator = BenchmarkFixtures.calculator();
+  private final LoanQuotationBuilder builder = new LoanQuotationBuilder(calculator);
+  private final LegacyLoanQuotationBuilder legacyBuilder = new LegacyLoanQuotationBuilder();
+  private final LoanQuotationFigures figures = new LoanQuotationFigures();
+
+  private LoanQuotationRequest request;
+  private ExchangeRateInfo exchangeRate;
+
+  @Setup
+  public void setUp() {
+    request = BenchmarkFixtures.request();
+    exchangeRate = BenchmarkFixtures.exchangeRate();
+  }
+
+  @Benchmark
+  public LoanQuotationResponse legacyBuild() {
+    return legacyBuilder.build(request, exchangeRate);
+  }
+
+  @Benchmark
+  public LoanQuotationResponse build() {
+    return builder.build(request, exchangeRate);
+  }
+
+  @Benchmark
+  public LoanQuotationFigures calculate() {
+    return calculator.calculate(request.getAmountUsd(), request.getAnnualInterestRate(),
+        request.getTermMonths(), exchangeRate.getSellRate(), figures);
+  }
+
+}
@@ -0,0 +1,150 @@
+package com.klab.services.backarchetype.benchmark;
+
+import com.klab.core.starter.audit.model.avro.AvroAuditV2;
+import com.klab.services.backarchetype.domain.builder.AmortizationScheduleBuilder;
+import com.klab.services.backarchetype.domain.builder.LoanQuotationBuilder;
+import com.klab.services.backarchetype.domain.builder.LoanQuotationGridBuilder;
+import com.klab.services.backarchetype.domain.calculator.AnnuityFactorTable;
+import com.klab.services.backarchetype.domain.calculator.LoanQuotationCalculator;
+import com.klab.services.backarchetype.domain.calculator.LoanQuotationFigures;
+import com.klab.services.backarchetype.domain.calculator.LoanQuotationGridCalculator;
+import com.klab.services.backarchetype.domain.calculator.LoanQuotationGridFigures;
+import com.klab.services.backarchetype.mapper.LoanQuotationMapperImpl;
+import com.klab.services.backarchetype.metrics.QuotationMetrics;
+import com.klab.services.backarchetype.repository.LoanQuotationTraceWriter;
+import com.klab.services.backarchetype.repository.entity.LoanQuotationTrace;
+import com.klab.services.backarchetype.services.impl.LoanQuotationGridServiceImpl;
+import com.klab.services.backarchetype.services.impl.LoanQuotationServiceImpl;
+import com.klab.services.backarchetype.services.policy.Durability;
+import com.klab.services.model.api.LoanQuotationGridRequest;
+import com.klab.services.model.api.LoanQuotationGridResponse;
+import com.klab.services.model.api.LoanQuotationRequest;
+import com.klab.services.thirdparty.currencyexchange.model.CurrencyExchangeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Mono;
+
+/**
+ * Compares a grid of 26 rates by 10 terms, quoted with the SIMD or the scalar installment
+ * kernel, with the same 260 cells quoted one by one, both through the services, with in-memory
+ * stand-ins for the currency exchange proxy and the trace writer, and through the calculators
+ * alone. The {@code single*} benchmarks do not depend on the kernel.
+ * <b>Class</b>: LoanQuotationGridBenchmark
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoanQuotationGridBenchmark {
+
+  @Param({"simd", "scalar"})
+  private String kernel;
+
+  private LoanQuotationCalculator calculator;
+  private LoanQuotationGridCalculator gridCalculator;
+  private LoanQuotationServiceImpl service;
+  private LoanQuotationGridServiceImpl gridService;
+  private LoanQuotationGridRequest gridRequest;
+  private LoanQuotationRequest[] requests;
+  private double[] rates;
+  private int[] terms;
+
+  @Setup
+  public void setUp() {
+    CurrencyExchangeResponse currencyExchange = BenchmarkFixtures.currencyExchange();
+    AnnuityFactorTable annuityFactors = new AnnuityFactorTable();
+    calculator = new LoanQuotationCalculator(annuityFactors);
+    gridCalculator = new LoanQuotationGridCalculator(annuityFactors, "simd".equals(kernel));
+    LoanQuotationMapperImpl mapper = new LoanQuotationMapperImpl();
+    QuotationMetrics metrics = new QuotationMetrics(new SimpleMeterRegistry());
+    service = new LoanQuotationServiceImpl(dni -> Mono.just(currencyExchange),
+        new NoOpTraceWriter(), new LoanQuotationBuilder(calculator),
+        new AmortizationScheduleBuilder(calculator), mapper, metrics,
+        Durability.STRICT, Duration.ofSeconds(2));
+    gridService = new LoanQuotationGridServiceImpl(dni -> Mono.just(currencyExchange),
+        new NoOpTraceWriter(), new LoanQuotationGridBuilder(gridCalculator), mapper, metrics,
+        1000, Durability.STRICT, Duration.ofSeconds(2));
+
+    LoanQuotationRequest single = BenchmarkFixtures.request();
+    gridRequest = new LoanQuotationGridRequest(single.getDni(), single.getAmountUsd(), 6, 60,
+        5.0, 30.0).termMonthsStep(6).annualInterestRateStep(1.0);
+    rates = new double[26];
+    terms = new int[10];
+    requests = new LoanQuotationRequest[rates.length * terms.length];
+    for (int row = 0; row < rates.length; row++) {
+      rates[row] = 5 + row;
+      for (int column = 0; column < terms.length; column++) {
+        terms[column] = 6 * (column + 1);
+        LoanQuotationRequest request = new LoanQuotationRequest();
+        request.setDni(single.getDni());
+        request.setAmountUsd(single.getAmountUsd());
+        request.setTermMonths(terms[column]);
+        request.setAnnualInterestRate(rates[row]);
+        requests[row * terms.length + column] = request;
+      }
+    }
+  }
+
+  @Benchmark
+  public LoanQuotationGridResponse quoteGrid() {
+    return gridService.quoteLoanGrid(Mono.just(gridRequest), null).block();
+  }
+
+  @Benchmark
+  public void quoteSingles(Blackhole blackhole) {
+    for (LoanQuotationRequest request : requests) {
+      blackhole.consume(service.quoteLoan(Mono.just(request), null).block());
+    }
+  }
+
+  @Benchmark
+  public LoanQuotationGridFigures calculateGrid() {
+    return gridCalculator.calculate(gridRequest.getAmountUsd(), rates, terms,
+        BenchmarkFixtures.SELL_RATE);
+  }
+
+  @Benchmark
+  public void calculateSingles(Blackhole blackhole) {
+    LoanQuotationFigures figures = new LoanQuotationFigures();
+    for (double rate : rates) {
+      for (int term : terms) {
+        blackhole.consume(calculator.calculate(gridRequest.getAmountUsd(), rate, term,
+            BenchmarkFixtures.SELL_RATE, figures).getTotalPaymentPen());
+      }
+    }
+  }
+
+  private static final class NoOpTraceWriter implements LoanQuotationTraceWriter {
+
+    @Override
+    public Mono<Void> write(LoanQuotationTrace trace, AvroAuditV2 audit) {
+      return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> writeAll(List<LoanQuotationTrace> batch, List<AvroAuditV2> audits) {
+      return Mono.empty();
+    }
+  }
+
+}
@@ -0,0 +1,60 @@
+package com.klab.services.backarchetype.benchmark;
+
+import com.klab.services.backarchetype.domain.builder.LoanQuotationBuilder;
+import com.klab.services.backarchetype.mapper.LoanQuotationMapper;
+import com.klab.services.backarchetype.mapper.LoanQuotationMapperImpl;
+import com.klab.services.backarchetype.repository.entity.LoanQuotationTrace;
+import com.klab.services.model.api.ExchangeRateInfo;
+import com.klab.services.model.api.LoanQuotationResponse;
+import com.klab.services.thirdparty.currencyexchange.model.CurrencyExchangeResponse;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the MapStruct mappings used on every quotation.
+ * <b>Class</b>: LoanQuotationMapperBenchmark
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoanQuotationMapperBenchmark {
+
+  private final LoanQuotationMapper mapper = new LoanQuotationMapperImpl();
+
+  private CurrencyExchangeResponse currencyExchange;
+  private LoanQuotationResponse response;
+
+  @Setup
+  public void setUp() {
+    currencyExchange = BenchmarkFixtures.currencyExchange();
+    response = new LoanQuotationBuilder(BenchmarkFixtures.calculator())
+        .build(BenchmarkFixtures.request(), BenchmarkFixtures.exchangeRate());
+  }
+
+  @Benchmark
+  public ExchangeRateInfo toExchangeRateInfo() {
+    return mapper.toExchangeRateInfo(currencyExchange);
+  }
+
+  @Benchmark
+  public LoanQuotationTrace toTrace() {
+    return mapper.toTrace(response);
+  }
+
+}
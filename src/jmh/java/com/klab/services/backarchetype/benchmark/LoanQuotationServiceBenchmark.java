@@ -0,0 +1,100 @@
+package com.klab.services.backarchetype.benchmark;
+
+import com.klab.core.starter.audit.model.avro.AvroAuditV2;
+import com.klab.services.backarchetype.domain.builder.AmortizationScheduleBuilder;
+import com.klab.services.backarchetype.domain.builder.LoanQuotationBuilder;
+import com.klab.services.backarchetype.domain.calculator.LoanQuotationCalculator;
+import com.klab.services.backarchetype.mapper.LoanQuotationMapperImpl;
+import com.klab.services.backarchetype.messaging.AuditEncoder;
+import com.klab.services.backarchetype.messaging.AuditEncoder.AuditFormat;
+import com.klab.services.backarchetype.metrics.QuotationMetrics;
+import com.klab.services.backarchetype.repository.LoanQuotationTraceWriter;
+import com.klab.services.backarchetype.repository.entity.LoanQuotationTrace;
+import com.klab.services.backarchetype.services.impl.LoanQuotationServiceImpl;
+import com.klab.services.backarchetype.services.policy.Durability;
+import com.klab.services.model.api.LoanQuotationRequest;
+import com.klab.services.model.api.LoanQuotationResponse;
+import com.klab.services.thirdparty.currencyexchange.model.CurrencyExchangeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+/**
+ * Measures the full quoteLoan reactive chain with in-memory stand-ins for the currency exchange
+ * proxy and the trace writer, which still encodes the audit events for the outbox.
+ * <b>Class</b>: LoanQuotationServiceBenchmark
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoanQuotationServiceBenchmark {
+
+  private final LongAdder traces = new LongAdder();
+
+  private final AuditEncoder auditEncoder = new AuditEncoder(AuditFormat.V2, 1);
+
+  private LoanQuotationServiceImpl service;
+  private LoanQuotationRequest request;
+
+  @Setup
+  public void setUp() {
+    CurrencyExchangeResponse currencyExchange = BenchmarkFixtures.currencyExchange();
+    LoanQuotationCalculator calculator = BenchmarkFixtures.calculator();
+    service = new LoanQuotationServiceImpl(
+        dni -> Mono.just(currencyExchange),
+        new CountingTraceWriter(),
+        new LoanQuotationBuilder(calculator),
+        new AmortizationScheduleBuilder(calculator),
+        new LoanQuotationMapperImpl(),
+        new QuotationMetrics(new SimpleMeterRegistry()),
+        Durability.STRICT, Duration.ofSeconds(2));
+    request = BenchmarkFixtures.request();
+  }
+
+  @Benchmark
+  public LoanQuotationResponse quoteLoan() {
+    return service.quoteLoan(Mono.just(request), null).block();
+  }
+
+  private final class CountingTraceWriter implements LoanQuotationTraceWriter {
+
+    @Override
+    public Mono<Void> write(LoanQuotationTrace trace, AvroAuditV2 audit) {
+      return Mono.fromRunnable(() -> {
+        auditEncoder.encode(audit);
+        traces.increment();
+      });
+    }
+
+    @Override
+    public Mono<Void> writeAll(List<LoanQuotationTrace> batch, List<AvroAuditV2> audits) {
+      return Mono.fromRunnable(() -> {
+        audits.forEach(auditEncoder::encode);
+        traces.add(batch.size());
+      });
+    }
+  }
+
+}
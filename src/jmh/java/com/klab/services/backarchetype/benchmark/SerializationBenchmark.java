@@ -0,0 +1,70 @@
+package com.klab.services.backarchetype.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.klab.core.starter.audit.model.avro.AvroAuditV2;
+import com.klab.services.backarchetype.domain.builder.LoanQuotationBuilder;
+import com.klab.services.backarchetype.mapper.LoanQuotationMapperImpl;
+import com.klab.services.backarchetype.messaging.AuditEncoder;
+import com.klab.services.backarchetype.messaging.AuditEncoder.AuditFormat;
+import com.klab.services.model.api.LoanQuotationResponse;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Measures the serialization of the quotation response to JSON and of the audit event to the
+ * Kafka record value, in the legacy string map format and in the typed v2 format.
+ * <b>Class</b>: SerializationBenchmark
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+  private final AuditEncoder v1Encoder = new AuditEncoder(AuditFormat.V1, 1);
+  private final AuditEncoder v2Encoder = new AuditEncoder(AuditFormat.V2, 2);
+
+  private LoanQuotationResponse response;
+  private AvroAuditV2 audit;
+
+  @Setup
+  public void setUp() {
+    response = new LoanQuotationBuilder(BenchmarkFixtures.calculator())
+        .build(BenchmarkFixtures.request(), BenchmarkFixtures.exchangeRate());
+    audit = new LoanQuotationMapperImpl().toAudit(response);
+  }
+
+  @Benchmark
+  public byte[] jacksonResponse() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(response);
+  }
+
+  @Benchmark
+  public byte[] avroAuditV1() {
+    return v1Encoder.encode(audit);
+  }
+
+  @Benchmark
+  public byte[] avroAuditV2() {
+    return v2Encoder.encode(audit);
+  }
+
+}
@@ -0,0 +1,135 @@
+package com.klab.services.backarchetype.loadtest;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.jboss.logging.Logger;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Open model load driver for {@code POST /v1/quotations/loan}.
+ * Requests are started at a fixed arrival rate whatever the response times, like the constant
+ * arrival rate executor of k6, and each latency is measured from the time the request was
+ * scheduled, so a stalled server shows up in the percentiles instead of slowing the driver
+ * down. Every request uses a new DNI so idempotent replays never short-circuit the quotation.
+ * A stage in which no request succeeds fails the run, since its latencies would only measure
+ * how fast the server rejects the requests.
+ * <b>Class</b>: ArrivalRateDriver
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public final class ArrivalRateDriver implements AutoCloseable {
+
+  private static final Logger LOGGER = Logger.getLogger(ArrivalRateDriver.class);
+
+  private static final String BODY = "{\"dni\":\"%08d\",\"amount_usd\":%.2f,\"term_months\":%d,"
+      + "\"annual_interest_rate\":%.2f}";
+
+  private final WebClient webClient;
+  private final ConnectionProvider connectionProvider;
+  private final String path;
+  private final int maxInFlight;
+  private final Duration requestTimeout;
+  private final AtomicLong dni;
+
+  /**
+   * Constructor for ArrivalRateDriver.
+   *
+   * @param baseUrl        the base URL of the application under test
+   * @param path           the path of the loan quotation endpoint
+   * @param maxInFlight    the maximum number of outstanding requests, beyond which scheduled
+   *                       requests are dropped and counted as errors
+   * @param requestTimeout the time after which a request is abandoned
+   */
+  public ArrivalRateDriver(String baseUrl, String path, int maxInFlight,
+                           Duration requestTimeout) {
+    this.path = path;
+    this.maxInFlight = maxInFlight;
+    this.requestTimeout = requestTimeout;
+    this.dni = new AtomicLong(ThreadLocalRandom.current().nextLong(100_000_000L));
+    this.connectionProvider = ConnectionProvider.builder("load-test")
+        .maxConnections(maxInFlight)
+        .pendingAcquireMaxCount(-1)
+        .build();
+    this.webClient = WebClient.builder()
+        .baseUrl(baseUrl)
+        .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+        .build();
+  }
+
+  /**
+   * Runs one stage at a fixed arrival rate and waits for its last response.
+   *
+   * @param rate     the requests per second
+   * @param duration the length of the stage
+   * @return the {@link StageResult}
+   * @throws IllegalStateException when requests completed but none with a 2xx status
+   */
+  public StageResult run(int rate, Duration duration) {
+    long periodNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+    long requests = duration.toNanos() / periodNanos;
+    Histogram latencies = new ConcurrentHistogram(3);
+    Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    LongAdder dropped = new LongAdder();
+    LOGGER.infof("Stage of %d req/s for %s, %d requests", rate, duration, requests);
+
+    long start = System.nanoTime();
+    Flux.interval(Duration.ZERO, Duration.ofNanos(periodNanos))
+        .take(requests)
+        .onBackpressureDrop(tick -> dropped.increment())
+        .flatMap(tick -> {
+          long scheduledAt = start + tick * periodNanos;
+          return quote().doOnNext(outcome -> {
+            latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledAt));
+            outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+          });
+        }, maxInFlight)
+        .blockLast(duration.plus(requestTimeout).multipliedBy(2));
+
+    StageResult result = new StageResult(rate, Duration.ofNanos(System.nanoTime() - start),
+        dropped.sum(), outcomes.entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, outcome -> outcome.getValue().sum())),
+        latencies);
+    if (result.succeeded() == 0) {
+      throw new IllegalStateException("No request to " + path + " succeeded at " + rate
+          + " req/s, outcomes " + result.outcomes());
+    }
+    return result;
+  }
+
+  @Override
+  public void close() {
+    connectionProvider.disposeLater().block();
+  }
+
+  private Mono<String> quote() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    String body = String.format(Locale.ROOT, BODY, dni.getAndIncrement() % 100_000_000L,
+        random.nextInt(100_000, 10_000_000) / 100.0, random.nextInt(6, 61), 14.75);
+    return webClient.post()
+        .uri(path)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(body)
+        .exchangeToMono(response -> response.releaseBody()
+            .thenReturn(String.valueOf(response.statusCode().value())))
+        .timeout(requestTimeout)
+        .onErrorResume(error -> Mono.just(error.getClass().getSimpleName()));
+  }
+
+}
@@ -0,0 +1,138 @@
+package com.klab.services.backarchetype.loadtest;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import org.jboss.logging.Logger;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+/**
+ * Local stand-in for the currency exchange API, following the
+ * {@code api-currency-exchange-service-v1-0-0.yaml} contract.
+ * Every response is delayed by a fixed latency. Each DNI gets the daily query limit of the
+ * contract, and on top of it a share of the calls is throttled with a 429 to exercise the
+ * retry and breaker policies of the client.
+ * <b>Class</b>: ExchangeApiStub
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public final class ExchangeApiStub implements AutoCloseable {
+
+  private static final Logger LOGGER = Logger.getLogger(ExchangeApiStub.class);
+
+  private static final Pattern DNI = Pattern.compile("^\\d{8}$");
+  private static final ZoneId ZONE = ZoneId.of("America/Lima");
+  private static final String RATE_BODY = "{\"date\":\"%s\",\"currency\":\"USD\","
+      + "\"buyRate\":3.72,\"sellRate\":3.75,\"source\":\"SUNAT/SBS\"}";
+  private static final String ERROR_BODY = "{\"error\":\"%s\",\"message\":\"%s\"}";
+  private static final String RATE_LIMIT_BODY = "{\"error\":\"Rate Limit Exceeded\","
+      + "\"message\":\"Daily consultation limit reached. Maximum %d queries per day.\","
+      + "\"dni\":\"%s\",\"queries_used\":%d,\"queries_limit\":%d,\"reset_time\":\"%s\"}";
+
+  private final Duration latency;
+  private final double throttleRatio;
+  private final int dailyLimit;
+  private final Map<String, Integer> queriesByDni = new ConcurrentHashMap<>();
+  private final LongAdder calls = new LongAdder();
+  private final LongAdder throttled = new LongAdder();
+  private final DisposableServer server;
+
+  /**
+   * Starts the stub on a free local port.
+   *
+   * @param latency       the delay added to every response
+   * @param throttleRatio the share of calls, from 0 to 1, answered with a 429
+   * @param dailyLimit    the number of queries each DNI may make per day
+   */
+  public ExchangeApiStub(Duration latency, double throttleRatio, int dailyLimit) {
+    this.latency = latency;
+    this.throttleRatio = throttleRatio;
+    this.dailyLimit = dailyLimit;
+    this.server = HttpServer.create()
+        .host("127.0.0.1")
+        .port(0)
+        .route(routes -> routes.get("/api/v1/currency-exchange", this::currencyExchange))
+        .bindNow();
+    LOGGER.infof("Exchange API stub on %s, latency %s, throttle ratio %.3f, daily limit %d",
+        baseUrl(), latency, throttleRatio, dailyLimit);
+  }
+
+  /**
+   * Returns the base URL the client should be configured with.
+   *
+   * @return the base URL of the stub
+   */
+  public String baseUrl() {
+    return "http://127.0.0.1:" + server.port() + "/api/v1";
+  }
+
+  /**
+   * Returns the number of calls received.
+   *
+   * @return the calls received so far
+   */
+  public long calls() {
+    return calls.sum();
+  }
+
+  /**
+   * Returns the number of calls answered with a 429.
+   *
+   * @return the calls throttled so far
+   */
+  public long throttled() {
+    return throttled.sum();
+  }
+
+  @Override
+  public void close() {
+    server.disposeNow();
+  }
+
+  private Mono<Void> currencyExchange(HttpServerRequest request, HttpServerResponse response) {
+    calls.increment();
+    List<String> dnis = new QueryStringDecoder(request.uri()).parameters().get("dni");
+    String dni = dnis == null ? null : dnis.get(0);
+    if (dni == null || !DNI.matcher(dni).matches()) {
+      return send(response, HttpResponseStatus.BAD_REQUEST,
+          ERROR_BODY.formatted("Bad Request", "DNI must be 8 digits"));
+    }
+    LocalDate today = LocalDate.now(ZONE);
+    String reset = today.plusDays(1).atStartOfDay(ZONE).toInstant().toString();
+    int used = queriesByDni.merge(today + "/" + dni, 1, Integer::sum);
+    if (used > dailyLimit || ThreadLocalRandom.current().nextDouble() < throttleRatio) {
+      throttled.increment();
+      return send(response, HttpResponseStatus.TOO_MANY_REQUESTS,
+          RATE_LIMIT_BODY.formatted(dailyLimit, dni, Math.min(used, dailyLimit), dailyLimit,
+              reset));
+    }
+    response.header("X-RateLimit-Limit", String.valueOf(dailyLimit))
+        .header("X-RateLimit-Remaining", String.valueOf(dailyLimit - used))
+        .header("X-RateLimit-Reset", reset);
+    return send(response, HttpResponseStatus.OK, RATE_BODY.formatted(today));
+  }
+
+  private Mono<Void> send(HttpServerResponse response, HttpResponseStatus status, String body) {
+    return Mono.delay(latency)
+        .then(response.status(status)
+            .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+            .sendString(Mono.just(body))
+            .then());
+  }
+
+}
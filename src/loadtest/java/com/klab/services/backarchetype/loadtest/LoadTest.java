@@ -0,0 +1,113 @@
+package com.klab.services.backarchetype.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import org.jboss.logging.Logger;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Load test of {@code POST /v1/quotations/loan} at fixed arrival rates.
+ * Unless {@code loadtest.target} points at a running instance, the application is started
+ * in a {@link LoadTestEnvironment}; {@code loadtest.path} overrides the endpoint path for
+ * instances served under another base path. After a warm-up, every rate of {@code loadtest.rates} runs
+ * for {@code loadtest.duration}, and the throughput, latency percentiles and error rate of
+ * each stage are logged and written as CSV to {@code loadtest.report.file}. The run exits with
+ * a non-zero status when a stage gets no 2xx response.
+ * <b>Class</b>: LoadTest
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public final class LoadTest {
+
+  private static final Logger LOGGER = Logger.getLogger(LoadTest.class);
+
+  private static final String HEADER = "rate,completed,dropped,throughput,error_rate,"
+      + "p50_ms,p90_ms,p99_ms,p999_ms,max_ms,outcomes";
+  private static final String ROW = "%d,%d,%d,%.1f,%.4f,%.2f,%.2f,%.2f,%.2f,%.2f,%s";
+
+  private LoadTest() {
+  }
+
+  /**
+   * Runs the load test with the settings given as {@code loadtest.*} system properties.
+   *
+   * @param args unused
+   * @throws IOException when the report cannot be written
+   */
+  public static void main(String[] args) throws IOException {
+    List<Integer> rates = Arrays.stream(setting("rates", "50,100,200").split(","))
+        .map(String::trim)
+        .map(Integer::valueOf)
+        .toList();
+    Duration duration = duration("duration", "30s");
+    Duration warmup = duration("warmup", "10s");
+    int maxInFlight = Integer.parseInt(setting("max-in-flight", "2048"));
+    Duration requestTimeout = duration("request-timeout", "10s");
+    Path report = Path.of(setting("report.file", "target/loadtest-report.csv"));
+    String target = setting("target", "");
+    String path = setting("path", "/v1/quotations/loan");
+
+    LoadTestEnvironment environment = target.isBlank() ? new LoadTestEnvironment(
+        duration("exchange.latency", "50ms"),
+        Double.parseDouble(setting("exchange.throttle-ratio", "0.02")),
+        Integer.parseInt(setting("exchange.daily-limit", "10")),
+        Boolean.parseBoolean(setting("exchange.cache", "true"))) : null;
+    String baseUrl = environment == null ? target : environment.baseUrl();
+    List<StageResult> results = new ArrayList<>();
+    IllegalStateException failure = null;
+    try (ArrivalRateDriver driver =
+             new ArrivalRateDriver(baseUrl, path, maxInFlight, requestTimeout)) {
+      LOGGER.infof("Load testing %s%s, warm-up %s at %d req/s", baseUrl, path, warmup,
+          rates.get(0));
+      driver.run(rates.get(0), warmup);
+      for (int rate : rates) {
+        StageResult result = driver.run(rate, duration);
+        LOGGER.info(row(result));
+        results.add(result);
+      }
+    } catch (IllegalStateException ex) {
+      failure = ex;
+    } finally {
+      if (environment != null) {
+        LOGGER.infof("Exchange API stub received %d calls, %d throttled",
+            environment.exchangeApi().calls(), environment.exchangeApi().throttled());
+        environment.close();
+      }
+    }
+
+    List<String> lines = new ArrayList<>(List.of(HEADER));
+    results.stream().map(LoadTest::row).forEach(lines::add);
+    Files.createDirectories(report.toAbsolutePath().getParent());
+    Files.write(report, lines);
+    LOGGER.infof("Load test report:%n%s", String.join(System.lineSeparator(), lines));
+    if (failure != null) {
+      LOGGER.errorf("Load test failed: %s", failure.getMessage());
+      System.exit(1);
+    }
+    System.exit(0);
+  }
+
+  private static String row(StageResult result) {
+    return String.format(Locale.ROOT, ROW, result.targetRate(), result.completed(),
+        result.dropped(), result.throughput(), result.errorRate(), result.latencyMillis(50),
+        result.latencyMillis(90), result.latencyMillis(99), result.latencyMillis(99.9),
+        result.latencyMillis(100), result.outcomes().toString().replace(',', ';'));
+  }
+
+  private static String setting(String name, String defaultValue) {
+    return System.getProperty("loadtest." + name, defaultValue);
+  }
+
+  private static Duration duration(String name, String defaultValue) {
+    return DurationStyle.detectAndParse(setting(name, defaultValue));
+  }
+
+}
@@ -0,0 +1,108 @@
+package com.klab.services.backarchetype.loadtest;
+
+import com.klab.services.BackArchetypeApplication;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.jboss.logging.Logger;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.kafka.ConfluentKafkaContainer;
+import org.testcontainers.lifecycle.Startables;
+
+/**
+ * Self-contained environment for the load test.
+ * Postgres and Kafka run in containers on the images used in {@code ops/}, the exchange API
+ * and the schema registry are stubbed in process, and the application is started with the
+ * local profile pointed at all of them.
+ * <b>Class</b>: LoadTestEnvironment
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public final class LoadTestEnvironment implements AutoCloseable {
+
+  private static final Logger LOGGER = Logger.getLogger(LoadTestEnvironment.class);
+
+  private static final String DATABASE = "financial_products_quotation";
+  private static final String USER = "back-archetype";
+
+  private final PostgreSQLContainer<?> postgres;
+  private final ConfluentKafkaContainer kafka;
+  private final ExchangeApiStub exchangeApi;
+  private final SchemaRegistryStub schemaRegistry;
+  private final ConfigurableApplicationContext application;
+
+  /**
+   * Starts the containers, the stubs and the application.
+   *
+   * @param exchangeLatency the delay added by the exchange API stub
+   * @param throttleRatio   the share of exchange API calls answered with a 429
+   * @param dailyLimit      the number of exchange API queries each DNI may make per day
+   * @param exchangeCache   false to disable the exchange rate cache and ledger, so every
+   *                        quotation reaches the exchange API stub
+   */
+  public LoadTestEnvironment(Duration exchangeLatency, double throttleRatio, int dailyLimit,
+                             boolean exchangeCache) {
+    this.postgres = new PostgreSQLContainer<>("postgres:17")
+        .withDatabaseName(DATABASE)
+        .withUsername(USER)
+        .withPassword(USER);
+    this.kafka = new ConfluentKafkaContainer("confluentinc/cp-kafka:7.9.5");
+    LOGGER.info("Starting Postgres and Kafka containers");
+    Startables.deepStart(postgres, kafka).join();
+    this.exchangeApi = new ExchangeApiStub(exchangeLatency, throttleRatio, dailyLimit);
+    this.schemaRegistry = new SchemaRegistryStub();
+
+    List<String> args = new ArrayList<>(List.of(
+        "--server.port=0",
+        "--spring.devtools.restart.enabled=false",
+        "--spring.r2dbc.url=r2dbc:postgresql://" + postgres.getHost() + ":"
+            + postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + DATABASE,
+        "--spring.r2dbc.username=" + USER,
+        "--spring.r2dbc.password=" + USER,
+        "--spring.flyway.url=" + postgres.getJdbcUrl(),
+        "--spring.flyway.user=" + USER,
+        "--spring.flyway.password=" + USER,
+        "--spring.kafka.properties.[schema.registry.url]=" + schemaRegistry.url(),
+        "--spring.kafka.producer.properties.[bootstrap.servers]=" + kafka.getBootstrapServers(),
+        "--spring.rest-client.currency-exchange-api-v1.url=" + exchangeApi.baseUrl()));
+    if (!exchangeCache) {
+      args.add("--spring.rest-client.currency-exchange-api-v1.cache.maximum-size=0");
+      args.add("--spring.rest-client.currency-exchange-api-v1.ledger.enabled=false");
+    }
+    this.application = new SpringApplicationBuilder(BackArchetypeApplication.class)
+        .profiles("local")
+        .run(args.toArray(String[]::new));
+  }
+
+  /**
+   * Returns the base URL of the application under test.
+   *
+   * @return the base URL of the application
+   */
+  public String baseUrl() {
+    return "http://127.0.0.1:" + application.getEnvironment().getProperty("local.server.port");
+  }
+
+  /**
+   * Returns the exchange API stub, to report the upstream calls it received.
+   *
+   * @return the {@link ExchangeApiStub}
+   */
+  public ExchangeApiStub exchangeApi() {
+    return exchangeApi;
+  }
+
+  @Override
+  public void close() {
+    application.close();
+    schemaRegistry.close();
+    exchangeApi.close();
+    kafka.stop();
+    postgres.stop();
+  }
+
+}
@@ -0,0 +1,60 @@
+package com.klab.services.backarchetype.loadtest;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+/**
+ * Local stand-in for the schema registry, answering the lookup and the registration of the
+ * audit schema with a fixed id so the audit encoder can start without a registry.
+ * <b>Class</b>: SchemaRegistryStub
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public final class SchemaRegistryStub implements AutoCloseable {
+
+  private static final String CONTENT_TYPE = "application/vnd.schemaregistry.v1+json";
+  private static final String SCHEMA_ID = "{\"id\":1}";
+
+  private final DisposableServer server;
+
+  /**
+   * Starts the stub on a free local port.
+   */
+  public SchemaRegistryStub() {
+    this.server = HttpServer.create()
+        .host("127.0.0.1")
+        .port(0)
+        .route(routes -> routes
+            .post("/subjects/{subject}/versions", this::schemaId)
+            .post("/subjects/{subject}", this::schemaId))
+        .bindNow();
+  }
+
+  /**
+   * Returns the URL the schema registry clients should be configured with.
+   *
+   * @return the URL of the stub
+   */
+  public String url() {
+    return "http://127.0.0.1:" + server.port();
+  }
+
+  @Override
+  public void close() {
+    server.disposeNow();
+  }
+
+  private Mono<Void> schemaId(HttpServerRequest request, HttpServerResponse response) {
+    return request.receive().then()
+        .then(response.header(HttpHeaderNames.CONTENT_TYPE, CONTENT_TYPE)
+            .sendString(Mono.just(SCHEMA_ID))
+            .then());
+  }
+
+}
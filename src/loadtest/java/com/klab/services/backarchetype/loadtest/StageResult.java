@@ -0,0 +1,74 @@
+package com.klab.services.backarchetype.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Outcome of one fixed arrival rate stage of the load test.
+ * <b>Class</b>: StageResult
+ * <b>Company</b>: Klab
+ *
+ * @param targetRate the requests per second the stage was scheduled at
+ * @param elapsed    the time from the first scheduled request to the last response
+ * @param dropped    the requests not sent because the in-flight limit was reached
+ * @param outcomes   the completed requests by HTTP status, or by error type on I/O failures
+ * @param latencies  the latencies in microseconds, measured from the scheduled start
+ * @author Klab Dev Team
+ */
+
+public record StageResult(int targetRate, Duration elapsed, long dropped,
+                          Map<String, Long> outcomes, Histogram latencies) {
+
+  /**
+   * Returns the number of completed requests.
+   *
+   * @return the completed requests
+   */
+  public long completed() {
+    return outcomes.values().stream().mapToLong(Long::longValue).sum();
+  }
+
+  /**
+   * Returns the completed requests per second.
+   *
+   * @return the achieved throughput
+   */
+  public double throughput() {
+    return completed() * 1_000_000_000.0 / Math.max(1L, elapsed.toNanos());
+  }
+
+  /**
+   * Returns the number of requests completed with a 2xx status.
+   *
+   * @return the succeeded requests
+   */
+  public long succeeded() {
+    return outcomes.entrySet().stream()
+        .filter(outcome -> outcome.getKey().startsWith("2"))
+        .mapToLong(Map.Entry::getValue)
+        .sum();
+  }
+
+  /**
+   * Returns the share of scheduled requests that did not complete with a 2xx, dropped
+   * requests included.
+   *
+   * @return the error rate, from 0 to 1
+   */
+  public double errorRate() {
+    long scheduled = completed() + dropped;
+    return scheduled == 0 ? 0.0 : (double) (scheduled - succeeded()) / scheduled;
+  }
+
+  /**
+   * Returns a latency percentile.
+   *
+   * @param percentile the percentile, from 0 to 100
+   * @return the latency in milliseconds
+   */
+  public double latencyMillis(double percentile) {
+    return latencies.getValueAtPercentile(percentile) / 1_000.0;
+  }
+
+}
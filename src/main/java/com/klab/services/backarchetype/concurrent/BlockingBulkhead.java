@@ -0,0 +1,83 @@
+package com.klab.services.backarchetype.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Bulkhead for blocking calls, backed by virtual threads.
+ * Blocking work must cross into it explicitly, either as a task through {@link #call} or by
+ * moving a stream onto {@link #scheduler()}, so that it never runs on a Netty event loop. Every
+ * task run by the scheduler holds a permit while it runs, so both paths share the concurrency
+ * limit. Tasks beyond the limit wait for a permit on their own virtual thread, which costs no
+ * platform thread.
+ * <b>Class</b>: BlockingBulkhead
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public class BlockingBulkhead {
+
+  private final ExecutorService executor;
+  private final Scheduler scheduler;
+  private final Semaphore permits;
+
+  /**
+   * Constructor for BlockingBulkhead.
+   *
+   * @param name           the name prefix of the virtual threads
+   * @param maxConcurrency the maximum number of tasks running at the same time
+   */
+  public BlockingBulkhead(String name, int maxConcurrency) {
+    this.executor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name(name + "-", 0).factory());
+    this.permits = new Semaphore(maxConcurrency);
+    this.scheduler = Schedulers.fromExecutor(this::execute);
+  }
+
+  private void execute(Runnable task) {
+    executor.execute(() -> {
+      permits.acquireUninterruptibly();
+      try {
+        task.run();
+      } finally {
+        permits.release();
+      }
+    });
+  }
+
+  /**
+   * Runs a blocking task on a virtual thread once a permit is available.
+   *
+   * @param task the blocking task
+   * @param <T>  the result type
+   * @return Mono emitting the task result
+   */
+  public <T> Mono<T> call(Callable<T> task) {
+    return Mono.fromCallable(task).subscribeOn(scheduler);
+  }
+
+  /**
+   * Returns the scheduler of the bulkhead, for streams whose downstream operators block. Each
+   * task it runs holds a permit of the concurrency limit.
+   *
+   * @return the virtual thread {@link Scheduler}
+   */
+  public Scheduler scheduler() {
+    return scheduler;
+  }
+
+  /**
+   * Stops accepting tasks and releases the executor.
+   */
+  public void dispose() {
+    scheduler.dispose();
+    executor.shutdown();
+  }
+
+}
@@ -0,0 +1,113 @@
+package com.klab.services.backarchetype.concurrent;
+
+/**
+ * Concurrency limit that adapts to the measured latency, after the gradient algorithm of
+ * Netflix concurrency-limits.
+ * Latencies are averaged over windows of completed requests. A long-term average tracks the
+ * latency of the service when it is healthy, and the ratio of that average to the last
+ * window, the gradient, shrinks the limit as soon as requests start queueing behind a slow
+ * dependency. While latency holds, the limit grows by the square root of itself, so a new
+ * capacity is found quickly without overshooting. Windows that used less than half of the
+ * limit say nothing about the capacity and leave it unchanged.
+ * <b>Class</b>: GradientConcurrencyLimit
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public class GradientConcurrencyLimit {
+
+  private static final double LONG_WINDOW_WEIGHT = 2.0 / (100 + 1);
+  private static final double MIN_GRADIENT = 0.5;
+  private static final double DRIFT_RATIO = 2.0;
+  private static final double DRIFT_DECAY = 0.95;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final int windowSize;
+  private final double smoothing;
+  private final double tolerance;
+
+  private volatile int limit;
+  private double estimatedLimit;
+  private double longRttNanos;
+  private long windowRttNanos;
+  private int windowSamples;
+  private int windowMaxInFlight;
+
+  /**
+   * Constructor for GradientConcurrencyLimit.
+   *
+   * @param initialLimit the limit before the first window completes
+   * @param minLimit     the lowest limit
+   * @param maxLimit     the highest limit
+   * @param windowSize   the number of samples averaged before each update
+   * @param smoothing    the weight, from 0 to 1, of each update in the limit
+   * @param tolerance    the latency increase, as a ratio of the long-term latency, tolerated
+   *                     before the limit shrinks
+   */
+  public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, int windowSize,
+                                  double smoothing, double tolerance) {
+    if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit
+        || initialLimit > maxLimit) {
+      throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max: "
+          + minLimit + ", " + initialLimit + ", " + maxLimit);
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.windowSize = windowSize;
+    this.smoothing = smoothing;
+    this.tolerance = tolerance;
+    this.limit = initialLimit;
+    this.estimatedLimit = initialLimit;
+  }
+
+  /**
+   * Returns the current limit.
+   *
+   * @return the maximum number of requests in flight
+   */
+  public int limit() {
+    return limit;
+  }
+
+  /**
+   * Records the latency of a completed request.
+   *
+   * @param rttNanos the latency of the request
+   * @param inFlight the requests in flight when the request started, itself included
+   */
+  public synchronized void onSample(long rttNanos, int inFlight) {
+    windowRttNanos += rttNanos;
+    windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+    if (++windowSamples < windowSize) {
+      return;
+    }
+    update(windowRttNanos / (double) windowSamples, windowMaxInFlight);
+    windowRttNanos = 0L;
+    windowSamples = 0;
+    windowMaxInFlight = 0;
+  }
+
+  private void update(double shortRttNanos, int maxInFlight) {
+    if (longRttNanos == 0.0) {
+      longRttNanos = shortRttNanos;
+    } else {
+      longRttNanos += (shortRttNanos - longRttNanos) * LONG_WINDOW_WEIGHT;
+    }
+    if (longRttNanos / shortRttNanos > DRIFT_RATIO) {
+      // latency dropped for good, forget the slower past faster than the average would
+      longRttNanos *= DRIFT_DECAY;
+    }
+    if (maxInFlight < estimatedLimit / 2) {
+      return;
+    }
+    double gradient = Math.max(MIN_GRADIENT,
+        Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+    double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+    estimatedLimit = Math.max(minLimit,
+        Math.min(maxLimit, estimatedLimit * (1 - smoothing) + target * smoothing));
+    limit = (int) estimatedLimit;
+  }
+
+}
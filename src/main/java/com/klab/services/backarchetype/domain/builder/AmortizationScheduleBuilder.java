@@ -0,0 +1,85 @@
+package com.klab.services.backarchetype.domain.builder;
+
+import static com.klab.services.backarchetype.util.Constants.CENTS_PER_UNIT;
+
+import com.klab.services.backarchetype.domain.calculator.AnnuityFactorTable;
+import com.klab.services.backarchetype.domain.calculator.LoanQuotationCalculator;
+import com.klab.services.model.api.AmortizationScheduleRow;
+import com.klab.services.model.api.LoanQuotationRequest;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Builder for French amortization schedules.
+ * Rows are generated one at a time as they are requested, with the same installment as the
+ * quotation; the last row takes the rounding difference so that the balance ends at zero.
+ * <b>Class</b>: AmortizationScheduleBuilder
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+@Component
+public class AmortizationScheduleBuilder {
+
+  private final LoanQuotationCalculator calculator;
+
+  /**
+   * Constructor for AmortizationScheduleBuilder.
+   *
+   * @param calculator the {@link LoanQuotationCalculator}
+   */
+  public AmortizationScheduleBuilder(LoanQuotationCalculator calculator) {
+    this.calculator = calculator;
+  }
+
+  /**
+   * Builds the amortization schedule of a loan.
+   *
+   * @param request the loan request
+   * @return Flux of {@link AmortizationScheduleRow}, one per period
+   */
+  public Flux<AmortizationScheduleRow> build(LoanQuotationRequest request) {
+    if (request == null) {
+      throw new IllegalArgumentException("Request must not be null");
+    }
+
+    int termMonths = request.getTermMonths();
+    long installmentCents = calculator.installmentCents(
+        request.getAmountUsd(), request.getAnnualInterestRate(), termMonths);
+    double monthlyRate = AnnuityFactorTable.monthlyRate(request.getAnnualInterestRate());
+    long principalCents = Math.round(request.getAmountUsd() * CENTS_PER_UNIT);
+
+    return Flux.generate(() -> new Balance(principalCents), (balance, sink) -> {
+      balance.period++;
+      long interestCents = balance.period == termMonths
+          ? installmentCents - balance.cents
+          : Math.round(balance.cents * monthlyRate);
+      long amortizedCents = installmentCents - interestCents;
+      balance.cents -= amortizedCents;
+      sink.next(new AmortizationScheduleRow(balance.period, toAmount(installmentCents),
+          toAmount(interestCents), toAmount(amortizedCents), toAmount(balance.cents)));
+      if (balance.period == termMonths) {
+        sink.complete();
+      }
+      return balance;
+    });
+  }
+
+  private static double toAmount(long cents) {
+    return cents / (double) CENTS_PER_UNIT;
+  }
+
+  /**
+   * Outstanding principal while the schedule is generated.
+   */
+  private static final class Balance {
+
+    private long cents;
+    private int period;
+
+    private Balance(long cents) {
+      this.cents = cents;
+    }
+  }
+
+}
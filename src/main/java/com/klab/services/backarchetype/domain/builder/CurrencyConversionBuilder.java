@@ -0,0 +1,105 @@
+package com.klab.services.backarchetype.domain.builder;
+
+import static com.klab.services.backarchetype.util.Constants.CENTS_PER_UNIT;
+
+import com.klab.services.backarchetype.domain.calculator.CurrencyConversionCalculator;
+import com.klab.services.model.api.ConversionProduct;
+import com.klab.services.model.api.CurrencyConversionBatchRequest;
+import com.klab.services.model.api.CurrencyConversionBatchResponse;
+import com.klab.services.model.api.CurrencyConversionRequest;
+import com.klab.services.model.api.CurrencyConversionResponse;
+import com.klab.services.model.api.ExchangeRateInfo;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builder for currency conversion response objects.
+ * Savings balances are converted at the buy rate and credit card consumptions at the sell
+ * rate, delegating the arithmetic to {@link CurrencyConversionCalculator}.
+ * <b>Class</b>: CurrencyConversionBuilder
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+@Component
+public class CurrencyConversionBuilder {
+
+  private final CurrencyConversionCalculator calculator;
+
+  /**
+   * Constructor for CurrencyConversionBuilder.
+   *
+   * @param calculator the {@link CurrencyConversionCalculator}
+   */
+  public CurrencyConversionBuilder(CurrencyConversionCalculator calculator) {
+    this.calculator = calculator;
+  }
+
+  /**
+   * Builds the conversion of a single amount.
+   *
+   * @param product      the product whose rate applies
+   * @param request      the conversion request
+   * @param exchangeRate the exchange rate info
+   * @return CurrencyConversionResponse
+   */
+  public CurrencyConversionResponse build(ConversionProduct product,
+                                          CurrencyConversionRequest request,
+                                          ExchangeRateInfo exchangeRate) {
+    if (request == null || exchangeRate == null) {
+      throw new IllegalArgumentException("Request and exchange rate must not be null");
+    }
+    double rate = appliedRate(product, exchangeRate);
+    long amountPenCents = calculator.toPenCents(request.getAmountUsd(), rate);
+    return new CurrencyConversionResponse(request.getDni(), product, request.getAmountUsd(),
+        toDecimal(amountPenCents), rate, exchangeRate, OffsetDateTime.now());
+  }
+
+  /**
+   * Builds the conversion of a list of amounts of the same customer.
+   *
+   * @param product      the product whose rate applies
+   * @param request      the batch conversion request
+   * @param exchangeRate the exchange rate info
+   * @return CurrencyConversionBatchResponse with the amounts in the request order
+   */
+  public CurrencyConversionBatchResponse buildBatch(ConversionProduct product,
+                                                    CurrencyConversionBatchRequest request,
+                                                    ExchangeRateInfo exchangeRate) {
+    if (request == null || exchangeRate == null) {
+      throw new IllegalArgumentException("Request and exchange rate must not be null");
+    }
+    double rate = appliedRate(product, exchangeRate);
+    List<Double> amounts = request.getAmountsUsd();
+    double[] amountsUsd = new double[amounts.size()];
+    for (int index = 0; index < amountsUsd.length; index++) {
+      amountsUsd[index] = amounts.get(index);
+    }
+    long[] penCents = new long[amountsUsd.length];
+    long totalPenCents = calculator.toPenCents(amountsUsd, rate, penCents);
+    List<Double> amountsPen = new ArrayList<>(penCents.length);
+    for (long amountPenCents : penCents) {
+      amountsPen.add(toDecimal(amountPenCents));
+    }
+    return new CurrencyConversionBatchResponse(request.getDni(), product, amountsPen,
+        toDecimal(calculator.totalCents(amountsUsd)), toDecimal(totalPenCents), rate,
+        exchangeRate, OffsetDateTime.now());
+  }
+
+  private static double appliedRate(ConversionProduct product, ExchangeRateInfo exchangeRate) {
+    Double rate = switch (product) {
+      case SAVINGS -> exchangeRate.getBuyRate();
+      case CREDIT_CARD -> exchangeRate.getSellRate();
+    };
+    if (rate == null) {
+      throw new IllegalArgumentException("Exchange rate for " + product + " must not be null");
+    }
+    return rate;
+  }
+
+  private static double toDecimal(long cents) {
+    return cents / (double) CENTS_PER_UNIT;
+  }
+}
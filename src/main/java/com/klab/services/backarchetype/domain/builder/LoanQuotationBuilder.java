@@ -1,22 +1,19 @@
 package com.klab.services.backarchetype.domain.builder;
 
-import static com.klab.services.backarchetype.util.Constants.DECIMAL_SCALE;
-import static com.klab.services.backarchetype.util.Constants.MONTHS_PER_YEAR;
-import static com.klab.services.backarchetype.util.Constants.PERCENTAGE_DIVISOR;
-
+import com.klab.services.backarchetype.domain.calculator.LoanQuotationCalculator;
+import com.klab.services.backarchetype.domain.calculator.LoanQuotationFigures;
 import com.klab.services.model.api.ExchangeRateInfo;
 import com.klab.services.model.api.LoanQuotationRequest;
 import com.klab.services.model.api.LoanQuotationResponse;
 import com.klab.services.model.api.LoanQuotationResponseLoanDetails;
 import com.klab.services.model.api.LoanQuotationResponseMonthlyPayment;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.OffsetDateTime;
 import org.springframework.stereotype.Component;
 
 /**
  * Builder for loan quotation response objects.
- * Single Responsibility: Handles object construction and financial calculations.
+ * Single Responsibility: Handles object construction, delegating the financial calculations
+ * to {@link LoanQuotationCalculator}.
  * <b>Class</b>: LoanQuotationBuilder
  * <b>Company</b>: Klab
  *
@@ -25,6 +22,20 @@ import org.springframework.stereotype.Component;
 @Component
 public class LoanQuotationBuilder {
 
+  private static final ThreadLocal<LoanQuotationFigures> FIGURES =
+      ThreadLocal.withInitial(LoanQuotationFigures::new);
+
+  private final LoanQuotationCalculator calculator;
+
+  /**
+   * Constructor for LoanQuotationBuilder.
+   *
+   * @param calculator the {@link LoanQuotationCalculator}
+   */
+  public LoanQuotationBuilder(LoanQuotationCalculator calculator) {
+    this.calculator = calculator;
+  }
+
   /**
    * Builds complete loan quotation response.
    *
@@ -42,31 +53,31 @@ public class LoanQuotationBuilder {
       throw new IllegalArgumentException("Sell rate must not be null");
     }
 
-    double totalUsd = calculateTotalPaymentUsd(
-        request.getAmountUsd(), request.getAnnualInterestRate(), request.getTermMonths());
-    double totalPen = convertToPen(totalUsd, sellRate);
+    LoanQuotationFigures figures = calculator.calculate(request.getAmountUsd(),
+        request.getAnnualInterestRate(), request.getTermMonths(), sellRate, FIGURES.get());
+    OffsetDateTime now = OffsetDateTime.now();
 
     LoanQuotationResponse response = new LoanQuotationResponse();
     response.setCustomerDni(request.getDni());
-    response.setLoanDetails(buildLoanDetails(request, sellRate));
+    response.setLoanDetails(buildLoanDetails(request, figures));
     response.setExchangeRate(exchangeRate);
     response.setMonthlyPayment(buildPayment(
-        calculateMonthlyPayment(totalUsd, request.getTermMonths()),
-        calculateMonthlyPayment(totalPen, request.getTermMonths())));
-    response.setTotalPayment(buildPayment(totalUsd, totalPen));
-    response.setQuotationDate(OffsetDateTime.now());
-    response.setValidUntil(OffsetDateTime.now().plusDays(1));
+        figures.getMonthlyPaymentUsd(), figures.getMonthlyPaymentPen()));
+    response.setTotalPayment(buildPayment(
+        figures.getTotalPaymentUsd(), figures.getTotalPaymentPen()));
+    response.setQuotationDate(now);
+    response.setValidUntil(now.plusDays(1));
     return response;
   }
 
   private LoanQuotationResponseLoanDetails buildLoanDetails(LoanQuotationRequest request,
-                                                            double sellRate) {
+                                                            LoanQuotationFigures figures) {
     LoanQuotationResponseLoanDetails details = new LoanQuotationResponseLoanDetails();
     details.setAmountUsd(request.getAmountUsd());
-    details.setAmountPen(convertToPen(request.getAmountUsd(), sellRate));
+    details.setAmountPen(figures.getAmountPen());
     details.setTermMonths(request.getTermMonths());
     details.setAnnualInterestRate(request.getAnnualInterestRate());
-    details.setMonthlyInterestRate(calculateMonthlyInterestRate(request.getAnnualInterestRate()));
+    details.setMonthlyInterestRate(figures.getMonthlyInterestRate());
     return details;
   }
 
@@ -76,34 +87,4 @@ public class LoanQuotationBuilder {
     payment.setAmountPen(pen);
     return payment;
   }
-
-  private double calculateTotalPaymentUsd(double amountUsd, double annualInterestRate,
-                                          int termMonths) {
-    BigDecimal interestFactor = BigDecimal.valueOf(
-        1 + (annualInterestRate / PERCENTAGE_DIVISOR) * (termMonths / MONTHS_PER_YEAR)
-    );
-    return BigDecimal.valueOf(amountUsd)
-        .multiply(interestFactor)
-        .setScale(DECIMAL_SCALE, RoundingMode.HALF_UP)
-        .doubleValue();
-  }
-
-  private double convertToPen(double amountUsd, double sellRate) {
-    return BigDecimal.valueOf(amountUsd)
-        .multiply(BigDecimal.valueOf(sellRate))
-        .setScale(DECIMAL_SCALE, RoundingMode.HALF_UP)
-        .doubleValue();
-  }
-
-  private double calculateMonthlyInterestRate(double annualRate) {
-    return BigDecimal.valueOf(annualRate)
-        .divide(BigDecimal.valueOf(MONTHS_PER_YEAR), DECIMAL_SCALE, RoundingMode.HALF_UP)
-        .doubleValue();
-  }
-
-  private double calculateMonthlyPayment(double totalAmount, int termMonths) {
-    return BigDecimal.valueOf(totalAmount)
-        .divide(BigDecimal.valueOf(termMonths), DECIMAL_SCALE, RoundingMode.HALF_UP)
-        .doubleValue();
-  }
 }
@@ -0,0 +1,150 @@
+package com.klab.services.backarchetype.domain.builder;
+
+import static com.klab.services.backarchetype.util.Constants.CENTS_PER_UNIT;
+
+import com.klab.services.backarchetype.domain.calculator.LoanQuotationGridCalculator;
+import com.klab.services.backarchetype.domain.calculator.LoanQuotationGridFigures;
+import com.klab.services.model.api.ExchangeRateInfo;
+import com.klab.services.model.api.LoanQuotationGridCell;
+import com.klab.services.model.api.LoanQuotationGridRequest;
+import com.klab.services.model.api.LoanQuotationGridResponse;
+import com.klab.services.model.api.LoanQuotationGridRow;
+import com.klab.services.model.api.LoanQuotationResponse;
+import com.klab.services.model.api.LoanQuotationResponseLoanDetails;
+import com.klab.services.model.api.LoanQuotationResponseMonthlyPayment;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builder for loan quotation grid response objects.
+ * Expands the rate and term ranges of the request, rates in hundredths of a percent so the
+ * steps never drift, and delegates the figures of every cell to
+ * {@link LoanQuotationGridCalculator}.
+ * <b>Class</b>: LoanQuotationGridBuilder
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+@Component
+public class LoanQuotationGridBuilder {
+
+  private final LoanQuotationGridCalculator calculator;
+
+  /**
+   * Constructor for LoanQuotationGridBuilder.
+   *
+   * @param calculator the {@link LoanQuotationGridCalculator}
+   */
+  public LoanQuotationGridBuilder(LoanQuotationGridCalculator calculator) {
+    this.calculator = calculator;
+  }
+
+  /**
+   * Counts the cells of the grid a request asks for.
+   *
+   * @param request the grid request, with ranges in ascending order
+   * @return the number of rates times the number of terms
+   */
+  public long cells(LoanQuotationGridRequest request) {
+    return (long) rates(request).length * terms(request).length;
+  }
+
+  /**
+   * Builds the grid of quotations.
+   *
+   * @param request      the grid request
+   * @param exchangeRate the exchange rate info
+   * @return LoanQuotationGridResponse with one row per rate and one cell per term
+   */
+  public LoanQuotationGridResponse build(LoanQuotationGridRequest request,
+                                         ExchangeRateInfo exchangeRate) {
+    if (request == null || exchangeRate == null) {
+      throw new IllegalArgumentException("Request and exchange rate must not be null");
+    }
+
+    Double sellRate = exchangeRate.getSellRate();
+    if (sellRate == null) {
+      throw new IllegalArgumentException("Sell rate must not be null");
+    }
+
+    double[] rates = rates(request);
+    int[] terms = terms(request);
+    LoanQuotationGridFigures figures =
+        calculator.calculate(request.getAmountUsd(), rates, terms, sellRate);
+    List<LoanQuotationGridRow> rows = new ArrayList<>(rates.length);
+    for (int row = 0; row < rates.length; row++) {
+      List<LoanQuotationGridCell> cells = new ArrayList<>(terms.length);
+      for (int column = 0; column < terms.length; column++) {
+        cells.add(new LoanQuotationGridCell(terms[column],
+            figures.getMonthlyPaymentUsd(row, column), figures.getMonthlyPaymentPen(row, column),
+            figures.getTotalPaymentUsd(row, column), figures.getTotalPaymentPen(row, column)));
+      }
+      rows.add(new LoanQuotationGridRow(rates[row], figures.getMonthlyInterestRate(row), cells));
+    }
+    OffsetDateTime now = OffsetDateTime.now();
+    return new LoanQuotationGridResponse(request.getDni(), request.getAmountUsd(),
+        figures.getAmountPen(), rows, exchangeRate, now, now.plusDays(1));
+  }
+
+  /**
+   * Extracts the quotation of the highest rate and longest term, the one with the largest
+   * total payment, as the single quotation it would be.
+   *
+   * @param grid the grid response
+   * @return LoanQuotationResponse of the last cell of the last row
+   */
+  public LoanQuotationResponse summary(LoanQuotationGridResponse grid) {
+    LoanQuotationGridRow row = grid.getRows().get(grid.getRows().size() - 1);
+    LoanQuotationGridCell cell = row.getCells().get(row.getCells().size() - 1);
+
+    LoanQuotationResponseLoanDetails details = new LoanQuotationResponseLoanDetails();
+    details.setAmountUsd(grid.getAmountUsd());
+    details.setAmountPen(grid.getAmountPen());
+    details.setTermMonths(cell.getTermMonths());
+    details.setAnnualInterestRate(row.getAnnualInterestRate());
+    details.setMonthlyInterestRate(row.getMonthlyInterestRate());
+
+    LoanQuotationResponse response = new LoanQuotationResponse();
+    response.setCustomerDni(grid.getCustomerDni());
+    response.setLoanDetails(details);
+    response.setExchangeRate(grid.getExchangeRate());
+    response.setMonthlyPayment(
+        buildPayment(cell.getMonthlyPaymentUsd(), cell.getMonthlyPaymentPen()));
+    response.setTotalPayment(buildPayment(cell.getTotalPaymentUsd(), cell.getTotalPaymentPen()));
+    response.setQuotationDate(grid.getQuotationDate());
+    response.setValidUntil(grid.getValidUntil());
+    return response;
+  }
+
+  private static double[] rates(LoanQuotationGridRequest request) {
+    long from = Math.round(request.getAnnualInterestRateFrom() * CENTS_PER_UNIT);
+    long to = Math.round(request.getAnnualInterestRateTo() * CENTS_PER_UNIT);
+    long step = Math.round(Objects.requireNonNullElse(request.getAnnualInterestRateStep(), 1.0)
+        * CENTS_PER_UNIT);
+    double[] rates = new double[Math.toIntExact((to - from) / step + 1)];
+    for (int row = 0; row < rates.length; row++) {
+      rates[row] = (from + row * step) / (double) CENTS_PER_UNIT;
+    }
+    return rates;
+  }
+
+  private static int[] terms(LoanQuotationGridRequest request) {
+    int from = request.getTermMonthsFrom();
+    int step = Objects.requireNonNullElse(request.getTermMonthsStep(), 6);
+    int[] terms = new int[(request.getTermMonthsTo() - from) / step + 1];
+    for (int column = 0; column < terms.length; column++) {
+      terms[column] = from + column * step;
+    }
+    return terms;
+  }
+
+  private LoanQuotationResponseMonthlyPayment buildPayment(double usd, double pen) {
+    LoanQuotationResponseMonthlyPayment payment = new LoanQuotationResponseMonthlyPayment();
+    payment.setAmountUsd(usd);
+    payment.setAmountPen(pen);
+    return payment;
+  }
+}
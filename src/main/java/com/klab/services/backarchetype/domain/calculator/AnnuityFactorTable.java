@@ -0,0 +1,85 @@
+package com.klab.services.backarchetype.domain.calculator;
+
+import static com.klab.services.backarchetype.util.Constants.CENTS_PER_UNIT;
+import static com.klab.services.backarchetype.util.Constants.MONTHS_PER_YEAR;
+import static com.klab.services.backarchetype.util.Constants.PERCENTAGE_DIVISOR;
+
+import org.jboss.logging.Logger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lookup table of French amortization annuity factors.
+ * The factor turns a principal into its fixed monthly installment,
+ * {@code i / (1 - (1 + i)^-n)} for monthly rate {@code i} and term {@code n}. Factors for the
+ * quotable grid (6 to 60 months, 5 % to 30 % annual in steps of 0.01) are computed once at
+ * startup; anything outside the grid is computed on demand.
+ * <b>Class</b>: AnnuityFactorTable
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@Component
+public class AnnuityFactorTable {
+
+  private static final Logger LOGGER = Logger.getLogger(AnnuityFactorTable.class);
+
+  static final int MIN_TERM_MONTHS = 6;
+  static final int MAX_TERM_MONTHS = 60;
+  static final int MIN_RATE_CENTS = 500;
+  static final int MAX_RATE_CENTS = 3000;
+
+  private static final int TERMS = MAX_TERM_MONTHS - MIN_TERM_MONTHS + 1;
+  private static final double MONTHLY_RATE_DIVISOR = MONTHS_PER_YEAR * PERCENTAGE_DIVISOR;
+
+  private final double[] factors = new double[(MAX_RATE_CENTS - MIN_RATE_CENTS + 1) * TERMS];
+
+  /**
+   * Constructor for AnnuityFactorTable, precomputing the quotable grid.
+   */
+  public AnnuityFactorTable() {
+    for (int rateCents = MIN_RATE_CENTS; rateCents <= MAX_RATE_CENTS; rateCents++) {
+      double monthlyRate = monthlyRate(rateCents / (double) CENTS_PER_UNIT);
+      int offset = (rateCents - MIN_RATE_CENTS) * TERMS;
+      for (int term = MIN_TERM_MONTHS; term <= MAX_TERM_MONTHS; term++) {
+        factors[offset + term - MIN_TERM_MONTHS] = compute(monthlyRate, term);
+      }
+    }
+    LOGGER.infof("Annuity factor table ready with %d entries", factors.length);
+  }
+
+  /**
+   * Returns the annuity factor for the given annual rate and term.
+   *
+   * @param annualInterestRate the annual interest rate as a percentage
+   * @param termMonths         the loan term in months
+   * @return the fixed installment per unit of principal
+   */
+  public double factor(double annualInterestRate, int termMonths) {
+    long rateCents = Math.round(annualInterestRate * CENTS_PER_UNIT);
+    if (rateCents >= MIN_RATE_CENTS && rateCents <= MAX_RATE_CENTS
+        && termMonths >= MIN_TERM_MONTHS && termMonths <= MAX_TERM_MONTHS
+        && rateCents / (double) CENTS_PER_UNIT == annualInterestRate) {
+      return factors[(int) (rateCents - MIN_RATE_CENTS) * TERMS + termMonths - MIN_TERM_MONTHS];
+    }
+    return compute(monthlyRate(annualInterestRate), termMonths);
+  }
+
+  /**
+   * Converts an annual percentage rate to the monthly rate applied on each period.
+   *
+   * @param annualInterestRate the annual interest rate as a percentage
+   * @return the monthly rate as a fraction
+   */
+  public static double monthlyRate(double annualInterestRate) {
+    return annualInterestRate / MONTHLY_RATE_DIVISOR;
+  }
+
+  static double compute(double monthlyRate, int termMonths) {
+    if (monthlyRate == 0) {
+      return 1.0 / termMonths;
+    }
+    return monthlyRate / (1 - Math.pow(1 + monthlyRate, -termMonths));
+  }
+
+}
@@ -0,0 +1,67 @@
+package com.klab.services.backarchetype.domain.calculator;
+
+import static com.klab.services.backarchetype.domain.calculator.ScaledArithmetic.amountToPenCents;
+import static com.klab.services.backarchetype.domain.calculator.ScaledArithmetic.rateUnits;
+import static com.klab.services.backarchetype.domain.calculator.ScaledArithmetic.roundHalfUp;
+import static com.klab.services.backarchetype.util.Constants.CENTS_PER_UNIT;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Calculation engine for USD to PEN conversions of account balances and card consumptions.
+ * Uses the same scaled long arithmetic as the loan figures, so a converted amount matches the
+ * PEN amount a loan quotation shows for the same USD amount and rate. The rate is scaled once
+ * per call, also for a whole list of amounts.
+ * <b>Class</b>: CurrencyConversionCalculator
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@Component
+public class CurrencyConversionCalculator {
+
+  /**
+   * Converts a USD amount to PEN.
+   *
+   * @param amountUsd the amount in USD
+   * @param rate      the USD to PEN exchange rate
+   * @return the amount in PEN cents, rounded HALF_UP
+   */
+  public long toPenCents(double amountUsd, double rate) {
+    return amountToPenCents(amountUsd, rate, rateUnits(rate));
+  }
+
+  /**
+   * Converts a list of USD amounts to PEN.
+   *
+   * @param amountsUsd the amounts in USD
+   * @param rate       the USD to PEN exchange rate
+   * @param penCents   the array receiving the amounts in PEN cents, in the same order
+   * @return the sum of the amounts in PEN cents
+   */
+  public long toPenCents(double[] amountsUsd, double rate, long[] penCents) {
+    long rateUnits = rateUnits(rate);
+    long total = 0L;
+    for (int index = 0; index < amountsUsd.length; index++) {
+      penCents[index] = amountToPenCents(amountsUsd[index], rate, rateUnits);
+      total = Math.addExact(total, penCents[index]);
+    }
+    return total;
+  }
+
+  /**
+   * Sums a list of USD amounts.
+   *
+   * @param amountsUsd the amounts in USD
+   * @return the sum of the amounts in USD cents, each rounded HALF_UP
+   */
+  public long totalCents(double[] amountsUsd) {
+    long total = 0L;
+    for (double amountUsd : amountsUsd) {
+      total = Math.addExact(total, roundHalfUp(amountUsd * CENTS_PER_UNIT));
+    }
+    return total;
+  }
+
+}
@@ -0,0 +1,29 @@
+package com.klab.services.backarchetype.domain.calculator;
+
+/**
+ * Kernel computing the installments of a row of loan quotations that share the principal.
+ * Implementations must return, cell by cell, exactly what
+ * {@link LoanQuotationCalculator#installmentCents(double, double, int)} returns.
+ * <b>Interface</b>: InstallmentKernel
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+interface InstallmentKernel {
+
+  /**
+   * Computes the installments and total payments of a row.
+   *
+   * @param amountCents  the principal in USD cents
+   * @param factors      the annuity factor of each cell
+   * @param termMonths   the term of each cell
+   * @param monthlyCents the array receiving the installments, rounded HALF_UP
+   * @param totalCents   the array receiving the total payments
+   * @param offset       the position of the row in the receiving arrays
+   * @param length       the number of cells of the row
+   */
+  void installments(double amountCents, double[] factors, long[] termMonths, long[] monthlyCents,
+                    long[] totalCents, int offset, int length);
+
+}
@@ -0,0 +1,99 @@
+package com.klab.services.backarchetype.domain.calculator;
+
+import static com.klab.services.backarchetype.domain.calculator.ScaledArithmetic.NOT_EXACT;
+import static com.klab.services.backarchetype.domain.calculator.ScaledArithmetic.amountToPenCents;
+import static com.klab.services.backarchetype.domain.calculator.ScaledArithmetic.divideHalfUp;
+import static com.klab.services.backarchetype.domain.calculator.ScaledArithmetic.rateUnits;
+import static com.klab.services.backarchetype.domain.calculator.ScaledArithmetic.roundHalfUp;
+import static com.klab.services.backarchetype.domain.calculator.ScaledArithmetic.toCents;
+import static com.klab.services.backarchetype.domain.calculator.ScaledArithmetic.toPenCents;
+import static com.klab.services.backarchetype.domain.calculator.ScaledArithmetic.toScaled;
+import static com.klab.services.backarchetype.util.Constants.CENTS_PER_UNIT;
+import static com.klab.services.backarchetype.util.Constants.DECIMAL_SCALE;
+import static com.klab.services.backarchetype.util.Constants.MONTHS_PER_YEAR;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import org.springframework.stereotype.Component;
+
+/**
+ * Calculation engine for loan quotation figures, using French amortization (fixed
+ * installments).
+ * The installment is the principal times the annuity factor from {@link AnnuityFactorTable},
+ * rounded HALF_UP to cents; the total is the installment times the term. PEN conversions and
+ * the monthly rate work on scaled longs (cents, hundredths of a percent and ten-thousandths of
+ * a PEN) with exact HALF_UP rounding, falling back to decimals for inputs that cannot be
+ * represented exactly at those scales, through {@link ScaledArithmetic}.
+ * <b>Class</b>: LoanQuotationCalculator
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@Component
+public class LoanQuotationCalculator {
+
+  private final AnnuityFactorTable annuityFactors;
+
+  /**
+   * Constructor for LoanQuotationCalculator.
+   *
+   * @param annuityFactors the {@link AnnuityFactorTable}
+   */
+  public LoanQuotationCalculator(AnnuityFactorTable annuityFactors) {
+    this.annuityFactors = annuityFactors;
+  }
+
+  /**
+   * Calculates the loan figures into the given holder.
+   *
+   * @param amountUsd          the loan amount in USD
+   * @param annualInterestRate the annual interest rate as a percentage
+   * @param termMonths         the loan term in months
+   * @param sellRate           the USD to PEN sell rate
+   * @param figures            the holder receiving the results
+   * @return the given holder
+   */
+  public LoanQuotationFigures calculate(double amountUsd, double annualInterestRate,
+                                        int termMonths, double sellRate,
+                                        LoanQuotationFigures figures) {
+    long monthlyUsdCents = installmentCents(amountUsd, annualInterestRate, termMonths);
+    long totalUsdCents = Math.multiplyExact(monthlyUsdCents, termMonths);
+    long sellRateUnits = rateUnits(sellRate);
+
+    figures.monthlyPaymentUsdCents = monthlyUsdCents;
+    figures.totalPaymentUsdCents = totalUsdCents;
+    figures.monthlyPaymentPenCents = toPenCents(monthlyUsdCents, sellRate, sellRateUnits);
+    figures.totalPaymentPenCents = toPenCents(totalUsdCents, sellRate, sellRateUnits);
+    figures.amountPenCents = amountToPenCents(amountUsd, sellRate, sellRateUnits);
+    figures.monthlyInterestRateCents = monthlyInterestRateCents(annualInterestRate);
+    return figures;
+  }
+
+  /**
+   * Calculates the fixed monthly installment of a loan.
+   *
+   * @param amountUsd          the loan amount in USD
+   * @param annualInterestRate the annual interest rate as a percentage
+   * @param termMonths         the loan term in months
+   * @return the installment in cents, rounded HALF_UP
+   */
+  public long installmentCents(double amountUsd, double annualInterestRate, int termMonths) {
+    if (termMonths <= 0) {
+      throw new IllegalArgumentException("Term months must be positive");
+    }
+    double installment = amountUsd * CENTS_PER_UNIT
+        * annuityFactors.factor(annualInterestRate, termMonths);
+    return roundHalfUp(installment);
+  }
+
+  static long monthlyInterestRateCents(double annualInterestRate) {
+    long annualRateCents = toScaled(annualInterestRate, CENTS_PER_UNIT);
+    if (annualRateCents != NOT_EXACT) {
+      return divideHalfUp(annualRateCents, (long) MONTHS_PER_YEAR);
+    }
+    return toCents(BigDecimal.valueOf(annualInterestRate)
+        .divide(BigDecimal.valueOf(MONTHS_PER_YEAR), DECIMAL_SCALE, RoundingMode.HALF_UP));
+  }
+
+}
@@ -0,0 +1,52 @@
+package com.klab.services.backarchetype.domain.calculator;
+
+import static com.klab.services.backarchetype.util.Constants.CENTS_PER_UNIT;
+
+/**
+ * Mutable holder for the figures of a loan quotation, stored as scaled longs.
+ * Amounts are kept in cents and rates in hundredths of a percent, so a single instance can be
+ * reused across calculations without allocating.
+ * <b>Class</b>: LoanQuotationFigures
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public final class LoanQuotationFigures {
+
+  long amountPenCents;
+  long monthlyInterestRateCents;
+  long totalPaymentUsdCents;
+  long totalPaymentPenCents;
+  long monthlyPaymentUsdCents;
+  long monthlyPaymentPenCents;
+
+  public double getAmountPen() {
+    return toDecimal(amountPenCents);
+  }
+
+  public double getMonthlyInterestRate() {
+    return toDecimal(monthlyInterestRateCents);
+  }
+
+  public double getTotalPaymentUsd() {
+    return toDecimal(totalPaymentUsdCents);
+  }
+
+  public double getTotalPaymentPen() {
+    return toDecimal(totalPaymentPenCents);
+  }
+
+  public double getMonthlyPaymentUsd() {
+    return toDecimal(monthlyPaymentUsdCents);
+  }
+
+  public double getMonthlyPaymentPen() {
+    return toDecimal(monthlyPaymentPenCents);
+  }
+
+  private static double toDecimal(long cents) {
+    return cents / (double) CENTS_PER_UNIT;
+  }
+
+}
@@ -0,0 +1,122 @@
+package com.klab.services.backarchetype.domain.calculator;
+
+import static com.klab.services.backarchetype.domain.calculator.ScaledArithmetic.amountToPenCents;
+import static com.klab.services.backarchetype.domain.calculator.ScaledArithmetic.rateUnits;
+import static com.klab.services.backarchetype.domain.calculator.ScaledArithmetic.toPenCents;
+import static com.klab.services.backarchetype.util.Constants.CENTS_PER_UNIT;
+
+import org.jboss.logging.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Calculation engine for a grid of loan quotations of the same principal over several annual
+ * rates and terms.
+ * Every cell holds exactly the figures {@link LoanQuotationCalculator} gives for its rate and
+ * term. The installments and totals of a row are computed by an {@link InstallmentKernel}, the
+ * SIMD one when the {@code jdk.incubator.vector} module is present and the CPU has vectors of
+ * two doubles or more, and the scalar one otherwise or when {@code spring.quotation.grid.simd}
+ * is off. Rows whose installments reach {@code 2^52} cents, where the vector rounding is no
+ * longer exact, or whose totals could overflow a long, go through the scalar kernel, which
+ * fails on overflow. PEN conversions stay scalar.
+ * <b>Class</b>: LoanQuotationGridCalculator
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@Component
+public class LoanQuotationGridCalculator {
+
+  private static final Logger LOGGER = Logger.getLogger(LoanQuotationGridCalculator.class);
+
+  private static final String VECTOR_MODULE = "jdk.incubator.vector";
+  private static final double MAX_VECTOR_INSTALLMENT_CENTS = 0x1p52;
+  private static final double MAX_VECTOR_TOTAL_CENTS = 0x1p62;
+
+  private final AnnuityFactorTable annuityFactors;
+  private final InstallmentKernel scalarKernel = new ScalarInstallmentKernel();
+  private final InstallmentKernel kernel;
+
+  /**
+   * Constructor for LoanQuotationGridCalculator.
+   *
+   * @param annuityFactors the {@link AnnuityFactorTable}
+   * @param simd           whether the SIMD kernel may be used
+   */
+  public LoanQuotationGridCalculator(
+      AnnuityFactorTable annuityFactors,
+      @Value("${spring.quotation.grid.simd:true}") boolean simd) {
+    this.annuityFactors = annuityFactors;
+    this.kernel = simd && vectorAvailable() ? new VectorInstallmentKernel() : scalarKernel;
+    LOGGER.infof("Loan quotation grid uses the %s installment kernel",
+        kernel == scalarKernel ? "scalar" : VectorInstallmentKernel.lanes() + " lane SIMD");
+  }
+
+  /**
+   * Tells whether the SIMD kernel is in use.
+   *
+   * @return true when the installments are computed with the Vector API
+   */
+  public boolean isVectorized() {
+    return kernel != scalarKernel;
+  }
+
+  /**
+   * Calculates the figures of every rate and term combination.
+   *
+   * @param amountUsd           the loan amount in USD
+   * @param annualInterestRates the annual interest rates as percentages, one per row
+   * @param termMonths          the loan terms in months, one per column
+   * @param sellRate            the USD to PEN sell rate
+   * @return the {@link LoanQuotationGridFigures}
+   */
+  public LoanQuotationGridFigures calculate(double amountUsd, double[] annualInterestRates,
+                                            int[] termMonths, double sellRate) {
+    long[] terms = new long[termMonths.length];
+    long maxTerm = 0;
+    for (int column = 0; column < terms.length; column++) {
+      if (termMonths[column] <= 0) {
+        throw new IllegalArgumentException("Term months must be positive");
+      }
+      terms[column] = termMonths[column];
+      maxTerm = Math.max(maxTerm, terms[column]);
+    }
+    long sellRateUnits = rateUnits(sellRate);
+    double amountCents = amountUsd * CENTS_PER_UNIT;
+
+    LoanQuotationGridFigures figures =
+        new LoanQuotationGridFigures(annualInterestRates.length, terms.length);
+    figures.amountPenCents = amountToPenCents(amountUsd, sellRate, sellRateUnits);
+    double[] factors = new double[terms.length];
+    for (int row = 0; row < annualInterestRates.length; row++) {
+      double maxFactor = 0;
+      for (int column = 0; column < factors.length; column++) {
+        factors[column] = annuityFactors.factor(annualInterestRates[row], termMonths[column]);
+        maxFactor = Math.max(maxFactor, factors[column]);
+      }
+      double maxInstallment = amountCents * maxFactor;
+      InstallmentKernel rowKernel = amountCents > 0
+          && maxInstallment < MAX_VECTOR_INSTALLMENT_CENTS
+          && maxInstallment * maxTerm < MAX_VECTOR_TOTAL_CENTS ? kernel : scalarKernel;
+      int offset = row * terms.length;
+      rowKernel.installments(amountCents, factors, terms, figures.monthlyPaymentUsdCents,
+          figures.totalPaymentUsdCents, offset, terms.length);
+      for (int cell = offset; cell < offset + terms.length; cell++) {
+        figures.monthlyPaymentPenCents[cell] =
+            toPenCents(figures.monthlyPaymentUsdCents[cell], sellRate, sellRateUnits);
+        figures.totalPaymentPenCents[cell] =
+            toPenCents(figures.totalPaymentUsdCents[cell], sellRate, sellRateUnits);
+      }
+      figures.monthlyInterestRateCents[row] =
+          LoanQuotationCalculator.monthlyInterestRateCents(annualInterestRates[row]);
+    }
+    return figures;
+  }
+
+  private static boolean vectorAvailable() {
+    return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()
+        && VectorInstallmentKernel.isAccelerated();
+  }
+
+}
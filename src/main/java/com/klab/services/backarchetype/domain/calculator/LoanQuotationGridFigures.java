@@ -0,0 +1,113 @@
+package com.klab.services.backarchetype.domain.calculator;
+
+import static com.klab.services.backarchetype.util.Constants.CENTS_PER_UNIT;
+
+/**
+ * Holder for the figures of a grid of loan quotations sharing the principal, stored as scaled
+ * longs like {@link LoanQuotationFigures}.
+ * Rows are annual rates and columns terms; the per cell figures are laid out row by row in
+ * flat arrays, so a row is a contiguous run the installment kernels can work on.
+ * <b>Class</b>: LoanQuotationGridFigures
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public final class LoanQuotationGridFigures {
+
+  private final int rows;
+  private final int columns;
+
+  long amountPenCents;
+  final long[] monthlyInterestRateCents;
+  final long[] monthlyPaymentUsdCents;
+  final long[] monthlyPaymentPenCents;
+  final long[] totalPaymentUsdCents;
+  final long[] totalPaymentPenCents;
+
+  LoanQuotationGridFigures(int rows, int columns) {
+    this.rows = rows;
+    this.columns = columns;
+    int cells = Math.multiplyExact(rows, columns);
+    this.monthlyInterestRateCents = new long[rows];
+    this.monthlyPaymentUsdCents = new long[cells];
+    this.monthlyPaymentPenCents = new long[cells];
+    this.totalPaymentUsdCents = new long[cells];
+    this.totalPaymentPenCents = new long[cells];
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  public int getColumns() {
+    return columns;
+  }
+
+  public double getAmountPen() {
+    return toDecimal(amountPenCents);
+  }
+
+  /**
+   * Returns the monthly interest rate of a row.
+   *
+   * @param row the row, by ascending rate
+   * @return the monthly rate as a percentage
+   */
+  public double getMonthlyInterestRate(int row) {
+    return toDecimal(monthlyInterestRateCents[row]);
+  }
+
+  /**
+   * Returns the installment of a cell in USD.
+   *
+   * @param row    the row, by ascending rate
+   * @param column the column, by ascending term
+   * @return the installment
+   */
+  public double getMonthlyPaymentUsd(int row, int column) {
+    return toDecimal(monthlyPaymentUsdCents[cell(row, column)]);
+  }
+
+  /**
+   * Returns the installment of a cell in PEN.
+   *
+   * @param row    the row, by ascending rate
+   * @param column the column, by ascending term
+   * @return the installment
+   */
+  public double getMonthlyPaymentPen(int row, int column) {
+    return toDecimal(monthlyPaymentPenCents[cell(row, column)]);
+  }
+
+  /**
+   * Returns the total payment of a cell in USD.
+   *
+   * @param row    the row, by ascending rate
+   * @param column the column, by ascending term
+   * @return the total payment
+   */
+  public double getTotalPaymentUsd(int row, int column) {
+    return toDecimal(totalPaymentUsdCents[cell(row, column)]);
+  }
+
+  /**
+   * Returns the total payment of a cell in PEN.
+   *
+   * @param row    the row, by ascending rate
+   * @param column the column, by ascending term
+   * @return the total payment
+   */
+  public double getTotalPaymentPen(int row, int column) {
+    return toDecimal(totalPaymentPenCents[cell(row, column)]);
+  }
+
+  private int cell(int row, int column) {
+    return row * columns + column;
+  }
+
+  private static double toDecimal(long cents) {
+    return cents / (double) CENTS_PER_UNIT;
+  }
+
+}
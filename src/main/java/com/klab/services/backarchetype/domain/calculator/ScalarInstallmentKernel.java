@@ -0,0 +1,25 @@
+package com.klab.services.backarchetype.domain.calculator;
+
+import static com.klab.services.backarchetype.domain.calculator.ScaledArithmetic.roundHalfUp;
+
+/**
+ * Installment kernel computing one cell at a time.
+ * <b>Class</b>: ScalarInstallmentKernel
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+final class ScalarInstallmentKernel implements InstallmentKernel {
+
+  @Override
+  public void installments(double amountCents, double[] factors, long[] termMonths,
+                           long[] monthlyCents, long[] totalCents, int offset, int length) {
+    for (int index = 0; index < length; index++) {
+      long installment = roundHalfUp(amountCents * factors[index]);
+      monthlyCents[offset + index] = installment;
+      totalCents[offset + index] = Math.multiplyExact(installment, termMonths[index]);
+    }
+  }
+
+}
@@ -0,0 +1,107 @@
+package com.klab.services.backarchetype.domain.calculator;
+
+import static com.klab.services.backarchetype.util.Constants.CENTS_PER_UNIT;
+import static com.klab.services.backarchetype.util.Constants.DECIMAL_SCALE;
+import static com.klab.services.backarchetype.util.Constants.RATE_UNITS;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Exact HALF_UP arithmetic on scaled longs shared by the quotation calculators.
+ * Amounts are cents and exchange rates ten-thousandths of a PEN; values that cannot be
+ * represented exactly at those scales, or products out of the long range, fall back to decimals.
+ * <b>Class</b>: ScaledArithmetic
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+final class ScaledArithmetic {
+
+  static final long NOT_EXACT = Long.MIN_VALUE;
+
+  private ScaledArithmetic() {
+  }
+
+  /**
+   * Scales an exchange rate to ten-thousandths.
+   *
+   * @param rate the exchange rate
+   * @return the scaled rate, or {@link #NOT_EXACT}
+   */
+  static long rateUnits(double rate) {
+    return toScaled(rate, RATE_UNITS);
+  }
+
+  /**
+   * Converts a USD amount in cents to PEN cents.
+   *
+   * @param usdCents  the amount in USD cents
+   * @param rate      the exchange rate
+   * @param rateUnits the rate from {@link #rateUnits(double)}
+   * @return the amount in PEN cents, rounded HALF_UP
+   */
+  static long toPenCents(long usdCents, double rate, long rateUnits) {
+    if (rateUnits != NOT_EXACT) {
+      try {
+        return divideHalfUp(Math.multiplyExact(usdCents, rateUnits), RATE_UNITS);
+      } catch (ArithmeticException ex) {
+        // out of long range, use the decimal conversion
+      }
+    }
+    return toCents(BigDecimal.valueOf(usdCents, DECIMAL_SCALE)
+        .multiply(BigDecimal.valueOf(rate)));
+  }
+
+  /**
+   * Converts a USD amount to PEN cents.
+   *
+   * @param amountUsd the amount in USD
+   * @param rate      the exchange rate
+   * @param rateUnits the rate from {@link #rateUnits(double)}
+   * @return the amount in PEN cents, rounded HALF_UP
+   */
+  static long amountToPenCents(double amountUsd, double rate, long rateUnits) {
+    long amountCents = toScaled(amountUsd, CENTS_PER_UNIT);
+    if (amountCents != NOT_EXACT) {
+      return toPenCents(amountCents, rate, rateUnits);
+    }
+    return toCents(BigDecimal.valueOf(amountUsd).multiply(BigDecimal.valueOf(rate)));
+  }
+
+  /**
+   * Scales a value when it is exactly representable at the scale.
+   *
+   * @param value the value
+   * @param scale the number of units per one
+   * @return the scaled value, or {@link #NOT_EXACT}
+   */
+  static long toScaled(double value, long scale) {
+    double scaled = value * scale;
+    if (!(Math.abs(scaled) < Long.MAX_VALUE)) {
+      return NOT_EXACT;
+    }
+    long units = Math.round(scaled);
+    return units / (double) scale == value ? units : NOT_EXACT;
+  }
+
+  static long toCents(BigDecimal value) {
+    return value.setScale(DECIMAL_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+  }
+
+  static long roundHalfUp(double value) {
+    long rounded = Math.round(Math.abs(value));
+    return value < 0 ? -rounded : rounded;
+  }
+
+  static long divideHalfUp(long numerator, long denominator) {
+    long quotient = numerator / denominator;
+    long remainder = numerator % denominator;
+    if (Math.abs(remainder) * 2 >= Math.abs(denominator)) {
+      quotient += (numerator < 0) == (denominator < 0) ? 1 : -1;
+    }
+    return quotient;
+  }
+
+}
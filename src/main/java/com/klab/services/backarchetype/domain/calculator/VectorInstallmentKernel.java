@@ -0,0 +1,71 @@
+package com.klab.services.backarchetype.domain.calculator;
+
+import static com.klab.services.backarchetype.domain.calculator.ScaledArithmetic.roundHalfUp;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Installment kernel computing as many cells per instruction as the CPU has double lanes, with
+ * the incubating Vector API.
+ * Rounding matches {@link Math#round(double)} exactly: below {@code 2^52} the fraction left by
+ * truncating a positive installment is exact, and the installment is rounded up when that
+ * fraction is at least one half. The cells past the last full vector are computed one at a
+ * time.
+ * <b>Class</b>: VectorInstallmentKernel
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+final class VectorInstallmentKernel implements InstallmentKernel {
+
+  private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+  private static final VectorSpecies<Long> LONGS =
+      VectorSpecies.of(long.class, DOUBLES.vectorShape());
+
+  /**
+   * Tells whether the CPU has more than one double lane, below which the scalar kernel wins.
+   *
+   * @return true when vectors hold at least two doubles
+   */
+  static boolean isAccelerated() {
+    return DOUBLES.length() > 1;
+  }
+
+  /**
+   * Returns the number of cells computed per vector.
+   *
+   * @return the double lanes of the preferred species
+   */
+  static int lanes() {
+    return DOUBLES.length();
+  }
+
+  @Override
+  public void installments(double amountCents, double[] factors, long[] termMonths,
+                           long[] monthlyCents, long[] totalCents, int offset, int length) {
+    DoubleVector amount = DoubleVector.broadcast(DOUBLES, amountCents);
+    int upper = DOUBLES.loopBound(length);
+    int index = 0;
+    for (; index < upper; index += DOUBLES.length()) {
+      DoubleVector installment = DoubleVector.fromArray(DOUBLES, factors, index).mul(amount);
+      LongVector truncated = (LongVector) installment.convert(VectorOperators.D2L, 0);
+      DoubleVector fraction = installment.sub(truncated.convert(VectorOperators.L2D, 0));
+      VectorMask<Long> roundUp = fraction.compare(VectorOperators.GE, 0.5).cast(LONGS);
+      LongVector rounded = truncated.add(1L, roundUp);
+      rounded.intoArray(monthlyCents, offset + index);
+      rounded.mul(LongVector.fromArray(LONGS, termMonths, index))
+          .intoArray(totalCents, offset + index);
+    }
+    for (; index < length; index++) {
+      long installment = roundHalfUp(amountCents * factors[index]);
+      monthlyCents[offset + index] = installment;
+      totalCents[offset + index] = Math.multiplyExact(installment, termMonths[index]);
+    }
+  }
+
+}
@@ -0,0 +1,37 @@
+package com.klab.services.backarchetype.mapper;
+
+import java.util.UUID;
+
+/**
+ * Source of audit event ids.
+ * Consumers deduplicate the outbox deliveries by event id across instances, so the ids are
+ * {@link UUID#randomUUID()} values drawn from {@code SecureRandom}. Its seed is read from the
+ * blocking entropy source on first use, which {@link #warmUp()} moves to startup.
+ * <b>Class</b>: AuditEventIds
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public final class AuditEventIds {
+
+  private AuditEventIds() {
+  }
+
+  /**
+   * Seeds the {@code SecureRandom} behind the event ids, before the server accepts requests.
+   */
+  public static void warmUp() {
+    UUID.randomUUID();
+  }
+
+  /**
+   * Generates a random version 4 UUID for an audit event id.
+   *
+   * @return the event id
+   */
+  public static String next() {
+    return UUID.randomUUID().toString();
+  }
+
+}
@@ -0,0 +1,99 @@
+package com.klab.services.backarchetype.mapper;
+
+import com.klab.core.starter.audit.model.avro.AvroAuditV2;
+import com.klab.services.backarchetype.repository.entity.CurrencyConversionTrace;
+import com.klab.services.model.api.ConversionProduct;
+import com.klab.services.model.api.CurrencyConversionBatchResponse;
+import com.klab.services.model.api.CurrencyConversionResponse;
+import com.klab.services.model.api.ExchangeRateInfo;
+import java.time.OffsetDateTime;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.NullValueCheckStrategy;
+import org.mapstruct.NullValueMappingStrategy;
+
+/**
+ * MapStruct mapper for currency conversion mappings.
+ * <b>Interface</b>: CurrencyConversionMapper
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+@Mapper(
+    componentModel = "spring",
+    nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS,
+    nullValueMappingStrategy = NullValueMappingStrategy.RETURN_NULL
+)
+public interface CurrencyConversionMapper {
+
+  /**
+   * Converts CurrencyConversionResponse to CurrencyConversionTrace entity.
+   *
+   * @param response the currency conversion response
+   * @return CurrencyConversionTrace entity
+   */
+  @Mapping(source = "customerDni", target = "dni")
+  @Mapping(source = "appliedRate", target = "exchangeRate")
+  @Mapping(source = "exchangeRate.source", target = "exchangeRateSource")
+  @Mapping(target = "itemCount", constant = "1")
+  @Mapping(target = "createdAt", expression = "java(java.time.LocalDateTime.now())")
+  @Mapping(target = "id", ignore = true)
+  CurrencyConversionTrace toTrace(CurrencyConversionResponse response);
+
+  /**
+   * Converts CurrencyConversionBatchResponse to a CurrencyConversionTrace entity holding the
+   * batch totals.
+   *
+   * @param response the batch currency conversion response
+   * @return CurrencyConversionTrace entity
+   */
+  @Mapping(source = "customerDni", target = "dni")
+  @Mapping(source = "totalUsd", target = "amountUsd")
+  @Mapping(source = "totalPen", target = "amountPen")
+  @Mapping(source = "appliedRate", target = "exchangeRate")
+  @Mapping(source = "exchangeRate.source", target = "exchangeRateSource")
+  @Mapping(target = "itemCount", expression = "java(response.getAmountsPen().size())")
+  @Mapping(target = "createdAt", expression = "java(java.time.LocalDateTime.now())")
+  @Mapping(target = "id", ignore = true)
+  CurrencyConversionTrace toTrace(CurrencyConversionBatchResponse response);
+
+  /**
+   * Converts CurrencyConversionResponse to AvroAuditV2 event.
+   *
+   * @param response the currency conversion response
+   * @return AvroAuditV2 event
+   */
+  default AvroAuditV2 toAudit(CurrencyConversionResponse response) {
+    return audit(response.getProduct(), response.getCustomerDni(), response.getExchangeRate(),
+        response.getAmountUsd(), response.getAmountPen(), response.getQuotationDate());
+  }
+
+  /**
+   * Converts CurrencyConversionBatchResponse to an AvroAuditV2 event holding the batch totals.
+   *
+   * @param response the batch currency conversion response
+   * @return AvroAuditV2 event
+   */
+  default AvroAuditV2 toAudit(CurrencyConversionBatchResponse response) {
+    return audit(response.getProduct(), response.getCustomerDni(), response.getExchangeRate(),
+        response.getTotalUsd(), response.getTotalPen(), response.getQuotationDate());
+  }
+
+  private static AvroAuditV2 audit(ConversionProduct product, String dni,
+                                   ExchangeRateInfo exchangeRate, double amountUsd,
+                                   double amountPen, OffsetDateTime quotationDate) {
+    return AvroAuditV2.newBuilder()
+        .setEventId(AuditEventIds.next())
+        .setQuotationDate(quotationDate.toInstant())
+        .setCustomerDni(dni)
+        .setBuyRate(exchangeRate.getBuyRate())
+        .setSellRate(exchangeRate.getSellRate())
+        .setAmountUsd(amountUsd)
+        .setAmountPen(amountPen)
+        .setTermMonths(0)
+        .setAnnualInterestRate(0.0)
+        .setMonthlyPaymentPen(0.0)
+        .setProduct(product.getValue())
+        .build();
+  }
+}
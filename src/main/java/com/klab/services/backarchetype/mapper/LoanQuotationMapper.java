@@ -1,11 +1,24 @@
 package com.klab.services.backarchetype.mapper;
 
+import static com.klab.services.backarchetype.util.Constants.CENTS_PER_UNIT;
+import static com.klab.services.backarchetype.util.Constants.PERCENTAGE_DIVISOR;
+import static com.klab.services.backarchetype.util.Constants.RATE_UNITS;
+
+import com.klab.core.starter.audit.model.avro.AvroAuditV2;
 import com.klab.services.backarchetype.repository.entity.LoanQuotationTrace;
 import com.klab.services.model.api.ExchangeRateInfo;
+import com.klab.services.model.api.LoanQuotationHistoryItem;
 import com.klab.services.model.api.LoanQuotationResponse;
+import com.klab.services.model.api.LoanQuotationResponseMonthlyPayment;
 import com.klab.services.thirdparty.currencyexchange.model.CurrencyExchangeResponse;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import org.mapstruct.AfterMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
 import org.mapstruct.NullValueCheckStrategy;
 import org.mapstruct.NullValueMappingStrategy;
 
@@ -38,20 +51,217 @@ public interface LoanQuotationMapper {
    * @return LoanQuotationTrace entity
    */
   @Mapping(source = "customerDni", target = "dni")
-  @Mapping(source = "loanDetails.amountUsd", target = "amountUsd")
-  @Mapping(source = "loanDetails.amountPen", target = "amountPen")
+  @Mapping(source = "loanDetails.amountUsd", target = "amountUsdCents", qualifiedByName = "toCents")
+  @Mapping(source = "loanDetails.amountPen", target = "amountPenCents", qualifiedByName = "toCents")
   @Mapping(source = "loanDetails.termMonths", target = "termMonths")
-  @Mapping(source = "loanDetails.annualInterestRate", target = "annualInterestRate")
-  @Mapping(source = "loanDetails.monthlyInterestRate", target = "monthlyInterestRate")
-  @Mapping(source = "exchangeRate.buyRate", target = "exchangeRateBuy")
-  @Mapping(source = "exchangeRate.sellRate", target = "exchangeRateSell")
+  @Mapping(source = "loanDetails.annualInterestRate", target = "annualInterestRateBps",
+      qualifiedByName = "toBasisPoints")
+  @Mapping(source = "exchangeRate.date", target = "exchangeRateDate")
+  @Mapping(source = "exchangeRate.buyRate", target = "exchangeRateBuyUnits",
+      qualifiedByName = "toRateUnits")
+  @Mapping(source = "exchangeRate.sellRate", target = "exchangeRateSellUnits",
+      qualifiedByName = "toRateUnits")
   @Mapping(source = "exchangeRate.source", target = "exchangeRateSource")
-  @Mapping(source = "totalPayment.amountUsd", target = "totalPaymentUsd")
-  @Mapping(source = "totalPayment.amountPen", target = "totalPaymentPen")
-  @Mapping(source = "monthlyPayment.amountUsd", target = "monthlyPaymentUsd")
-  @Mapping(source = "monthlyPayment.amountPen", target = "monthlyPaymentPen")
+  @Mapping(source = "totalPayment.amountUsd", target = "totalPaymentUsdCents",
+      qualifiedByName = "toCents")
+  @Mapping(source = "totalPayment.amountPen", target = "totalPaymentPenCents",
+      qualifiedByName = "toCents")
   @Mapping(target = "createdAt", expression = "java(java.time.LocalDateTime.now())")
   @Mapping(target = "id", ignore = true)
+  @Mapping(target = "exchangeRateId", ignore = true)
+  @Mapping(target = "monthlyPaymentUsdCents", ignore = true)
+  @Mapping(target = "monthlyPaymentPenCents", ignore = true)
   LoanQuotationTrace toTrace(LoanQuotationResponse response);
-}
 
+  /**
+   * Converts a LoanQuotationTrace entity to a LoanQuotationHistoryItem.
+   * The monthly payments are the stored ones, or else derived from the totals, the term and
+   * the sell rate.
+   *
+   * @param trace the loan quotation trace
+   * @return LoanQuotationHistoryItem
+   */
+  @Mapping(source = "amountUsdCents", target = "amountUsd", qualifiedByName = "fromCents")
+  @Mapping(source = "amountPenCents", target = "amountPen", qualifiedByName = "fromCents")
+  @Mapping(source = "annualInterestRateBps", target = "annualInterestRate",
+      qualifiedByName = "fromBasisPoints")
+  @Mapping(source = "totalPaymentUsdCents", target = "totalPaymentUsd",
+      qualifiedByName = "fromCents")
+  @Mapping(source = "totalPaymentPenCents", target = "totalPaymentPen",
+      qualifiedByName = "fromCents")
+  @Mapping(source = "exchangeRateSellUnits", target = "exchangeRateSell",
+      qualifiedByName = "fromRateUnits")
+  @Mapping(target = "monthlyPaymentUsd", expression = "java(monthlyPaymentUsd(trace))")
+  @Mapping(target = "monthlyPaymentPen", expression = "java(monthlyPaymentPen(trace))")
+  LoanQuotationHistoryItem toHistoryItem(LoanQuotationTrace trace);
+
+  /**
+   * Converts an amount to cents.
+   *
+   * @param amount the amount, with at most two decimals
+   * @return the amount in cents
+   */
+  @Named("toCents")
+  default Long toCents(Double amount) {
+    return Math.round(amount * CENTS_PER_UNIT);
+  }
+
+  /**
+   * Converts an amount in cents to a decimal amount.
+   *
+   * @param cents the amount in cents
+   * @return the amount
+   */
+  @Named("fromCents")
+  default Double fromCents(Long cents) {
+    return cents / (double) CENTS_PER_UNIT;
+  }
+
+  /**
+   * Converts a percentage to basis points.
+   *
+   * @param rate the percentage, with at most two decimals
+   * @return the rate in basis points
+   */
+  @Named("toBasisPoints")
+  default Integer toBasisPoints(Double rate) {
+    return Math.toIntExact(Math.round(rate * PERCENTAGE_DIVISOR));
+  }
+
+  /**
+   * Converts basis points to a percentage.
+   *
+   * @param basisPoints the rate in basis points
+   * @return the percentage
+   */
+  @Named("fromBasisPoints")
+  default Double fromBasisPoints(Integer basisPoints) {
+    return basisPoints / (double) PERCENTAGE_DIVISOR;
+  }
+
+  /**
+   * Scales an exchange rate to ten-thousandths.
+   *
+   * @param rate the exchange rate, with at most four decimals
+   * @return the scaled rate
+   */
+  @Named("toRateUnits")
+  default Integer toRateUnits(Double rate) {
+    return Math.toIntExact(Math.round(rate * RATE_UNITS));
+  }
+
+  /**
+   * Converts an exchange rate in ten-thousandths to a decimal rate.
+   *
+   * @param units the scaled rate
+   * @return the exchange rate
+   */
+  @Named("fromRateUnits")
+  default Double fromRateUnits(Integer units) {
+    return units / (double) RATE_UNITS;
+  }
+
+  /**
+   * Keeps the monthly payments of a quotation in its trace when they cannot be derived from
+   * the stored totals, term and sell rate, so that the history shows what was quoted.
+   *
+   * @param response the loan quotation response
+   * @param trace    the trace being mapped
+   */
+  @AfterMapping
+  default void keepUnderivableMonthlyPayments(LoanQuotationResponse response,
+                                              @MappingTarget LoanQuotationTrace trace) {
+    LoanQuotationResponseMonthlyPayment monthly = response.getMonthlyPayment();
+    if (monthly == null || monthly.getAmountUsd() == null || monthly.getAmountPen() == null) {
+      return;
+    }
+    Long quotedUsdCents = toCents(monthly.getAmountUsd());
+    if (!quotedUsdCents.equals(installmentUsdCents(trace))) {
+      trace.setMonthlyPaymentUsdCents(quotedUsdCents);
+    }
+    Long quotedPenCents = toCents(monthly.getAmountPen());
+    if (!quotedPenCents.equals(installmentPenCents(trace))) {
+      trace.setMonthlyPaymentPenCents(quotedPenCents);
+    }
+  }
+
+  /**
+   * Returns the USD installment of a trace: the stored one, or else its total divided by its
+   * term, rounded HALF_UP.
+   *
+   * @param trace the loan quotation trace
+   * @return the monthly payment in USD, or null when the trace has no total
+   */
+  default Double monthlyPaymentUsd(LoanQuotationTrace trace) {
+    Long installmentCents = installmentUsdCents(trace);
+    return installmentCents == null ? null : fromCents(installmentCents);
+  }
+
+  /**
+   * Returns the PEN installment of a trace: the stored one, or else its USD installment
+   * converted at the sell rate HALF_UP, as the quotation did.
+   *
+   * @param trace the loan quotation trace
+   * @return the monthly payment in PEN, or null when the trace has no total or sell rate
+   */
+  default Double monthlyPaymentPen(LoanQuotationTrace trace) {
+    Long installmentCents = installmentPenCents(trace);
+    return installmentCents == null ? null : fromCents(installmentCents);
+  }
+
+  private static Long installmentUsdCents(LoanQuotationTrace trace) {
+    if (trace.getMonthlyPaymentUsdCents() != null) {
+      return trace.getMonthlyPaymentUsdCents();
+    }
+    if (trace.getTotalPaymentUsdCents() == null || trace.getTermMonths() == null) {
+      return null;
+    }
+    long termMonths = trace.getTermMonths();
+    return (trace.getTotalPaymentUsdCents() + termMonths / 2) / termMonths;
+  }
+
+  private static Long installmentPenCents(LoanQuotationTrace trace) {
+    if (trace.getMonthlyPaymentPenCents() != null) {
+      return trace.getMonthlyPaymentPenCents();
+    }
+    Long installmentCents = installmentUsdCents(trace);
+    if (installmentCents == null || trace.getExchangeRateSellUnits() == null) {
+      return null;
+    }
+    long penUnits = Math.multiplyExact(installmentCents, trace.getExchangeRateSellUnits());
+    return (penUnits + RATE_UNITS / 2) / RATE_UNITS;
+  }
+
+  /**
+   * Converts a trace timestamp, stored in the server time zone, to an offset date time.
+   *
+   * @param createdAt the trace timestamp
+   * @return the timestamp with the server offset
+   */
+  default OffsetDateTime toOffsetDateTime(LocalDateTime createdAt) {
+    return createdAt.atZone(ZoneId.systemDefault()).toOffsetDateTime();
+  }
+
+  /**
+   * Converts LoanQuotationResponse to AvroAuditV2 event.
+   *
+   * @param response the loan quotation response
+   * @return AvroAuditV2 event
+   */
+  default AvroAuditV2 toAudit(LoanQuotationResponse response) {
+    ExchangeRateInfo exchangeRate = response.getExchangeRate();
+    return AvroAuditV2.newBuilder()
+        .setEventId(AuditEventIds.next())
+        .setQuotationDate(response.getQuotationDate().toInstant())
+        .setCustomerDni(response.getCustomerDni())
+        .setBuyRate(exchangeRate.getBuyRate())
+        .setSellRate(exchangeRate.getSellRate())
+        .setAmountUsd(response.getLoanDetails().getAmountUsd())
+        .setAmountPen(response.getLoanDetails().getAmountPen())
+        .setTermMonths(response.getLoanDetails().getTermMonths())
+        .setAnnualInterestRate(response.getLoanDetails().getAnnualInterestRate())
+        .setMonthlyPaymentPen(response.getMonthlyPayment().getAmountPen())
+        .setProduct("LOAN")
+        .build();
+  }
+}
@@ -0,0 +1,138 @@
+package com.klab.services.backarchetype.messaging;
+
+import com.klab.core.starter.audit.model.avro.AvroAudit;
+import com.klab.core.starter.audit.model.avro.AvroAuditV2;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.apache.avro.specific.SpecificRecord;
+
+/**
+ * Encodes audit events into the schema registry wire format: a zero magic byte, the four byte
+ * schema id and the Avro binary body. The schema id is resolved once at startup, and each thread
+ * reuses its own writer, encoder and buffer, so the Kafka producer only ships bytes. The V1
+ * request date keeps the offset format of the original events, rendered in the local zone.
+ * <b>Class</b>: AuditEncoder
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public final class AuditEncoder {
+
+  private static final byte MAGIC_BYTE = 0;
+  private static final int INITIAL_BUFFER_SIZE = 256;
+
+  /**
+   * Wire format of the audit events.
+   */
+  public enum AuditFormat {
+    /** The original {@link AvroAudit} with a string map, kept while consumers migrate. */
+    V1(AvroAudit.getClassSchema()),
+    /** The typed {@link AvroAuditV2}. */
+    V2(AvroAuditV2.getClassSchema());
+
+    private final Schema schema;
+
+    AuditFormat(Schema schema) {
+      this.schema = schema;
+    }
+
+    /**
+     * Returns the Avro schema written for this format.
+     *
+     * @return the schema
+     */
+    public Schema schema() {
+      return schema;
+    }
+  }
+
+  private final AuditFormat format;
+  private final int schemaId;
+  private final ZoneId zone;
+  private final ThreadLocal<Slot> slots;
+
+  /**
+   * Constructor for AuditEncoder.
+   *
+   * @param format   the {@link AuditFormat} written
+   * @param schemaId the schema registry id of the format schema
+   */
+  public AuditEncoder(AuditFormat format, int schemaId) {
+    this(format, schemaId, ZoneId.systemDefault());
+  }
+
+  AuditEncoder(AuditFormat format, int schemaId, ZoneId zone) {
+    this.format = format;
+    this.schemaId = schemaId;
+    this.zone = zone;
+    this.slots = ThreadLocal.withInitial(() -> new Slot(format.schema()));
+  }
+
+  /**
+   * Returns the wire format written by this encoder.
+   *
+   * @return the {@link AuditFormat}
+   */
+  public AuditFormat format() {
+    return format;
+  }
+
+  /**
+   * Encodes an audit event in the configured format.
+   *
+   * @param audit the audit event
+   * @return the serialized record value
+   */
+  public byte[] encode(AvroAuditV2 audit) {
+    SpecificRecord datum = format == AuditFormat.V1 ? toV1(audit) : audit;
+    Slot slot = slots.get();
+    slot.buffer.reset();
+    slot.buffer.write(MAGIC_BYTE);
+    slot.buffer.write(schemaId >>> 24);
+    slot.buffer.write(schemaId >>> 16);
+    slot.buffer.write(schemaId >>> 8);
+    slot.buffer.write(schemaId);
+    try {
+      slot.writer.write(datum, slot.encoder);
+      slot.encoder.flush();
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Audit event " + audit.getEventId() + " not encoded", ex);
+    }
+    return slot.buffer.toByteArray();
+  }
+
+  private AvroAudit toV1(AvroAuditV2 audit) {
+    Map<String, String> data = Map.of(
+        "customerDni", audit.getCustomerDni(),
+        "sellRate", String.valueOf(audit.getSellRate()),
+        "buyRate", String.valueOf(audit.getBuyRate())
+    );
+    String quotationDate = OffsetDateTime.ofInstant(audit.getQuotationDate(), zone).toString();
+    return new AvroAudit(audit.getEventId(), quotationDate, data);
+  }
+
+  /**
+   * Per-thread encoding state.
+   */
+  private static final class Slot {
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+    private final SpecificDatumWriter<SpecificRecord> writer;
+    private final BinaryEncoder encoder;
+
+    private Slot(Schema schema) {
+      this.writer = new SpecificDatumWriter<>(schema);
+      this.encoder = EncoderFactory.get().directBinaryEncoder(buffer, null);
+    }
+  }
+
+}
@@ -0,0 +1,251 @@
+package com.klab.services.backarchetype.messaging;
+
+import com.klab.services.backarchetype.concurrent.BlockingBulkhead;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.RetriableException;
+import org.jboss.logging.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Name;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+
+/**
+ * Relay publishing the audit outbox to Kafka.
+ * Each batch is claimed with {@code FOR UPDATE SKIP LOCKED} by a single statement that leases
+ * its rows, so several instances drain the outbox in parallel without sharing rows and no
+ * transaction or connection is held while the broker acks the records. Acked rows are deleted;
+ * rows that failed are released for the next poll, so events are delivered at least once and
+ * consumers deduplicate them by event id. A relay that dies mid-batch leaves its rows leased
+ * until the lease expires, which must outlast the producer {@code delivery.timeout.ms}.
+ * A record the broker rejects for itself, rather than for a retriable error, counts an attempt,
+ * and after the maximum attempts its row is moved to {@code audit_outbox_dead_letter} so that
+ * it no longer comes back first on every poll.
+ * {@code KafkaProducer.send} blocks while it waits for topic metadata or buffer space, so the
+ * records are handed to the sender from the {@link BlockingBulkhead} instead of the R2DBC event
+ * loop that emitted the claimed rows.
+ * <b>Class</b>: AuditOutboxRelay
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@Component
+public class AuditOutboxRelay {
+
+  private static final Logger LOGGER = Logger.getLogger(AuditOutboxRelay.class);
+
+  private static final String CLAIM = "UPDATE audit_outbox "
+      + "SET leased_until = LOCALTIMESTAMP + $2 * INTERVAL '1 millisecond' WHERE id IN ("
+      + "SELECT id FROM audit_outbox WHERE leased_until IS NULL OR leased_until < LOCALTIMESTAMP "
+      + "ORDER BY id LIMIT $1 FOR UPDATE SKIP LOCKED) "
+      + "RETURNING id, event_id, payload, attempts, "
+      + "(EXTRACT(EPOCH FROM LOCALTIMESTAMP - created_at) * 1000)::BIGINT";
+  private static final String DELETE = "DELETE FROM audit_outbox WHERE id = ANY($1)";
+  private static final String RELEASE =
+      "UPDATE audit_outbox SET leased_until = NULL WHERE id = ANY($1)";
+  private static final String REJECT =
+      "UPDATE audit_outbox SET leased_until = NULL, attempts = attempts + 1 WHERE id = ANY($1)";
+  private static final String DEAD_LETTER = "WITH dead AS ("
+      + "DELETE FROM audit_outbox WHERE id = $1 "
+      + "RETURNING id, event_id, payload, attempts, created_at) "
+      + "INSERT INTO audit_outbox_dead_letter "
+      + "(id, event_id, payload, attempts, error, created_at) "
+      + "SELECT id, event_id, payload, attempts + 1, $2, created_at FROM dead";
+
+  private final KafkaSender<String, byte[]> sender;
+  private final DatabaseClient databaseClient;
+  private final BlockingBulkhead blockingBulkhead;
+  private final String topic;
+  private final int batchSize;
+  private final long leaseMillis;
+  private final int maxAttempts;
+  private final Counter relayed;
+  private final Counter deadLettered;
+
+  private volatile long lagMillis;
+
+  /**
+   * Constructor for AuditOutboxRelay.
+   *
+   * @param sender           the Kafka sender for encoded audit messages
+   * @param databaseClient   the R2DBC {@link DatabaseClient}
+   * @param blockingBulkhead the {@link BlockingBulkhead} the records are sent from
+   * @param meterRegistry    the {@link MeterRegistry} counting relayed and dead-lettered events
+   * @param topic            the topic to send audit messages to
+   * @param batchSize        the maximum number of events claimed per batch
+   * @param lease            how long a claimed batch is hidden from other relays
+   * @param maxAttempts      the rejected sends after which an event is dead-lettered
+   */
+  public AuditOutboxRelay(
+      @Name("producerAudit") KafkaSender<String, byte[]> sender,
+      DatabaseClient databaseClient,
+      BlockingBulkhead blockingBulkhead,
+      MeterRegistry meterRegistry,
+      @Value("${spring.kafka.producer.topic}") String topic,
+      @Value("${spring.kafka.producer.outbox.batch-size:500}") int batchSize,
+      @Value("${spring.kafka.producer.outbox.lease:5m}") Duration lease,
+      @Value("${spring.kafka.producer.outbox.max-attempts:5}") int maxAttempts) {
+    this.sender = sender;
+    this.databaseClient = databaseClient;
+    this.blockingBulkhead = blockingBulkhead;
+    this.topic = topic;
+    this.batchSize = batchSize;
+    this.leaseMillis = lease.toMillis();
+    this.maxAttempts = maxAttempts;
+    this.relayed = Counter.builder("quotation.audit.relayed")
+        .description("Audit events published from the outbox")
+        .register(meterRegistry);
+    this.deadLettered = Counter.builder("quotation.audit.dead-lettered")
+        .description("Audit events moved to the outbox dead letter table")
+        .register(meterRegistry);
+    LOGGER.infof("Audit outbox relay to topic '%s' with batch size %d, lease %s and %d attempts",
+        topic, batchSize, lease, maxAttempts);
+  }
+
+  /**
+   * Drains the outbox, one batch after the other, until a batch comes back short or with
+   * failed events, which wait for the next poll.
+   *
+   * @return Mono that completes when the outbox is drained or a batch failed
+   */
+  @Scheduled(fixedDelayString = "${spring.kafka.producer.outbox.poll-interval:500ms}")
+  public Mono<Void> relay() {
+    return relayBatch()
+        .expand(acked -> acked == batchSize ? relayBatch() : Mono.empty())
+        .reduce(0, Integer::sum)
+        .filter(total -> total > 0)
+        .doOnNext(total -> LOGGER.debugf("Relayed %d audit events", total))
+        .onErrorResume(error -> {
+          LOGGER.errorf("Audit outbox relay failed, retrying on next poll: %s",
+              error.getMessage());
+          return Mono.empty();
+        })
+        .then();
+  }
+
+  /**
+   * Returns how long the oldest event of the last claimed batch waited in the outbox.
+   *
+   * @return the outbox lag in milliseconds, zero when the outbox was empty
+   */
+  public long lagMillis() {
+    return lagMillis;
+  }
+
+  private Mono<Integer> relayBatch() {
+    return databaseClient.sql(CLAIM)
+        .bind(0, batchSize)
+        .bind(1, leaseMillis)
+        .map(row -> new Claimed(row.get(0, Long.class), row.get(1, String.class),
+            row.get(2, byte[].class), row.get(3, Integer.class), row.get(4, Long.class)))
+        .all()
+        .collectList()
+        .flatMap(this::publish);
+  }
+
+  private Mono<Integer> publish(List<Claimed> claimed) {
+    lagMillis = claimed.stream().mapToLong(Claimed::ageMillis).max().orElse(0L);
+    if (claimed.isEmpty()) {
+      return Mono.just(0);
+    }
+    return sender.send(Flux.fromIterable(claimed)
+            .map(event -> SenderRecord.create(
+                new ProducerRecord<String, byte[]>(topic, event.payload()), event.id()))
+            .publishOn(blockingBulkhead.scheduler()))
+        .collectList()
+        .onErrorResume(error -> update(RELEASE, ids(claimed)).then(Mono.error(error)))
+        .flatMap(results -> settle(claimed, results));
+  }
+
+  private Mono<Integer> settle(List<Claimed> claimed, List<SenderResult<Long>> results) {
+    Map<Long, Claimed> byId = claimed.stream()
+        .collect(Collectors.toMap(Claimed::id, Function.identity()));
+    List<Long> acked = new ArrayList<>();
+    List<Long> released = new ArrayList<>();
+    List<Long> rejected = new ArrayList<>();
+    Map<Claimed, Exception> dead = new LinkedHashMap<>();
+    for (SenderResult<Long> result : results) {
+      Long id = result.correlationMetadata();
+      Exception error = result.exception();
+      if (error == null) {
+        acked.add(id);
+      } else if (error instanceof RetriableException) {
+        released.add(id);
+      } else if (byId.get(id).attempts() + 1 >= maxAttempts) {
+        dead.put(byId.get(id), error);
+      } else {
+        rejected.add(id);
+      }
+    }
+    if (acked.size() < claimed.size()) {
+      LOGGER.warnf("%d of %d audit events not acked: %d released, %d rejected, %d dead-lettered",
+          claimed.size() - acked.size(), claimed.size(), released.size(), rejected.size(),
+          dead.size());
+    }
+    return update(DELETE, acked)
+        .then(update(RELEASE, released))
+        .then(update(REJECT, rejected))
+        .thenMany(Flux.fromIterable(dead.entrySet()))
+        .concatMap(entry -> deadLetter(entry.getKey(), entry.getValue()))
+        .then()
+        .doOnSuccess(done -> relayed.increment(acked.size()))
+        .thenReturn(acked.size());
+  }
+
+  private static Long[] ids(List<Claimed> claimed) {
+    return claimed.stream().map(Claimed::id).toArray(Long[]::new);
+  }
+
+  private Mono<Long> update(String sql, List<Long> ids) {
+    return update(sql, ids.toArray(Long[]::new));
+  }
+
+  private Mono<Long> update(String sql, Long[] ids) {
+    if (ids.length == 0) {
+      return Mono.just(0L);
+    }
+    return databaseClient.sql(sql).bind(0, ids).fetch().rowsUpdated();
+  }
+
+  private Mono<Long> deadLetter(Claimed event, Exception error) {
+    return databaseClient.sql(DEAD_LETTER)
+        .bind(0, event.id())
+        .bind(1, error.toString())
+        .fetch()
+        .rowsUpdated()
+        .doOnNext(rows -> {
+          deadLettered.increment(rows);
+          LOGGER.errorf("Dead-lettered audit event %s after %d attempts: %s",
+              event.eventId(), event.attempts() + 1, error.toString());
+        });
+  }
+
+  /**
+   * An outbox row claimed by the current batch.
+   *
+   * @param id        the outbox row id
+   * @param eventId   the audit event id
+   * @param payload   the encoded audit event
+   * @param attempts  the sends the broker rejected before this one
+   * @param ageMillis the time the row waited in the outbox
+   */
+  private record Claimed(Long id, String eventId, byte[] payload, int attempts,
+                         long ageMillis) {
+  }
+
+}
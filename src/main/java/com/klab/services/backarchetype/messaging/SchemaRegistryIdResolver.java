@@ -0,0 +1,66 @@
+package com.klab.services.backarchetype.messaging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.time.Duration;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.jboss.logging.Logger;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Resolves schema ids through the schema registry REST API, so that records can be encoded
+ * without a registry client on the hot path.
+ * <b>Class</b>: SchemaRegistryIdResolver
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public class SchemaRegistryIdResolver {
+
+  private static final Logger LOGGER = Logger.getLogger(SchemaRegistryIdResolver.class);
+
+  private static final MediaType REGISTRY_JSON =
+      MediaType.parseMediaType("application/vnd.schemaregistry.v1+json");
+
+  private final WebClient webClient;
+  private final Duration timeout;
+
+  /**
+   * Constructor for SchemaRegistryIdResolver.
+   *
+   * @param registryUrl the schema registry base URL
+   * @param timeout     the maximum time to wait for the registry
+   */
+  public SchemaRegistryIdResolver(String registryUrl, Duration timeout) {
+    this.webClient = WebClient.builder().baseUrl(registryUrl).build();
+    this.timeout = timeout;
+  }
+
+  /**
+   * Returns the id of a schema under a subject, registering it first when asked to.
+   *
+   * @param subject  the registry subject
+   * @param schema   the Avro schema
+   * @param register whether to register the schema or only look it up
+   * @return the schema id
+   */
+  public int resolve(String subject, Schema schema, boolean register) {
+    JsonNode response = webClient.post()
+        .uri(register ? "/subjects/{subject}/versions" : "/subjects/{subject}", subject)
+        .contentType(REGISTRY_JSON)
+        .bodyValue(Map.of("schema", schema.toString()))
+        .retrieve()
+        .bodyToMono(JsonNode.class)
+        .block(timeout);
+    if (response == null || !response.hasNonNull("id")) {
+      throw new IllegalStateException("Schema registry returned no id for subject " + subject);
+    }
+    int id = response.get("id").asInt();
+    LOGGER.infof("Schema %s resolved to id %d under subject '%s'", schema.getFullName(), id,
+        subject);
+    return id;
+  }
+
+}
@@ -0,0 +1,105 @@
+package com.klab.services.backarchetype.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Micrometer instrumentation of the quotation pipeline stages.
+ * Every stage records a {@value #STAGE_TIMER} timer tagged by stage and outcome, and failures
+ * increment {@value #ERROR_COUNTER} tagged by stage and exception type. Tags never carry
+ * request data, so the number of series stays bounded.
+ * <b>Class</b>: QuotationMetrics
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@Component
+public class QuotationMetrics {
+
+  public static final String STAGE_TIMER = "quotation.stage";
+  public static final String ERROR_COUNTER = "quotation.errors";
+
+  private final MeterRegistry registry;
+
+  /**
+   * Constructor for QuotationMetrics.
+   *
+   * @param registry the registry where the meters are published
+   */
+  public QuotationMetrics(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  /**
+   * Returns the instrumentation of a pipeline stage, registering its timers.
+   *
+   * @param name the stage name
+   * @return the {@link Stage}
+   */
+  public Stage stage(String name) {
+    return new Stage(name);
+  }
+
+  /**
+   * Timers of one stage, resolved once so that recording does not look meters up.
+   */
+  public final class Stage {
+
+    private final String name;
+    private final Timer success;
+    private final Timer error;
+    private final Timer cancelled;
+
+    private Stage(String name) {
+      this.name = name;
+      this.success = timer("success");
+      this.error = timer("error");
+      this.cancelled = timer("cancelled");
+    }
+
+    /**
+     * Times an operation from subscription until it terminates or is cancelled.
+     *
+     * @param operation the operation of this stage
+     * @param <T>       the type of the operation result
+     * @return the timed operation
+     */
+    public <T> Mono<T> record(Mono<T> operation) {
+      return Mono.defer(() -> {
+        Timer.Sample sample = Timer.start(registry);
+        return operation
+            .doOnError(this::countError)
+            .doFinally(signal -> sample.stop(timerFor(signal)));
+      });
+    }
+
+    private Timer timerFor(SignalType signal) {
+      return switch (signal) {
+        case ON_ERROR -> error;
+        case CANCEL -> cancelled;
+        default -> success;
+      };
+    }
+
+    private void countError(Throwable failure) {
+      Counter.builder(ERROR_COUNTER)
+          .tag("stage", name)
+          .tag("exception", failure.getClass().getSimpleName())
+          .register(registry)
+          .increment();
+    }
+
+    private Timer timer(String outcome) {
+      return Timer.builder(STAGE_TIMER)
+          .tag("stage", name)
+          .tag("outcome", outcome)
+          .register(registry);
+    }
+  }
+
+}
@@ -0,0 +1,106 @@
+package com.klab.services.backarchetype.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import reactor.pool.PoolMetricsRecorder;
+
+/**
+ * Micrometer recorder of the R2DBC connection pool latencies.
+ * {@value #ACQUIRE_TIMER} measures how long a caller waited for a connection and
+ * {@value #ALLOCATION_TIMER} how long opening a new connection took; the pool occupancy
+ * gauges ({@code r2dbc.pool.acquired}, {@code r2dbc.pool.pending}, ...) are published by
+ * Spring Boot.
+ * <b>Class</b>: R2dbcPoolMetricsRecorder
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public class R2dbcPoolMetricsRecorder implements PoolMetricsRecorder {
+
+  public static final String ACQUIRE_TIMER = "r2dbc.pool.acquire";
+  public static final String ALLOCATION_TIMER = "r2dbc.pool.allocation";
+
+  private final Timer acquireSuccess;
+  private final Timer acquireFailure;
+  private final Timer allocationSuccess;
+  private final Timer allocationFailure;
+
+  /**
+   * Constructor for R2dbcPoolMetricsRecorder.
+   *
+   * @param registry the registry where the timers are published
+   * @param poolName the pool name, used as the {@code name} tag
+   */
+  public R2dbcPoolMetricsRecorder(MeterRegistry registry, String poolName) {
+    this.acquireSuccess = timer(registry, ACQUIRE_TIMER, poolName, "success");
+    this.acquireFailure = timer(registry, ACQUIRE_TIMER, poolName, "failure");
+    this.allocationSuccess = timer(registry, ALLOCATION_TIMER, poolName, "success");
+    this.allocationFailure = timer(registry, ALLOCATION_TIMER, poolName, "failure");
+  }
+
+  @Override
+  public void recordPendingSuccessAndLatency(long latencyMs) {
+    acquireSuccess.record(latencyMs, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void recordPendingFailureAndLatency(long latencyMs) {
+    acquireFailure.record(latencyMs, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void recordAllocationSuccessAndLatency(long latencyMs) {
+    allocationSuccess.record(latencyMs, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void recordAllocationFailureAndLatency(long latencyMs) {
+    allocationFailure.record(latencyMs, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void recordResetLatency(long latencyMs) {
+    // not published
+  }
+
+  @Override
+  public void recordDestroyLatency(long latencyMs) {
+    // not published
+  }
+
+  @Override
+  public void recordRecycled() {
+    // not published
+  }
+
+  @Override
+  public void recordLifetimeDuration(long lifetimeMs) {
+    // not published
+  }
+
+  @Override
+  public void recordIdleTime(long idleTimeMs) {
+    // not published
+  }
+
+  @Override
+  public void recordSlowPath() {
+    // not published
+  }
+
+  @Override
+  public void recordFastPath() {
+    // not published
+  }
+
+  private static Timer timer(MeterRegistry registry, String name, String poolName,
+                             String outcome) {
+    return Timer.builder(name)
+        .tag("name", poolName)
+        .tag("outcome", outcome)
+        .register(registry);
+  }
+
+}
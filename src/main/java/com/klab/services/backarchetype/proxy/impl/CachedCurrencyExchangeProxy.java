@@ -0,0 +1,130 @@
+package com.klab.services.backarchetype.proxy.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.klab.services.backarchetype.proxy.CurrencyExchangeProxy;
+import com.klab.services.thirdparty.currencyexchange.model.CurrencyExchangeResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.jboss.logging.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caching decorator of Currency Exchange Proxy.
+ * The USD/PEN rate changes once a day, so the rate is kept per business date until the
+ * daily reset and concurrent misses share a single upstream call. Only a successful call is
+ * shared: when it fails, the error goes to the caller whose DNI it was made with, and every
+ * waiter asks upstream again with its own DNI. A rate of an earlier date,
+ * served by the {@link LedgerCurrencyExchangeProxy} while the exchange API is down, is not
+ * kept, so the next request asks the ledger again and can pick up the refreshed rate.
+ * <b>Class</b>: CachedCurrencyExchangeProxy
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@Primary
+@Component
+public class CachedCurrencyExchangeProxy implements CurrencyExchangeProxy {
+
+  private static final Logger LOGGER = Logger.getLogger(CachedCurrencyExchangeProxy.class);
+
+  static final String CACHE_NAME = "currency-exchange";
+
+  private final CurrencyExchangeProxy delegate;
+  private final AsyncCache<LocalDate, CurrencyExchangeResponse> cache;
+  private final Clock clock;
+
+  /**
+   * Constructor for CachedCurrencyExchangeProxy.
+   *
+   * @param delegate      the ledger backed {@link CurrencyExchangeProxy}
+   * @param meterRegistry the registry where hit and miss metrics are published
+   * @param maximumSize   the maximum number of business dates kept in memory
+   * @param zone          the time zone where the upstream daily reset happens
+   */
+
+  @Autowired
+  public CachedCurrencyExchangeProxy(
+      @Qualifier("ledgerCurrencyExchangeProxy") CurrencyExchangeProxy delegate,
+      MeterRegistry meterRegistry,
+      @Value("${spring.rest-client.currency-exchange-api-v1.cache.maximum-size:2}")
+      long maximumSize,
+      @Value("${spring.rest-client.currency-exchange-api-v1.cache.zone:America/Lima}")
+      String zone) {
+    this(delegate, meterRegistry, maximumSize, Clock.system(ZoneId.of(zone)));
+  }
+
+  CachedCurrencyExchangeProxy(CurrencyExchangeProxy delegate, MeterRegistry meterRegistry,
+                              long maximumSize, Clock clock) {
+    this.delegate = delegate;
+    this.clock = clock;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfter(new UntilDailyReset())
+        .recordStats()
+        .buildAsync();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  @Override
+  public Mono<CurrencyExchangeResponse> getCurrencyExchange(String dni) {
+    return Mono.defer(() -> {
+      LocalDate businessDate = LocalDate.now(clock);
+      AtomicBoolean loader = new AtomicBoolean();
+      return Mono.fromFuture(() -> cache.get(businessDate, (date, executor) -> {
+        loader.set(true);
+        LOGGER.infof("Exchange rate for %s not cached, refreshing from upstream", date);
+        return delegate.getCurrencyExchange(dni).toFuture();
+      }), true)
+          .onErrorResume(error -> !loader.get(), error -> {
+            LOGGER.debugf("Shared exchange rate load failed, retrying with own DNI: %s",
+                error.getMessage());
+            return delegate.getCurrencyExchange(dni);
+          });
+    });
+  }
+
+  /**
+   * Expires every entry at the start of the day following its business date, and at once
+   * the entries holding the rate of an earlier date.
+   */
+  private final class UntilDailyReset implements Expiry<LocalDate, CurrencyExchangeResponse> {
+
+    @Override
+    public long expireAfterCreate(LocalDate date, CurrencyExchangeResponse response,
+                                  long currentTime) {
+      if (response.getDate() != null && response.getDate().isBefore(date)) {
+        return 0L;
+      }
+      ZonedDateTime reset = date.plusDays(1).atStartOfDay(clock.getZone());
+      Duration remaining = Duration.between(ZonedDateTime.now(clock), reset);
+      return Math.max(0L, remaining.toNanos());
+    }
+
+    @Override
+    public long expireAfterUpdate(LocalDate date, CurrencyExchangeResponse response,
+                                  long currentTime, long currentDuration) {
+      return expireAfterCreate(date, response, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(LocalDate date, CurrencyExchangeResponse response,
+                                long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+
+}
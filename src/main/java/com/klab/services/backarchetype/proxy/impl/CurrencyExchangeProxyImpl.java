@@ -2,15 +2,34 @@ package com.klab.services.backarchetype.proxy.impl;
 
 import com.klab.services.backarchetype.exception.WebClientException;
 import com.klab.services.backarchetype.proxy.CurrencyExchangeProxy;
+import com.klab.services.backarchetype.quota.DniQuotaTracker;
 import com.klab.services.thirdparty.currencyexchange.model.CurrencyExchangeResponse;
 import com.klab.services.thirdparty.currencyexchange.proxy.ExchangeRateApi;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeoutException;
 import org.jboss.logging.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreaker;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
 /**
  * Implementation of Currency Exchange Proxy.
+ * Transient failures (I/O errors and 5xx responses) are retried with jittered exponential
+ * backoff, and the whole call runs inside a circuit breaker that rejects calls fast while the
+ * service is failing. Each DNI first spends a query of its {@link DniQuotaTracker} quota, so a
+ * DNI past the daily limit of the API is refused with a 429 without a round-trip; the quota is
+ * then aligned with the {@code X-RateLimit-*} headers of the response.
  * <b>Class</b>: CurrencyExchangeProxyImpl
  * <b>Company</b>: Klab
  *
@@ -20,31 +39,141 @@ import reactor.core.publisher.Mono;
 @Component
 public class CurrencyExchangeProxyImpl implements CurrencyExchangeProxy {
 
+  public static final String CIRCUIT_BREAKER_ID = "currency-exchange";
+
+  static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+  static final String RESET_HEADER = "X-RateLimit-Reset";
+
   private static final Logger LOGGER = Logger.getLogger(CurrencyExchangeProxyImpl.class);
 
+  private static final String RATE_LIMIT_BODY = "{\"error\":\"Rate Limit Exceeded\","
+      + "\"message\":\"Daily consultation limit reached. Maximum %d queries per day.\","
+      + "\"dni\":\"%s\",\"queries_used\":%d,\"queries_limit\":%d,\"reset_time\":\"%s\"}";
+
   private final ExchangeRateApi exchangeRateApi;
+  private final ReactiveCircuitBreaker circuitBreaker;
+  private final DniQuotaTracker quotaTracker;
+  private final Retry retry;
 
   /**
    * Constructor for CurrencyExchangeProxyImpl.
    *
-   * @param exchangeRateApi the exchange rate API client
+   * @param exchangeRateApi       the exchange rate API client
+   * @param circuitBreakerFactory the factory of the circuit breaker around the calls
+   * @param quotaTracker          the {@link DniQuotaTracker} of the daily query quota
+   * @param maxRetries            the maximum number of retries of a failed call
+   * @param minBackoff            the backoff before the first retry
+   * @param maxBackoff            the maximum backoff between retries
+   * @param jitter                the jitter factor applied to each backoff, from 0 to 1
    */
 
-  public CurrencyExchangeProxyImpl(ExchangeRateApi exchangeRateApi) {
+  public CurrencyExchangeProxyImpl(
+      ExchangeRateApi exchangeRateApi,
+      ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory,
+      DniQuotaTracker quotaTracker,
+      @Value("${spring.rest-client.currency-exchange-api-v1.retry.max-retries:2}")
+      int maxRetries,
+      @Value("${spring.rest-client.currency-exchange-api-v1.retry.min-backoff:100ms}")
+      Duration minBackoff,
+      @Value("${spring.rest-client.currency-exchange-api-v1.retry.max-backoff:1s}")
+      Duration maxBackoff,
+      @Value("${spring.rest-client.currency-exchange-api-v1.retry.jitter:0.5}")
+      double jitter) {
     this.exchangeRateApi = exchangeRateApi;
+    this.circuitBreaker = circuitBreakerFactory.create(CIRCUIT_BREAKER_ID);
+    this.quotaTracker = quotaTracker;
+    this.retry = Retry.backoff(maxRetries, minBackoff)
+        .maxBackoff(maxBackoff)
+        .jitter(jitter)
+        .filter(CurrencyExchangeProxyImpl::isRetryable)
+        .doBeforeRetry(signal -> LOGGER.warnf("Retrying currency exchange call (%d): %s",
+            signal.totalRetries() + 1, signal.failure().getMessage()))
+        .onRetryExhaustedThrow((spec, signal) -> signal.failure());
   }
 
   @Override
   public Mono<CurrencyExchangeResponse> getCurrencyExchange(String dni) {
-    LOGGER.infof("Calling currency exchange API for DNI: %s", dni);
-    return exchangeRateApi.getCurrencyExchange(dni)
-        .onErrorMap(WebClientResponseException.class, ex ->
-            new WebClientException(
-                ex.getStatusCode(),
-                ex.getStatusText(),
-                ex.getResponseBodyAsString()
-            )
-        );
+    return Mono.defer(() -> {
+      if (!quotaTracker.tryAcquire(dni)) {
+        LOGGER.warnf("Daily exchange rate quota of DNI %s is spent, refusing call", dni);
+        return Mono.error(quotaExceeded(dni));
+      }
+      LOGGER.infof("Calling currency exchange API for DNI: %s", dni);
+      Mono<ResponseEntity<CurrencyExchangeResponse>> call =
+          Mono.defer(() -> exchangeRateApi.getCurrencyExchangeWithHttpInfo(dni)).retryWhen(retry);
+      return circuitBreaker.run(call, this::unavailable)
+          .doOnNext(response -> syncQuota(dni, response.getHeaders()))
+          .doOnError(error -> releaseQuota(dni, error))
+          .map(ResponseEntity::getBody)
+          .onErrorMap(WebClientResponseException.class, ex ->
+              new WebClientException(
+                  ex.getStatusCode(),
+                  ex.getStatusText(),
+                  ex.getResponseBodyAsString()
+              )
+          );
+    });
+  }
+
+  /**
+   * Tells whether a failure counts against the circuit breaker.
+   * Client errors (4xx) are caused by the request and say nothing about the service health.
+   *
+   * @param error the failure of a call
+   * @return true when the failure should be recorded
+   */
+  public static boolean isServerFailure(Throwable error) {
+    return !(error instanceof WebClientResponseException ex
+        && ex.getStatusCode().is4xxClientError());
+  }
+
+  private static boolean isRetryable(Throwable error) {
+    return error instanceof WebClientRequestException
+        || error instanceof WebClientResponseException ex
+        && ex.getStatusCode().is5xxServerError();
+  }
+
+  private void syncQuota(String dni, HttpHeaders headers) {
+    String remaining = headers.getFirst(REMAINING_HEADER);
+    if (remaining == null) {
+      return;
+    }
+    try {
+      String reset = headers.getFirst(RESET_HEADER);
+      Instant resetAt = reset == null ? null : Instant.parse(reset);
+      quotaTracker.sync(dni, Long.parseLong(remaining), resetAt);
+    } catch (NumberFormatException | DateTimeParseException ex) {
+      LOGGER.warnf("Ignoring malformed rate limit headers: %s", ex.getMessage());
+    }
+  }
+
+  private void releaseQuota(String dni, Throwable error) {
+    if (error instanceof WebClientResponseException ex
+        && HttpStatus.TOO_MANY_REQUESTS.isSameCodeAs(ex.getStatusCode())) {
+      quotaTracker.exhaust(dni);
+    } else {
+      quotaTracker.release(dni);
+    }
+  }
+
+  private WebClientException quotaExceeded(String dni) {
+    int limit = quotaTracker.dailyLimit();
+    return new WebClientException(HttpStatus.TOO_MANY_REQUESTS,
+        HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(), RATE_LIMIT_BODY.formatted(limit, dni,
+        quotaTracker.used(dni), limit, quotaTracker.resetAt()));
+  }
+
+  private <T> Mono<T> unavailable(Throwable error) {
+    if (error instanceof CallNotPermittedException) {
+      LOGGER.warn("Currency exchange circuit is open, rejecting call");
+      return Mono.error(new WebClientException(HttpStatus.SERVICE_UNAVAILABLE,
+          error.getMessage(), "Currency exchange service is temporarily unavailable"));
+    }
+    if (error instanceof TimeoutException) {
+      return Mono.error(new WebClientException(HttpStatus.GATEWAY_TIMEOUT,
+          error.getMessage(), "Currency exchange service did not respond in time"));
+    }
+    return Mono.error(error);
   }
 
 }
@@ -0,0 +1,192 @@
+package com.klab.services.backarchetype.proxy.impl;
+
+import com.klab.services.backarchetype.proxy.CurrencyExchangeProxy;
+import com.klab.services.backarchetype.repository.ExchangeRateLedger;
+import com.klab.services.thirdparty.currencyexchange.model.CurrencyExchangeResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import org.jboss.logging.Logger;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Stale-while-revalidate decorator of Currency Exchange Proxy backed by the
+ * {@link ExchangeRateLedger}.
+ * Every rate received is stored in the ledger, and the newest one is kept in memory, loaded
+ * from the ledger before the server accepts requests. A rate of the current business date is
+ * served without a call. An older rate keeps being served, with its own date and source, for
+ * up to {@code ledger.max-staleness} after its day ended, while a single background call
+ * refreshes it with the DNI of the request that found it stale, at most once per
+ * {@code ledger.refresh-backoff}. Past that limit, or with an empty ledger, requests wait for
+ * the exchange API and fail with it.
+ * <b>Class</b>: LedgerCurrencyExchangeProxy
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@Component
+public class LedgerCurrencyExchangeProxy implements CurrencyExchangeProxy,
+    SmartInitializingSingleton {
+
+  private static final Logger LOGGER = Logger.getLogger(LedgerCurrencyExchangeProxy.class);
+
+  private final CurrencyExchangeProxy delegate;
+  private final ExchangeRateLedger ledger;
+  private final boolean enabled;
+  private final Duration maxStaleness;
+  private final Duration refreshBackoff;
+  private final Duration loadTimeout;
+  private final Clock clock;
+  private final AtomicReference<CurrencyExchangeResponse> latest = new AtomicReference<>();
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+  private final LongAdder servedStale = new LongAdder();
+
+  private volatile Instant nextRefresh = Instant.MIN;
+
+  /**
+   * Constructor for LedgerCurrencyExchangeProxy.
+   *
+   * @param delegate       the remote {@link CurrencyExchangeProxy}
+   * @param ledger         the {@link ExchangeRateLedger} storing the rates received
+   * @param enabled        false to call the exchange API on every request
+   * @param maxStaleness   how long after its day ended a rate may still be served
+   * @param refreshBackoff the minimum time between two background refreshes
+   * @param loadTimeout    the maximum time the ledger may take to load at startup
+   * @param zone           the time zone where the upstream daily reset happens
+   */
+
+  @Autowired
+  public LedgerCurrencyExchangeProxy(
+      @Qualifier("currencyExchangeProxyImpl") CurrencyExchangeProxy delegate,
+      ExchangeRateLedger ledger,
+      @Value("${spring.rest-client.currency-exchange-api-v1.ledger.enabled:true}")
+      boolean enabled,
+      @Value("${spring.rest-client.currency-exchange-api-v1.ledger.max-staleness:24h}")
+      Duration maxStaleness,
+      @Value("${spring.rest-client.currency-exchange-api-v1.ledger.refresh-backoff:30s}")
+      Duration refreshBackoff,
+      @Value("${spring.rest-client.currency-exchange-api-v1.ledger.load-timeout:5s}")
+      Duration loadTimeout,
+      @Value("${spring.rest-client.currency-exchange-api-v1.cache.zone:America/Lima}")
+      String zone) {
+    this(delegate, ledger, enabled, maxStaleness, refreshBackoff, loadTimeout,
+        Clock.system(ZoneId.of(zone)));
+  }
+
+  LedgerCurrencyExchangeProxy(CurrencyExchangeProxy delegate, ExchangeRateLedger ledger,
+                              boolean enabled, Duration maxStaleness, Duration refreshBackoff,
+                              Duration loadTimeout, Clock clock) {
+    this.delegate = delegate;
+    this.ledger = ledger;
+    this.enabled = enabled;
+    this.maxStaleness = maxStaleness;
+    this.refreshBackoff = refreshBackoff;
+    this.loadTimeout = loadTimeout;
+    this.clock = clock;
+  }
+
+  /**
+   * Loads the newest rate of the ledger, once every singleton exists and before the server
+   * starts. A ledger that cannot be read leaves the memory empty, so the first request waits
+   * for the exchange API.
+   */
+  @Override
+  public void afterSingletonsInstantiated() {
+    if (!enabled) {
+      LOGGER.info("Exchange rate ledger disabled, every rate comes from the exchange API");
+      return;
+    }
+    ledger.findLatest()
+        .timeout(loadTimeout)
+        .doOnNext(this::remember)
+        .doOnNext(rate -> LOGGER.infof("Exchange rate ledger loaded with the rate of %s",
+            rate.getDate()))
+        .onErrorResume(error -> {
+          LOGGER.errorf("Exchange rate ledger could not be loaded: %s", error.getMessage());
+          return Mono.empty();
+        })
+        .block();
+  }
+
+  @Override
+  public Mono<CurrencyExchangeResponse> getCurrencyExchange(String dni) {
+    if (!enabled) {
+      return delegate.getCurrencyExchange(dni);
+    }
+    return Mono.defer(() -> {
+      CurrencyExchangeResponse known = latest.get();
+      if (known == null) {
+        return fetch(dni);
+      }
+      LocalDate businessDate = LocalDate.now(clock);
+      if (!known.getDate().isBefore(businessDate)) {
+        return Mono.just(known);
+      }
+      Duration staleFor = Duration.between(
+          known.getDate().plusDays(1).atStartOfDay(clock.getZone()).toInstant(), clock.instant());
+      if (staleFor.compareTo(maxStaleness) > 0) {
+        LOGGER.warnf("Exchange rate of %s is stale for %s, waiting for the exchange API",
+            known.getDate(), staleFor);
+        return fetch(dni);
+      }
+      servedStale.increment();
+      refresh(dni);
+      return Mono.just(known);
+    });
+  }
+
+  /**
+   * Returns the number of requests served with a rate of an earlier date.
+   *
+   * @return the stale rates served since startup
+   */
+  public long servedStale() {
+    return servedStale.sum();
+  }
+
+  private void refresh(String dni) {
+    if (clock.instant().isBefore(nextRefresh) || !refreshing.compareAndSet(false, true)) {
+      return;
+    }
+    LOGGER.info("Refreshing the stale exchange rate in the background");
+    fetch(dni)
+        .doOnError(error -> LOGGER.warnf("Background exchange rate refresh failed: %s",
+            error.getMessage()))
+        .doFinally(signal -> {
+          nextRefresh = clock.instant().plus(refreshBackoff);
+          refreshing.set(false);
+        })
+        .onErrorResume(error -> Mono.empty())
+        .subscribe();
+  }
+
+  private Mono<CurrencyExchangeResponse> fetch(String dni) {
+    return delegate.getCurrencyExchange(dni)
+        .flatMap(rate -> ledger.save(rate)
+            .onErrorResume(error -> {
+              LOGGER.errorf("Exchange rate of %s could not be stored in the ledger: %s",
+                  rate.getDate(), error.getMessage());
+              return Mono.empty();
+            })
+            .then(Mono.fromRunnable(() -> remember(rate)))
+            .thenReturn(rate));
+  }
+
+  private void remember(CurrencyExchangeResponse rate) {
+    latest.accumulateAndGet(rate, (current, received) ->
+        current == null || !received.getDate().isBefore(current.getDate())
+            ? received : current);
+  }
+
+}
@@ -0,0 +1,300 @@
+package com.klab.services.backarchetype.quota;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.jboss.logging.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local copy of the daily query quota the currency exchange API grants each DNI.
+ * A DNI is eight digits, so it is used as a direct index into 100M four-bit counters packed
+ * sixteen to a long. The longs live in pages of 64K DNIs that are allocated the first time one
+ * of their DNIs is seen, so the counters never take more than 50 MB, whatever the number of
+ * customers in a day. Counters are updated with CAS, without locks or boxing, and are
+ * all dropped at the daily reset of the upstream API, checked by {@link #resetIfDue()}.
+ * <b>Class</b>: DniQuotaTracker
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@Component
+public class DniQuotaTracker {
+
+  private static final Logger LOGGER = Logger.getLogger(DniQuotaTracker.class);
+
+  static final int MAX_DAILY_LIMIT = 15;
+
+  private static final int DNI_DIGITS = 8;
+  private static final int SLOTS = 100_000_000;
+  private static final int PAGE_SHIFT = 16;
+  private static final int PAGE_MASK = (1 << PAGE_SHIFT) - 1;
+  private static final int PAGES = (SLOTS + PAGE_MASK) >>> PAGE_SHIFT;
+  private static final int SLOT_BITS = 4;
+  private static final int SLOTS_PER_WORD = Long.SIZE / SLOT_BITS;
+  private static final int PAGE_WORDS = (PAGE_MASK + 1) / SLOTS_PER_WORD;
+  private static final long SLOT_MASK = (1L << SLOT_BITS) - 1;
+
+  private final int dailyLimit;
+  private final Clock clock;
+  private final AtomicReference<Day> day;
+  private final LongAdder refused = new LongAdder();
+
+  /**
+   * Constructor for DniQuotaTracker.
+   *
+   * @param dailyLimit the queries per DNI and day granted by the upstream API, at most 15
+   * @param zone       the time zone where the upstream daily reset happens
+   */
+
+  @Autowired
+  public DniQuotaTracker(
+      @Value("${spring.rest-client.currency-exchange-api-v1.quota.daily-limit:10}")
+      int dailyLimit,
+      @Value("${spring.rest-client.currency-exchange-api-v1.cache.zone:America/Lima}")
+      String zone) {
+    this(dailyLimit, Clock.system(ZoneId.of(zone)));
+  }
+
+  DniQuotaTracker(int dailyLimit, Clock clock) {
+    if (dailyLimit < 1 || dailyLimit > MAX_DAILY_LIMIT) {
+      throw new IllegalArgumentException(
+          "Daily limit must be between 1 and " + MAX_DAILY_LIMIT + ": " + dailyLimit);
+    }
+    this.dailyLimit = dailyLimit;
+    this.clock = clock;
+    this.day = new AtomicReference<>(new Day(nextReset(clock.millis())));
+  }
+
+  /**
+   * Takes one query from the quota of a DNI.
+   * DNIs that are not eight digits are not tracked and always get a query, so the upstream
+   * API can reject them.
+   *
+   * @param dni the customer DNI
+   * @return false when the DNI has no queries left today
+   */
+  public boolean tryAcquire(String dni) {
+    int slot = slot(dni);
+    if (slot < 0) {
+      return true;
+    }
+    AtomicLongArray page = day.get().page(slot);
+    int word = word(slot);
+    int shift = shift(slot);
+    long bits;
+    do {
+      bits = page.get(word);
+      if ((bits >>> shift & SLOT_MASK) >= dailyLimit) {
+        refused.increment();
+        return false;
+      }
+    } while (!page.compareAndSet(word, bits, bits + (1L << shift)));
+    return true;
+  }
+
+  /**
+   * Gives back a query taken by {@link #tryAcquire(String)} for a call that failed.
+   *
+   * @param dni the customer DNI
+   */
+  public void release(String dni) {
+    int slot = slot(dni);
+    if (slot < 0) {
+      return;
+    }
+    AtomicLongArray page = day.get().page(slot);
+    int word = word(slot);
+    int shift = shift(slot);
+    long bits;
+    do {
+      bits = page.get(word);
+      if ((bits >>> shift & SLOT_MASK) == 0) {
+        return;
+      }
+    } while (!page.compareAndSet(word, bits, bits - (1L << shift)));
+  }
+
+  /**
+   * Aligns the quota of a DNI with the {@code X-RateLimit-*} headers of an upstream response.
+   *
+   * @param dni       the customer DNI
+   * @param remaining the queries left today according to the upstream API
+   * @param resetAt   the next daily reset according to the upstream API, or null
+   */
+  public void sync(String dni, long remaining, Instant resetAt) {
+    if (resetAt != null) {
+      syncReset(resetAt);
+    }
+    set(dni, (int) Math.max(0L, dailyLimit - Math.min(remaining, dailyLimit)));
+  }
+
+  /**
+   * Spends the whole quota of a DNI after the upstream API refused it.
+   *
+   * @param dni the customer DNI
+   */
+  public void exhaust(String dni) {
+    set(dni, dailyLimit);
+  }
+
+  /**
+   * Returns the queries a DNI has used today.
+   *
+   * @param dni the customer DNI
+   * @return the used queries, 0 for DNIs that are not tracked
+   */
+  public int used(String dni) {
+    int slot = slot(dni);
+    if (slot < 0) {
+      return 0;
+    }
+    AtomicLongArray page = day.get().pages.get(slot >>> PAGE_SHIFT);
+    return page == null ? 0 : (int) (page.get(word(slot)) >>> shift(slot) & SLOT_MASK);
+  }
+
+  /**
+   * Returns the queries per DNI and day.
+   *
+   * @return the daily limit
+   */
+  public int dailyLimit() {
+    return dailyLimit;
+  }
+
+  /**
+   * Returns when the quotas are reset next.
+   *
+   * @return the next daily reset
+   */
+  public Instant resetAt() {
+    return Instant.ofEpochMilli(day.get().resetAtMillis);
+  }
+
+  /**
+   * Returns the memory held by the counters of the current day.
+   *
+   * @return the bytes of the allocated pages
+   */
+  public long footprintBytes() {
+    AtomicReferenceArray<AtomicLongArray> pages = day.get().pages;
+    long allocated = 0L;
+    for (int index = 0; index < PAGES; index++) {
+      if (pages.get(index) != null) {
+        allocated++;
+      }
+    }
+    return allocated * PAGE_WORDS * Long.BYTES;
+  }
+
+  /**
+   * Returns the number of queries refused since startup.
+   *
+   * @return the refused queries
+   */
+  public long refused() {
+    return refused.sum();
+  }
+
+  /**
+   * Drops every counter once the daily reset is due.
+   * The reset is checked on a schedule rather than on every query, which keeps clock reads
+   * off the hot path at the cost of honouring the reset up to one check interval late.
+   */
+  @Scheduled(fixedDelayString =
+      "${spring.rest-client.currency-exchange-api-v1.quota.reset-check-interval:1s}")
+  public void resetIfDue() {
+    Day current = day.get();
+    long now = clock.millis();
+    if (now >= current.resetAtMillis
+        && day.compareAndSet(current, new Day(nextReset(now)))) {
+      LOGGER.infof("Daily quotas reset, next reset at %s", resetAt());
+    }
+  }
+
+  private void set(String dni, int used) {
+    int slot = slot(dni);
+    if (slot < 0) {
+      return;
+    }
+    AtomicLongArray page = day.get().page(slot);
+    int word = word(slot);
+    int shift = shift(slot);
+    long bits;
+    long updated;
+    do {
+      bits = page.get(word);
+      updated = bits & ~(SLOT_MASK << shift) | (long) used << shift;
+    } while (!page.compareAndSet(word, bits, updated));
+  }
+
+  private void syncReset(Instant resetAt) {
+    Day current = day.get();
+    long resetAtMillis = resetAt.toEpochMilli();
+    if (resetAtMillis != current.resetAtMillis && resetAtMillis > clock.millis()) {
+      LOGGER.infof("Daily quota reset moved to %s by the upstream API", resetAt);
+      current.resetAtMillis = resetAtMillis;
+    }
+  }
+
+  private long nextReset(long now) {
+    return Instant.ofEpochMilli(now).atZone(clock.getZone()).toLocalDate().plusDays(1)
+        .atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+  }
+
+  private static int slot(String dni) {
+    if (dni == null || dni.length() != DNI_DIGITS) {
+      return -1;
+    }
+    int slot = 0;
+    for (int index = 0; index < DNI_DIGITS; index++) {
+      int digit = dni.charAt(index) - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      slot = slot * 10 + digit;
+    }
+    return slot;
+  }
+
+  private static int word(int slot) {
+    return (slot & PAGE_MASK) / SLOTS_PER_WORD;
+  }
+
+  private static int shift(int slot) {
+    return slot % SLOTS_PER_WORD * SLOT_BITS;
+  }
+
+  /**
+   * The counters of one quota day.
+   */
+  private static final class Day {
+
+    private final AtomicReferenceArray<AtomicLongArray> pages = new AtomicReferenceArray<>(PAGES);
+    private volatile long resetAtMillis;
+
+    private Day(long resetAtMillis) {
+      this.resetAtMillis = resetAtMillis;
+    }
+
+    private AtomicLongArray page(int slot) {
+      int index = slot >>> PAGE_SHIFT;
+      AtomicLongArray page = pages.get(index);
+      if (page == null) {
+        AtomicLongArray created = new AtomicLongArray(PAGE_WORDS);
+        page = pages.compareAndExchange(index, null, created);
+        return page == null ? created : page;
+      }
+      return page;
+    }
+  }
+
+}
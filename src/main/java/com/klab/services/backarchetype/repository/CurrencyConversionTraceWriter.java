@@ -0,0 +1,30 @@
+package com.klab.services.backarchetype.repository;
+
+import com.klab.core.starter.audit.model.avro.AvroAuditV2;
+import com.klab.services.backarchetype.repository.entity.CurrencyConversionTrace;
+import reactor.core.publisher.Mono;
+
+/**
+ * Writer for CurrencyConversionTrace rows decoupled from the request path.
+ * Each trace is written together with its audit event, which lands in the audit outbox within
+ * the same transaction.
+ * <b>Interface</b>: CurrencyConversionTraceWriter
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public interface CurrencyConversionTraceWriter {
+
+  /**
+   * Hands a trace and its audit event over for persistence.
+   *
+   * @param trace the {@link CurrencyConversionTrace} to persist
+   * @param audit the {@link AvroAuditV2} event to store in the outbox
+   * @return Mono that completes once the trace is committed under STRICT durability, or once
+   *     it is queued for writing otherwise
+   */
+
+  Mono<Void> write(CurrencyConversionTrace trace, AvroAuditV2 audit);
+
+}
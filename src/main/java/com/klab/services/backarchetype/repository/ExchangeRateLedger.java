@@ -0,0 +1,33 @@
+package com.klab.services.backarchetype.repository;
+
+import com.klab.services.thirdparty.currencyexchange.model.CurrencyExchangeResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Ledger of the daily exchange rates received from the exchange API.
+ * <b>Interface</b>: ExchangeRateLedger
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public interface ExchangeRateLedger {
+
+  /**
+   * Reads the rate of the most recent date.
+   *
+   * @return Mono of {@link CurrencyExchangeResponse}, empty when the ledger is empty
+   */
+
+  Mono<CurrencyExchangeResponse> findLatest();
+
+  /**
+   * Stores the rate of a date, replacing the one stored for the same date.
+   *
+   * @param rate the rate received from the exchange API
+   * @return Mono that completes when the rate is stored
+   */
+
+  Mono<Void> save(CurrencyExchangeResponse rate);
+
+}
@@ -0,0 +1,32 @@
+package com.klab.services.backarchetype.repository;
+
+import com.klab.services.backarchetype.repository.entity.LoanQuotationTrace;
+import java.time.LocalDateTime;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reader of the LoanQuotationTrace rows of a customer.
+ * <b>Interface</b>: LoanQuotationTraceReader
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public interface LoanQuotationTraceReader {
+
+  /**
+   * Streams a page of the traces of a customer, newest first.
+   * The page starts right after the given position, or at the newest trace when the position
+   * is null.
+   *
+   * @param dni             the customer DNI
+   * @param beforeCreatedAt the creation time of the last trace of the previous page
+   * @param beforeId        the id of the last trace of the previous page
+   * @param limit           the maximum number of traces
+   * @return Flux of {@link LoanQuotationTrace} holding the history columns
+   */
+
+  Flux<LoanQuotationTrace> findPage(String dni, LocalDateTime beforeCreatedAt, Long beforeId,
+                                    int limit);
+
+}
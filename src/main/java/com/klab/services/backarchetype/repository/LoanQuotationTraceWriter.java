@@ -0,0 +1,42 @@
+package com.klab.services.backarchetype.repository;
+
+import com.klab.core.starter.audit.model.avro.AvroAuditV2;
+import com.klab.services.backarchetype.repository.entity.LoanQuotationTrace;
+import java.util.List;
+import reactor.core.publisher.Mono;
+
+/**
+ * Writer for LoanQuotationTrace rows decoupled from the request path.
+ * Each trace is written together with its audit event, which lands in the audit outbox within
+ * the same transaction.
+ * <b>Interface</b>: LoanQuotationTraceWriter
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public interface LoanQuotationTraceWriter {
+
+  /**
+   * Hands a trace and its audit event over for persistence.
+   *
+   * @param trace the {@link LoanQuotationTrace} to persist
+   * @param audit the {@link AvroAuditV2} event to store in the outbox
+   * @return Mono that completes once the trace is committed under STRICT durability, or once
+   *     it is queued for writing otherwise
+   */
+
+  Mono<Void> write(LoanQuotationTrace trace, AvroAuditV2 audit);
+
+  /**
+   * Hands a group of traces and their audit events over for persistence.
+   *
+   * @param traces the {@link LoanQuotationTrace} rows to persist
+   * @param audits the {@link AvroAuditV2} events, in the same order as the traces
+   * @return Mono that completes once every trace is committed under STRICT durability, or
+   *     once every trace is queued for writing otherwise
+   */
+
+  Mono<Void> writeAll(List<LoanQuotationTrace> traces, List<AvroAuditV2> audits);
+
+}
@@ -0,0 +1,26 @@
+package com.klab.services.backarchetype.repository;
+
+import com.klab.services.backarchetype.repository.entity.LoanQuotationTrace;
+import java.util.List;
+import reactor.core.publisher.Mono;
+
+/**
+ * Dimension of the exchange rates referenced by the loan quotation traces.
+ * <b>Interface</b>: TraceExchangeRateDimension
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public interface TraceExchangeRateDimension {
+
+  /**
+   * Sets the exchange rate id of every trace, adding the rates not yet in the dimension.
+   *
+   * @param traces the traces, with their exchange rate date, scaled rates and source
+   * @return Mono that completes when every trace has its exchange rate id
+   */
+
+  Mono<Void> resolve(List<LoanQuotationTrace> traces);
+
+}
@@ -0,0 +1,49 @@
+package com.klab.services.backarchetype.repository.entity;
+
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Entity for storing savings and credit card conversion traces.
+ * <b>Class</b>: CurrencyConversionTrace
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+@Getter
+@Setter
+@Table("currency_conversion_trace")
+public class CurrencyConversionTrace {
+
+  @Id
+  private Long id;
+
+  @Column("product")
+  private String product;
+
+  @Column("dni")
+  private String dni;
+
+  @Column("amount_usd")
+  private Double amountUsd;
+
+  @Column("amount_pen")
+  private Double amountPen;
+
+  @Column("item_count")
+  private Integer itemCount;
+
+  @Column("exchange_rate")
+  private Double exchangeRate;
+
+  @Column("exchange_rate_source")
+  private String exchangeRateSource;
+
+  @Column("created_at")
+  private LocalDateTime createdAt;
+
+}
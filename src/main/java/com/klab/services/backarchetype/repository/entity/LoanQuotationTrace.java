@@ -1,14 +1,22 @@
 package com.klab.services.backarchetype.repository.entity;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
 /**
  * Entity for storing loan quotation traces.
+ * Amounts are stored in cents and the annual interest rate in basis points. The exchange rate
+ * is a row of {@code trace_exchange_rate} referenced by {@code exchangeRateId}; its date,
+ * scaled rates and source are carried in transient fields to resolve that row on write and to
+ * read the sell rate back with the history. Monthly payments are only stored when they cannot
+ * be derived from the totals, the term and the sell rate, as for traces quoted before the
+ * installment-based calculator.
  * <b>Class</b>: LoanQuotationTrace
  * <b>Company</b>: Klab
  *
@@ -22,47 +30,49 @@ public class LoanQuotationTrace {
   @Id
   private Long id;
 
-  @Column("dni")
-  private String dni;
+  @Column("created_at")
+  private LocalDateTime createdAt;
 
-  @Column("amount_usd")
-  private Double amountUsd;
+  @Column("amount_usd_cents")
+  private Long amountUsdCents;
 
-  @Column("amount_pen")
-  private Double amountPen;
+  @Column("amount_pen_cents")
+  private Long amountPenCents;
 
-  @Column("term_months")
-  private Integer termMonths;
+  @Column("total_payment_usd_cents")
+  private Long totalPaymentUsdCents;
 
-  @Column("annual_interest_rate")
-  private Double annualInterestRate;
+  @Column("total_payment_pen_cents")
+  private Long totalPaymentPenCents;
 
-  @Column("monthly_interest_rate")
-  private Double monthlyInterestRate;
+  @Column("monthly_payment_usd_cents")
+  private Long monthlyPaymentUsdCents;
 
-  @Column("exchange_rate_buy")
-  private Double exchangeRateBuy;
+  @Column("monthly_payment_pen_cents")
+  private Long monthlyPaymentPenCents;
 
-  @Column("exchange_rate_sell")
-  private Double exchangeRateSell;
+  @Column("exchange_rate_id")
+  private Integer exchangeRateId;
 
-  @Column("exchange_rate_source")
-  private String exchangeRateSource;
+  @Column("term_months")
+  private Integer termMonths;
 
-  @Column("total_payment_usd")
-  private Double totalPaymentUsd;
+  @Column("annual_interest_rate_bps")
+  private Integer annualInterestRateBps;
 
-  @Column("total_payment_pen")
-  private Double totalPaymentPen;
+  @Column("dni")
+  private String dni;
 
-  @Column("monthly_payment_usd")
-  private Double monthlyPaymentUsd;
+  @Transient
+  private LocalDate exchangeRateDate;
 
-  @Column("monthly_payment_pen")
-  private Double monthlyPaymentPen;
+  @Transient
+  private Integer exchangeRateBuyUnits;
 
-  @Column("created_at")
-  private LocalDateTime createdAt;
+  @Transient
+  private Integer exchangeRateSellUnits;
 
-}
+  @Transient
+  private String exchangeRateSource;
 
+}
@@ -0,0 +1,109 @@
+package com.klab.services.backarchetype.repository.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.klab.services.backarchetype.repository.TraceExchangeRateDimension;
+import com.klab.services.backarchetype.repository.entity.LoanQuotationTrace;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Cached implementation of TraceExchangeRateDimension over the {@code trace_exchange_rate}
+ * table. Rates change once a day, so the ids are kept in memory and a batch only reaches the
+ * database for a rate it has not seen before, with an upsert that returns the id whether the
+ * row is new or not. Rows are added in their own transaction, before the traces referencing
+ * them, so a cached id never belongs to a rolled back row.
+ * <b>Class</b>: CachedTraceExchangeRateDimension
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@Component
+public class CachedTraceExchangeRateDimension implements TraceExchangeRateDimension {
+
+  private static final String UPSERT = "INSERT INTO trace_exchange_rate (rate_date, buy_rate, "
+      + "sell_rate, source) VALUES ($1, $2, $3, $4) ON CONFLICT (rate_date, buy_rate, "
+      + "sell_rate, source) DO UPDATE SET source = EXCLUDED.source RETURNING id";
+  private static final int MAX_RATES = 64;
+
+  private final DatabaseClient databaseClient;
+  private final Cache<RateKey, Integer> ids = Caffeine.newBuilder()
+      .maximumSize(MAX_RATES)
+      .build();
+
+  /**
+   * Constructor for CachedTraceExchangeRateDimension.
+   *
+   * @param databaseClient the R2DBC {@link DatabaseClient}
+   */
+
+  public CachedTraceExchangeRateDimension(DatabaseClient databaseClient) {
+    this.databaseClient = databaseClient;
+  }
+
+  @Override
+  public Mono<Void> resolve(List<LoanQuotationTrace> traces) {
+    return Mono.defer(() -> {
+      Set<RateKey> missing = new LinkedHashSet<>();
+      for (LoanQuotationTrace trace : traces) {
+        RateKey key = RateKey.of(trace);
+        Integer id = ids.getIfPresent(key);
+        if (id == null) {
+          missing.add(key);
+        } else {
+          trace.setExchangeRateId(id);
+        }
+      }
+      if (missing.isEmpty()) {
+        return Mono.empty();
+      }
+      return Flux.fromIterable(missing)
+          .concatMap(key -> upsert(key).map(id -> Map.entry(key, id)))
+          .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+          .doOnNext(added -> {
+            ids.putAll(added);
+            traces.stream()
+                .filter(trace -> trace.getExchangeRateId() == null)
+                .forEach(trace -> trace.setExchangeRateId(added.get(RateKey.of(trace))));
+          })
+          .then();
+    });
+  }
+
+  private Mono<Integer> upsert(RateKey key) {
+    return databaseClient.sql(UPSERT)
+        .bind(0, key.date())
+        .bind(1, key.buyUnits())
+        .bind(2, key.sellUnits())
+        .bind(3, key.source())
+        .map(row -> row.get(0, Integer.class))
+        .one();
+  }
+
+  /**
+   * A rate of the dimension.
+   *
+   * @param date      the rate date
+   * @param buyUnits  the buy rate in ten-thousandths
+   * @param sellUnits the sell rate in ten-thousandths
+   * @param source    the rate source
+   */
+  private record RateKey(LocalDate date, int buyUnits, int sellUnits, String source) {
+
+    static RateKey of(LoanQuotationTrace trace) {
+      LocalDate date = trace.getExchangeRateDate() != null
+          ? trace.getExchangeRateDate() : trace.getCreatedAt().toLocalDate();
+      return new RateKey(date, trace.getExchangeRateBuyUnits(), trace.getExchangeRateSellUnits(),
+          trace.getExchangeRateSource());
+    }
+  }
+
+}
@@ -0,0 +1,84 @@
+package com.klab.services.backarchetype.repository.impl;
+
+import com.klab.services.backarchetype.repository.LoanQuotationTraceReader;
+import com.klab.services.backarchetype.repository.entity.LoanQuotationTrace;
+import io.r2dbc.spi.Readable;
+import java.time.LocalDateTime;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Keyset implementation of LoanQuotationTraceReader.
+ * Pages seek past the last {@code (created_at, id)} pair on the
+ * {@code (dni, created_at, id)} index instead of skipping rows with OFFSET, so every page
+ * costs the same however deep it is. Only the history columns are selected, with the sell
+ * rate joined from the small exchange rate dimension, and rows are mapped by hand as they
+ * arrive.
+ * <b>Class</b>: KeysetLoanQuotationTraceReader
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@Component
+public class KeysetLoanQuotationTraceReader implements LoanQuotationTraceReader {
+
+  private static final String SELECT = "SELECT t.id, t.created_at, t.amount_usd_cents, "
+      + "t.amount_pen_cents, t.term_months, t.annual_interest_rate_bps, "
+      + "t.total_payment_usd_cents, t.total_payment_pen_cents, t.monthly_payment_usd_cents, "
+      + "t.monthly_payment_pen_cents, r.sell_rate "
+      + "FROM loan_quotation_trace t JOIN trace_exchange_rate r ON r.id = t.exchange_rate_id ";
+  private static final String FIRST_PAGE = SELECT
+      + "WHERE t.dni = $1 ORDER BY t.created_at DESC, t.id DESC LIMIT $2";
+  private static final String NEXT_PAGE = SELECT
+      + "WHERE t.dni = $1 AND (t.created_at, t.id) < ($2, $3) "
+      + "ORDER BY t.created_at DESC, t.id DESC LIMIT $4";
+
+  private final DatabaseClient databaseClient;
+
+  /**
+   * Constructor for KeysetLoanQuotationTraceReader.
+   *
+   * @param databaseClient the R2DBC {@link DatabaseClient}
+   */
+
+  public KeysetLoanQuotationTraceReader(DatabaseClient databaseClient) {
+    this.databaseClient = databaseClient;
+  }
+
+  @Override
+  public Flux<LoanQuotationTrace> findPage(String dni, LocalDateTime beforeCreatedAt,
+                                           Long beforeId, int limit) {
+    DatabaseClient.GenericExecuteSpec spec;
+    if (beforeCreatedAt == null) {
+      spec = databaseClient.sql(FIRST_PAGE)
+          .bind(0, dni)
+          .bind(1, limit);
+    } else {
+      spec = databaseClient.sql(NEXT_PAGE)
+          .bind(0, dni)
+          .bind(1, beforeCreatedAt)
+          .bind(2, beforeId)
+          .bind(3, limit);
+    }
+    return spec.map(KeysetLoanQuotationTraceReader::toTrace).all();
+  }
+
+  private static LoanQuotationTrace toTrace(Readable row) {
+    LoanQuotationTrace trace = new LoanQuotationTrace();
+    trace.setId(row.get(0, Long.class));
+    trace.setCreatedAt(row.get(1, LocalDateTime.class));
+    trace.setAmountUsdCents(row.get(2, Long.class));
+    trace.setAmountPenCents(row.get(3, Long.class));
+    trace.setTermMonths(row.get(4, Integer.class));
+    trace.setAnnualInterestRateBps(row.get(5, Integer.class));
+    trace.setTotalPaymentUsdCents(row.get(6, Long.class));
+    trace.setTotalPaymentPenCents(row.get(7, Long.class));
+    trace.setMonthlyPaymentUsdCents(row.get(8, Long.class));
+    trace.setMonthlyPaymentPenCents(row.get(9, Long.class));
+    trace.setExchangeRateSellUnits(row.get(10, Integer.class));
+    return trace;
+  }
+
+}
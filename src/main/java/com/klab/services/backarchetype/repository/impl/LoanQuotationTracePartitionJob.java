@@ -0,0 +1,190 @@
+package com.klab.services.backarchetype.repository.impl;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.jboss.logging.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Maintenance job of the monthly partitions of {@code loan_quotation_trace}.
+ * Each run creates the partitions of the coming months, swaps the {@code created_at} B-tree of
+ * finished months for a BRIN index (rows arrive in time order, so a few pages per block range
+ * are enough), and drops or archives the months past the retention. Runs hold a transaction
+ * advisory lock so that only one instance maintains the table at a time.
+ * <b>Class</b>: LoanQuotationTracePartitionJob
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@Component
+public class LoanQuotationTracePartitionJob {
+
+  private static final Logger LOGGER = Logger.getLogger(LoanQuotationTracePartitionJob.class);
+
+  static final String TABLE = "loan_quotation_trace";
+  static final String ARCHIVE_SCHEMA = "loan_quotation_archive";
+
+  private static final String PARTITION_PREFIX = TABLE + "_p";
+  private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+  private static final long LOCK_KEY = TABLE.hashCode();
+  private static final String TRY_LOCK = "SELECT pg_try_advisory_xact_lock($1)";
+  private static final String LIST_PARTITIONS = "SELECT c.relname FROM pg_inherits i "
+      + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = '" + TABLE + "'::regclass";
+
+  /**
+   * What happens to a partition once it is past the retention.
+   */
+  public enum ExpiredAction {
+    /** The partition and its rows are deleted. */
+    DROP,
+    /** The partition is detached and moved to the archive schema. */
+    ARCHIVE
+  }
+
+  private final DatabaseClient databaseClient;
+  private final TransactionalOperator transactionalOperator;
+  private final int monthsAhead;
+  private final int retentionMonths;
+  private final ExpiredAction expiredAction;
+  private final Clock clock;
+
+  /**
+   * Constructor for LoanQuotationTracePartitionJob.
+   *
+   * @param databaseClient        the R2DBC {@link DatabaseClient}
+   * @param transactionalOperator the {@link TransactionalOperator} wrapping each run
+   * @param monthsAhead           the number of future months that must have a partition
+   * @param retentionMonths       the number of finished months kept
+   * @param expiredAction         the {@link ExpiredAction} applied to expired partitions
+   */
+
+  @Autowired
+  public LoanQuotationTracePartitionJob(
+      DatabaseClient databaseClient,
+      TransactionalOperator transactionalOperator,
+      @Value("${spring.r2dbc.trace-partitions.months-ahead:3}") int monthsAhead,
+      @Value("${spring.r2dbc.trace-partitions.retention-months:24}") int retentionMonths,
+      @Value("${spring.r2dbc.trace-partitions.expired-action:DROP}") ExpiredAction expiredAction) {
+    this(databaseClient, transactionalOperator, monthsAhead, retentionMonths, expiredAction,
+        Clock.systemDefaultZone());
+  }
+
+  LoanQuotationTracePartitionJob(DatabaseClient databaseClient,
+                                 TransactionalOperator transactionalOperator, int monthsAhead,
+                                 int retentionMonths, ExpiredAction expiredAction, Clock clock) {
+    this.databaseClient = databaseClient;
+    this.transactionalOperator = transactionalOperator;
+    this.monthsAhead = monthsAhead;
+    this.retentionMonths = retentionMonths;
+    this.expiredAction = expiredAction;
+    this.clock = clock;
+  }
+
+  /**
+   * Runs the partition maintenance, on startup and then periodically.
+   *
+   * @return Mono that completes when the run is over
+   */
+  @Scheduled(fixedDelayString = "${spring.r2dbc.trace-partitions.interval:PT6H}")
+  public Mono<Void> maintain() {
+    YearMonth current = YearMonth.now(clock);
+    Mono<Void> run = databaseClient.sql(TRY_LOCK)
+        .bind(0, LOCK_KEY)
+        .map(row -> row.get(0, Boolean.class))
+        .one()
+        .filter(Boolean.TRUE::equals)
+        .flatMap(locked -> databaseClient.sql(LIST_PARTITIONS)
+            .map(row -> row.get(0, String.class))
+            .all()
+            .collectList())
+        .flatMapMany(partitions -> Flux.fromIterable(plan(current, partitions)))
+        .concatMap(statement -> databaseClient.sql(statement).then().thenReturn(statement))
+        .count()
+        .doOnNext(count -> LOGGER.infof("Trace partitions maintained for %s, %d statements run",
+            current, count))
+        .then();
+    return transactionalOperator.transactional(run)
+        .onErrorResume(error -> {
+          LOGGER.errorf("Trace partition maintenance failed: %s", error.getMessage());
+          return Mono.empty();
+        });
+  }
+
+  /**
+   * Lists the statements that bring the partitions up to date.
+   *
+   * @param current    the current month
+   * @param partitions the names of the existing partitions
+   * @return the DDL statements, in execution order
+   */
+  List<String> plan(YearMonth current, Collection<String> partitions) {
+    Set<YearMonth> existing = partitions.stream()
+        .map(LoanQuotationTracePartitionJob::monthOf)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
+    List<String> statements = new ArrayList<>();
+    for (int ahead = 0; ahead <= monthsAhead; ahead++) {
+      YearMonth month = current.plusMonths(ahead);
+      if (!existing.contains(month)) {
+        String partition = partitionName(month);
+        statements.add("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + TABLE
+            + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('"
+            + month.plusMonths(1).atDay(1) + "')");
+        statements.add("CREATE INDEX IF NOT EXISTS " + partition + "_created_at ON "
+            + partition + " (created_at)");
+      }
+    }
+    YearMonth oldestKept = current.minusMonths(retentionMonths);
+    existing.stream().filter(current::isAfter).sorted().forEach(month -> {
+      String partition = partitionName(month);
+      if (month.isBefore(oldestKept)) {
+        statements.addAll(expire(partition));
+      } else {
+        statements.add("CREATE INDEX IF NOT EXISTS " + partition + "_created_at_brin ON "
+            + partition + " USING BRIN (created_at)");
+        statements.add("DROP INDEX IF EXISTS " + partition + "_created_at");
+      }
+    });
+    return statements;
+  }
+
+  private List<String> expire(String partition) {
+    if (expiredAction == ExpiredAction.ARCHIVE) {
+      return List.of("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition,
+          "ALTER TABLE " + partition + " SET SCHEMA " + ARCHIVE_SCHEMA);
+    }
+    return List.of("DROP TABLE " + partition);
+  }
+
+  private static String partitionName(YearMonth month) {
+    return PARTITION_PREFIX + PARTITION_SUFFIX.format(month);
+  }
+
+  private static YearMonth monthOf(String partition) {
+    if (!partition.startsWith(PARTITION_PREFIX)) {
+      return null;
+    }
+    try {
+      return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+    } catch (DateTimeParseException ex) {
+      return null;
+    }
+  }
+
+}
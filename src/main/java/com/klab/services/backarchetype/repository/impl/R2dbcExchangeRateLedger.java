@@ -0,0 +1,71 @@
+package com.klab.services.backarchetype.repository.impl;
+
+import com.klab.services.backarchetype.repository.ExchangeRateLedger;
+import com.klab.services.thirdparty.currencyexchange.model.CurrencyExchangeResponse;
+import io.r2dbc.spi.Readable;
+import java.time.LocalDate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC implementation of ExchangeRateLedger over the {@code exchange_rate} table.
+ * The rate date is the primary key, so the latest rate is a single index probe and a rate
+ * received twice for the same date is upserted.
+ * <b>Class</b>: R2dbcExchangeRateLedger
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@Component
+public class R2dbcExchangeRateLedger implements ExchangeRateLedger {
+
+  private static final String SELECT_LATEST = "SELECT rate_date, currency, buy_rate, sell_rate, "
+      + "source FROM exchange_rate ORDER BY rate_date DESC LIMIT 1";
+  private static final String UPSERT = "INSERT INTO exchange_rate (rate_date, currency, "
+      + "buy_rate, sell_rate, source) VALUES ($1, $2, $3, $4, $5) ON CONFLICT (rate_date) "
+      + "DO UPDATE SET currency = EXCLUDED.currency, buy_rate = EXCLUDED.buy_rate, "
+      + "sell_rate = EXCLUDED.sell_rate, source = EXCLUDED.source, "
+      + "received_at = CURRENT_TIMESTAMP";
+
+  private final DatabaseClient databaseClient;
+
+  /**
+   * Constructor for R2dbcExchangeRateLedger.
+   *
+   * @param databaseClient the R2DBC {@link DatabaseClient}
+   */
+
+  public R2dbcExchangeRateLedger(DatabaseClient databaseClient) {
+    this.databaseClient = databaseClient;
+  }
+
+  @Override
+  public Mono<CurrencyExchangeResponse> findLatest() {
+    return databaseClient.sql(SELECT_LATEST)
+        .map(R2dbcExchangeRateLedger::toRate)
+        .one();
+  }
+
+  @Override
+  public Mono<Void> save(CurrencyExchangeResponse rate) {
+    return databaseClient.sql(UPSERT)
+        .bind(0, rate.getDate())
+        .bind(1, rate.getCurrency())
+        .bind(2, rate.getBuyRate())
+        .bind(3, rate.getSellRate())
+        .bind(4, rate.getSource())
+        .then();
+  }
+
+  private static CurrencyExchangeResponse toRate(Readable row) {
+    return new CurrencyExchangeResponse()
+        .date(row.get(0, LocalDate.class))
+        .currency(row.get(1, String.class))
+        .buyRate(row.get(2, Double.class))
+        .sellRate(row.get(3, Double.class))
+        .source(row.get(4, String.class));
+  }
+
+}
@@ -0,0 +1,408 @@
+package com.klab.services.backarchetype.repository.impl;
+
+import com.klab.core.starter.audit.model.avro.AvroAuditV2;
+import com.klab.services.backarchetype.messaging.AuditEncoder;
+import com.klab.services.backarchetype.repository.CurrencyConversionTraceWriter;
+import com.klab.services.backarchetype.repository.LoanQuotationTraceWriter;
+import com.klab.services.backarchetype.repository.TraceExchangeRateDimension;
+import com.klab.services.backarchetype.repository.entity.CurrencyConversionTrace;
+import com.klab.services.backarchetype.repository.entity.LoanQuotationTrace;
+import com.klab.services.backarchetype.services.policy.Durability;
+import io.r2dbc.spi.R2dbcNonTransientException;
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jboss.logging.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+/**
+ * Write-behind implementation of LoanQuotationTraceWriter and CurrencyConversionTraceWriter.
+ * Traces are queued in a bounded buffer and flushed as multi-row INSERTs when the batch is
+ * full or the flush interval elapses. Loan and conversion traces share the queue and are
+ * flushed together, one INSERT per kind, so a new product adds rows to the existing batches
+ * rather than batches of its own. When the buffer is full the trace is written
+ * synchronously, and on shutdown the buffer is drained before the connection pool closes.
+ * A batch that fails on a connection or transient error is retried with a capped backoff until
+ * it is written, which holds the queue back so that new traces fall back to the synchronous
+ * write. A batch rejected by the database for its data is split in halves until the failing
+ * rows are isolated; those rows, and the rows still unwritten when the shutdown times out, are
+ * reported on the {@code dead-letter} logger with their column values and encoded audit event.
+ * Under {@link Durability#BEST_EFFORT} a write completes as soon as the trace is queued. Under
+ * {@link Durability#STRICT} the trace skips the queue and is written in its own transaction, so
+ * the request sees the database errors, and a request that gives up on the write cancels it,
+ * which rolls the trace and its audit event back instead of committing them later.
+ * Audit events are encoded when queued and inserted into {@code audit_outbox} in the same
+ * transaction as their traces, so a quote is audited exactly when it is traced.
+ * The INSERT text is built once per row count, so every batch size maps to a single statement
+ * that the driver prepares once per connection. The exchange rate ids of the loan traces are
+ * resolved by the {@link TraceExchangeRateDimension} before the transaction begins.
+ * <b>Class</b>: WriteBehindLoanQuotationTraceWriter
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@Component
+public class WriteBehindLoanQuotationTraceWriter implements LoanQuotationTraceWriter,
+    CurrencyConversionTraceWriter, SmartLifecycle {
+
+  private static final Logger LOGGER = Logger.getLogger(WriteBehindLoanQuotationTraceWriter.class);
+
+  private static final String INSERT_PREFIX = "INSERT INTO loan_quotation_trace (created_at, "
+      + "amount_usd_cents, amount_pen_cents, total_payment_usd_cents, total_payment_pen_cents, "
+      + "monthly_payment_usd_cents, monthly_payment_pen_cents, exchange_rate_id, term_months, "
+      + "annual_interest_rate_bps, dni) VALUES ";
+  private static final Class<?>[] COLUMN_TYPES = {LocalDateTime.class, Long.class, Long.class,
+      Long.class, Long.class, Long.class, Long.class, Integer.class, Integer.class,
+      Integer.class, String.class};
+  private static final String CONVERSION_INSERT_PREFIX = "INSERT INTO currency_conversion_trace "
+      + "(product, dni, amount_usd, amount_pen, item_count, exchange_rate, exchange_rate_source, "
+      + "created_at) VALUES ";
+  private static final Class<?>[] CONVERSION_COLUMN_TYPES = {String.class, String.class,
+      Double.class, Double.class, Integer.class, Double.class, String.class,
+      LocalDateTime.class};
+  private static final String OUTBOX_INSERT_PREFIX =
+      "INSERT INTO audit_outbox (event_id, payload) VALUES ";
+  private static final int OUTBOX_COLUMNS = 2;
+  private static final Duration MIN_FLUSH_BACKOFF = Duration.ofMillis(100);
+  private static final Duration MAX_FLUSH_BACKOFF = Duration.ofSeconds(5);
+  private static final Logger DEAD_LETTER =
+      Logger.getLogger(WriteBehindLoanQuotationTraceWriter.class.getName() + ".dead-letter");
+
+  private final DatabaseClient databaseClient;
+  private final TransactionalOperator transactionalOperator;
+  private final AuditEncoder auditEncoder;
+  private final TraceExchangeRateDimension exchangeRates;
+  private final int batchSize;
+  private final Duration flushInterval;
+  private final Duration shutdownTimeout;
+  private final boolean synchronous;
+  private final Sinks.Many<Pending> queue;
+  private final String[] insertStatements;
+  private final String[] conversionStatements;
+  private final String[] outboxStatements;
+  private final Sinks.Empty<Void> drained = Sinks.empty();
+  private final Map<String, Pending> unwritten = new ConcurrentHashMap<>();
+
+  private volatile Disposable pipeline;
+
+  /**
+   * Constructor for WriteBehindLoanQuotationTraceWriter.
+   *
+   * @param databaseClient        the R2DBC {@link DatabaseClient}
+   * @param transactionalOperator the {@link TransactionalOperator} wrapping each batch
+   * @param auditEncoder          the {@link AuditEncoder} serializing the outbox payloads
+   * @param exchangeRates         the {@link TraceExchangeRateDimension} of the loan traces
+   * @param queueCapacity         the maximum number of traces waiting to be flushed
+   * @param batchSize             the maximum number of rows per INSERT
+   * @param flushInterval         the maximum time a trace waits in the queue
+   * @param shutdownTimeout       the maximum time to wait for the queue to drain on shutdown
+   * @param durability            the {@link Durability} of the trace writes, STRICT writes
+   *                              them synchronously
+   */
+
+  public WriteBehindLoanQuotationTraceWriter(
+      DatabaseClient databaseClient,
+      TransactionalOperator transactionalOperator,
+      AuditEncoder auditEncoder,
+      TraceExchangeRateDimension exchangeRates,
+      @Value("${spring.r2dbc.trace-writer.queue-capacity:8192}") int queueCapacity,
+      @Value("${spring.r2dbc.trace-writer.batch-size:256}") int batchSize,
+      @Value("${spring.r2dbc.trace-writer.flush-interval:200ms}") Duration flushInterval,
+      @Value("${spring.r2dbc.trace-writer.shutdown-timeout:30s}") Duration shutdownTimeout,
+      @Value("${spring.quotation.trace.durability:BEST_EFFORT}") Durability durability) {
+    this.databaseClient = databaseClient;
+    this.transactionalOperator = transactionalOperator;
+    this.auditEncoder = auditEncoder;
+    this.exchangeRates = exchangeRates;
+    this.batchSize = batchSize;
+    this.flushInterval = flushInterval;
+    this.shutdownTimeout = shutdownTimeout;
+    this.synchronous = durability == Durability.STRICT;
+    this.queue = Sinks.many().unicast()
+        .onBackpressureBuffer(new ArrayBlockingQueue<>(queueCapacity));
+    this.insertStatements = new String[batchSize + 1];
+    this.conversionStatements = new String[batchSize + 1];
+    this.outboxStatements = new String[batchSize + 1];
+  }
+
+  @Override
+  public Mono<Void> write(LoanQuotationTrace trace, AvroAuditV2 audit) {
+    return Mono.defer(() -> write(pending(trace, audit), trace.getDni()));
+  }
+
+  @Override
+  public Mono<Void> write(CurrencyConversionTrace trace, AvroAuditV2 audit) {
+    return Mono.defer(() -> write(pending(trace, audit), trace.getDni()));
+  }
+
+  private Mono<Void> write(Pending pending, String dni) {
+    if (synchronous) {
+      return insert(List.of(pending)).then();
+    }
+    Sinks.EmitResult result = enqueue(pending);
+    if (result.isSuccess()) {
+      return Mono.empty();
+    }
+    LOGGER.warnf("Trace queue rejected trace for DNI %s (%s), writing synchronously",
+        dni, result);
+    return insert(List.of(pending)).then();
+  }
+
+  @Override
+  public Mono<Void> writeAll(List<LoanQuotationTrace> traces, List<AvroAuditV2> audits) {
+    return Mono.defer(() -> {
+      List<Pending> direct = new ArrayList<>();
+      for (int index = 0; index < traces.size(); index++) {
+        Pending pending = pending(traces.get(index), audits.get(index));
+        if (synchronous || enqueue(pending).isFailure()) {
+          direct.add(pending);
+        }
+      }
+      if (direct.isEmpty()) {
+        return Mono.empty();
+      }
+      if (!synchronous) {
+        LOGGER.warnf("Trace queue rejected %d of %d traces, writing them synchronously",
+            direct.size(), traces.size());
+      }
+      return Flux.fromIterable(direct)
+          .buffer(batchSize)
+          .concatMap(this::insert)
+          .then();
+    });
+  }
+
+  private Pending pending(Object trace, AvroAuditV2 audit) {
+    return new Pending(trace, audit.getEventId(), auditEncoder.encode(audit));
+  }
+
+  private Sinks.EmitResult enqueue(Pending pending) {
+    unwritten.put(pending.eventId(), pending);
+    Sinks.EmitResult result;
+    do {
+      result = queue.tryEmitNext(pending);
+    } while (result == Sinks.EmitResult.FAIL_NON_SERIALIZED);
+    if (result.isFailure()) {
+      unwritten.remove(pending.eventId());
+    }
+    return result;
+  }
+
+  private Mono<Void> flush(List<Pending> batch) {
+    return insert(batch)
+        .retryWhen(Retry.backoff(Long.MAX_VALUE, MIN_FLUSH_BACKOFF)
+            .maxBackoff(MAX_FLUSH_BACKOFF)
+            .filter(error -> !isRowError(error))
+            .doBeforeRetry(signal -> LOGGER.warnf("Retrying flush of %d traces (attempt %d): %s",
+                batch.size(), signal.totalRetries() + 1, signal.failure().getMessage())))
+        .doOnNext(rows -> {
+          LOGGER.debugf("Flushed %d traces", rows);
+          batch.forEach(pending -> unwritten.remove(pending.eventId()));
+        })
+        .then()
+        .onErrorResume(WriteBehindLoanQuotationTraceWriter::isRowError,
+            error -> split(batch, error));
+  }
+
+  private Mono<Void> split(List<Pending> batch, Throwable error) {
+    if (batch.size() == 1) {
+      deadLetter(batch.get(0), error);
+      return Mono.empty();
+    }
+    int half = batch.size() / 2;
+    LOGGER.warnf("Splitting batch of %d traces rejected by the database: %s",
+        batch.size(), error.getMessage());
+    return flush(batch.subList(0, half)).then(flush(batch.subList(half, batch.size())));
+  }
+
+  /**
+   * Tells whether the database rejected the rows themselves, so that retrying the same batch
+   * cannot succeed, as opposed to a lost connection or a transient failure.
+   */
+  private static boolean isRowError(Throwable error) {
+    if (error instanceof DataAccessException) {
+      return error instanceof NonTransientDataAccessException
+          && !(error instanceof DataAccessResourceFailureException);
+    }
+    return error instanceof R2dbcNonTransientException
+        && !(error instanceof R2dbcNonTransientResourceException);
+  }
+
+  private void deadLetter(Pending pending, Throwable error) {
+    unwritten.remove(pending.eventId());
+    if (pending.trace() instanceof LoanQuotationTrace trace) {
+      DEAD_LETTER.errorf("loan_quotation_trace %s (%s): %s audit %s", pending.eventId(),
+          error.getMessage(), Arrays.toString(values(trace)),
+          Base64.getEncoder().encodeToString(pending.audit()));
+    } else if (pending.trace() instanceof CurrencyConversionTrace trace) {
+      DEAD_LETTER.errorf("currency_conversion_trace %s (%s): %s audit %s", pending.eventId(),
+          error.getMessage(), Arrays.toString(values(trace)),
+          Base64.getEncoder().encodeToString(pending.audit()));
+    }
+  }
+
+  private Mono<Long> insert(List<Pending> batch) {
+    List<LoanQuotationTrace> loans = traces(batch, LoanQuotationTrace.class);
+    List<CurrencyConversionTrace> conversions = traces(batch, CurrencyConversionTrace.class);
+    return exchangeRates.resolve(loans)
+        .then(Mono.defer(() -> transactionalOperator.transactional(insertTraces(loans)
+            .flatMap(rows -> insertConversions(conversions).map(converted -> rows + converted))
+            .flatMap(rows -> insertOutbox(batch).thenReturn(rows)))));
+  }
+
+  private static <T> List<T> traces(List<Pending> batch, Class<T> type) {
+    return batch.stream().map(Pending::trace).filter(type::isInstance).map(type::cast).toList();
+  }
+
+  private Mono<Long> insertTraces(List<LoanQuotationTrace> traces) {
+    if (traces.isEmpty()) {
+      return Mono.just(0L);
+    }
+    DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+        statement(insertStatements, INSERT_PREFIX, COLUMN_TYPES.length, traces.size()));
+    int index = 0;
+    for (LoanQuotationTrace trace : traces) {
+      spec = bind(spec, index, values(trace), COLUMN_TYPES);
+      index += COLUMN_TYPES.length;
+    }
+    return spec.fetch().rowsUpdated();
+  }
+
+  private static Object[] values(LoanQuotationTrace trace) {
+    return new Object[] {trace.getCreatedAt(), trace.getAmountUsdCents(),
+        trace.getAmountPenCents(), trace.getTotalPaymentUsdCents(),
+        trace.getTotalPaymentPenCents(), trace.getMonthlyPaymentUsdCents(),
+        trace.getMonthlyPaymentPenCents(), trace.getExchangeRateId(), trace.getTermMonths(),
+        trace.getAnnualInterestRateBps(), trace.getDni()};
+  }
+
+  private Mono<Long> insertConversions(List<CurrencyConversionTrace> traces) {
+    if (traces.isEmpty()) {
+      return Mono.just(0L);
+    }
+    DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(statement(conversionStatements,
+        CONVERSION_INSERT_PREFIX, CONVERSION_COLUMN_TYPES.length, traces.size()));
+    int index = 0;
+    for (CurrencyConversionTrace trace : traces) {
+      spec = bind(spec, index, values(trace), CONVERSION_COLUMN_TYPES);
+      index += CONVERSION_COLUMN_TYPES.length;
+    }
+    return spec.fetch().rowsUpdated();
+  }
+
+  private static Object[] values(CurrencyConversionTrace trace) {
+    return new Object[] {trace.getProduct(), trace.getDni(), trace.getAmountUsd(),
+        trace.getAmountPen(), trace.getItemCount(), trace.getExchangeRate(),
+        trace.getExchangeRateSource(), trace.getCreatedAt()};
+  }
+
+  private Mono<Long> insertOutbox(List<Pending> batch) {
+    DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+        statement(outboxStatements, OUTBOX_INSERT_PREFIX, OUTBOX_COLUMNS, batch.size()));
+    int index = 0;
+    for (Pending pending : batch) {
+      spec = spec.bind(index++, pending.eventId());
+      spec = spec.bind(index++, pending.audit());
+    }
+    return spec.fetch().rowsUpdated();
+  }
+
+  private static String statement(String[] cache, String prefix, int columns, int rows) {
+    String statement = cache[rows];
+    if (statement == null) {
+      StringBuilder sql = new StringBuilder(prefix);
+      for (int row = 0; row < rows; row++) {
+        sql.append(row == 0 ? "(" : ", (");
+        for (int column = 1; column <= columns; column++) {
+          sql.append('$').append(row * columns + column).append(column < columns ? ", " : ")");
+        }
+      }
+      statement = sql.toString();
+      cache[rows] = statement;
+    }
+    return statement;
+  }
+
+  private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec,
+                                                        int offset, Object[] values,
+                                                        Class<?>[] types) {
+    for (int column = 0; column < values.length; column++) {
+      spec = values[column] == null
+          ? spec.bindNull(offset + column, types[column])
+          : spec.bind(offset + column, values[column]);
+    }
+    return spec;
+  }
+
+  @Override
+  public void start() {
+    pipeline = queue.asFlux()
+        .bufferTimeout(batchSize, flushInterval, true)
+        .concatMap(this::flush)
+        .doFinally(signal -> drained.tryEmitEmpty())
+        .subscribe();
+    LOGGER.infof("Trace writer started with batch size %d and flush interval %s",
+        batchSize, flushInterval);
+  }
+
+  @Override
+  public void stop() {
+    queue.tryEmitComplete();
+    try {
+      drained.asMono().block(shutdownTimeout);
+      LOGGER.info("Trace writer drained");
+    } catch (IllegalStateException ex) {
+      pipeline.dispose();
+      List<Pending> left = List.copyOf(unwritten.values());
+      LOGGER.errorf("Trace writer did not drain within %s, dead-lettering %d unwritten traces",
+          shutdownTimeout, left.size());
+      IllegalStateException stopped =
+          new IllegalStateException("Trace writer stopped before the trace was written");
+      left.forEach(pending -> deadLetter(pending, stopped));
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return pipeline != null && !pipeline.isDisposed();
+  }
+
+  /**
+   * Stops after the web server so that in-flight requests can still enqueue traces.
+   */
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 4096;
+  }
+
+  /**
+   * A trace waiting to be flushed with its encoded audit event.
+   *
+   * @param trace   the {@link LoanQuotationTrace} or {@link CurrencyConversionTrace} row
+   * @param eventId the audit event id
+   * @param audit   the encoded audit event
+   */
+  private record Pending(Object trace, String eventId, byte[] audit) {
+  }
+
+}
@@ -0,0 +1,47 @@
+package com.klab.services.backarchetype.services;
+
+import com.klab.services.model.api.ConversionProduct;
+import com.klab.services.model.api.CurrencyConversionBatchRequest;
+import com.klab.services.model.api.CurrencyConversionBatchResponse;
+import com.klab.services.model.api.CurrencyConversionRequest;
+import com.klab.services.model.api.CurrencyConversionResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service interface for converting savings balances and credit card consumptions to PEN.
+ * <b>Interface</b>: CurrencyConversionService
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public interface CurrencyConversionService {
+
+  /**
+   * Method to convert a USD amount at the rate of a product.
+   *
+   * @param product  the {@link ConversionProduct} whose rate applies
+   * @param request  Mono of {@link CurrencyConversionRequest} containing the amount
+   * @param exchange the server web exchange
+   * @return Mono of {@link CurrencyConversionResponse} with the converted amount
+   */
+
+  Mono<CurrencyConversionResponse> convert(ConversionProduct product,
+                                           Mono<CurrencyConversionRequest> request,
+                                           ServerWebExchange exchange);
+
+  /**
+   * Method to convert a list of USD amounts of one customer at the rate of a product.
+   *
+   * @param product  the {@link ConversionProduct} whose rate applies
+   * @param request  Mono of {@link CurrencyConversionBatchRequest} containing the amounts
+   * @param exchange the server web exchange
+   * @return Mono of {@link CurrencyConversionBatchResponse} with the converted amounts
+   */
+
+  Mono<CurrencyConversionBatchResponse> convertBatch(ConversionProduct product,
+                                                     Mono<CurrencyConversionBatchRequest> request,
+                                                     ServerWebExchange exchange);
+
+}
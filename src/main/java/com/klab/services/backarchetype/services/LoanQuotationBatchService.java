@@ -0,0 +1,29 @@
+package com.klab.services.backarchetype.services;
+
+import com.klab.services.model.api.LoanQuotationBatchResult;
+import com.klab.services.model.api.LoanQuotationRequest;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+
+/**
+ * Service interface for handling batches of loan quotations.
+ * <b>Interface</b>: LoanQuotationBatchService
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public interface LoanQuotationBatchService {
+
+  /**
+   * Method to quote a stream of loans, reporting the outcome of every item.
+   *
+   * @param requests Flux of {@link LoanQuotationRequest} containing loan details
+   * @param exchange the server web exchange
+   * @return Flux of {@link LoanQuotationBatchResult}, one per request, as they are computed
+   */
+
+  Flux<LoanQuotationBatchResult> quoteLoanBatch(Flux<LoanQuotationRequest> requests,
+                                                ServerWebExchange exchange);
+
+}
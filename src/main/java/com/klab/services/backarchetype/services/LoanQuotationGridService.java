@@ -0,0 +1,29 @@
+package com.klab.services.backarchetype.services;
+
+import com.klab.services.model.api.LoanQuotationGridRequest;
+import com.klab.services.model.api.LoanQuotationGridResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service interface for quoting a loan amount over a grid of rates and terms.
+ * <b>Interface</b>: LoanQuotationGridService
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public interface LoanQuotationGridService {
+
+  /**
+   * Method to quote a loan amount for every rate and term of the requested ranges.
+   *
+   * @param request  Mono of {@link LoanQuotationGridRequest} containing the amount and ranges
+   * @param exchange the server web exchange
+   * @return Mono of {@link LoanQuotationGridResponse} with one row per rate
+   */
+
+  Mono<LoanQuotationGridResponse> quoteLoanGrid(Mono<LoanQuotationGridRequest> request,
+                                                ServerWebExchange exchange);
+
+}
@@ -0,0 +1,33 @@
+package com.klab.services.backarchetype.services;
+
+import com.klab.services.model.api.LoanQuotationHistoryItem;
+import java.time.OffsetDateTime;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+
+/**
+ * Service interface for reading the loan quotation history of a customer.
+ * <b>Interface</b>: LoanQuotationHistoryService
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public interface LoanQuotationHistoryService {
+
+  /**
+   * Method to stream a page of the loan quotations issued to a customer, newest first.
+   *
+   * @param dni             the customer DNI
+   * @param beforeCreatedAt the creation time of the last item of the previous page, or null
+   * @param beforeId        the id of the last item of the previous page, or null
+   * @param limit           the maximum number of items
+   * @param exchange        the server web exchange
+   * @return Flux of {@link LoanQuotationHistoryItem}, streamed as rows are read
+   */
+
+  Flux<LoanQuotationHistoryItem> getLoanHistory(String dni, OffsetDateTime beforeCreatedAt,
+                                                Long beforeId, Integer limit,
+                                                ServerWebExchange exchange);
+
+}
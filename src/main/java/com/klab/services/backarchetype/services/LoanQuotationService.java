@@ -1,8 +1,10 @@
 package com.klab.services.backarchetype.services;
 
+import com.klab.services.model.api.AmortizationScheduleRow;
 import com.klab.services.model.api.LoanQuotationRequest;
 import com.klab.services.model.api.LoanQuotationResponse;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -26,4 +28,15 @@ public interface LoanQuotationService {
   Mono<LoanQuotationResponse> quoteLoan(Mono<LoanQuotationRequest> request,
                                         ServerWebExchange exchange);
 
+  /**
+   * Method to build the amortization schedule of a loan.
+   *
+   * @param request  Mono of {@link LoanQuotationRequest} containing loan details
+   * @param exchange the server web exchange
+   * @return Flux of {@link AmortizationScheduleRow}, one per period, built as they are consumed
+   */
+
+  Flux<AmortizationScheduleRow> getLoanSchedule(Mono<LoanQuotationRequest> request,
+                                                ServerWebExchange exchange);
+
 }
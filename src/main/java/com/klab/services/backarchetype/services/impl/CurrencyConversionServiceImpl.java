@@ -0,0 +1,130 @@
+package com.klab.services.backarchetype.services.impl;
+
+import com.klab.core.starter.audit.model.avro.AvroAuditV2;
+import com.klab.services.backarchetype.domain.builder.CurrencyConversionBuilder;
+import com.klab.services.backarchetype.mapper.CurrencyConversionMapper;
+import com.klab.services.backarchetype.mapper.LoanQuotationMapper;
+import com.klab.services.backarchetype.metrics.QuotationMetrics;
+import com.klab.services.backarchetype.proxy.CurrencyExchangeProxy;
+import com.klab.services.backarchetype.repository.CurrencyConversionTraceWriter;
+import com.klab.services.backarchetype.repository.entity.CurrencyConversionTrace;
+import com.klab.services.backarchetype.services.CurrencyConversionService;
+import com.klab.services.backarchetype.services.policy.Durability;
+import com.klab.services.backarchetype.services.policy.SideEffectPolicy;
+import com.klab.services.model.api.ConversionProduct;
+import com.klab.services.model.api.CurrencyConversionBatchRequest;
+import com.klab.services.model.api.CurrencyConversionBatchResponse;
+import com.klab.services.model.api.CurrencyConversionRequest;
+import com.klab.services.model.api.CurrencyConversionResponse;
+import com.klab.services.model.api.ExchangeRateInfo;
+import java.time.Duration;
+import java.util.function.Supplier;
+import org.jboss.logging.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation class for CurrencyConversionService.
+ * Savings and credit card conversions run through the same pipeline as loan quotations: the
+ * daily rate comes from the cached {@link CurrencyExchangeProxy}, the amounts are converted on
+ * scaled longs and the trace and audit event join the loan traces in the write-behind queue,
+ * under the same {@link SideEffectPolicy}. Only the rate picked from the daily quote differs
+ * per product.
+ * <b>Class</b>: CurrencyConversionServiceImpl
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+@Service
+public class CurrencyConversionServiceImpl implements CurrencyConversionService {
+
+  private static final Logger LOGGER = Logger.getLogger(CurrencyConversionServiceImpl.class);
+
+  private final CurrencyExchangeProxy currencyExchangeProxy;
+  private final CurrencyConversionTraceWriter traceWriter;
+  private final CurrencyConversionBuilder builder;
+  private final CurrencyConversionMapper mapper;
+  private final LoanQuotationMapper exchangeRateMapper;
+  private final SideEffectPolicy tracePolicy;
+  private final QuotationMetrics.Stage requestStage;
+  private final QuotationMetrics.Stage exchangeRateStage;
+  private final QuotationMetrics.Stage traceStage;
+
+  /**
+   * Constructor for CurrencyConversionServiceImpl.
+   *
+   * @param currencyExchangeProxy the {@link CurrencyExchangeProxy}
+   * @param traceWriter           the {@link CurrencyConversionTraceWriter}
+   * @param builder               the {@link CurrencyConversionBuilder}
+   * @param mapper                the {@link CurrencyConversionMapper}
+   * @param exchangeRateMapper    the {@link LoanQuotationMapper} mapping the exchange rate
+   * @param metrics               the {@link QuotationMetrics} timing each stage
+   * @param traceDurability       the {@link Durability} required from the trace write
+   * @param traceTimeout          the maximum time the trace write may take
+   */
+  public CurrencyConversionServiceImpl(CurrencyExchangeProxy currencyExchangeProxy,
+                                       CurrencyConversionTraceWriter traceWriter,
+                                       CurrencyConversionBuilder builder,
+                                       CurrencyConversionMapper mapper,
+                                       LoanQuotationMapper exchangeRateMapper,
+                                       QuotationMetrics metrics,
+                                       @Value("${spring.quotation.trace.durability:BEST_EFFORT}")
+                                       Durability traceDurability,
+                                       @Value("${spring.quotation.trace.timeout:2s}")
+                                       Duration traceTimeout) {
+    this.currencyExchangeProxy = currencyExchangeProxy;
+    this.traceWriter = traceWriter;
+    this.builder = builder;
+    this.mapper = mapper;
+    this.exchangeRateMapper = exchangeRateMapper;
+    this.tracePolicy = new SideEffectPolicy("Conversion trace", traceDurability, traceTimeout);
+    this.requestStage = metrics.stage("conversion");
+    this.exchangeRateStage = metrics.stage("exchange-rate");
+    this.traceStage = metrics.stage("conversion-trace");
+  }
+
+  @Override
+  public Mono<CurrencyConversionResponse> convert(ConversionProduct product,
+                                                  Mono<CurrencyConversionRequest> request,
+                                                  ServerWebExchange exchange) {
+    return requestStage.record(request
+        .doOnNext(req -> LOGGER.infof("Processing %s conversion for DNI: %s",
+            product, req.getDni()))
+        .flatMap(req -> exchangeRate(req.getDni())
+            .map(rate -> builder.build(product, req, rate)))
+        .flatMap(res -> persist(res, res.getCustomerDni(),
+            () -> mapper.toTrace(res), () -> mapper.toAudit(res)))
+        .doOnError(error -> LOGGER.errorf("Error processing %s conversion: %s",
+            product, error.getMessage())));
+  }
+
+  @Override
+  public Mono<CurrencyConversionBatchResponse> convertBatch(
+      ConversionProduct product, Mono<CurrencyConversionBatchRequest> request,
+      ServerWebExchange exchange) {
+    return requestStage.record(request
+        .doOnNext(req -> LOGGER.infof("Processing %s batch conversion of %d amounts for DNI: %s",
+            product, req.getAmountsUsd().size(), req.getDni()))
+        .flatMap(req -> exchangeRate(req.getDni())
+            .map(rate -> builder.buildBatch(product, req, rate)))
+        .flatMap(res -> persist(res, res.getCustomerDni(),
+            () -> mapper.toTrace(res), () -> mapper.toAudit(res)))
+        .doOnError(error -> LOGGER.errorf("Error processing %s batch conversion: %s",
+            product, error.getMessage())));
+  }
+
+  private Mono<ExchangeRateInfo> exchangeRate(String dni) {
+    return exchangeRateStage.record(currencyExchangeProxy.getCurrencyExchange(dni))
+        .map(exchangeRateMapper::toExchangeRateInfo);
+  }
+
+  private <T> Mono<T> persist(T response, String dni, Supplier<CurrencyConversionTrace> trace,
+                              Supplier<AvroAuditV2> audit) {
+    Mono<Void> write = Mono.defer(() -> traceWriter.write(trace.get(), audit.get()));
+    return tracePolicy.apply(traceStage.record(write), dni)
+        .thenReturn(response);
+  }
+
+}
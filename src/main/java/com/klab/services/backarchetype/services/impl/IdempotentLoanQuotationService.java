@@ -0,0 +1,176 @@
+package com.klab.services.backarchetype.services.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.klab.services.backarchetype.services.LoanQuotationService;
+import com.klab.services.model.api.AmortizationScheduleRow;
+import com.klab.services.model.api.LoanQuotationRequest;
+import com.klab.services.model.api.LoanQuotationResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import org.jboss.logging.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Idempotent decorator of Loan Quotation Service.
+ * A quotation is kept until its {@code validUntil} and returned again for repeated requests,
+ * keyed by the client {@code Idempotency-Key} header when present, or by the request fields
+ * and the rate date otherwise. Concurrent duplicates share a single computation, so they
+ * produce one rate call, one trace and one audit event.
+ * <b>Class</b>: IdempotentLoanQuotationService
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@Primary
+@Service
+public class IdempotentLoanQuotationService implements LoanQuotationService {
+
+  public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+  static final String CACHE_NAME = "loan-quotation";
+
+  private static final Logger LOGGER = Logger.getLogger(IdempotentLoanQuotationService.class);
+
+  private final LoanQuotationService delegate;
+  private final AsyncCache<Object, IssuedQuotation> cache;
+  private final Clock clock;
+
+  /**
+   * Constructor for IdempotentLoanQuotationService.
+   *
+   * @param delegate      the {@link LoanQuotationService} computing new quotations
+   * @param meterRegistry the registry where hit and miss metrics are published
+   * @param maximumSize   the maximum number of quotations kept in memory
+   * @param zone          the time zone of the daily exchange rate
+   */
+
+  @Autowired
+  public IdempotentLoanQuotationService(
+      @Qualifier("loanQuotationServiceImpl") LoanQuotationService delegate,
+      MeterRegistry meterRegistry,
+      @Value("${spring.quotation.idempotency.maximum-size:10000}") long maximumSize,
+      @Value("${spring.rest-client.currency-exchange-api-v1.cache.zone:America/Lima}")
+      String zone) {
+    this(delegate, meterRegistry, maximumSize, Clock.system(ZoneId.of(zone)));
+  }
+
+  IdempotentLoanQuotationService(LoanQuotationService delegate, MeterRegistry meterRegistry,
+                                 long maximumSize, Clock clock) {
+    this.delegate = delegate;
+    this.clock = clock;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfter(new UntilValidUntil())
+        .recordStats()
+        .buildAsync();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  @Override
+  public Mono<LoanQuotationResponse> quoteLoan(Mono<LoanQuotationRequest> request,
+                                               ServerWebExchange exchange) {
+    String idempotencyKey = exchange.getRequest().getHeaders().getFirst(IDEMPOTENCY_KEY_HEADER);
+    return request.flatMap(req -> {
+      RequestFingerprint fingerprint = RequestFingerprint.of(req);
+      Object key = idempotencyKey == null
+          ? new DailyKey(fingerprint, LocalDate.now(clock))
+          : new ClientKey(req.getDni(), idempotencyKey);
+      return Mono.fromFuture(() -> cache.get(key, (k, executor) -> {
+        LOGGER.infof("Quotation for DNI %s not issued yet, computing", req.getDni());
+        return delegate.quoteLoan(Mono.just(req), exchange)
+            .map(response -> new IssuedQuotation(fingerprint, response))
+            .toFuture();
+      }), true).flatMap(issued -> issued.responseFor(fingerprint));
+    });
+  }
+
+  @Override
+  public Flux<AmortizationScheduleRow> getLoanSchedule(Mono<LoanQuotationRequest> request,
+                                                       ServerWebExchange exchange) {
+    return delegate.getLoanSchedule(request, exchange);
+  }
+
+  /**
+   * Fields of a request that determine its quotation.
+   */
+  private record RequestFingerprint(String dni, Double amountUsd, Integer termMonths,
+                                    Double annualInterestRate) {
+
+    static RequestFingerprint of(LoanQuotationRequest request) {
+      return new RequestFingerprint(request.getDni(), request.getAmountUsd(),
+          request.getTermMonths(), request.getAnnualInterestRate());
+    }
+  }
+
+  /**
+   * Key of a request without idempotency key: the same request on the same rate date.
+   */
+  private record DailyKey(RequestFingerprint fingerprint, LocalDate rateDate) {
+  }
+
+  /**
+   * Key of a request with idempotency key, scoped to the customer.
+   */
+  private record ClientKey(String dni, String idempotencyKey) {
+  }
+
+  /**
+   * Quotation already issued, with the request that produced it.
+   */
+  private record IssuedQuotation(RequestFingerprint fingerprint, LoanQuotationResponse response) {
+
+    Mono<LoanQuotationResponse> responseFor(RequestFingerprint requested) {
+      if (!fingerprint.equals(requested)) {
+        return Mono.error(new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+            IDEMPOTENCY_KEY_HEADER + " was already used with a different request"));
+      }
+      return Mono.just(response);
+    }
+  }
+
+  /**
+   * Expires every quotation when it stops being valid.
+   */
+  private final class UntilValidUntil implements Expiry<Object, IssuedQuotation> {
+
+    @Override
+    public long expireAfterCreate(Object key, IssuedQuotation issued, long currentTime) {
+      OffsetDateTime validUntil = issued.response().getValidUntil();
+      if (validUntil == null) {
+        return 0L;
+      }
+      Duration remaining = Duration.between(clock.instant(), validUntil.toInstant());
+      return Math.max(0L, remaining.toNanos());
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, IssuedQuotation issued, long currentTime,
+                                  long currentDuration) {
+      return expireAfterCreate(key, issued, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(Object key, IssuedQuotation issued, long currentTime,
+                                long currentDuration) {
+      return currentDuration;
+    }
+  }
+
+}
@@ -0,0 +1,164 @@
+package com.klab.services.backarchetype.services.impl;
+
+import com.klab.services.backarchetype.domain.builder.LoanQuotationBuilder;
+import com.klab.services.backarchetype.mapper.LoanQuotationMapper;
+import com.klab.services.backarchetype.proxy.CurrencyExchangeProxy;
+import com.klab.services.backarchetype.repository.LoanQuotationTraceWriter;
+import com.klab.services.backarchetype.services.LoanQuotationBatchService;
+import com.klab.services.model.api.ErrorResponse;
+import com.klab.services.model.api.ExchangeRateInfo;
+import com.klab.services.model.api.LoanQuotationBatchResult;
+import com.klab.services.model.api.LoanQuotationBatchResult.StatusEnum;
+import com.klab.services.model.api.LoanQuotationRequest;
+import com.klab.services.model.api.LoanQuotationResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.jboss.logging.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation class for LoanQuotationBatchService.
+ * The exchange rate is fetched once per batch, for the DNI of the first valid item, items are
+ * quoted concurrently and their traces and audit events are handed over in chunks. Each item is
+ * validated on its own, so an item that does not match the schema is reported as an ERROR
+ * result instead of ending the stream that already carries the earlier results.
+ * <b>Class</b>: LoanQuotationBatchServiceImpl
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+@Service
+public class LoanQuotationBatchServiceImpl implements LoanQuotationBatchService {
+
+  private static final Logger LOGGER = Logger.getLogger(LoanQuotationBatchServiceImpl.class);
+
+  private static final String QUOTATION_FAILED = "Quotation Failed";
+  private static final String VALIDATION_FAILED = "Validation failed";
+
+  private final CurrencyExchangeProxy currencyExchangeProxy;
+  private final LoanQuotationTraceWriter traceWriter;
+  private final LoanQuotationBuilder builder;
+  private final LoanQuotationMapper mapper;
+  private final Validator validator;
+  private final int concurrency;
+  private final int chunkSize;
+  private final Duration flushInterval;
+
+  /**
+   * Constructor for LoanQuotationBatchServiceImpl.
+   *
+   * @param currencyExchangeProxy the {@link CurrencyExchangeProxy}
+   * @param traceWriter           the {@link LoanQuotationTraceWriter}
+   * @param builder               the {@link LoanQuotationBuilder}
+   * @param mapper                the {@link LoanQuotationMapper}
+   * @param validator             the {@link Validator} checking each item
+   * @param concurrency           the maximum number of items quoted at the same time
+   * @param chunkSize             the maximum number of items whose side effects are grouped
+   * @param flushInterval         the maximum time an item waits for its chunk to fill
+   */
+  public LoanQuotationBatchServiceImpl(
+      CurrencyExchangeProxy currencyExchangeProxy,
+      LoanQuotationTraceWriter traceWriter,
+      LoanQuotationBuilder builder,
+      LoanQuotationMapper mapper,
+      Validator validator,
+      @Value("${spring.quotation.batch.concurrency:16}") int concurrency,
+      @Value("${spring.quotation.batch.chunk-size:256}") int chunkSize,
+      @Value("${spring.quotation.batch.flush-interval:100ms}") Duration flushInterval) {
+    this.currencyExchangeProxy = currencyExchangeProxy;
+    this.traceWriter = traceWriter;
+    this.builder = builder;
+    this.mapper = mapper;
+    this.validator = validator;
+    this.concurrency = concurrency;
+    this.chunkSize = chunkSize;
+    this.flushInterval = flushInterval;
+  }
+
+  @Override
+  public Flux<LoanQuotationBatchResult> quoteLoanBatch(Flux<LoanQuotationRequest> requests,
+                                                       ServerWebExchange exchange) {
+    return Flux.defer(() -> {
+      AtomicReference<Mono<ExchangeRateInfo>> exchangeRate = new AtomicReference<>();
+      return requests
+          .index()
+          .flatMap(item -> {
+            LoanQuotationRequest request = item.getT2();
+            Set<ConstraintViolation<LoanQuotationRequest>> violations =
+                validator.validate(request);
+            if (!violations.isEmpty()) {
+              return Mono.just(invalid(item.getT1(), violations));
+            }
+            if (exchangeRate.get() == null) {
+              exchangeRate.set(exchangeRate(request.getDni()));
+            }
+            return quote(item.getT1(), request, exchangeRate.get());
+          }, concurrency);
+    })
+        .bufferTimeout(chunkSize, flushInterval)
+        .concatMap(this::saveChunk)
+        .doOnComplete(() -> LOGGER.info("Loan quotation batch completed"))
+        .doOnError(error ->
+            LOGGER.errorf("Error processing loan quotation batch: %s", error.getMessage()));
+  }
+
+  private Mono<ExchangeRateInfo> exchangeRate(String dni) {
+    LOGGER.infof("Processing loan quotation batch, exchange rate requested for DNI: %s", dni);
+    return currencyExchangeProxy.getCurrencyExchange(dni)
+        .map(mapper::toExchangeRateInfo)
+        .cache();
+  }
+
+  private Mono<LoanQuotationBatchResult> quote(long index, LoanQuotationRequest request,
+                                               Mono<ExchangeRateInfo> exchangeRate) {
+    return exchangeRate
+        .switchIfEmpty(Mono.error(() -> new IllegalStateException("Exchange rate not available")))
+        .map(rate -> builder.build(request, rate))
+        .map(response -> new LoanQuotationBatchResult(index, StatusEnum.OK).quotation(response))
+        .onErrorResume(error -> Mono.just(failed(index, error)));
+  }
+
+  private Flux<LoanQuotationBatchResult> saveChunk(List<LoanQuotationBatchResult> chunk) {
+    List<LoanQuotationResponse> quotations = chunk.stream()
+        .map(LoanQuotationBatchResult::getQuotation)
+        .filter(Objects::nonNull)
+        .toList();
+    return traceWriter.writeAll(quotations.stream().map(mapper::toTrace).toList(),
+            quotations.stream().map(mapper::toAudit).toList())
+        .thenMany(Flux.fromIterable(chunk))
+        .onErrorResume(error -> {
+          LOGGER.errorf("Error saving %d batch quotations: %s",
+              quotations.size(), error.getMessage());
+          return Flux.fromIterable(chunk)
+              .map(result -> StatusEnum.OK.equals(result.getStatus())
+                  ? failed(result.getIndex(), error) : result);
+        });
+  }
+
+  private static LoanQuotationBatchResult invalid(
+      long index, Set<ConstraintViolation<LoanQuotationRequest>> violations) {
+    String message = violations.stream()
+        .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+        .collect(Collectors.joining("; "));
+    return new LoanQuotationBatchResult(index, StatusEnum.ERROR)
+        .error(new ErrorResponse(VALIDATION_FAILED, message));
+  }
+
+  private LoanQuotationBatchResult failed(long index, Throwable error) {
+    return new LoanQuotationBatchResult(index, StatusEnum.ERROR)
+        .error(new ErrorResponse(QUOTATION_FAILED, String.valueOf(error.getMessage())));
+  }
+
+}
@@ -0,0 +1,139 @@
+package com.klab.services.backarchetype.services.impl;
+
+import static com.klab.services.backarchetype.util.Constants.CENTS_PER_UNIT;
+
+import com.klab.core.starter.audit.model.avro.AvroAuditV2;
+import com.klab.services.backarchetype.domain.builder.LoanQuotationGridBuilder;
+import com.klab.services.backarchetype.mapper.LoanQuotationMapper;
+import com.klab.services.backarchetype.metrics.QuotationMetrics;
+import com.klab.services.backarchetype.proxy.CurrencyExchangeProxy;
+import com.klab.services.backarchetype.repository.LoanQuotationTraceWriter;
+import com.klab.services.backarchetype.services.LoanQuotationGridService;
+import com.klab.services.backarchetype.services.policy.Durability;
+import com.klab.services.backarchetype.services.policy.SideEffectPolicy;
+import com.klab.services.model.api.LoanQuotationGridRequest;
+import com.klab.services.model.api.LoanQuotationGridResponse;
+import com.klab.services.model.api.LoanQuotationResponse;
+import java.time.Duration;
+import org.jboss.logging.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation class for LoanQuotationGridService.
+ * The exchange rate is fetched once for the whole grid, and a single trace and audit event,
+ * of the cell with the largest total payment, are written under the same
+ * {@link SideEffectPolicy} as single quotations, with {@code LOAN_GRID} as the audited product.
+ * Grids larger than {@code spring.quotation.grid.max-cells} are refused.
+ * <b>Class</b>: LoanQuotationGridServiceImpl
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+@Service
+public class LoanQuotationGridServiceImpl implements LoanQuotationGridService {
+
+  private static final Logger LOGGER = Logger.getLogger(LoanQuotationGridServiceImpl.class);
+
+  static final String AUDIT_PRODUCT = "LOAN_GRID";
+
+  private final CurrencyExchangeProxy currencyExchangeProxy;
+  private final LoanQuotationTraceWriter traceWriter;
+  private final LoanQuotationGridBuilder builder;
+  private final LoanQuotationMapper mapper;
+  private final int maxCells;
+  private final SideEffectPolicy tracePolicy;
+  private final QuotationMetrics.Stage requestStage;
+  private final QuotationMetrics.Stage exchangeRateStage;
+  private final QuotationMetrics.Stage traceStage;
+
+  /**
+   * Constructor for LoanQuotationGridServiceImpl.
+   *
+   * @param currencyExchangeProxy the {@link CurrencyExchangeProxy}
+   * @param traceWriter           the {@link LoanQuotationTraceWriter}
+   * @param builder               the {@link LoanQuotationGridBuilder}
+   * @param mapper                the {@link LoanQuotationMapper}
+   * @param metrics               the {@link QuotationMetrics} timing each stage
+   * @param maxCells              the maximum number of cells of a grid
+   * @param traceDurability       the {@link Durability} required from the trace write
+   * @param traceTimeout          the maximum time the trace write may take
+   */
+  public LoanQuotationGridServiceImpl(CurrencyExchangeProxy currencyExchangeProxy,
+                                      LoanQuotationTraceWriter traceWriter,
+                                      LoanQuotationGridBuilder builder,
+                                      LoanQuotationMapper mapper,
+                                      QuotationMetrics metrics,
+                                      @Value("${spring.quotation.grid.max-cells:1000}")
+                                      int maxCells,
+                                      @Value("${spring.quotation.trace.durability:BEST_EFFORT}")
+                                      Durability traceDurability,
+                                      @Value("${spring.quotation.trace.timeout:2s}")
+                                      Duration traceTimeout) {
+    this.currencyExchangeProxy = currencyExchangeProxy;
+    this.traceWriter = traceWriter;
+    this.builder = builder;
+    this.mapper = mapper;
+    this.maxCells = maxCells;
+    this.tracePolicy = new SideEffectPolicy("Grid trace", traceDurability, traceTimeout);
+    this.requestStage = metrics.stage("grid");
+    this.exchangeRateStage = metrics.stage("exchange-rate");
+    this.traceStage = metrics.stage("grid-trace");
+  }
+
+  @Override
+  public Mono<LoanQuotationGridResponse> quoteLoanGrid(Mono<LoanQuotationGridRequest> request,
+                                                       ServerWebExchange exchange) {
+    return requestStage.record(request
+        .flatMap(this::validate)
+        .doOnNext(req -> LOGGER.infof("Processing loan quotation grid of %d cells for DNI: %s",
+            builder.cells(req), req.getDni()))
+        .flatMap(req -> exchangeRateStage
+            .record(currencyExchangeProxy.getCurrencyExchange(req.getDni()))
+            .map(mapper::toExchangeRateInfo)
+            .map(exchangeRate -> builder.build(req, exchangeRate)))
+        .flatMap(this::persist)
+        .doOnError(error ->
+            LOGGER.errorf("Error processing loan quotation grid: %s", error.getMessage())));
+  }
+
+  private Mono<LoanQuotationGridRequest> validate(LoanQuotationGridRequest request) {
+    String error = null;
+    if (request.getTermMonthsFrom() > request.getTermMonthsTo()) {
+      error = "term_months_from must not be greater than term_months_to";
+    } else if (request.getAnnualInterestRateFrom() > request.getAnnualInterestRateTo()) {
+      error = "annual_interest_rate_from must not be greater than annual_interest_rate_to";
+    } else if (!inHundredths(request.getAnnualInterestRateFrom())
+        || !inHundredths(request.getAnnualInterestRateTo())
+        || (request.getAnnualInterestRateStep() != null
+        && !inHundredths(request.getAnnualInterestRateStep()))) {
+      error = "annual interest rates must have at most two decimals";
+    } else if (builder.cells(request) > maxCells) {
+      error = "the grid must not have more than " + maxCells + " cells";
+    }
+    return error == null ? Mono.just(request)
+        : Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, error));
+  }
+
+  private Mono<LoanQuotationGridResponse> persist(LoanQuotationGridResponse response) {
+    return tracePolicy.apply(traceStage.record(Mono.defer(() -> saveTrace(response))),
+            response.getCustomerDni())
+        .thenReturn(response);
+  }
+
+  private Mono<Void> saveTrace(LoanQuotationGridResponse response) {
+    LoanQuotationResponse summary = builder.summary(response);
+    AvroAuditV2 audit = mapper.toAudit(summary);
+    audit.setProduct(AUDIT_PRODUCT);
+    return traceWriter.write(mapper.toTrace(summary), audit);
+  }
+
+  private static boolean inHundredths(double rate) {
+    return Math.round(rate * CENTS_PER_UNIT) / (double) CENTS_PER_UNIT == rate;
+  }
+
+}
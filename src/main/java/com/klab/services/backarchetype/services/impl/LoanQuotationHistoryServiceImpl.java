@@ -0,0 +1,76 @@
+package com.klab.services.backarchetype.services.impl;
+
+import com.klab.services.backarchetype.mapper.LoanQuotationMapper;
+import com.klab.services.backarchetype.repository.LoanQuotationTraceReader;
+import com.klab.services.backarchetype.services.LoanQuotationHistoryService;
+import com.klab.services.model.api.LoanQuotationHistoryItem;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import org.jboss.logging.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+
+/**
+ * Implementation class for LoanQuotationHistoryService.
+ * Reads one keyset page of traces and maps each row as it streams to the client.
+ * <b>Class</b>: LoanQuotationHistoryServiceImpl
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+@Service
+public class LoanQuotationHistoryServiceImpl implements LoanQuotationHistoryService {
+
+  private static final Logger LOGGER = Logger.getLogger(LoanQuotationHistoryServiceImpl.class);
+
+  private final LoanQuotationTraceReader traceReader;
+  private final LoanQuotationMapper mapper;
+  private final int defaultLimit;
+  private final int maxLimit;
+
+  /**
+   * Constructor for LoanQuotationHistoryServiceImpl.
+   *
+   * @param traceReader  the {@link LoanQuotationTraceReader}
+   * @param mapper       the {@link LoanQuotationMapper}
+   * @param defaultLimit the page size when the client does not give one
+   * @param maxLimit     the largest page size a client may ask for
+   */
+  public LoanQuotationHistoryServiceImpl(
+      LoanQuotationTraceReader traceReader,
+      LoanQuotationMapper mapper,
+      @Value("${spring.quotation.history.default-limit:100}") int defaultLimit,
+      @Value("${spring.quotation.history.max-limit:500}") int maxLimit) {
+    this.traceReader = traceReader;
+    this.mapper = mapper;
+    this.defaultLimit = defaultLimit;
+    this.maxLimit = maxLimit;
+  }
+
+  @Override
+  public Flux<LoanQuotationHistoryItem> getLoanHistory(String dni, OffsetDateTime beforeCreatedAt,
+                                                       Long beforeId, Integer limit,
+                                                       ServerWebExchange exchange) {
+    if ((beforeCreatedAt == null) != (beforeId == null)) {
+      return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "before_created_at and before_id must be sent together"));
+    }
+    int pageSize = limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
+    LOGGER.infof("Reading loan quotation history for DNI: %s", dni);
+    return traceReader.findPage(dni, toLocal(beforeCreatedAt), beforeId, pageSize)
+        .map(mapper::toHistoryItem)
+        .doOnError(error ->
+            LOGGER.errorf("Error reading loan quotation history: %s", error.getMessage()));
+  }
+
+  private static LocalDateTime toLocal(OffsetDateTime dateTime) {
+    return dateTime == null ? null
+        : dateTime.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+  }
+
+}
@@ -1,24 +1,31 @@
 package com.klab.services.backarchetype.services.impl;
 
-import com.klab.core.starter.audit.model.avro.AvroAudit;
+import com.klab.services.backarchetype.domain.builder.AmortizationScheduleBuilder;
 import com.klab.services.backarchetype.domain.builder.LoanQuotationBuilder;
 import com.klab.services.backarchetype.mapper.LoanQuotationMapper;
-import com.klab.services.backarchetype.messaging.AuditProducer;
+import com.klab.services.backarchetype.metrics.QuotationMetrics;
 import com.klab.services.backarchetype.proxy.CurrencyExchangeProxy;
-import com.klab.services.backarchetype.repository.LoanQuotationTraceRepository;
+import com.klab.services.backarchetype.repository.LoanQuotationTraceWriter;
 import com.klab.services.backarchetype.services.LoanQuotationService;
+import com.klab.services.backarchetype.services.policy.Durability;
+import com.klab.services.backarchetype.services.policy.SideEffectPolicy;
+import com.klab.services.model.api.AmortizationScheduleRow;
 import com.klab.services.model.api.LoanQuotationRequest;
 import com.klab.services.model.api.LoanQuotationResponse;
-import java.util.Map;
-import java.util.UUID;
+import java.time.Duration;
 import org.jboss.logging.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
  * Implementation class for LoanQuotationService.
  * Follows Single Responsibility: orchestrates the flow, delegates calculations to helper.
+ * The trace is written together with its audit event, which goes to the audit outbox in the
+ * same transaction, under a {@link SideEffectPolicy}, so the broker health never reaches the
+ * request. Each stage and the whole request are timed through {@link QuotationMetrics}.
  * <b>Class</b>: LoanQuotationServiceImpl
  * <b>Company</b>: Klab
  *
@@ -30,72 +37,92 @@ public class LoanQuotationServiceImpl implements LoanQuotationService {
   private static final Logger LOGGER = Logger.getLogger(LoanQuotationServiceImpl.class);
 
   private final CurrencyExchangeProxy currencyExchangeProxy;
-  private final LoanQuotationTraceRepository traceRepository;
+  private final LoanQuotationTraceWriter traceWriter;
   private final LoanQuotationBuilder builder;
+  private final AmortizationScheduleBuilder scheduleBuilder;
   private final LoanQuotationMapper mapper;
-  private final AuditProducer auditProducer;
+  private final SideEffectPolicy tracePolicy;
+  private final QuotationMetrics.Stage requestStage;
+  private final QuotationMetrics.Stage exchangeRateStage;
+  private final QuotationMetrics.Stage processStage;
+  private final QuotationMetrics.Stage traceStage;
 
   /**
    * Constructor for LoanQuotationServiceImpl.
    *
    * @param currencyExchangeProxy the {@link CurrencyExchangeProxy}
-   * @param traceRepository       the {@link LoanQuotationTraceRepository}
+   * @param traceWriter           the {@link LoanQuotationTraceWriter}
    * @param builder               the {@link LoanQuotationBuilder}
+   * @param scheduleBuilder       the {@link AmortizationScheduleBuilder}
    * @param mapper                the {@link LoanQuotationMapper}
-   * @param auditProducer         the {@link AuditProducer}
+   * @param metrics               the {@link QuotationMetrics} timing each stage
+   * @param traceDurability       the {@link Durability} required from the trace write
+   * @param traceTimeout          the maximum time the trace write may take
    */
   public LoanQuotationServiceImpl(CurrencyExchangeProxy currencyExchangeProxy,
-                                  LoanQuotationTraceRepository traceRepository,
+                                  LoanQuotationTraceWriter traceWriter,
                                   LoanQuotationBuilder builder,
+                                  AmortizationScheduleBuilder scheduleBuilder,
                                   LoanQuotationMapper mapper,
-                                  AuditProducer auditProducer) {
+                                  QuotationMetrics metrics,
+                                  @Value("${spring.quotation.trace.durability:BEST_EFFORT}")
+                                  Durability traceDurability,
+                                  @Value("${spring.quotation.trace.timeout:2s}")
+                                  Duration traceTimeout) {
     this.currencyExchangeProxy = currencyExchangeProxy;
-    this.traceRepository = traceRepository;
+    this.traceWriter = traceWriter;
     this.builder = builder;
+    this.scheduleBuilder = scheduleBuilder;
     this.mapper = mapper;
-    this.auditProducer = auditProducer;
+    this.tracePolicy = new SideEffectPolicy("Trace", traceDurability, traceTimeout);
+    this.requestStage = metrics.stage("request");
+    this.exchangeRateStage = metrics.stage("exchange-rate");
+    this.processStage = metrics.stage("process");
+    this.traceStage = metrics.stage("trace");
+    LOGGER.infof("Quotation side effects: %s", tracePolicy);
   }
 
   @Override
   public Mono<LoanQuotationResponse> quoteLoan(Mono<LoanQuotationRequest> request,
                                                ServerWebExchange exchange) {
-    return request
+    return requestStage.record(request
         .doOnNext(req ->
             LOGGER.infof("Processing loan quotation for DNI: %s", req.getDni()))
-        .flatMap(this::processQuotation)
-        .flatMap(this::saveTrace)
-        .flatMap(this::sendAudit)
+        .flatMap(req -> processStage.record(processQuotation(req)))
+        .flatMap(this::persist)
         .doOnSuccess(res ->
             LOGGER.infof("Loan quotation completed for DNI: %s", res.getCustomerDni()))
         .doOnError(error ->
-            LOGGER.errorf("Error processing loan quotation: %s", error.getMessage()));
+            LOGGER.errorf("Error processing loan quotation: %s", error.getMessage())));
+  }
+
+  @Override
+  public Flux<AmortizationScheduleRow> getLoanSchedule(Mono<LoanQuotationRequest> request,
+                                                       ServerWebExchange exchange) {
+    return request
+        .doOnNext(req ->
+            LOGGER.infof("Building loan schedule for DNI: %s", req.getDni()))
+        .flatMapMany(scheduleBuilder::build)
+        .doOnError(error ->
+            LOGGER.errorf("Error building loan schedule: %s", error.getMessage()));
   }
 
   private Mono<LoanQuotationResponse> processQuotation(LoanQuotationRequest request) {
-    return currencyExchangeProxy.getCurrencyExchange(request.getDni())
+    return exchangeRateStage.record(currencyExchangeProxy.getCurrencyExchange(request.getDni()))
         .map(mapper::toExchangeRateInfo)
         .map(exchangeRate -> builder.build(request, exchangeRate));
   }
 
-  private Mono<LoanQuotationResponse> saveTrace(LoanQuotationResponse response) {
-    return traceRepository.save(mapper.toTrace(response))
-        .doOnSuccess(trace -> LOGGER.infof("Trace saved with id: %s", trace.getId()))
+  private Mono<LoanQuotationResponse> persist(LoanQuotationResponse response) {
+    return tracePolicy.apply(traceStage.record(Mono.defer(() -> saveTrace(response))),
+            response.getCustomerDni())
         .thenReturn(response);
   }
 
-  private Mono<LoanQuotationResponse> sendAudit(LoanQuotationResponse response) {
-    String eventId = UUID.randomUUID().toString();
-    String requestDate = response.getQuotationDate().toString();
-    Map<String, String> data = Map.of(
-        "customerDni", response.getCustomerDni(),
-        "sellRate", String.valueOf(response.getExchangeRate().getSellRate()),
-        "buyRate", String.valueOf(response.getExchangeRate().getSellRate())
-    );
-    AvroAudit auditEvent = new AvroAudit(eventId, requestDate, data);
-
-    return auditProducer.send(auditEvent)
-        .doOnSuccess(v -> LOGGER.infof("Audit event sent for DNI: %s", response.getCustomerDni()))
-        .thenReturn(response);
+  private Mono<Void> saveTrace(LoanQuotationResponse response) {
+    return traceWriter.write(mapper.toTrace(response), mapper.toAudit(response))
+        .doOnSuccess(v -> LOGGER.infof("Trace and audit queued for DNI: %s",
+            response.getCustomerDni()));
   }
 
 }
@@ -0,0 +1,25 @@
+package com.klab.services.backarchetype.services.policy;
+
+/**
+ * Durability required from a quotation side effect.
+ * <b>Enum</b>: Durability
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public enum Durability {
+
+  /**
+   * The request fails when the side effect fails or times out. A trace write skips the queue
+   * and commits in its own transaction, which a timeout rolls back.
+   */
+  STRICT,
+
+  /**
+   * The failure is logged and the request completes without the side effect. A trace write
+   * completes once the trace is queued.
+   */
+  BEST_EFFORT
+
+}
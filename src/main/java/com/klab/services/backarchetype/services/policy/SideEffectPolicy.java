@@ -0,0 +1,61 @@
+package com.klab.services.backarchetype.services.policy;
+
+import java.time.Duration;
+import org.jboss.logging.Logger;
+import reactor.core.publisher.Mono;
+
+/**
+ * Timeout and failure policy applied to one side effect of a quotation.
+ * <b>Class</b>: SideEffectPolicy
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public final class SideEffectPolicy {
+
+  private static final Logger LOGGER = Logger.getLogger(SideEffectPolicy.class);
+
+  private final String name;
+  private final Durability durability;
+  private final Duration timeout;
+
+  /**
+   * Constructor for SideEffectPolicy.
+   *
+   * @param name       the side effect name, used in logs
+   * @param durability the {@link Durability} required from the side effect
+   * @param timeout    the maximum time the side effect may take
+   */
+  public SideEffectPolicy(String name, Durability durability, Duration timeout) {
+    this.name = name;
+    this.durability = durability;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Applies the policy to a side effect.
+   *
+   * @param effect the side effect
+   * @param dni    the customer DNI, used in logs
+   * @return Mono that completes with the side effect, or fails only when it is strict
+   */
+  public Mono<Void> apply(Mono<Void> effect, String dni) {
+    Mono<Void> bounded = effect.timeout(timeout);
+    if (durability == Durability.STRICT) {
+      return bounded.doOnError(error -> LOGGER.errorf("%s failed for DNI: %s: %s",
+          name, dni, error.getMessage()));
+    }
+    return bounded.onErrorResume(error -> {
+      LOGGER.warnf("%s skipped for DNI: %s, continuing without it: %s",
+          name, dni, error.getMessage());
+      return Mono.empty();
+    });
+  }
+
+  @Override
+  public String toString() {
+    return name + "[" + durability + ", " + timeout + "]";
+  }
+
+}
@@ -16,5 +16,7 @@ public class Constants {
   public static final double MONTHS_PER_YEAR = 12.0;
   public static final int PERCENTAGE_DIVISOR = 100;
   public static final int DECIMAL_SCALE = 2;
+  public static final long CENTS_PER_UNIT = 100L;
+  public static final long RATE_UNITS = 10_000L;
 
 }
@@ -0,0 +1,48 @@
+package com.klab.services.config;
+
+import com.klab.services.backarchetype.concurrent.BlockingBulkhead;
+import com.klab.services.backarchetype.mapper.AuditEventIds;
+import org.jboss.logging.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the execution of blocking calls.
+ * Flyway migrates over JDBC on the startup thread, before the server accepts requests, so it
+ * needs no routing; the blocking calls made while serving go through the
+ * {@link BlockingBulkhead}. The {@code SecureRandom} behind the audit event ids is seeded here,
+ * so that its seed read does not happen on an event loop.
+ * <b>Class</b>: BlockingConfiguration
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@Configuration
+public class BlockingConfiguration {
+
+  private static final Logger LOGGER = Logger.getLogger(BlockingConfiguration.class);
+
+  /**
+   * Constructor for BlockingConfiguration.
+   */
+  public BlockingConfiguration() {
+    AuditEventIds.warmUp();
+  }
+
+  /**
+   * Creates the virtual thread bulkhead for blocking calls.
+   *
+   * @param maxConcurrency the maximum number of blocking calls running at the same time
+   * @return the {@link BlockingBulkhead}
+   */
+
+  @Bean(destroyMethod = "dispose")
+  public BlockingBulkhead blockingBulkhead(
+      @Value("${spring.blocking.max-concurrency:256}") int maxConcurrency) {
+    LOGGER.infof("Blocking bulkhead on virtual threads, max concurrency %d", maxConcurrency);
+    return new BlockingBulkhead("blocking", maxConcurrency);
+  }
+
+}
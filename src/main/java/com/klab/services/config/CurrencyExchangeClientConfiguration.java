@@ -1,13 +1,27 @@
 package com.klab.services.config;
 
+import com.klab.services.backarchetype.proxy.impl.CurrencyExchangeProxyImpl;
 import com.klab.services.thirdparty.currencyexchange.client.ApiClient;
 import com.klab.services.thirdparty.currencyexchange.proxy.ExchangeRateApi;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 /**
  * Configuration for Currency Exchange API client beans.
+ * The client runs on a dedicated Reactor Netty connection pool with its own timeouts, and the
+ * calls go through the circuit breaker configured here.
  * <b>Class</b>: CurrencyExchangeClientConfig
  * <b>Company</b>: Klab
  *
@@ -17,19 +31,131 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class CurrencyExchangeClientConfiguration {
 
+  private static final String POOL_NAME = "currency-exchange";
+
+  /**
+   * Creates the connection pool used by the currency exchange client.
+   * Pool gauges are published under {@code reactor.netty.connection.provider.*}.
+   *
+   * @param maxConnections         the maximum number of open connections
+   * @param pendingAcquireMaxCount the maximum number of requests waiting for a connection
+   * @param pendingAcquireTimeout  the maximum time a request waits for a connection
+   * @param maxIdleTime            the time after which an idle connection is closed
+   * @param maxLifeTime            the time after which a connection is closed once released
+   * @param evictionInterval       the interval of the background eviction of idle connections
+   * @return the {@link ConnectionProvider}
+   */
+
+  @Bean(destroyMethod = "dispose")
+  public ConnectionProvider currencyExchangeConnectionProvider(
+      @Value("${spring.rest-client.currency-exchange-api-v1.pool.max-connections:50}")
+      int maxConnections,
+      @Value("${spring.rest-client.currency-exchange-api-v1.pool.pending-acquire-max-count:200}")
+      int pendingAcquireMaxCount,
+      @Value("${spring.rest-client.currency-exchange-api-v1.pool.pending-acquire-timeout:2s}")
+      Duration pendingAcquireTimeout,
+      @Value("${spring.rest-client.currency-exchange-api-v1.pool.max-idle-time:30s}")
+      Duration maxIdleTime,
+      @Value("${spring.rest-client.currency-exchange-api-v1.pool.max-life-time:5m}")
+      Duration maxLifeTime,
+      @Value("${spring.rest-client.currency-exchange-api-v1.pool.eviction-interval:30s}")
+      Duration evictionInterval) {
+    return ConnectionProvider.builder(POOL_NAME)
+        .maxConnections(maxConnections)
+        .pendingAcquireMaxCount(pendingAcquireMaxCount)
+        .pendingAcquireTimeout(pendingAcquireTimeout)
+        .maxIdleTime(maxIdleTime)
+        .maxLifeTime(maxLifeTime)
+        .evictInBackground(evictionInterval)
+        .metrics(true)
+        .build();
+  }
+
   /**
    * Creates an ExchangeRateApi bean configured with the specified base URL.
    *
-   * @param baseUrl the base URL for the currency exchange API
+   * @param baseUrl            the base URL for the currency exchange API
+   * @param connectionProvider the connection pool of the client
+   * @param connectTimeout     the connect timeout in milliseconds
+   * @param readTimeout        the response timeout in milliseconds
+   * @param http2              whether to negotiate HTTP/2 over cleartext, falling back to 1.1
    * @return an instance of {@link ExchangeRateApi}
    */
 
   @Bean
   public ExchangeRateApi exchangeRateApi(
-      @Value("${spring.rest-client.currency-exchange-api-v1.url}") String baseUrl) {
-    ApiClient apiClient = new ApiClient();
+      @Value("${spring.rest-client.currency-exchange-api-v1.url}") String baseUrl,
+      ConnectionProvider connectionProvider,
+      @Value("${spring.rest-client.currency-exchange-api-v1.connect-timeout:2000}")
+      int connectTimeout,
+      @Value("${spring.rest-client.currency-exchange-api-v1.read-timeout:5000}")
+      long readTimeout,
+      @Value("${spring.rest-client.currency-exchange-api-v1.http2:false}") boolean http2) {
+    HttpClient httpClient = HttpClient.create(connectionProvider)
+        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout)
+        .option(ChannelOption.SO_KEEPALIVE, true)
+        .responseTimeout(Duration.ofMillis(readTimeout))
+        .keepAlive(true)
+        .metrics(true, CurrencyExchangeClientConfiguration::withoutQuery);
+    if (http2) {
+      httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+    }
+    WebClient webClient = ApiClient
+        .buildWebClientBuilder(ApiClient.createDefaultObjectMapper(null))
+        .clientConnector(new ReactorClientHttpConnector(httpClient))
+        .build();
+    ApiClient apiClient = new ApiClient(webClient);
     apiClient.setBasePath(baseUrl);
     return new ExchangeRateApi(apiClient);
   }
 
+  /**
+   * Configures the circuit breaker wrapping the currency exchange calls.
+   * Client errors (4xx) are the caller's fault and are not recorded as failures.
+   *
+   * @param failureRate   the failure percentage that opens the circuit
+   * @param windowSize    the number of calls considered for the failure rate
+   * @param minimumCalls  the number of calls needed before the rate is evaluated
+   * @param openWait      the time the circuit stays open before probing
+   * @param halfOpenCalls the number of probe calls when half open
+   * @param callTimeout   the maximum time of a call, retries included
+   * @return the circuit breaker {@link Customizer}
+   */
+
+  @Bean
+  public Customizer<ReactiveResilience4JCircuitBreakerFactory> currencyExchangeCircuitBreaker(
+      @Value("${spring.rest-client.currency-exchange-api-v1.breaker.failure-rate:50}")
+      float failureRate,
+      @Value("${spring.rest-client.currency-exchange-api-v1.breaker.window-size:20}")
+      int windowSize,
+      @Value("${spring.rest-client.currency-exchange-api-v1.breaker.minimum-calls:10}")
+      int minimumCalls,
+      @Value("${spring.rest-client.currency-exchange-api-v1.breaker.open-wait:30s}")
+      Duration openWait,
+      @Value("${spring.rest-client.currency-exchange-api-v1.breaker.half-open-calls:3}")
+      int halfOpenCalls,
+      @Value("${spring.rest-client.currency-exchange-api-v1.breaker.call-timeout:10s}")
+      Duration callTimeout) {
+    CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+        .failureRateThreshold(failureRate)
+        .slidingWindowSize(windowSize)
+        .minimumNumberOfCalls(minimumCalls)
+        .waitDurationInOpenState(openWait)
+        .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+        .recordException(CurrencyExchangeProxyImpl::isServerFailure)
+        .build();
+    TimeLimiterConfig timeLimiterConfig = TimeLimiterConfig.custom()
+        .timeoutDuration(callTimeout)
+        .build();
+    return factory -> factory.configure(builder -> builder
+            .circuitBreakerConfig(circuitBreakerConfig)
+            .timeLimiterConfig(timeLimiterConfig),
+        CurrencyExchangeProxyImpl.CIRCUIT_BREAKER_ID);
+  }
+
+  private static String withoutQuery(String uri) {
+    int query = uri.indexOf('?');
+    return query < 0 ? uri : uri.substring(0, query);
+  }
+
 }
@@ -1,12 +1,21 @@
 package com.klab.services.config;
 
-import com.klab.core.starter.audit.model.avro.AvroAudit;
+import com.klab.services.backarchetype.messaging.AuditEncoder;
+import com.klab.services.backarchetype.messaging.AuditEncoder.AuditFormat;
+import com.klab.services.backarchetype.messaging.SchemaRegistryIdResolver;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.jboss.logging.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.kafka.sender.KafkaSender;
 import reactor.kafka.sender.SenderOptions;
 
@@ -44,45 +53,109 @@ public class KafkaConfiguration {
   }
 
   /**
-   * Creates a reactive KafkaSender for AvroAudit messages.
+   * Creates the audit encoder, resolving the schema id of the configured format at startup.
+   * The v1 schema keeps the topic subject it was always registered under, while v2 is
+   * registered under a topic and record name subject so that both can share the topic.
+   *
+   * @param kafkaProperties general kafka configuration properties
+   * @param topic           the audit topic
+   * @param format          the audit wire format
+   * @param registerSchema  whether to register the schema or only look it up
+   * @param timeout         the maximum time to wait for the schema registry
+   * @return AuditEncoder writing the configured format
+   */
+  @Bean
+  public AuditEncoder auditEncoder(
+      Map<String, Object> kafkaProperties,
+      @Value("${spring.kafka.producer.topic}") String topic,
+      @Value("${spring.kafka.producer.audit-format:V2}") AuditFormat format,
+      @Value("${spring.kafka.producer.register-schema:true}") boolean registerSchema,
+      @Value("${spring.kafka.producer.schema-registry-timeout:10s}") Duration timeout) {
+    String registryUrl = String.valueOf(
+        kafkaProperties.getOrDefault("schema.registry.url", "http://localhost:8081"));
+    String subject = format == AuditFormat.V1
+        ? topic + "-value"
+        : topic + "-" + format.schema().getFullName();
+    int schemaId = new SchemaRegistryIdResolver(registryUrl, timeout)
+        .resolve(subject, format.schema(), registerSchema);
+    return new AuditEncoder(format, schemaId);
+  }
+
+  /**
+   * Creates a reactive KafkaSender for pre-serialized audit messages.
    *
    * @param kafkaProperties    general kafka configuration properties
    * @param producerProperties the producer configuration properties
-   * @return KafkaSender configured for AvroAudit
+   * @param maxInFlight        the maximum number of records awaiting a broker ack
+   * @param scheduler          the scheduler publishing send results
+   * @return KafkaSender configured for audit payloads
    */
   @Bean(name = "producerAudit")
-  public KafkaSender<String, AvroAudit> producer(
+  public KafkaSender<String, byte[]> producer(
       Map<String, Object> kafkaProperties,
-      Map<String, Object> producerProperties) {
-
-    LOGGER.info("=== Kafka Configuration Debug ===");
-    LOGGER.info("kafkaProperties: " + kafkaProperties);
-    LOGGER.info("producerProperties: " + producerProperties);
+      Map<String, Object> producerProperties,
+      @Value("${spring.kafka.producer.max-in-flight:1024}") int maxInFlight,
+      @Value("${spring.kafka.producer.scheduler:SINGLE}") SenderScheduler scheduler) {
+    return KafkaSender.create(
+        auditSenderOptions(kafkaProperties, producerProperties, maxInFlight, scheduler));
+  }
 
-    Map<String, Object> props = new HashMap<>();
-    props.putAll(kafkaProperties);
-    props.putAll(producerProperties);
+  /**
+   * Builds the sender options of the audit producer from the configured properties.
+   * Producer properties override the general ones. Serializers are fixed because values
+   * arrive encoded by {@link AuditEncoder}, and only batching has a default.
+   *
+   * @param kafkaProperties    general kafka configuration properties
+   * @param producerProperties the producer configuration properties
+   * @param maxInFlight        the maximum number of records awaiting a broker ack
+   * @param scheduler          the scheduler publishing send results
+   * @return SenderOptions for audit payloads
+   */
+  public static SenderOptions<String, byte[]> auditSenderOptions(
+      Map<String, Object> kafkaProperties,
+      Map<String, Object> producerProperties,
+      int maxInFlight,
+      SenderScheduler scheduler) {
+    Map<String, Object> properties = new HashMap<>(kafkaProperties);
+    properties.putAll(producerProperties);
+    // Read by the audit encoder only, the producer would warn about it
+    properties.remove("schema.registry.url");
+    properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+    properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
+        ByteArraySerializer.class.getName());
+    // Let the client batch the continuous audit stream
+    properties.putIfAbsent(ProducerConfig.LINGER_MS_CONFIG, 5);
+    properties.putIfAbsent(ProducerConfig.BATCH_SIZE_CONFIG, 65536);
 
-    LOGGER.info("Merged props: " + props);
+    LOGGER.infof("Audit producer to %s, idempotence %s, compression %s, max in flight %d",
+        properties.get(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG),
+        properties.getOrDefault(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, "default"),
+        properties.getOrDefault(ProducerConfig.COMPRESSION_TYPE_CONFIG, "none"), maxInFlight);
 
-    Map<String, Object> properties = new HashMap<>();
-    properties.put("bootstrap.servers", "localhost:29092");
-    properties.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
-    properties.put("value.serializer", "io.confluent.kafka.serializers.KafkaAvroSerializer");
-    properties.put("schema.registry.url", "http://localhost:8081");
-    properties.put("security.protocol", "PLAINTEXT");
-    properties.put("auto.register.schemas", true);
-    properties.put("use.latest.version", true);
-    properties.put("specific.avro.writer", true);
-    // Specific Avro serializer settings
-    properties.put("value.subject.name.strategy",
-        "io.confluent.kafka.serializers.subject.TopicNameStrategy");
+    return SenderOptions.<String, byte[]>create(properties)
+        .maxInFlight(maxInFlight)
+        .scheduler(scheduler.scheduler())
+        .stopOnError(false);
+  }
 
-    LOGGER.info("Hardcoded properties: " + properties);
+  /**
+   * Scheduler on which the sender publishes the broker acks.
+   */
+  public enum SenderScheduler {
+    /** The shared single thread, the reactor-kafka default. */
+    SINGLE,
+    /** The shared parallel pool, for acks handled by CPU bound callbacks. */
+    PARALLEL,
+    /** The producer network thread itself, for cheap callbacks only. */
+    IMMEDIATE;
 
-    SenderOptions<String, AvroAudit> senderOptions = SenderOptions.create(properties);
-    return KafkaSender.create(senderOptions);
+    Scheduler scheduler() {
+      return switch (this) {
+        case SINGLE -> Schedulers.single();
+        case PARALLEL -> Schedulers.parallel();
+        case IMMEDIATE -> Schedulers.immediate();
+      };
+    }
   }
 
 }
-
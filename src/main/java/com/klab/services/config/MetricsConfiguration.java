@@ -0,0 +1,79 @@
+package com.klab.services.config;
+
+import com.klab.services.backarchetype.messaging.AuditOutboxRelay;
+import com.klab.services.backarchetype.proxy.impl.LedgerCurrencyExchangeProxy;
+import com.klab.services.backarchetype.quota.DniQuotaTracker;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for application gauges.
+ * R2DBC pool gauges ({@code r2dbc.pool.*}) and HTTP client pool gauges are published by the
+ * Spring Boot and Reactor Netty integrations; the gauges declared here cover the rest.
+ * <b>Class</b>: MetricsConfiguration
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@Configuration
+public class MetricsConfiguration {
+
+  /**
+   * Publishes how long audit events wait in the outbox before the relay picks them up.
+   *
+   * @param auditOutboxRelay the {@link AuditOutboxRelay}
+   * @return the {@link MeterBinder} registering the gauge
+   */
+
+  @Bean
+  public MeterBinder auditOutboxLagGauge(AuditOutboxRelay auditOutboxRelay) {
+    return registry -> TimeGauge.builder("quotation.audit.outbox.lag", auditOutboxRelay,
+            TimeUnit.MILLISECONDS, AuditOutboxRelay::lagMillis)
+        .description("Wait of the oldest audit event in the last batch claimed from the outbox")
+        .register(registry);
+  }
+
+  /**
+   * Publishes the calls refused by the local exchange rate quota and the memory of its counters.
+   *
+   * @param dniQuotaTracker the {@link DniQuotaTracker}
+   * @return the {@link MeterBinder} registering the counter and the gauge
+   */
+
+  @Bean
+  public MeterBinder exchangeQuotaMeters(DniQuotaTracker dniQuotaTracker) {
+    return registry -> {
+      FunctionCounter.builder("quotation.exchange.quota.refused", dniQuotaTracker,
+              DniQuotaTracker::refused)
+          .description("Exchange rate calls refused because the DNI spent its daily quota")
+          .register(registry);
+      Gauge.builder("quotation.exchange.quota.footprint", dniQuotaTracker,
+              DniQuotaTracker::footprintBytes)
+          .description("Memory held by the daily quota counters")
+          .baseUnit("bytes")
+          .register(registry);
+    };
+  }
+
+  /**
+   * Publishes the requests served with the rate of an earlier date from the exchange ledger.
+   *
+   * @param ledgerProxy the {@link LedgerCurrencyExchangeProxy}
+   * @return the {@link MeterBinder} registering the counter
+   */
+
+  @Bean
+  public MeterBinder exchangeLedgerMeters(LedgerCurrencyExchangeProxy ledgerProxy) {
+    return registry -> FunctionCounter.builder("quotation.exchange.ledger.stale", ledgerProxy,
+            LedgerCurrencyExchangeProxy::servedStale)
+        .description("Quotations served with a stale exchange rate from the ledger")
+        .register(registry);
+  }
+
+}
@@ -0,0 +1,94 @@
+package com.klab.services.config;
+
+import com.klab.services.backarchetype.metrics.R2dbcPoolMetricsRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import java.time.Duration;
+import org.jboss.logging.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the R2DBC connection pool.
+ * The pool is built explicitly so that its acquire and allocation latencies are recorded
+ * through {@link R2dbcPoolMetricsRecorder}, and the PostgreSQL driver caches the prepared
+ * statements of the trace inserts.
+ * <b>Class</b>: R2dbcConfiguration
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@Configuration
+public class R2dbcConfiguration {
+
+  private static final Logger LOGGER = Logger.getLogger(R2dbcConfiguration.class);
+
+  private static final String POOL_NAME = "r2dbc";
+
+  /**
+   * Creates the pooled R2DBC connection factory.
+   * The maximum size defaults to the number of Netty event loops, which is the most
+   * connections the application can keep busy at once.
+   *
+   * @param url                     the R2DBC URL of the database
+   * @param username                the database user
+   * @param password                the database password
+   * @param statementCacheQueries   the number of prepared statements cached per connection
+   * @param initialSize             the number of connections opened on startup
+   * @param maxSize                 the maximum number of connections
+   * @param maxIdleTime             the time after which an idle connection is closed
+   * @param maxLifeTime             the time after which a connection is closed once released
+   * @param maxAcquireTime          the maximum time a caller waits for a connection
+   * @param maxCreateConnectionTime the maximum time opening a connection may take
+   * @param validationQuery         the query validating a connection before it is handed out
+   * @param meterRegistry           the registry where pool latencies are published
+   * @return the {@link ConnectionPool}
+   */
+
+  @Bean(destroyMethod = "dispose")
+  public ConnectionPool connectionFactory(
+      @Value("${spring.r2dbc.url}") String url,
+      @Value("${spring.r2dbc.username}") String username,
+      @Value("${spring.r2dbc.password}") String password,
+      @Value("${spring.r2dbc.properties.preparedStatementCacheQueries:256}")
+      int statementCacheQueries,
+      @Value("${spring.r2dbc.pool.initial-size:2}") int initialSize,
+      @Value("${spring.r2dbc.pool.max-size:"
+          + "#{T(reactor.netty.resources.LoopResources).DEFAULT_IO_WORKER_COUNT}}") int maxSize,
+      @Value("${spring.r2dbc.pool.max-idle-time:30m}") Duration maxIdleTime,
+      @Value("${spring.r2dbc.pool.max-life-time:1h}") Duration maxLifeTime,
+      @Value("${spring.r2dbc.pool.max-acquire-time:2s}") Duration maxAcquireTime,
+      @Value("${spring.r2dbc.pool.max-create-connection-time:5s}")
+      Duration maxCreateConnectionTime,
+      @Value("${spring.r2dbc.pool.validation-query:SELECT 1}") String validationQuery,
+      MeterRegistry meterRegistry) {
+    ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+        .option(ConnectionFactoryOptions.USER, username)
+        .option(ConnectionFactoryOptions.PASSWORD, password)
+        .option(PostgresqlConnectionFactoryProvider.PREPARED_STATEMENT_CACHE_QUERIES,
+            statementCacheQueries)
+        .build();
+    ConnectionPoolConfiguration configuration = ConnectionPoolConfiguration
+        .builder(ConnectionFactories.get(options))
+        .name(POOL_NAME)
+        .initialSize(Math.min(initialSize, maxSize))
+        .maxSize(maxSize)
+        .maxIdleTime(maxIdleTime)
+        .maxLifeTime(maxLifeTime)
+        .maxAcquireTime(maxAcquireTime)
+        .maxCreateConnectionTime(maxCreateConnectionTime)
+        .validationQuery(validationQuery)
+        .metricsRecorder(new R2dbcPoolMetricsRecorder(meterRegistry, POOL_NAME))
+        .build();
+    LOGGER.infof("R2DBC pool sized %d to %d connections, caching %d statements",
+        Math.min(initialSize, maxSize), maxSize, statementCacheQueries);
+    return new ConnectionPool(configuration);
+  }
+
+}
@@ -0,0 +1,186 @@
+package com.klab.services.expose.web;
+
+import com.klab.services.backarchetype.concurrent.GradientConcurrencyLimit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jboss.logging.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Load shedding filter for the quotation endpoints.
+ * Requests beyond the {@link GradientConcurrencyLimit} are refused at once with a 503 and a
+ * {@code Retry-After} header, instead of queueing until they time out while the exchange API
+ * or Postgres is slow. Streaming and batch endpoints run in a bulk lane that may only use a
+ * share of the limit, so interactive quotations keep their capacity under load; as their
+ * duration follows their size, they do not feed the latency samples either.
+ * <b>Class</b>: ConcurrencyLimitWebFilter
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConcurrencyLimitWebFilter implements WebFilter {
+
+  private static final Logger LOGGER = Logger.getLogger(ConcurrencyLimitWebFilter.class);
+
+  private static final String REJECTED_BODY = "{\"error\":\"Service Unavailable\","
+      + "\"message\":\"Too many concurrent requests, retry later\","
+      + "\"details\":{\"retry_after\":%d}}";
+
+  /**
+   * Priority lanes of the limited requests.
+   */
+  enum Lane {
+    INTERACTIVE,
+    BULK
+  }
+
+  private final GradientConcurrencyLimit limit;
+  private final List<PathPattern> limitedPaths;
+  private final List<PathPattern> bulkPaths;
+  private final double bulkShare;
+  private final String retryAfterSeconds;
+  private final byte[] rejectedBody;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final Map<Lane, Counter> rejected = new EnumMap<>(Lane.class);
+
+  /**
+   * Constructor for ConcurrencyLimitWebFilter.
+   *
+   * @param meterRegistry the {@link MeterRegistry} publishing the limit and the rejections
+   * @param initialLimit  the limit before the first latency window completes
+   * @param minLimit      the lowest limit
+   * @param maxLimit      the highest limit
+   * @param windowSize    the number of latency samples averaged before each limit update
+   * @param smoothing     the weight, from 0 to 1, of each update in the limit
+   * @param tolerance     the latency increase tolerated before the limit shrinks
+   * @param limitedPaths  the path patterns of the limited requests
+   * @param bulkPaths     the path patterns of the requests in the bulk lane
+   * @param bulkShare     the share of the limit, from 0 to 1, the bulk lane may use
+   * @param retryAfter    the wait suggested to rejected clients
+   */
+
+  @Autowired
+  public ConcurrencyLimitWebFilter(
+      MeterRegistry meterRegistry,
+      @Value("${spring.quotation.concurrency.initial-limit:64}") int initialLimit,
+      @Value("${spring.quotation.concurrency.min-limit:8}") int minLimit,
+      @Value("${spring.quotation.concurrency.max-limit:1024}") int maxLimit,
+      @Value("${spring.quotation.concurrency.window-size:50}") int windowSize,
+      @Value("${spring.quotation.concurrency.smoothing:0.2}") double smoothing,
+      @Value("${spring.quotation.concurrency.tolerance:1.5}") double tolerance,
+      @Value("${spring.quotation.concurrency.paths:/v1/quotations/**}")
+      List<String> limitedPaths,
+      @Value("${spring.quotation.concurrency.bulk-paths:}") List<String> bulkPaths,
+      @Value("${spring.quotation.concurrency.bulk-share:0.5}") double bulkShare,
+      @Value("${spring.quotation.concurrency.retry-after:1s}") Duration retryAfter) {
+    this(new GradientConcurrencyLimit(initialLimit, minLimit, maxLimit, windowSize, smoothing,
+        tolerance), meterRegistry, limitedPaths, bulkPaths, bulkShare, retryAfter);
+  }
+
+  ConcurrencyLimitWebFilter(GradientConcurrencyLimit limit, MeterRegistry meterRegistry,
+                            List<String> limitedPaths, List<String> bulkPaths,
+                            double bulkShare, Duration retryAfter) {
+    this.limit = limit;
+    this.limitedPaths = patterns(limitedPaths);
+    this.bulkPaths = patterns(bulkPaths);
+    this.bulkShare = bulkShare;
+    long seconds = Math.max(1L, retryAfter.toSeconds());
+    this.retryAfterSeconds = String.valueOf(seconds);
+    this.rejectedBody = REJECTED_BODY.formatted(seconds).getBytes(StandardCharsets.UTF_8);
+    Gauge.builder("quotation.concurrency.limit", limit, GradientConcurrencyLimit::limit)
+        .description("Adaptive limit of quotation requests in flight")
+        .register(meterRegistry);
+    Gauge.builder("quotation.concurrency.in-flight", inFlight, AtomicInteger::get)
+        .description("Quotation requests in flight")
+        .register(meterRegistry);
+    for (Lane lane : Lane.values()) {
+      rejected.put(lane, Counter.builder("quotation.concurrency.rejected")
+          .description("Quotation requests shed because the concurrency limit was reached")
+          .tag("lane", lane.name().toLowerCase(Locale.ROOT))
+          .register(meterRegistry));
+    }
+    LOGGER.infof("Concurrency limit on %s starting at %d, bulk lane %s at %.0f%%",
+        limitedPaths, limit.limit(), bulkPaths, bulkShare * 100);
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+    if (!matches(limitedPaths, path)) {
+      return chain.filter(exchange);
+    }
+    Lane lane = matches(bulkPaths, path) ? Lane.BULK : Lane.INTERACTIVE;
+    int allowed = lane == Lane.BULK
+        ? Math.max(1, (int) (limit.limit() * bulkShare)) : limit.limit();
+    int started;
+    do {
+      started = inFlight.get();
+      if (started >= allowed) {
+        return reject(exchange.getResponse(), lane);
+      }
+    } while (!inFlight.compareAndSet(started, started + 1));
+
+    int concurrency = started + 1;
+    long start = System.nanoTime();
+    return chain.filter(exchange)
+        .doFinally(signal -> {
+          inFlight.decrementAndGet();
+          if (lane == Lane.INTERACTIVE && signal != SignalType.CANCEL) {
+            limit.onSample(System.nanoTime() - start, concurrency);
+          }
+        });
+  }
+
+  private Mono<Void> reject(ServerHttpResponse response, Lane lane) {
+    rejected.get(lane).increment();
+    response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+    response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+    response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+    return response.writeWith(Mono.fromSupplier(
+        () -> response.bufferFactory().wrap(rejectedBody)));
+  }
+
+  private static boolean matches(List<PathPattern> patterns, PathContainer path) {
+    for (PathPattern pattern : patterns) {
+      if (pattern.matches(path)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static List<PathPattern> patterns(List<String> paths) {
+    return paths.stream()
+        .filter(path -> !path.isBlank())
+        .map(path -> PathPatternParser.defaultInstance.parse(path.trim()))
+        .toList();
+  }
+
+}
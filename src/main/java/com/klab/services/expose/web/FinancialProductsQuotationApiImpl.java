@@ -1,16 +1,38 @@
 package com.klab.services.expose.web;
 
+import com.klab.services.backarchetype.services.CurrencyConversionService;
+import com.klab.services.backarchetype.services.LoanQuotationBatchService;
+import com.klab.services.backarchetype.services.LoanQuotationGridService;
+import com.klab.services.backarchetype.services.LoanQuotationHistoryService;
 import com.klab.services.backarchetype.services.LoanQuotationService;
+import com.klab.services.model.api.AmortizationScheduleRow;
+import com.klab.services.model.api.ConversionProduct;
+import com.klab.services.model.api.CurrencyConversionBatchRequest;
+import com.klab.services.model.api.CurrencyConversionBatchResponse;
+import com.klab.services.model.api.CurrencyConversionRequest;
+import com.klab.services.model.api.CurrencyConversionResponse;
+import com.klab.services.model.api.LoanQuotationBatchResult;
+import com.klab.services.model.api.LoanQuotationGridRequest;
+import com.klab.services.model.api.LoanQuotationGridResponse;
+import com.klab.services.model.api.LoanQuotationHistoryItem;
 import com.klab.services.model.api.LoanQuotationRequest;
 import com.klab.services.model.api.LoanQuotationResponse;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import jakarta.validation.Valid;
+import java.time.OffsetDateTime;
 import org.jboss.logging.Logger;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -28,21 +50,52 @@ public class FinancialProductsQuotationApiImpl implements QuotationsApi {
   private static final Logger LOGGER = Logger.getLogger(FinancialProductsQuotationApiImpl.class);
 
   private final LoanQuotationService loanQuotationService;
+  private final LoanQuotationBatchService loanQuotationBatchService;
+  private final LoanQuotationGridService loanQuotationGridService;
+  private final LoanQuotationHistoryService loanQuotationHistoryService;
+  private final CurrencyConversionService currencyConversionService;
 
   /**
    * Constructor for FinancialProductsQuotationApiImpl.
    *
-   * @param loanQuotationService {@link LoanQuotationService} service for loan quotations
+   * @param loanQuotationService        {@link LoanQuotationService} service for loan quotations
+   * @param loanQuotationBatchService   {@link LoanQuotationBatchService} service for loan batches
+   * @param loanQuotationGridService    {@link LoanQuotationGridService} service for loan grids
+   * @param loanQuotationHistoryService {@link LoanQuotationHistoryService} service for history
+   * @param currencyConversionService   {@link CurrencyConversionService} service for conversions
    */
 
-  public FinancialProductsQuotationApiImpl(LoanQuotationService loanQuotationService) {
+  public FinancialProductsQuotationApiImpl(
+      LoanQuotationService loanQuotationService,
+      LoanQuotationBatchService loanQuotationBatchService,
+      LoanQuotationGridService loanQuotationGridService,
+      LoanQuotationHistoryService loanQuotationHistoryService,
+      CurrencyConversionService currencyConversionService) {
     this.loanQuotationService = loanQuotationService;
+    this.loanQuotationBatchService = loanQuotationBatchService;
+    this.loanQuotationGridService = loanQuotationGridService;
+    this.loanQuotationHistoryService = loanQuotationHistoryService;
+    this.currencyConversionService = currencyConversionService;
+  }
+
+  /**
+   * Turns off the validation of the batch items, which the generated interface still requests
+   * with {@code @Valid}, so that an invalid item is reported in its own result by the
+   * {@link LoanQuotationBatchService} instead of ending the NDJSON stream mid-response.
+   *
+   * @param binder the binder of each {@code Flux<LoanQuotationRequest>} element
+   */
+
+  @InitBinder("loanQuotationRequestFlux")
+  public void skipBatchItemValidation(WebDataBinder binder) {
+    binder.setValidator(null);
   }
 
   /**
    * Endpoint to quote a loan.
    *
    * @param loanQuotationRequest the loan quotation request
+   * @param idempotencyKey       the optional client key, read by the service from the exchange
    * @param exchange             the server web exchange
    * @return a Mono of ResponseEntity containing LoanQuotationResponse
    */
@@ -51,10 +104,169 @@ public class FinancialProductsQuotationApiImpl implements QuotationsApi {
   public Mono<ResponseEntity<LoanQuotationResponse>> quoteLoan(
       @Parameter(name = "LoanQuotationRequest", required = true)
       @Valid @RequestBody Mono<LoanQuotationRequest> loanQuotationRequest,
+      @Parameter(name = "Idempotency-Key", in = ParameterIn.HEADER)
+      @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
       @Parameter(hidden = true) final ServerWebExchange exchange) {
     return loanQuotationService.quoteLoan(loanQuotationRequest, exchange)
         .doOnSubscribe(response -> LOGGER.info("Received loan quotation request"))
         .map(ResponseEntity::ok);
   }
 
+  /**
+   * Endpoint to stream the amortization schedule of a loan as NDJSON.
+   *
+   * @param loanQuotationRequest the loan quotation request
+   * @param exchange             the server web exchange
+   * @return a Mono of ResponseEntity containing a Flux of AmortizationScheduleRow
+   */
+
+  @Override
+  public Mono<ResponseEntity<Flux<AmortizationScheduleRow>>> getLoanSchedule(
+      @Parameter(name = "LoanQuotationRequest", required = true)
+      @Valid @RequestBody Mono<LoanQuotationRequest> loanQuotationRequest,
+      @Parameter(hidden = true) final ServerWebExchange exchange) {
+    LOGGER.info("Received loan schedule request");
+    return Mono.just(ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(loanQuotationService.getLoanSchedule(loanQuotationRequest, exchange)));
+  }
+
+  /**
+   * Endpoint to quote a loan amount over a grid of rates and terms.
+   *
+   * @param loanQuotationGridRequest the loan quotation grid request
+   * @param exchange                 the server web exchange
+   * @return a Mono of ResponseEntity containing LoanQuotationGridResponse
+   */
+
+  @Override
+  public Mono<ResponseEntity<LoanQuotationGridResponse>> quoteLoanGrid(
+      @Parameter(name = "LoanQuotationGridRequest", required = true)
+      @Valid @RequestBody Mono<LoanQuotationGridRequest> loanQuotationGridRequest,
+      @Parameter(hidden = true) final ServerWebExchange exchange) {
+    return loanQuotationGridService.quoteLoanGrid(loanQuotationGridRequest, exchange)
+        .doOnSubscribe(response -> LOGGER.info("Received loan quotation grid request"))
+        .map(ResponseEntity::ok);
+  }
+
+  /**
+   * Endpoint to quote a batch of loans, streaming results as NDJSON.
+   *
+   * @param loanQuotationRequest the stream of loan quotation requests
+   * @param exchange             the server web exchange
+   * @return a Mono of ResponseEntity containing a Flux of LoanQuotationBatchResult
+   */
+
+  @Override
+  public Mono<ResponseEntity<Flux<LoanQuotationBatchResult>>> quoteLoanBatch(
+      @Parameter(name = "LoanQuotationRequest", required = true)
+      @RequestBody Flux<LoanQuotationRequest> loanQuotationRequest,
+      @Parameter(hidden = true) final ServerWebExchange exchange) {
+    LOGGER.info("Received loan quotation batch request");
+    return Mono.just(ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(loanQuotationBatchService.quoteLoanBatch(loanQuotationRequest, exchange)));
+  }
+
+  /**
+   * Endpoint to stream a page of the loan quotation history of a customer as NDJSON.
+   *
+   * @param dni             the customer DNI
+   * @param beforeCreatedAt the creation time of the last item of the previous page
+   * @param beforeId        the id of the last item of the previous page
+   * @param limit           the maximum number of items
+   * @param exchange        the server web exchange
+   * @return a Mono of ResponseEntity containing a Flux of LoanQuotationHistoryItem
+   */
+
+  @Override
+  public Mono<ResponseEntity<Flux<LoanQuotationHistoryItem>>> getLoanHistory(
+      @RequestParam(value = "dni") String dni,
+      @RequestParam(value = "before_created_at", required = false) OffsetDateTime beforeCreatedAt,
+      @RequestParam(value = "before_id", required = false) Long beforeId,
+      @RequestParam(value = "limit", required = false, defaultValue = "100") Integer limit,
+      @Parameter(hidden = true) final ServerWebExchange exchange) {
+    LOGGER.info("Received loan quotation history request");
+    return Mono.just(ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(loanQuotationHistoryService.getLoanHistory(dni, beforeCreatedAt, beforeId, limit,
+            exchange)));
+  }
+
+  /**
+   * Endpoint to convert a savings balance from USD to PEN at the buy rate.
+   *
+   * @param currencyConversionRequest the conversion request
+   * @param exchange                  the server web exchange
+   * @return a Mono of ResponseEntity containing CurrencyConversionResponse
+   */
+
+  @Override
+  public Mono<ResponseEntity<CurrencyConversionResponse>> convertSavings(
+      @Parameter(name = "CurrencyConversionRequest", required = true)
+      @Valid @RequestBody Mono<CurrencyConversionRequest> currencyConversionRequest,
+      @Parameter(hidden = true) final ServerWebExchange exchange) {
+    return currencyConversionService.convert(ConversionProduct.SAVINGS,
+            currencyConversionRequest, exchange)
+        .doOnSubscribe(response -> LOGGER.info("Received savings conversion request"))
+        .map(ResponseEntity::ok);
+  }
+
+  /**
+   * Endpoint to convert a list of savings balances from USD to PEN at the buy rate.
+   *
+   * @param currencyConversionBatchRequest the batch conversion request
+   * @param exchange                       the server web exchange
+   * @return a Mono of ResponseEntity containing CurrencyConversionBatchResponse
+   */
+
+  @Override
+  public Mono<ResponseEntity<CurrencyConversionBatchResponse>> convertSavingsBatch(
+      @Parameter(name = "CurrencyConversionBatchRequest", required = true)
+      @Valid @RequestBody Mono<CurrencyConversionBatchRequest> currencyConversionBatchRequest,
+      @Parameter(hidden = true) final ServerWebExchange exchange) {
+    return currencyConversionService.convertBatch(ConversionProduct.SAVINGS,
+            currencyConversionBatchRequest, exchange)
+        .doOnSubscribe(response -> LOGGER.info("Received savings batch conversion request"))
+        .map(ResponseEntity::ok);
+  }
+
+  /**
+   * Endpoint to convert a credit card consumption from USD to PEN at the sell rate.
+   *
+   * @param currencyConversionRequest the conversion request
+   * @param exchange                  the server web exchange
+   * @return a Mono of ResponseEntity containing CurrencyConversionResponse
+   */
+
+  @Override
+  public Mono<ResponseEntity<CurrencyConversionResponse>> convertCreditCard(
+      @Parameter(name = "CurrencyConversionRequest", required = true)
+      @Valid @RequestBody Mono<CurrencyConversionRequest> currencyConversionRequest,
+      @Parameter(hidden = true) final ServerWebExchange exchange) {
+    return currencyConversionService.convert(ConversionProduct.CREDIT_CARD,
+            currencyConversionRequest, exchange)
+        .doOnSubscribe(response -> LOGGER.info("Received credit card conversion request"))
+        .map(ResponseEntity::ok);
+  }
+
+  /**
+   * Endpoint to convert a list of credit card consumptions from USD to PEN at the sell rate.
+   *
+   * @param currencyConversionBatchRequest the batch conversion request
+   * @param exchange                       the server web exchange
+   * @return a Mono of ResponseEntity containing CurrencyConversionBatchResponse
+   */
+
+  @Override
+  public Mono<ResponseEntity<CurrencyConversionBatchResponse>> convertCreditCardBatch(
+      @Parameter(name = "CurrencyConversionBatchRequest", required = true)
+      @Valid @RequestBody Mono<CurrencyConversionBatchRequest> currencyConversionBatchRequest,
+      @Parameter(hidden = true) final ServerWebExchange exchange) {
+    return currencyConversionService.convertBatch(ConversionProduct.CREDIT_CARD,
+            currencyConversionBatchRequest, exchange)
+        .doOnSubscribe(response -> LOGGER.info("Received credit card batch conversion request"))
+        .map(ResponseEntity::ok);
+  }
+
 }
@@ -0,0 +1,69 @@
+-- Turn loan_quotation_trace into a table partitioned by month on created_at.
+-- Partitions are named loan_quotation_trace_pYYYY_MM. The partition job creates future months
+-- ahead of time, replaces the created_at B-tree of finished months with a BRIN index and
+-- expires the months past the retention.
+
+ALTER TABLE loan_quotation_trace RENAME TO loan_quotation_trace_unpartitioned;
+ALTER TABLE loan_quotation_trace_unpartitioned
+    RENAME CONSTRAINT loan_quotation_trace_pkey TO loan_quotation_trace_unpartitioned_pkey;
+DROP INDEX idx_loan_quotation_trace_dni;
+DROP INDEX idx_loan_quotation_trace_created_at;
+
+CREATE TABLE loan_quotation_trace (
+    id BIGINT NOT NULL DEFAULT nextval('loan_quotation_trace_id_seq'),
+    dni VARCHAR(8) NOT NULL,
+    amount_usd DECIMAL(12, 2) NOT NULL,
+    amount_pen DECIMAL(12, 2) NOT NULL,
+    term_months INTEGER NOT NULL,
+    annual_interest_rate DECIMAL(5, 2) NOT NULL,
+    monthly_interest_rate DECIMAL(10, 8) NOT NULL,
+    exchange_rate_buy DECIMAL(6, 4) NOT NULL,
+    exchange_rate_sell DECIMAL(6, 4) NOT NULL,
+    exchange_rate_source VARCHAR(50) NOT NULL,
+    total_payment_usd DECIMAL(12, 2) NOT NULL,
+    total_payment_pen DECIMAL(12, 2) NOT NULL,
+    monthly_payment_usd DECIMAL(12, 2) NOT NULL,
+    monthly_payment_pen DECIMAL(12, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE loan_quotation_trace_id_seq OWNED BY loan_quotation_trace.id;
+
+-- Index for queries by DNI, inherited by every partition
+CREATE INDEX idx_loan_quotation_trace_dni_created_at ON loan_quotation_trace (dni, created_at);
+
+-- Schema receiving the expired partitions when they are archived instead of dropped
+CREATE SCHEMA IF NOT EXISTS loan_quotation_archive;
+
+-- Partitions for the existing rows up to three months ahead
+DO $$
+DECLARE
+    current_month DATE := date_trunc('month', LOCALTIMESTAMP);
+    partition_month DATE := date_trunc('month',
+        COALESCE((SELECT min(created_at) FROM loan_quotation_trace_unpartitioned), LOCALTIMESTAMP));
+    last_month DATE := date_trunc('month', GREATEST(
+        (SELECT max(created_at) FROM loan_quotation_trace_unpartitioned),
+        LOCALTIMESTAMP + INTERVAL '3 months'));
+    partition_name TEXT;
+BEGIN
+    WHILE partition_month <= last_month LOOP
+        partition_name := 'loan_quotation_trace_p' || to_char(partition_month, 'YYYY_MM');
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF loan_quotation_trace FOR VALUES FROM (%L) TO (%L)',
+            partition_name, partition_month, partition_month + INTERVAL '1 month');
+        IF partition_month < current_month THEN
+            EXECUTE format('CREATE INDEX %I ON %I USING BRIN (created_at)',
+                partition_name || '_created_at_brin', partition_name);
+        ELSE
+            EXECUTE format('CREATE INDEX %I ON %I (created_at)',
+                partition_name || '_created_at', partition_name);
+        END IF;
+        partition_month := partition_month + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO loan_quotation_trace
+SELECT * FROM loan_quotation_trace_unpartitioned;
+
+DROP TABLE loan_quotation_trace_unpartitioned;
@@ -0,0 +1,5 @@
+-- Index for the customer history, read newest first with keyset pagination on (created_at, id)
+CREATE INDEX idx_loan_quotation_trace_dni_created_at_id
+    ON loan_quotation_trace (dni, created_at, id);
+
+DROP INDEX idx_loan_quotation_trace_dni_created_at;
@@ -0,0 +1,8 @@
+-- Audit events waiting to be published to Kafka. Rows are inserted in the same transaction as
+-- their loan_quotation_trace rows and deleted by the relay once the broker has acked them.
+CREATE TABLE audit_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    event_id VARCHAR(36) NOT NULL,
+    payload BYTEA NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
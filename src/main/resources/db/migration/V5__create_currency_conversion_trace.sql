@@ -0,0 +1,21 @@
+-- Traces of the savings and credit card conversions. A batch conversion is traced as one row
+-- holding its totals and the number of amounts converted.
+CREATE TABLE currency_conversion_trace (
+    id BIGSERIAL PRIMARY KEY,
+    product VARCHAR(16) NOT NULL,
+    dni VARCHAR(8) NOT NULL,
+    amount_usd DECIMAL(14, 2) NOT NULL,
+    amount_pen DECIMAL(14, 2) NOT NULL,
+    item_count INTEGER NOT NULL,
+    exchange_rate DECIMAL(6, 4) NOT NULL,
+    exchange_rate_source VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Index for the conversions of a customer, newest first
+CREATE INDEX idx_currency_conversion_trace_dni_created_at
+    ON currency_conversion_trace (dni, created_at);
+
+-- Rows arrive in time order, so a BRIN index serves date range scans at a fraction of the size
+CREATE INDEX idx_currency_conversion_trace_created_at_brin
+    ON currency_conversion_trace USING BRIN (created_at);
@@ -0,0 +1,10 @@
+-- Ledger of the daily USD/PEN rates received from the exchange API, one row per rate date.
+-- Quotations fall back to the newest row while the API is unavailable.
+CREATE TABLE exchange_rate (
+    rate_date DATE PRIMARY KEY,
+    currency VARCHAR(3) NOT NULL,
+    buy_rate DECIMAL(6, 4) NOT NULL,
+    sell_rate DECIMAL(6, 4) NOT NULL,
+    source VARCHAR(50) NOT NULL,
+    received_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
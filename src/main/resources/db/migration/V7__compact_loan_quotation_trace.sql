@@ -0,0 +1,169 @@
+-- Compact layout of loan_quotation_trace: amounts are BIGINT cents, the annual rate SMALLINT
+-- basis points and the exchange rate a reference to trace_exchange_rate, which holds each
+-- rate once per day. The monthly interest rate and monthly payments are derived when read:
+-- the USD installment is the total divided by the term and the PEN installment its
+-- conversion at the sell rate, both HALF_UP. Rows quoted before the installment-based
+-- calculator do not always follow that rule; their monthly payments are kept in the nullable
+-- monthly_payment_*_cents columns, which stay NULL when the derivation gives the stored value.
+-- The monthly interest rate always was the annual rate / 12 rounded HALF_UP to two decimals;
+-- a batch holding a row where it is not stops the migration before the old table is dropped.
+-- Columns are ordered widest first so rows carry no padding.
+-- Runs outside a transaction (see the .conf file): the rows are copied to
+-- loan_quotation_trace_v2 in batches of 50000 ids, each committed on its own, so the copy
+-- holds no long lock and a rerun resumes after the last id copied. The tables are swapped
+-- under a short exclusive lock once the rows inserted meanwhile are copied.
+-- Partitions already archived in loan_quotation_archive keep the previous layout.
+
+CREATE TABLE IF NOT EXISTS trace_exchange_rate (
+    id SERIAL PRIMARY KEY,
+    rate_date DATE NOT NULL,
+    buy_rate INTEGER NOT NULL,
+    sell_rate INTEGER NOT NULL,
+    source VARCHAR(50) NOT NULL,
+    CONSTRAINT trace_exchange_rate_key UNIQUE (rate_date, buy_rate, sell_rate, source)
+);
+
+CREATE TABLE IF NOT EXISTS loan_quotation_trace_v2 (
+    id BIGINT NOT NULL DEFAULT nextval('loan_quotation_trace_id_seq'),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    amount_usd_cents BIGINT NOT NULL,
+    amount_pen_cents BIGINT NOT NULL,
+    total_payment_usd_cents BIGINT NOT NULL,
+    total_payment_pen_cents BIGINT NOT NULL,
+    monthly_payment_usd_cents BIGINT,
+    monthly_payment_pen_cents BIGINT,
+    exchange_rate_id INTEGER NOT NULL,
+    term_months SMALLINT NOT NULL,
+    annual_interest_rate_bps SMALLINT NOT NULL,
+    dni VARCHAR(8) NOT NULL,
+    PRIMARY KEY (id, created_at),
+    CONSTRAINT loan_quotation_trace_exchange_rate_fkey
+        FOREIGN KEY (exchange_rate_id) REFERENCES trace_exchange_rate (id)
+) PARTITION BY RANGE (created_at);
+
+-- One partition per month of the current table, with the same index kind
+DO $$
+DECLARE
+    current_month DATE := date_trunc('month', LOCALTIMESTAMP);
+    partition_month DATE;
+    partition_name TEXT;
+BEGIN
+    FOR partition_month IN
+        SELECT to_date(right(child.relname, 7), 'YYYY_MM')
+        FROM pg_inherits
+        JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+        WHERE pg_inherits.inhparent = 'loan_quotation_trace'::regclass
+    LOOP
+        partition_name := 'loan_quotation_trace_v2_p' || to_char(partition_month, 'YYYY_MM');
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF loan_quotation_trace_v2 '
+            || 'FOR VALUES FROM (%L) TO (%L)',
+            partition_name, partition_month, partition_month + INTERVAL '1 month');
+        IF partition_month < current_month THEN
+            EXECUTE format('CREATE INDEX IF NOT EXISTS %I ON %I USING BRIN (created_at)',
+                partition_name || '_created_at_brin', partition_name);
+        ELSE
+            EXECUTE format('CREATE INDEX IF NOT EXISTS %I ON %I (created_at)',
+                partition_name || '_created_at', partition_name);
+        END IF;
+    END LOOP;
+END $$;
+
+-- Copies the traces with first_id < id <= last_id. The rate date of the existing rows is
+-- their creation date, the only date they stored.
+CREATE OR REPLACE FUNCTION pg_temp.copy_loan_quotation_traces(first_id BIGINT, last_id BIGINT)
+RETURNS VOID LANGUAGE plpgsql AS $copy$
+DECLARE
+    underivable_id BIGINT;
+BEGIN
+    SELECT id INTO underivable_id
+    FROM loan_quotation_trace
+    WHERE id > first_id AND id <= last_id
+        AND monthly_interest_rate <> round(annual_interest_rate / 12, 2)
+    LIMIT 1;
+    IF underivable_id IS NOT NULL THEN
+        RAISE EXCEPTION 'Trace % has a monthly interest rate other than annual / 12',
+            underivable_id;
+    END IF;
+
+    INSERT INTO trace_exchange_rate (rate_date, buy_rate, sell_rate, source)
+    SELECT DISTINCT created_at::date, round(exchange_rate_buy * 10000)::INTEGER,
+        round(exchange_rate_sell * 10000)::INTEGER, exchange_rate_source
+    FROM loan_quotation_trace
+    WHERE id > first_id AND id <= last_id
+    ON CONFLICT DO NOTHING;
+
+    INSERT INTO loan_quotation_trace_v2 (id, created_at, amount_usd_cents, amount_pen_cents,
+        total_payment_usd_cents, total_payment_pen_cents, monthly_payment_usd_cents,
+        monthly_payment_pen_cents, exchange_rate_id, term_months, annual_interest_rate_bps, dni)
+    SELECT trace.id, trace.created_at, round(trace.amount_usd * 100)::BIGINT,
+        round(trace.amount_pen * 100)::BIGINT, round(trace.total_payment_usd * 100)::BIGINT,
+        round(trace.total_payment_pen * 100)::BIGINT,
+        CASE WHEN round(trace.monthly_payment_usd * 100)
+                = round(round(trace.total_payment_usd * 100) / trace.term_months)
+            THEN NULL ELSE round(trace.monthly_payment_usd * 100)::BIGINT END,
+        CASE WHEN round(trace.monthly_payment_pen * 100)
+                = round(round(trace.monthly_payment_usd * 100) * rate.sell_rate / 10000)
+            THEN NULL ELSE round(trace.monthly_payment_pen * 100)::BIGINT END,
+        rate.id, trace.term_months,
+        round(trace.annual_interest_rate * 100)::SMALLINT, trace.dni
+    FROM loan_quotation_trace trace
+    JOIN trace_exchange_rate rate
+        ON rate.rate_date = trace.created_at::date
+        AND rate.buy_rate = round(trace.exchange_rate_buy * 10000)
+        AND rate.sell_rate = round(trace.exchange_rate_sell * 10000)
+        AND rate.source = trace.exchange_rate_source
+    WHERE trace.id > first_id AND trace.id <= last_id
+    ON CONFLICT DO NOTHING;
+END $copy$;
+
+-- Backfill in batches, one transaction each
+DO $$
+DECLARE
+    batch_size CONSTANT BIGINT := 50000;
+    copied_id BIGINT := COALESCE((SELECT max(id) FROM loan_quotation_trace_v2), 0);
+    last_id BIGINT := COALESCE((SELECT max(id) FROM loan_quotation_trace), 0);
+BEGIN
+    WHILE copied_id < last_id LOOP
+        PERFORM pg_temp.copy_loan_quotation_traces(copied_id, copied_id + batch_size);
+        copied_id := copied_id + batch_size;
+        COMMIT;
+    END LOOP;
+END $$;
+
+-- Index for the customer history, built once the copy is done
+CREATE INDEX IF NOT EXISTS idx_loan_quotation_trace_v2_dni_created_at_id
+    ON loan_quotation_trace_v2 (dni, created_at, id);
+
+-- Swap: copy the traces inserted during the backfill, then take over the names. The last
+-- batch is copied again in case a trace with a lower id was committed after a higher one.
+DO $$
+DECLARE
+    copied_id BIGINT;
+    relation_name TEXT;
+BEGIN
+    LOCK TABLE loan_quotation_trace IN ACCESS EXCLUSIVE MODE;
+    copied_id := GREATEST(COALESCE((SELECT max(id) FROM loan_quotation_trace_v2), 0) - 50000, 0);
+    PERFORM pg_temp.copy_loan_quotation_traces(copied_id, 9223372036854775807);
+
+    ALTER SEQUENCE loan_quotation_trace_id_seq OWNED BY loan_quotation_trace_v2.id;
+    DROP TABLE loan_quotation_trace;
+    ALTER TABLE loan_quotation_trace_v2 RENAME TO loan_quotation_trace;
+
+    FOR relation_name IN
+        SELECT child.relname
+        FROM pg_inherits
+        JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+        WHERE pg_inherits.inhparent = 'loan_quotation_trace'::regclass
+    LOOP
+        EXECUTE format('ALTER TABLE %I RENAME TO %I', relation_name,
+            replace(relation_name, 'loan_quotation_trace_v2', 'loan_quotation_trace'));
+    END LOOP;
+
+    FOR relation_name IN
+        SELECT indexname FROM pg_indexes
+        WHERE schemaname = current_schema() AND indexname LIKE '%loan\_quotation\_trace\_v2%'
+    LOOP
+        EXECUTE format('ALTER INDEX %I RENAME TO %I', relation_name,
+            replace(relation_name, 'loan_quotation_trace_v2', 'loan_quotation_trace'));
+    END LOOP;
+END $$;
@@ -0,0 +1,17 @@
+-- The relay leases the rows it sends instead of holding them locked in a transaction until the
+-- broker acks them. A row is claimable again once its lease expires, and attempts counts the
+-- sends the broker rejected for the record itself.
+ALTER TABLE audit_outbox
+    ADD COLUMN leased_until TIMESTAMP,
+    ADD COLUMN attempts INT NOT NULL DEFAULT 0;
+
+-- Audit events the broker rejected on every attempt, kept for inspection and replay.
+CREATE TABLE audit_outbox_dead_letter (
+    id BIGINT PRIMARY KEY,
+    event_id VARCHAR(36) NOT NULL,
+    payload BYTEA NOT NULL,
+    attempts INT NOT NULL,
+    error TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    dead_lettered_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,115 @@
+package com.klab.services.backarchetype.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for BlockingBulkhead, run under BlockHound.
+ * <b>Class</b>: BlockingBulkheadTest
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+class BlockingBulkheadTest {
+
+  private final BlockingBulkhead bulkhead = new BlockingBulkhead("test-blocking", 2);
+
+  @AfterEach
+  void tearDown() {
+    bulkhead.dispose();
+  }
+
+  @Test
+  @DisplayName("Should Run Blocking Task On Virtual Thread From Non Blocking Thread")
+  void shouldRunBlockingTaskOnVirtualThreadFromNonBlockingThread() {
+    // Arrange
+    Mono<Boolean> task = Mono.defer(() -> bulkhead.call(() -> {
+      Thread.sleep(5);
+      return Thread.currentThread().isVirtual();
+    })).subscribeOn(Schedulers.parallel());
+
+    // Act & Assert
+    StepVerifier.create(task)
+        .expectNext(true)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("Should Report Blocking Call Made On Non Blocking Thread")
+  void shouldReportBlockingCallMadeOnNonBlockingThread() {
+    // Arrange
+    Mono<Integer> task = Mono.fromCallable(() -> {
+      Thread.sleep(5);
+      return 1;
+    }).subscribeOn(Schedulers.parallel());
+
+    // Act & Assert
+    StepVerifier.create(task)
+        .expectError(BlockingOperationError.class)
+        .verify();
+  }
+
+  @Test
+  @DisplayName("Should Limit Tasks Running At The Same Time")
+  void shouldLimitTasksRunningAtTheSameTime() {
+    // Arrange
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger peak = new AtomicInteger();
+
+    // Act
+    StepVerifier.create(Flux.range(0, 8)
+            .flatMap(i -> bulkhead.call(() -> {
+              peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+              Thread.sleep(20);
+              running.decrementAndGet();
+              return i;
+            })))
+        .expectNextCount(8)
+        .expectComplete()
+        .verify(Duration.ofSeconds(5));
+
+    // Assert
+    assertEquals(2, peak.get());
+  }
+
+  @Test
+  @DisplayName("Should Limit Streams Running On The Scheduler At The Same Time")
+  void shouldLimitStreamsRunningOnTheSchedulerAtTheSameTime() {
+    // Arrange
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger peak = new AtomicInteger();
+
+    // Act
+    StepVerifier.create(Flux.range(0, 8)
+            .flatMap(i -> Mono.just(i)
+                .publishOn(bulkhead.scheduler())
+                .map(value -> {
+                  peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                  try {
+                    Thread.sleep(20);
+                  } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                  }
+                  running.decrementAndGet();
+                  return value;
+                })))
+        .expectNextCount(8)
+        .expectComplete()
+        .verify(Duration.ofSeconds(5));
+
+    // Assert
+    assertEquals(2, peak.get());
+  }
+
+}
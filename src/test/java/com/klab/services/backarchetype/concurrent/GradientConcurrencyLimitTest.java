@@ -0,0 +1,74 @@
+package com.klab.services.backarchetype.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for GradientConcurrencyLimit.
+ * <b>Class</b>: GradientConcurrencyLimitTest
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+class GradientConcurrencyLimitTest {
+
+  private static final int WINDOW_SIZE = 10;
+
+  private GradientConcurrencyLimit limit;
+
+  @BeforeEach
+  void setUp() {
+    limit = new GradientConcurrencyLimit(10, 1, 100, WINDOW_SIZE, 1.0, 1.5);
+  }
+
+  @Test
+  @DisplayName("Should Grow Limit While Saturated At Steady Latency")
+  void shouldGrowLimitWhileSaturatedAtSteadyLatency() {
+    // Act
+    window(10, limit.limit());
+    int grown = limit.limit();
+    window(10, limit.limit());
+
+    // Assert
+    assertEquals(13, grown);
+    assertTrue(limit.limit() > grown);
+  }
+
+  @Test
+  @DisplayName("Should Shrink Limit When Latency Rises")
+  void shouldShrinkLimitWhenLatencyRises() {
+    // Arrange
+    window(10, limit.limit());
+    int steady = limit.limit();
+
+    // Act
+    window(30, limit.limit());
+
+    // Assert
+    assertTrue(limit.limit() < steady);
+  }
+
+  @Test
+  @DisplayName("Should Keep Limit When Most Of It Is Unused")
+  void shouldKeepLimitWhenMostOfItIsUnused() {
+    // Act
+    window(10, 2);
+    window(40, 2);
+
+    // Assert
+    assertEquals(10, limit.limit());
+  }
+
+  private void window(long rttMillis, int inFlight) {
+    for (int sample = 0; sample < WINDOW_SIZE; sample++) {
+      limit.onSample(TimeUnit.MILLISECONDS.toNanos(rttMillis), inFlight);
+    }
+  }
+
+}
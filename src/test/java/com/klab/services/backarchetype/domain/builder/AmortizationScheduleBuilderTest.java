@@ -0,0 +1,86 @@
+package com.klab.services.backarchetype.domain.builder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.klab.services.backarchetype.domain.calculator.AnnuityFactorTable;
+import com.klab.services.backarchetype.domain.calculator.LoanQuotationCalculator;
+import com.klab.services.model.api.AmortizationScheduleRow;
+import com.klab.services.model.api.LoanQuotationRequest;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for AmortizationScheduleBuilder.
+ * <b>Class</b>: AmortizationScheduleBuilderTest
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+class AmortizationScheduleBuilderTest {
+
+  private AmortizationScheduleBuilder scheduleBuilder;
+
+  @BeforeEach
+  void setUp() {
+    scheduleBuilder = new AmortizationScheduleBuilder(
+        new LoanQuotationCalculator(new AnnuityFactorTable()));
+  }
+
+  @Test
+  @DisplayName("Should Build One Row Per Period Ending With Zero Balance")
+  void shouldBuildOneRowPerPeriodEndingWithZeroBalance() {
+    // Arrange
+    LoanQuotationRequest request = createRequest(10000, 24, 12.5);
+
+    // Act
+    List<AmortizationScheduleRow> rows = scheduleBuilder.build(request).collectList().block();
+
+    // Assert
+    assertEquals(24, rows.size());
+    assertEquals(new AmortizationScheduleRow(1, 473.07, 104.17, 368.90, 9631.10), rows.get(0));
+    assertEquals(24, rows.get(23).getPeriod());
+    assertEquals(473.07, rows.get(23).getPaymentUsd());
+    assertEquals(0.0, rows.get(23).getBalanceUsd());
+    long amortizedCents = rows.stream()
+        .mapToLong(row -> Math.round(row.getPrincipalUsd() * 100))
+        .sum();
+    assertEquals(1_000_000, amortizedCents);
+  }
+
+  @Test
+  @DisplayName("Should Only Build Requested Rows")
+  void shouldOnlyBuildRequestedRows() {
+    // Arrange
+    LoanQuotationRequest request = createRequest(50000, 60, 18.75);
+
+    // Act & Assert
+    StepVerifier.create(scheduleBuilder.build(request), 2)
+        .expectNextMatches(row -> row.getPeriod() == 1)
+        .expectNextMatches(row -> row.getPeriod() == 2)
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  @DisplayName("Should Throw IllegalArgumentException When Request Is Null")
+  void shouldThrowIllegalArgumentExceptionWhenRequestIsNull() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> scheduleBuilder.build(null));
+  }
+
+  private LoanQuotationRequest createRequest(double amountUsd, int termMonths,
+                                             double annualInterestRate) {
+    LoanQuotationRequest request = new LoanQuotationRequest();
+    request.setDni("12345678");
+    request.setAmountUsd(amountUsd);
+    request.setTermMonths(termMonths);
+    request.setAnnualInterestRate(annualInterestRate);
+    return request;
+  }
+
+}
@@ -0,0 +1,90 @@
+package com.klab.services.backarchetype.domain.builder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.klab.services.backarchetype.domain.calculator.CurrencyConversionCalculator;
+import com.klab.services.model.api.ConversionProduct;
+import com.klab.services.model.api.CurrencyConversionBatchRequest;
+import com.klab.services.model.api.CurrencyConversionBatchResponse;
+import com.klab.services.model.api.CurrencyConversionRequest;
+import com.klab.services.model.api.CurrencyConversionResponse;
+import com.klab.services.model.api.ExchangeRateInfo;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for CurrencyConversionBuilder.
+ * <b>Class</b>: CurrencyConversionBuilderTest
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+class CurrencyConversionBuilderTest {
+
+  private static final String TEST_DNI = "12345678";
+
+  private CurrencyConversionBuilder conversionBuilder;
+  private ExchangeRateInfo exchangeRate;
+
+  @BeforeEach
+  void setUp() {
+    conversionBuilder = new CurrencyConversionBuilder(new CurrencyConversionCalculator());
+    exchangeRate = new ExchangeRateInfo();
+    exchangeRate.setBuyRate(3.7125);
+    exchangeRate.setSellRate(3.7425);
+  }
+
+  @Test
+  @DisplayName("Should Convert Savings At Buy Rate And Credit Card At Sell Rate")
+  void shouldConvertSavingsAtBuyRateAndCreditCardAtSellRate() {
+    // Arrange
+    CurrencyConversionRequest request = new CurrencyConversionRequest(TEST_DNI, 1000.01);
+
+    // Act
+    CurrencyConversionResponse savings =
+        conversionBuilder.build(ConversionProduct.SAVINGS, request, exchangeRate);
+    CurrencyConversionResponse creditCard =
+        conversionBuilder.build(ConversionProduct.CREDIT_CARD, request, exchangeRate);
+
+    // Assert
+    assertEquals(3.7125, savings.getAppliedRate());
+    assertEquals(3712.54, savings.getAmountPen());
+    assertEquals(3.7425, creditCard.getAppliedRate());
+    assertEquals(3742.54, creditCard.getAmountPen());
+    assertEquals(TEST_DNI, creditCard.getCustomerDni());
+  }
+
+  @Test
+  @DisplayName("Should Keep Batch Order And Sum Rounded Amounts")
+  void shouldKeepBatchOrderAndSumRoundedAmounts() {
+    // Arrange
+    CurrencyConversionBatchRequest request =
+        new CurrencyConversionBatchRequest(TEST_DNI, List.of(10.0, 0.01, 2500.5));
+
+    // Act
+    CurrencyConversionBatchResponse response =
+        conversionBuilder.buildBatch(ConversionProduct.CREDIT_CARD, request, exchangeRate);
+
+    // Assert
+    assertEquals(List.of(37.43, 0.04, 9358.12), response.getAmountsPen());
+    assertEquals(2510.51, response.getTotalUsd());
+    assertEquals(9395.59, response.getTotalPen());
+  }
+
+  @Test
+  @DisplayName("Should Throw IllegalArgumentException When Applied Rate Is Missing")
+  void shouldThrowIllegalArgumentExceptionWhenAppliedRateIsMissing() {
+    // Arrange
+    exchangeRate.setSellRate(null);
+    CurrencyConversionRequest request = new CurrencyConversionRequest(TEST_DNI, 100.0);
+
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class,
+        () -> conversionBuilder.build(ConversionProduct.CREDIT_CARD, request, exchangeRate));
+  }
+
+}
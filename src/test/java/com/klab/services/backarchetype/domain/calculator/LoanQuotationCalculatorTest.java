@@ -0,0 +1,123 @@
+package com.klab.services.backarchetype.domain.calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for LoanQuotationCalculator.
+ * <b>Class</b>: LoanQuotationCalculatorTest
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+class LoanQuotationCalculatorTest {
+
+  private static LoanQuotationCalculator calculator;
+
+  @BeforeAll
+  static void setUp() {
+    calculator = new LoanQuotationCalculator(new AnnuityFactorTable());
+  }
+
+  @Test
+  @DisplayName("Should Calculate French Amortization Figures")
+  void shouldCalculateFrenchAmortizationFigures() {
+    // Arrange
+    LoanQuotationFigures figures = new LoanQuotationFigures();
+
+    // Act
+    LoanQuotationFigures result = calculator.calculate(10000, 12.5, 24, 3.75, figures);
+
+    // Assert
+    assertSame(figures, result);
+    assertEquals(37500.00, figures.getAmountPen());
+    assertEquals(1.04, figures.getMonthlyInterestRate());
+    assertEquals(473.07, figures.getMonthlyPaymentUsd());
+    assertEquals(1774.01, figures.getMonthlyPaymentPen());
+    assertEquals(11353.68, figures.getTotalPaymentUsd());
+    assertEquals(42576.30, figures.getTotalPaymentPen());
+  }
+
+  @Test
+  @DisplayName("Should Match Exact Installment Across Quotable Grid")
+  void shouldMatchExactInstallmentAcrossQuotableGrid() {
+    // Arrange
+    Random random = new Random(42);
+
+    for (int term = AnnuityFactorTable.MIN_TERM_MONTHS;
+         term <= AnnuityFactorTable.MAX_TERM_MONTHS; term++) {
+      for (int rateCents = AnnuityFactorTable.MIN_RATE_CENTS;
+           rateCents <= AnnuityFactorTable.MAX_RATE_CENTS; rateCents += 7) {
+        double amountUsd = (100_000 + random.nextInt(9_900_001)) / 100.0;
+        double annualRate = rateCents / 100.0;
+
+        // Act
+        long installment = calculator.installmentCents(amountUsd, annualRate, term);
+
+        // Assert
+        assertEquals(exactInstallmentCents(amountUsd, annualRate, term), installment,
+            () -> "amount " + amountUsd + ", rate " + annualRate);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should Compute Installment Outside Quotable Grid")
+  void shouldComputeInstallmentOutsideQuotableGrid() {
+    // Act & Assert
+    assertEquals(exactInstallmentCents(15000, 12.345, 72),
+        calculator.installmentCents(15000, 12.345, 72));
+    assertEquals(exactInstallmentCents(15000, 45, 12),
+        calculator.installmentCents(15000, 45, 12));
+    assertEquals(125000, calculator.installmentCents(15000, 0, 12));
+  }
+
+  @Test
+  @DisplayName("Should Convert Amounts With Extra Precision Using Decimals")
+  void shouldConvertAmountsWithExtraPrecisionUsingDecimals() {
+    // Arrange
+    LoanQuotationFigures figures = new LoanQuotationFigures();
+
+    // Act
+    calculator.calculate(1234.565, 12.345, 24, 3.75125, figures);
+
+    // Assert
+    assertEquals(4631.16, figures.getAmountPen());
+    assertEquals(1.03, figures.getMonthlyInterestRate());
+  }
+
+  @Test
+  @DisplayName("Should Throw IllegalArgumentException When Term Is Zero")
+  void shouldThrowIllegalArgumentExceptionWhenTermIsZero() {
+    // Arrange
+    LoanQuotationFigures figures = new LoanQuotationFigures();
+
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class,
+        () -> calculator.calculate(1000.00, 12.5, 0, 3.75, figures));
+  }
+
+  private static long exactInstallmentCents(double amountUsd, double annualRate, int term) {
+    MathContext context = MathContext.DECIMAL128;
+    BigDecimal monthlyRate = BigDecimal.valueOf(annualRate)
+        .divide(BigDecimal.valueOf(1200), context);
+    BigDecimal discount = BigDecimal.ONE.subtract(
+        BigDecimal.ONE.divide(BigDecimal.ONE.add(monthlyRate).pow(term, context), context));
+    return BigDecimal.valueOf(amountUsd)
+        .multiply(monthlyRate.divide(discount, context))
+        .setScale(2, RoundingMode.HALF_UP)
+        .unscaledValue()
+        .longValueExact();
+  }
+
+}
@@ -0,0 +1,107 @@
+package com.klab.services.backarchetype.domain.calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for LoanQuotationGridCalculator.
+ * <b>Class</b>: LoanQuotationGridCalculatorTest
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+class LoanQuotationGridCalculatorTest {
+
+  private static final double SELL_RATE = 3.7525;
+
+  private static LoanQuotationCalculator calculator;
+  private static LoanQuotationGridCalculator vectorCalculator;
+  private static LoanQuotationGridCalculator scalarCalculator;
+
+  @BeforeAll
+  static void setUp() {
+    AnnuityFactorTable annuityFactors = new AnnuityFactorTable();
+    calculator = new LoanQuotationCalculator(annuityFactors);
+    vectorCalculator = new LoanQuotationGridCalculator(annuityFactors, true);
+    scalarCalculator = new LoanQuotationGridCalculator(annuityFactors, false);
+  }
+
+  @Test
+  @DisplayName("Should Match Single Quotations With Both Kernels Across Quotable Grid")
+  void shouldMatchSingleQuotationsWithBothKernelsAcrossQuotableGrid() {
+    // Arrange
+    double[] rates = new double[AnnuityFactorTable.MAX_RATE_CENTS
+        - AnnuityFactorTable.MIN_RATE_CENTS + 1];
+    for (int row = 0; row < rates.length; row++) {
+      rates[row] = (AnnuityFactorTable.MIN_RATE_CENTS + row) / 100.0;
+    }
+    int[] terms = new int[AnnuityFactorTable.MAX_TERM_MONTHS
+        - AnnuityFactorTable.MIN_TERM_MONTHS + 1];
+    for (int column = 0; column < terms.length; column++) {
+      terms[column] = AnnuityFactorTable.MIN_TERM_MONTHS + column;
+    }
+
+    Random random = new Random(7);
+
+    for (int sample = 0; sample < 5; sample++) {
+      double amountUsd = (100_000 + random.nextInt(9_900_001)) / 100.0;
+
+      // Act
+      LoanQuotationGridFigures vector =
+          vectorCalculator.calculate(amountUsd, rates, terms, SELL_RATE);
+      LoanQuotationGridFigures scalar =
+          scalarCalculator.calculate(amountUsd, rates, terms, SELL_RATE);
+
+      // Assert
+      assertGridMatchesSingleQuotations(amountUsd, rates, terms, scalar);
+      assertGridMatchesSingleQuotations(amountUsd, rates, terms, vector);
+    }
+    assertTrue(vectorCalculator.isVectorized());
+    assertFalse(scalarCalculator.isVectorized());
+  }
+
+  @Test
+  @DisplayName("Should Match Single Quotations Outside Quotable Grid")
+  void shouldMatchSingleQuotationsOutsideQuotableGrid() {
+    // Arrange
+    double[] rates = {0, 12.345, 45};
+    int[] terms = {1, 7, 72, 360};
+
+    for (double amountUsd : new double[] {1234.565, 0.01, 5e13}) {
+      // Act
+      LoanQuotationGridFigures figures =
+          vectorCalculator.calculate(amountUsd, rates, terms, SELL_RATE);
+
+      // Assert
+      assertGridMatchesSingleQuotations(amountUsd, rates, terms, figures);
+    }
+  }
+
+  private static void assertGridMatchesSingleQuotations(double amountUsd, double[] rates,
+                                                        int[] terms,
+                                                        LoanQuotationGridFigures grid) {
+    LoanQuotationFigures single = new LoanQuotationFigures();
+    assertEquals(rates.length, grid.getRows());
+    assertEquals(terms.length, grid.getColumns());
+    for (int row = 0; row < rates.length; row++) {
+      for (int column = 0; column < terms.length; column++) {
+        calculator.calculate(amountUsd, rates[row], terms[column], SELL_RATE, single);
+        String cell = "amount " + amountUsd + ", rate " + rates[row] + ", term " + terms[column];
+        assertEquals(single.getAmountPen(), grid.getAmountPen(), cell);
+        assertEquals(single.getMonthlyInterestRate(), grid.getMonthlyInterestRate(row), cell);
+        assertEquals(single.getMonthlyPaymentUsd(), grid.getMonthlyPaymentUsd(row, column), cell);
+        assertEquals(single.getMonthlyPaymentPen(), grid.getMonthlyPaymentPen(row, column), cell);
+        assertEquals(single.getTotalPaymentUsd(), grid.getTotalPaymentUsd(row, column), cell);
+        assertEquals(single.getTotalPaymentPen(), grid.getTotalPaymentPen(row, column), cell);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,23 @@
+package com.klab.services.backarchetype.mapper;
+
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.integration.BlockHoundIntegration;
+
+/**
+ * BlockHound allow-list for the audit event ids.
+ * {@code SecureRandom} refills its buffer from the entropy source now and then; once seeded at
+ * startup the read does not wait, so it is allowed inside {@link AuditEventIds#next()} only.
+ * <b>Class</b>: AuditEventIdsBlockHoundIntegration
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+public class AuditEventIdsBlockHoundIntegration implements BlockHoundIntegration {
+
+  @Override
+  public void applyTo(BlockHound.Builder builder) {
+    builder.allowBlockingCallsInside(AuditEventIds.class.getName(), "next");
+  }
+
+}
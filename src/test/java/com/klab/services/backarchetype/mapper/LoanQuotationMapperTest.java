@@ -0,0 +1,119 @@
+package com.klab.services.backarchetype.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.klab.services.backarchetype.repository.entity.LoanQuotationTrace;
+import com.klab.services.model.api.ExchangeRateInfo;
+import com.klab.services.model.api.LoanQuotationHistoryItem;
+import com.klab.services.model.api.LoanQuotationResponse;
+import com.klab.services.model.api.LoanQuotationResponseLoanDetails;
+import com.klab.services.model.api.LoanQuotationResponseMonthlyPayment;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for LoanQuotationMapper.
+ * <b>Class</b>: LoanQuotationMapperTest
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+class LoanQuotationMapperTest {
+
+  private final LoanQuotationMapper mapper = new LoanQuotationMapperImpl();
+
+  @Test
+  @DisplayName("Should Store Amounts In Cents And Rates Scaled")
+  void shouldStoreAmountsInCentsAndRatesScaled() {
+    // Act
+    LoanQuotationTrace trace = mapper.toTrace(response());
+
+    // Assert
+    assertEquals(1000000L, trace.getAmountUsdCents());
+    assertEquals(3750000L, trace.getAmountPenCents());
+    assertEquals(1135368L, trace.getTotalPaymentUsdCents());
+    assertEquals(4257630L, trace.getTotalPaymentPenCents());
+    assertEquals(1250, trace.getAnnualInterestRateBps());
+    assertEquals(37200, trace.getExchangeRateBuyUnits());
+    assertEquals(37500, trace.getExchangeRateSellUnits());
+    assertEquals(LocalDate.of(2025, 10, 1), trace.getExchangeRateDate());
+  }
+
+  @Test
+  @DisplayName("Should Derive The Monthly Payments Of The History Item")
+  void shouldDeriveTheMonthlyPaymentsOfTheHistoryItem() {
+    // Arrange
+    LoanQuotationTrace trace = mapper.toTrace(response());
+
+    // Act
+    LoanQuotationHistoryItem item = mapper.toHistoryItem(trace);
+
+    // Assert
+    assertEquals(10000.0, item.getAmountUsd());
+    assertEquals(12.5, item.getAnnualInterestRate());
+    assertEquals(473.07, item.getMonthlyPaymentUsd());
+    assertEquals(1774.01, item.getMonthlyPaymentPen());
+    assertEquals(42576.30, item.getTotalPaymentPen());
+    assertEquals(3.75, item.getExchangeRateSell());
+  }
+
+  @Test
+  @DisplayName("Should Keep Monthly Payments That Cannot Be Derived")
+  void shouldKeepMonthlyPaymentsThatCannotBeDerived() {
+    // Arrange
+    LoanQuotationResponse quoted = response();
+    quoted.getMonthlyPayment().amountPen(1774.02);
+
+    // Act
+    LoanQuotationTrace trace = mapper.toTrace(quoted);
+    LoanQuotationHistoryItem item = mapper.toHistoryItem(trace);
+
+    // Assert
+    assertNull(trace.getMonthlyPaymentUsdCents());
+    assertEquals(177402L, trace.getMonthlyPaymentPenCents());
+    assertEquals(473.07, item.getMonthlyPaymentUsd());
+    assertEquals(1774.02, item.getMonthlyPaymentPen());
+  }
+
+  @Test
+  @DisplayName("Should Round The Derived Installment Half Up")
+  void shouldRoundTheDerivedInstallmentHalfUp() {
+    // Arrange
+    LoanQuotationTrace trace = new LoanQuotationTrace();
+    trace.setTotalPaymentUsdCents(1001L);
+    trace.setTermMonths(2);
+    trace.setExchangeRateSellUnits(37500);
+
+    // Act
+    LoanQuotationHistoryItem item = mapper.toHistoryItem(trace);
+
+    // Assert
+    assertEquals(5.01, item.getMonthlyPaymentUsd());
+    assertEquals(18.79, item.getMonthlyPaymentPen());
+  }
+
+  private static LoanQuotationResponse response() {
+    LoanQuotationResponseLoanDetails details = new LoanQuotationResponseLoanDetails();
+    details.setAmountUsd(10000.0);
+    details.setAmountPen(37500.0);
+    details.setTermMonths(24);
+    details.setAnnualInterestRate(12.5);
+    details.setMonthlyInterestRate(1.04);
+    LoanQuotationResponse response = new LoanQuotationResponse();
+    response.setCustomerDni("12345678");
+    response.setLoanDetails(details);
+    response.setMonthlyPayment(new LoanQuotationResponseMonthlyPayment()
+        .amountUsd(473.07).amountPen(1774.01));
+    response.setTotalPayment(new LoanQuotationResponseMonthlyPayment()
+        .amountUsd(11353.68).amountPen(42576.30));
+    response.setExchangeRate(new ExchangeRateInfo().date(LocalDate.of(2025, 10, 1))
+        .buyRate(3.72).sellRate(3.75).source("SBS"));
+    response.setQuotationDate(OffsetDateTime.now());
+    return response;
+  }
+
+}
@@ -0,0 +1,102 @@
+package com.klab.services.backarchetype.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.klab.core.starter.audit.model.avro.AvroAudit;
+import com.klab.core.starter.audit.model.avro.AvroAuditV2;
+import com.klab.services.backarchetype.messaging.AuditEncoder.AuditFormat;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.ZoneId;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for AuditEncoder.
+ * <b>Class</b>: AuditEncoderTest
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+class AuditEncoderTest {
+
+  private static final int SCHEMA_ID = 42;
+
+  private final AvroAuditV2 audit = AvroAuditV2.newBuilder()
+      .setEventId("event-1")
+      .setQuotationDate(Instant.parse("2025-10-01T15:30:00Z"))
+      .setCustomerDni("12345678")
+      .setBuyRate(3.70)
+      .setSellRate(3.75)
+      .setAmountUsd(10000.0)
+      .setAmountPen(37500.0)
+      .setTermMonths(24)
+      .setAnnualInterestRate(12.5)
+      .setMonthlyPaymentPen(1774.04)
+      .build();
+
+  @Test
+  @DisplayName("Should Write Wire Header And Typed V2 Body")
+  void shouldWriteWireHeaderAndTypedV2Body() throws IOException {
+    // Arrange
+    AuditEncoder encoder = new AuditEncoder(AuditFormat.V2, SCHEMA_ID);
+
+    // Act
+    ByteBuffer payload = ByteBuffer.wrap(encoder.encode(audit));
+
+    // Assert
+    assertEquals(0, payload.get());
+    assertEquals(SCHEMA_ID, payload.getInt());
+    AvroAuditV2 decoded = new SpecificDatumReader<>(AvroAuditV2.class).read(null,
+        DecoderFactory.get().binaryDecoder(payload.array(), payload.position(),
+            payload.remaining(), null));
+    assertEquals(audit, decoded);
+  }
+
+  @Test
+  @DisplayName("Should Write V1 Map With The Buy Rate")
+  void shouldWriteV1MapWithTheBuyRate() throws IOException {
+    // Arrange
+    AuditEncoder encoder = new AuditEncoder(AuditFormat.V1, SCHEMA_ID);
+    encoder.encode(audit);
+
+    // Act
+    ByteBuffer payload = ByteBuffer.wrap(encoder.encode(audit));
+
+    // Assert
+    assertEquals(0, payload.get());
+    assertEquals(SCHEMA_ID, payload.getInt());
+    AvroAudit decoded = new SpecificDatumReader<>(AvroAudit.class).read(null,
+        DecoderFactory.get().binaryDecoder(payload.array(), payload.position(),
+            payload.remaining(), null));
+    assertEquals("event-1", decoded.getEventId());
+    assertEquals("3.7", decoded.getData().get("buyRate"));
+    assertEquals("3.75", decoded.getData().get("sellRate"));
+  }
+
+  @Test
+  @DisplayName("Should Write V1 Request Date With The Local Offset")
+  void shouldWriteV1RequestDateWithTheLocalOffset() throws IOException {
+    // Arrange
+    AuditEncoder encoder = new AuditEncoder(AuditFormat.V1, SCHEMA_ID,
+        ZoneId.of("America/Lima"));
+    AvroAuditV2 timed = AvroAuditV2.newBuilder(audit)
+        .setQuotationDate(Instant.parse("2025-10-01T15:30:00.123Z"))
+        .build();
+
+    // Act
+    ByteBuffer payload = ByteBuffer.wrap(encoder.encode(timed));
+
+    // Assert
+    payload.position(5);
+    AvroAudit decoded = new SpecificDatumReader<>(AvroAudit.class).read(null,
+        DecoderFactory.get().binaryDecoder(payload.array(), payload.position(),
+            payload.remaining(), null));
+    assertEquals("2025-10-01T10:30:00.123-05:00", decoded.getRequestDate());
+  }
+
+}
@@ -0,0 +1,298 @@
+package com.klab.services.backarchetype.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+
+import com.klab.services.backarchetype.concurrent.BlockingBulkhead;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.Readable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Publisher;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.FetchSpec;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for AuditOutboxRelay.
+ * Each claim on the mocked {@link DatabaseClient} returns the next batch of outbox rows, every
+ * statement is recorded with its bound values, and the mocked {@link KafkaSender} acks every
+ * event but the ones given a failure.
+ * <b>Class</b>: AuditOutboxRelayTest
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@ExtendWith(MockitoExtension.class)
+class AuditOutboxRelayTest {
+
+  private static final String TOPIC = "audit-log-topic";
+  private static final String CLAIM = "UPDATE audit_outbox SET leased_until = LOCALTIMESTAMP";
+  private static final String DELETE = "DELETE FROM audit_outbox";
+  private static final String RELEASE = "UPDATE audit_outbox SET leased_until = NULL WHERE";
+  private static final String REJECT = "UPDATE audit_outbox SET leased_until = NULL, attempts";
+  private static final String DEAD_LETTER = "WITH dead AS";
+  private static final int MAX_ATTEMPTS = 3;
+
+  @Mock
+  private KafkaSender<String, byte[]> sender;
+
+  @Mock
+  private DatabaseClient databaseClient;
+
+  @Mock
+  private DatabaseClient.GenericExecuteSpec spec;
+
+  @Mock
+  private RowsFetchSpec<Object> rowsFetchSpec;
+
+  @Mock
+  private FetchSpec<Map<String, Object>> fetchSpec;
+
+  private final BlockingBulkhead blockingBulkhead = new BlockingBulkhead("test-relay", 2);
+  private final Queue<List<Readable>> claims = new ConcurrentLinkedQueue<>();
+  private final List<Statement> executed = new CopyOnWriteArrayList<>();
+  private final List<Long> sent = new CopyOnWriteArrayList<>();
+  private volatile Map<Long, Exception> failures = Map.of();
+  private volatile RuntimeException senderFailure;
+  private volatile Statement current;
+  private volatile Function<Readable, Object> rowMapper;
+  private MeterRegistry meterRegistry;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    lenient().when(databaseClient.sql(anyString())).thenAnswer(invocation -> {
+      current = new Statement(invocation.getArgument(0), new ArrayList<>());
+      executed.add(current);
+      return spec;
+    });
+    lenient().when(spec.bind(anyInt(), any())).thenAnswer(invocation -> {
+      current.values().add(invocation.getArgument(1));
+      return spec;
+    });
+    lenient().when(spec.map(any(Function.class))).thenAnswer(invocation -> {
+      rowMapper = invocation.getArgument(0);
+      return rowsFetchSpec;
+    });
+    lenient().when(rowsFetchSpec.all()).thenAnswer(invocation -> {
+      Function<Readable, Object> mapper = rowMapper;
+      return Flux.defer(() -> {
+        List<Readable> claim = claims.poll();
+        return Flux.fromIterable(claim == null ? List.of() : claim).map(mapper);
+      });
+    });
+    lenient().when(spec.fetch()).thenReturn(fetchSpec);
+    lenient().when(fetchSpec.rowsUpdated()).thenReturn(Mono.just(1L));
+    lenient().when(sender.send(any())).thenAnswer(invocation -> {
+      if (senderFailure != null) {
+        return Flux.error(senderFailure);
+      }
+      Publisher<SenderRecord<String, byte[], Long>> records = invocation.getArgument(0);
+      return Flux.from(records).map(record -> {
+        sent.add(record.correlationMetadata());
+        return new Result(record.correlationMetadata(),
+            failures.get(record.correlationMetadata()));
+      });
+    });
+  }
+
+  @AfterEach
+  void tearDown() {
+    blockingBulkhead.dispose();
+  }
+
+  @Test
+  @DisplayName("Should Publish Claimed Batch And Delete It Without A Transaction")
+  void shouldPublishClaimedBatchAndDeleteItWithoutATransaction() {
+    // Arrange
+    AuditOutboxRelay relay = createRelay(3);
+    claims.add(List.of(row(1L, 0, 120L), row(2L, 0, 80L)));
+
+    // Act & Assert
+    StepVerifier.create(relay.relay())
+        .verifyComplete();
+
+    assertEquals(List.of(1L, 2L), sent);
+    assertEquals(List.of(CLAIM, DELETE), statements());
+    assertEquals(List.of(3, Duration.ofMinutes(5).toMillis()), executed.get(0).values());
+    assertArrayEquals(new Long[] {1L, 2L}, (Long[]) executed.get(1).values().get(0));
+    assertEquals(2.0, meterRegistry.get("quotation.audit.relayed").counter().count());
+    assertEquals(120L, relay.lagMillis());
+  }
+
+  @Test
+  @DisplayName("Should Release Events Failed For A Retriable Error And Delete The Acked Ones")
+  void shouldReleaseEventsFailedForARetriableErrorAndDeleteTheAckedOnes() {
+    // Arrange
+    AuditOutboxRelay relay = createRelay(3);
+    failures = Map.of(2L, new TimeoutException("Expiring 1 record"));
+    claims.add(List.of(row(1L, 0, 10L), row(2L, MAX_ATTEMPTS - 1, 10L), row(3L, 0, 10L)));
+
+    // Act & Assert
+    StepVerifier.create(relay.relay())
+        .verifyComplete();
+
+    assertEquals(List.of(CLAIM, DELETE, RELEASE), statements());
+    assertArrayEquals(new Long[] {1L, 3L}, (Long[]) executed.get(1).values().get(0));
+    assertArrayEquals(new Long[] {2L}, (Long[]) executed.get(2).values().get(0));
+    assertEquals(2.0, meterRegistry.get("quotation.audit.relayed").counter().count());
+  }
+
+  @Test
+  @DisplayName("Should Count An Attempt For An Event The Broker Rejects")
+  void shouldCountAnAttemptForAnEventTheBrokerRejects() {
+    // Arrange
+    AuditOutboxRelay relay = createRelay(3);
+    failures = Map.of(2L, new RecordTooLargeException("Record too large"));
+    claims.add(List.of(row(1L, 0, 10L), row(2L, 0, 10L)));
+
+    // Act & Assert
+    StepVerifier.create(relay.relay())
+        .verifyComplete();
+
+    assertEquals(List.of(CLAIM, DELETE, REJECT), statements());
+    assertArrayEquals(new Long[] {2L}, (Long[]) executed.get(2).values().get(0));
+    assertEquals(0.0, meterRegistry.get("quotation.audit.dead-lettered").counter().count());
+  }
+
+  @Test
+  @DisplayName("Should Dead Letter An Event Rejected On Its Last Attempt")
+  void shouldDeadLetterAnEventRejectedOnItsLastAttempt() {
+    // Arrange
+    AuditOutboxRelay relay = createRelay(3);
+    failures = Map.of(2L, new RecordTooLargeException("Record too large"));
+    claims.add(List.of(row(1L, 0, 10L), row(2L, MAX_ATTEMPTS - 1, 10L)));
+
+    // Act & Assert
+    StepVerifier.create(relay.relay())
+        .verifyComplete();
+
+    assertEquals(List.of(CLAIM, DELETE, DEAD_LETTER), statements());
+    assertEquals(2L, executed.get(2).values().get(0));
+    assertEquals(new RecordTooLargeException("Record too large").toString(),
+        executed.get(2).values().get(1));
+    assertEquals(1.0, meterRegistry.get("quotation.audit.dead-lettered").counter().count());
+    assertEquals(1.0, meterRegistry.get("quotation.audit.relayed").counter().count());
+  }
+
+  @Test
+  @DisplayName("Should Release The Whole Batch When The Sender Fails")
+  void shouldReleaseTheWholeBatchWhenTheSenderFails() {
+    // Arrange
+    AuditOutboxRelay relay = createRelay(3);
+    senderFailure = new IllegalStateException("Sender closed");
+    claims.add(List.of(row(1L, 0, 10L), row(2L, 0, 10L)));
+
+    // Act & Assert
+    StepVerifier.create(relay.relay())
+        .verifyComplete();
+
+    assertEquals(List.of(CLAIM, RELEASE), statements());
+    assertArrayEquals(new Long[] {1L, 2L}, (Long[]) executed.get(1).values().get(0));
+    assertEquals(0.0, meterRegistry.get("quotation.audit.relayed").counter().count());
+  }
+
+  @Test
+  @DisplayName("Should Claim Next Batch Only While Batches Come Back Full And Acked")
+  void shouldClaimNextBatchOnlyWhileBatchesComeBackFullAndAcked() {
+    // Arrange
+    AuditOutboxRelay relay = createRelay(2);
+    failures = Map.of(4L, new TimeoutException("Expiring 1 record"));
+    claims.add(List.of(row(1L, 0, 10L), row(2L, 0, 10L)));
+    claims.add(List.of(row(3L, 0, 10L), row(4L, 0, 10L)));
+    claims.add(List.of(row(5L, 0, 10L)));
+
+    // Act & Assert
+    StepVerifier.create(relay.relay())
+        .verifyComplete();
+
+    assertEquals(List.of(1L, 2L, 3L, 4L), sent);
+    assertEquals(List.of(CLAIM, DELETE, CLAIM, DELETE, RELEASE), statements());
+    assertEquals(3.0, meterRegistry.get("quotation.audit.relayed").counter().count());
+    assertEquals(1, claims.size());
+  }
+
+  private AuditOutboxRelay createRelay(int batchSize) {
+    return new AuditOutboxRelay(sender, databaseClient, blockingBulkhead, meterRegistry, TOPIC,
+        batchSize, Duration.ofMinutes(5), MAX_ATTEMPTS);
+  }
+
+  private List<String> statements() {
+    return executed.stream()
+        .map(statement -> List.of(CLAIM, DELETE, RELEASE, REJECT, DEAD_LETTER).stream()
+            .filter(statement.sql()::startsWith)
+            .findFirst()
+            .orElse(statement.sql()))
+        .toList();
+  }
+
+  private static Readable row(long id, int attempts, long ageMillis) {
+    Object[] columns = {id, "event-" + id, new byte[] {0, 0, 0, 0, 1}, attempts, ageMillis};
+    return new Readable() {
+      @Override
+      public <T> T get(int index, Class<T> type) {
+        return type.cast(columns[index]);
+      }
+
+      @Override
+      public <T> T get(String name, Class<T> type) {
+        throw new UnsupportedOperationException(name);
+      }
+    };
+  }
+
+  /**
+   * A statement run on the mocked database.
+   *
+   * @param sql    the statement text
+   * @param values the bound values, in order
+   */
+  private record Statement(String sql, List<Object> values) {
+  }
+
+  /**
+   * The broker outcome of one audit event.
+   *
+   * @param correlationMetadata the outbox row id
+   * @param exception           the send failure, or null when acked
+   */
+  private record Result(Long correlationMetadata, Exception exception)
+      implements SenderResult<Long> {
+
+    @Override
+    public RecordMetadata recordMetadata() {
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,221 @@
+package com.klab.services.backarchetype.proxy.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.klab.services.backarchetype.exception.WebClientException;
+import com.klab.services.backarchetype.proxy.CurrencyExchangeProxy;
+import com.klab.services.thirdparty.currencyexchange.model.CurrencyExchangeResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for CachedCurrencyExchangeProxy.
+ * <b>Class</b>: CachedCurrencyExchangeProxyTest
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@ExtendWith(MockitoExtension.class)
+class CachedCurrencyExchangeProxyTest {
+
+  private static final String TEST_DNI = "12345678";
+  private static final String OTHER_DNI = "87654321";
+  private static final ZoneId LIMA = ZoneId.of("America/Lima");
+
+  @Mock
+  private CurrencyExchangeProxy delegate;
+
+  private MeterRegistry meterRegistry;
+  private CachedCurrencyExchangeProxy proxy;
+  private CurrencyExchangeResponse rate;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    Clock clock = Clock.fixed(Instant.parse("2025-10-01T15:00:00Z"), LIMA);
+    proxy = new CachedCurrencyExchangeProxy(delegate, meterRegistry, 2, clock);
+    rate = new CurrencyExchangeResponse()
+        .date(LocalDate.of(2025, 10, 1))
+        .buyRate(3.72)
+        .sellRate(3.75)
+        .source("SUNAT/SBS");
+  }
+
+  @Test
+  @DisplayName("Should Call Upstream Once When Rate Is Requested Twice On Same Day")
+  void shouldCallUpstreamOnceWhenRateIsRequestedTwiceOnSameDay() {
+    // Arrange
+    when(delegate.getCurrencyExchange(TEST_DNI)).thenReturn(Mono.just(rate));
+
+    // Act & Assert
+    StepVerifier.create(proxy.getCurrencyExchange(TEST_DNI))
+        .expectNext(rate)
+        .verifyComplete();
+    StepVerifier.create(proxy.getCurrencyExchange(TEST_DNI))
+        .expectNext(rate)
+        .verifyComplete();
+
+    verify(delegate, times(1)).getCurrencyExchange(TEST_DNI);
+    assertEquals(1.0, meterRegistry.get("cache.gets")
+        .tag("cache", CachedCurrencyExchangeProxy.CACHE_NAME)
+        .tag("result", "hit")
+        .functionCounter().count());
+  }
+
+  @Test
+  @DisplayName("Should Share Single Upstream Call When Concurrent Requests Miss")
+  void shouldShareSingleUpstreamCallWhenConcurrentRequestsMiss() {
+    // Arrange
+    AtomicInteger subscriptions = new AtomicInteger();
+    Sinks.One<CurrencyExchangeResponse> upstream = Sinks.one();
+    when(delegate.getCurrencyExchange(TEST_DNI)).thenReturn(
+        upstream.asMono().doOnSubscribe(s -> subscriptions.incrementAndGet()));
+
+    // Act
+    Flux<CurrencyExchangeResponse> result = Flux.range(0, 100)
+        .flatMap(i -> proxy.getCurrencyExchange(TEST_DNI));
+
+    // Assert
+    StepVerifier.create(result)
+        .then(() -> upstream.tryEmitValue(rate))
+        .expectNextCount(100)
+        .verifyComplete();
+
+    assertEquals(1, subscriptions.get());
+  }
+
+  @Test
+  @DisplayName("Should Not Cache Upstream Error")
+  void shouldNotCacheUpstreamError() {
+    // Arrange
+    when(delegate.getCurrencyExchange(TEST_DNI))
+        .thenReturn(Mono.error(new RuntimeException("Upstream error")))
+        .thenReturn(Mono.just(rate));
+
+    // Act & Assert
+    StepVerifier.create(proxy.getCurrencyExchange(TEST_DNI))
+        .expectError(RuntimeException.class)
+        .verify();
+    StepVerifier.create(proxy.getCurrencyExchange(TEST_DNI))
+        .expectNext(rate)
+        .verifyComplete();
+
+    verify(delegate, times(2)).getCurrencyExchange(TEST_DNI);
+  }
+
+  @Test
+  @DisplayName("Should Let Waiters Call Upstream With Own Dni When Shared Load Fails")
+  void shouldLetWaitersCallUpstreamWithOwnDniWhenSharedLoadFails() {
+    // Arrange
+    Sinks.One<CurrencyExchangeResponse> upstream = Sinks.one();
+    WebClientException quotaExceeded = new WebClientException(HttpStatus.TOO_MANY_REQUESTS,
+        HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(), "{\"dni\":\"" + TEST_DNI + "\"}");
+    when(delegate.getCurrencyExchange(TEST_DNI)).thenReturn(upstream.asMono());
+    when(delegate.getCurrencyExchange(OTHER_DNI)).thenReturn(Mono.just(rate));
+
+    // Act
+    Mono<CurrencyExchangeResponse> loader = proxy.getCurrencyExchange(TEST_DNI);
+    Mono<CurrencyExchangeResponse> waiter = proxy.getCurrencyExchange(OTHER_DNI);
+
+    // Assert
+    StepVerifier.create(Mono.zip(loader.materialize(), waiter.materialize()))
+        .then(() -> upstream.tryEmitError(quotaExceeded))
+        .assertNext(signals -> {
+          assertSame(quotaExceeded, signals.getT1().getThrowable());
+          assertEquals(rate, signals.getT2().get());
+        })
+        .verifyComplete();
+
+    verify(delegate, times(1)).getCurrencyExchange(TEST_DNI);
+    verify(delegate, times(1)).getCurrencyExchange(OTHER_DNI);
+  }
+
+  @Test
+  @DisplayName("Should Not Keep Rate Of Earlier Date")
+  void shouldNotKeepRateOfEarlierDate() {
+    // Arrange
+    CurrencyExchangeResponse staleRate = new CurrencyExchangeResponse()
+        .date(LocalDate.of(2025, 9, 30))
+        .buyRate(3.71)
+        .sellRate(3.74)
+        .source("SUNAT/SBS");
+    when(delegate.getCurrencyExchange(TEST_DNI)).thenReturn(Mono.just(staleRate));
+
+    // Act & Assert
+    StepVerifier.create(proxy.getCurrencyExchange(TEST_DNI))
+        .expectNext(staleRate)
+        .verifyComplete();
+    StepVerifier.create(proxy.getCurrencyExchange(TEST_DNI))
+        .expectNext(staleRate)
+        .verifyComplete();
+
+    verify(delegate, times(2)).getCurrencyExchange(TEST_DNI);
+  }
+
+  @Test
+  @DisplayName("Should Refresh Rate After Daily Reset")
+  void shouldRefreshRateAfterDailyReset() {
+    // Arrange
+    MutableClock clock = new MutableClock(Instant.parse("2025-10-01T15:00:00Z"));
+    CachedCurrencyExchangeProxy dailyProxy =
+        new CachedCurrencyExchangeProxy(delegate, meterRegistry, 2, clock);
+    when(delegate.getCurrencyExchange(TEST_DNI)).thenReturn(Mono.just(rate));
+
+    // Act & Assert
+    StepVerifier.create(dailyProxy.getCurrencyExchange(TEST_DNI))
+        .expectNext(rate)
+        .verifyComplete();
+    clock.instant = Instant.parse("2025-10-02T05:00:00Z");
+    StepVerifier.create(dailyProxy.getCurrencyExchange(TEST_DNI))
+        .expectNext(rate)
+        .verifyComplete();
+
+    verify(delegate, times(2)).getCurrencyExchange(TEST_DNI);
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant instant;
+
+    private MutableClock(Instant instant) {
+      this.instant = instant;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return LIMA;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+
+}
@@ -0,0 +1,161 @@
+package com.klab.services.backarchetype.proxy.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.klab.services.backarchetype.exception.WebClientException;
+import com.klab.services.backarchetype.quota.DniQuotaTracker;
+import com.klab.services.config.CurrencyExchangeClientConfiguration;
+import com.klab.services.thirdparty.currencyexchange.model.CurrencyExchangeResponse;
+import com.klab.services.thirdparty.currencyexchange.proxy.ExchangeRateApi;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for CurrencyExchangeProxyImpl.
+ * <b>Class</b>: CurrencyExchangeProxyImplTest
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@ExtendWith(MockitoExtension.class)
+class CurrencyExchangeProxyImplTest {
+
+  private static final String TEST_DNI = "12345678";
+
+  @Mock
+  private ExchangeRateApi exchangeRateApi;
+
+  private DniQuotaTracker quotaTracker;
+  private CurrencyExchangeProxyImpl proxy;
+  private CurrencyExchangeResponse rate;
+
+  @BeforeEach
+  void setUp() {
+    ReactiveResilience4JCircuitBreakerFactory factory =
+        new ReactiveResilience4JCircuitBreakerFactory(CircuitBreakerRegistry.ofDefaults(),
+            TimeLimiterRegistry.ofDefaults());
+    new CurrencyExchangeClientConfiguration()
+        .currencyExchangeCircuitBreaker(50, 2, 2, Duration.ofMinutes(1), 1, Duration.ofSeconds(5))
+        .customize(factory);
+    quotaTracker = new DniQuotaTracker(10, "America/Lima");
+    proxy = new CurrencyExchangeProxyImpl(exchangeRateApi, factory, quotaTracker, 2,
+        Duration.ofMillis(1), Duration.ofMillis(5), 0.5);
+    rate = new CurrencyExchangeResponse().buyRate(3.72).sellRate(3.75);
+  }
+
+  @Test
+  @DisplayName("Should Retry When Service Answers With Server Error")
+  void shouldRetryWhenServiceAnswersWithServerError() {
+    // Arrange
+    when(exchangeRateApi.getCurrencyExchangeWithHttpInfo(TEST_DNI))
+        .thenReturn(Mono.error(failure(HttpStatus.SERVICE_UNAVAILABLE)))
+        .thenReturn(Mono.just(ResponseEntity.ok(rate)));
+
+    // Act & Assert
+    StepVerifier.create(proxy.getCurrencyExchange(TEST_DNI))
+        .expectNext(rate)
+        .verifyComplete();
+
+    verify(exchangeRateApi, times(2)).getCurrencyExchangeWithHttpInfo(TEST_DNI);
+  }
+
+  @Test
+  @DisplayName("Should Not Retry When Service Answers With Client Error")
+  void shouldNotRetryWhenServiceAnswersWithClientError() {
+    // Arrange
+    when(exchangeRateApi.getCurrencyExchangeWithHttpInfo(TEST_DNI))
+        .thenReturn(Mono.error(failure(HttpStatus.NOT_FOUND)));
+
+    // Act & Assert
+    StepVerifier.create(proxy.getCurrencyExchange(TEST_DNI))
+        .expectErrorMatches(error -> error instanceof WebClientException ex
+            && ex.getStatusCode() == HttpStatus.NOT_FOUND)
+        .verify();
+
+    verify(exchangeRateApi, times(1)).getCurrencyExchangeWithHttpInfo(TEST_DNI);
+  }
+
+  @Test
+  @DisplayName("Should Reject Calls With Service Unavailable When Circuit Is Open")
+  void shouldRejectCallsWithServiceUnavailableWhenCircuitIsOpen() {
+    // Arrange
+    when(exchangeRateApi.getCurrencyExchangeWithHttpInfo(TEST_DNI))
+        .thenReturn(Mono.error(failure(HttpStatus.BAD_GATEWAY)));
+    for (int call = 0; call < 2; call++) {
+      StepVerifier.create(proxy.getCurrencyExchange(TEST_DNI))
+          .expectError(WebClientException.class)
+          .verify();
+    }
+
+    // Act & Assert
+    StepVerifier.create(proxy.getCurrencyExchange(TEST_DNI))
+        .expectErrorMatches(error -> error instanceof WebClientException ex
+            && ex.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE)
+        .verify();
+
+    verify(exchangeRateApi, times(6)).getCurrencyExchangeWithHttpInfo(TEST_DNI);
+  }
+
+  @Test
+  @DisplayName("Should Sync Quota From Rate Limit Headers")
+  void shouldSyncQuotaFromRateLimitHeaders() {
+    // Arrange
+    Instant reset = quotaTracker.resetAt();
+    when(exchangeRateApi.getCurrencyExchangeWithHttpInfo(TEST_DNI))
+        .thenReturn(Mono.just(ResponseEntity.ok()
+            .header(CurrencyExchangeProxyImpl.REMAINING_HEADER, "3")
+            .header(CurrencyExchangeProxyImpl.RESET_HEADER, reset.toString())
+            .body(rate)));
+
+    // Act & Assert
+    StepVerifier.create(proxy.getCurrencyExchange(TEST_DNI))
+        .expectNext(rate)
+        .verifyComplete();
+
+    assertEquals(7, quotaTracker.used(TEST_DNI));
+  }
+
+  @Test
+  @DisplayName("Should Refuse Calls Without Round Trip When Quota Is Spent")
+  void shouldRefuseCallsWithoutRoundTripWhenQuotaIsSpent() {
+    // Arrange
+    when(exchangeRateApi.getCurrencyExchangeWithHttpInfo(TEST_DNI))
+        .thenReturn(Mono.error(failure(HttpStatus.TOO_MANY_REQUESTS)));
+    StepVerifier.create(proxy.getCurrencyExchange(TEST_DNI))
+        .expectError(WebClientException.class)
+        .verify();
+
+    // Act & Assert
+    StepVerifier.create(proxy.getCurrencyExchange(TEST_DNI))
+        .expectErrorMatches(error -> error instanceof WebClientException ex
+            && ex.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS
+            && ex.getResponseBody().contains("\"queries_used\":10"))
+        .verify();
+
+    verify(exchangeRateApi, times(1)).getCurrencyExchangeWithHttpInfo(TEST_DNI);
+  }
+
+  private static WebClientResponseException failure(HttpStatus status) {
+    return WebClientResponseException.create(status.value(), status.getReasonPhrase(),
+        null, null, null);
+  }
+
+}
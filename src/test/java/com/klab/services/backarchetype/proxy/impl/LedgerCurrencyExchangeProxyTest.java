@@ -0,0 +1,123 @@
+package com.klab.services.backarchetype.proxy.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.klab.services.backarchetype.exception.WebClientException;
+import com.klab.services.backarchetype.proxy.CurrencyExchangeProxy;
+import com.klab.services.backarchetype.repository.ExchangeRateLedger;
+import com.klab.services.thirdparty.currencyexchange.model.CurrencyExchangeResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for LedgerCurrencyExchangeProxy.
+ * <b>Class</b>: LedgerCurrencyExchangeProxyTest
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@ExtendWith(MockitoExtension.class)
+class LedgerCurrencyExchangeProxyTest {
+
+  private static final String TEST_DNI = "12345678";
+  private static final ZoneId LIMA = ZoneId.of("America/Lima");
+  private static final Instant OCTOBER_2_NOON = Instant.parse("2025-10-02T17:00:00Z");
+
+  @Mock
+  private CurrencyExchangeProxy delegate;
+
+  @Mock
+  private ExchangeRateLedger ledger;
+
+  @Test
+  @DisplayName("Should Serve Rate Loaded From Ledger Without Calling Upstream")
+  void shouldServeRateLoadedFromLedgerWithoutCallingUpstream() {
+    // Arrange
+    CurrencyExchangeResponse today = rate(LocalDate.of(2025, 10, 2), 3.75);
+    when(ledger.findLatest()).thenReturn(Mono.just(today));
+    LedgerCurrencyExchangeProxy proxy = proxy(OCTOBER_2_NOON);
+
+    // Act
+    proxy.afterSingletonsInstantiated();
+
+    // Assert
+    StepVerifier.create(proxy.getCurrencyExchange(TEST_DNI))
+        .expectNext(today)
+        .verifyComplete();
+    verify(delegate, never()).getCurrencyExchange(any());
+  }
+
+  @Test
+  @DisplayName("Should Serve Stale Rate And Store Rate Refreshed In Background")
+  void shouldServeStaleRateAndStoreRateRefreshedInBackground() {
+    // Arrange
+    CurrencyExchangeResponse yesterday = rate(LocalDate.of(2025, 10, 1), 3.74);
+    CurrencyExchangeResponse today = rate(LocalDate.of(2025, 10, 2), 3.75);
+    when(ledger.findLatest()).thenReturn(Mono.just(yesterday));
+    when(delegate.getCurrencyExchange(TEST_DNI)).thenReturn(Mono.just(today));
+    when(ledger.save(today)).thenReturn(Mono.empty());
+    LedgerCurrencyExchangeProxy proxy = proxy(OCTOBER_2_NOON);
+    proxy.afterSingletonsInstantiated();
+
+    // Act & Assert
+    StepVerifier.create(proxy.getCurrencyExchange(TEST_DNI))
+        .expectNext(yesterday)
+        .verifyComplete();
+    StepVerifier.create(proxy.getCurrencyExchange(TEST_DNI))
+        .expectNext(today)
+        .verifyComplete();
+
+    verify(delegate, times(1)).getCurrencyExchange(TEST_DNI);
+    verify(ledger).save(today);
+    assertEquals(1, proxy.servedStale());
+  }
+
+  @Test
+  @DisplayName("Should Fail Closed When Ledger Rate Is Past Max Staleness And Upstream Fails")
+  void shouldFailClosedWhenLedgerRateIsPastMaxStalenessAndUpstreamFails() {
+    // Arrange
+    when(ledger.findLatest()).thenReturn(Mono.just(rate(LocalDate.of(2025, 9, 29), 3.73)));
+    when(delegate.getCurrencyExchange(TEST_DNI)).thenReturn(Mono.error(
+        new WebClientException(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", "{}")));
+    LedgerCurrencyExchangeProxy proxy = proxy(OCTOBER_2_NOON);
+    proxy.afterSingletonsInstantiated();
+
+    // Act & Assert
+    StepVerifier.create(proxy.getCurrencyExchange(TEST_DNI))
+        .expectError(WebClientException.class)
+        .verify();
+    verify(ledger, never()).save(any());
+  }
+
+  private LedgerCurrencyExchangeProxy proxy(Instant now) {
+    return new LedgerCurrencyExchangeProxy(delegate, ledger, true, Duration.ofHours(24),
+        Duration.ofSeconds(30), Duration.ofSeconds(5), Clock.fixed(now, LIMA));
+  }
+
+  private static CurrencyExchangeResponse rate(LocalDate date, double sellRate) {
+    return new CurrencyExchangeResponse()
+        .date(date)
+        .currency("USD")
+        .buyRate(sellRate - 0.03)
+        .sellRate(sellRate)
+        .source("SUNAT/SBS");
+  }
+
+}
@@ -0,0 +1,109 @@
+package com.klab.services.backarchetype.quota;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for DniQuotaTracker.
+ * <b>Class</b>: DniQuotaTrackerTest
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+class DniQuotaTrackerTest {
+
+  private static final ZoneId LIMA = ZoneId.of("America/Lima");
+  private static final String TEST_DNI = "71756130";
+  private static final String NEIGHBOUR_DNI = "71756131";
+
+  private MutableClock clock;
+  private DniQuotaTracker tracker;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock(Instant.parse("2025-10-01T15:00:00Z"));
+    tracker = new DniQuotaTracker(3, clock);
+  }
+
+  @Test
+  @DisplayName("Should Refuse DNI After Daily Limit Without Touching Its Neighbours")
+  void shouldRefuseDniAfterDailyLimitWithoutTouchingItsNeighbours() {
+    // Arrange
+    for (int query = 0; query < 3; query++) {
+      assertTrue(tracker.tryAcquire(TEST_DNI));
+    }
+
+    // Act
+    boolean acquired = tracker.tryAcquire(TEST_DNI);
+
+    // Assert
+    assertFalse(acquired);
+    assertEquals(3, tracker.used(TEST_DNI));
+    assertEquals(0, tracker.used(NEIGHBOUR_DNI));
+    assertTrue(tracker.tryAcquire(NEIGHBOUR_DNI));
+    assertEquals(1, tracker.refused());
+  }
+
+  @Test
+  @DisplayName("Should Reset Quotas At Upstream Reset Time")
+  void shouldResetQuotasAtUpstreamResetTime() {
+    // Arrange
+    Instant reset = Instant.parse("2025-10-02T00:00:00Z");
+    tracker.sync(TEST_DNI, 0, reset);
+    assertFalse(tracker.tryAcquire(TEST_DNI));
+
+    // Act
+    clock.instant = reset;
+    tracker.resetIfDue();
+
+    // Assert
+    assertTrue(tracker.tryAcquire(TEST_DNI));
+    assertEquals(1, tracker.used(TEST_DNI));
+    assertEquals(Instant.parse("2025-10-02T05:00:00Z"), tracker.resetAt());
+  }
+
+  @Test
+  @DisplayName("Should Not Track DNI That Is Not Eight Digits")
+  void shouldNotTrackDniThatIsNotEightDigits() {
+    // Act
+    tracker.exhaust("7175613A");
+
+    // Assert
+    assertTrue(tracker.tryAcquire("7175613A"));
+    assertEquals(0L, tracker.footprintBytes());
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant instant;
+
+    private MutableClock(Instant instant) {
+      this.instant = instant;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return LIMA;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+
+}
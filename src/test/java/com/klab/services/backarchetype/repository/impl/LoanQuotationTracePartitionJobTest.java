@@ -0,0 +1,96 @@
+package com.klab.services.backarchetype.repository.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.klab.services.backarchetype.repository.impl.LoanQuotationTracePartitionJob.ExpiredAction;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Unit tests for LoanQuotationTracePartitionJob.
+ * <b>Class</b>: LoanQuotationTracePartitionJobTest
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@ExtendWith(MockitoExtension.class)
+class LoanQuotationTracePartitionJobTest {
+
+  private static final YearMonth CURRENT = YearMonth.of(2025, 10);
+
+  @Mock
+  private DatabaseClient databaseClient;
+
+  @Mock
+  private TransactionalOperator transactionalOperator;
+
+  @Test
+  @DisplayName("Should Create Missing Partitions Up To Months Ahead")
+  void shouldCreateMissingPartitionsUpToMonthsAhead() {
+    // Arrange
+    LoanQuotationTracePartitionJob job = createJob(ExpiredAction.DROP);
+
+    // Act
+    List<String> statements = job.plan(CURRENT, List.of(
+        "loan_quotation_trace_p2025_10", "loan_quotation_trace_p2025_11"));
+
+    // Assert
+    assertEquals(List.of(
+        "CREATE TABLE IF NOT EXISTS loan_quotation_trace_p2025_12 PARTITION OF "
+            + "loan_quotation_trace FOR VALUES FROM ('2025-12-01') TO ('2026-01-01')",
+        "CREATE INDEX IF NOT EXISTS loan_quotation_trace_p2025_12_created_at ON "
+            + "loan_quotation_trace_p2025_12 (created_at)"), statements);
+  }
+
+  @Test
+  @DisplayName("Should Move Finished Months To Brin And Drop Expired Ones")
+  void shouldMoveFinishedMonthsToBrinAndDropExpiredOnes() {
+    // Arrange
+    LoanQuotationTracePartitionJob job = createJob(ExpiredAction.DROP);
+
+    // Act
+    List<String> statements = job.plan(CURRENT, List.of("loan_quotation_trace_p2025_07",
+        "loan_quotation_trace_p2025_09", "loan_quotation_trace_p2025_10",
+        "loan_quotation_trace_p2025_11", "loan_quotation_trace_p2025_12"));
+
+    // Assert
+    assertEquals(List.of(
+        "DROP TABLE loan_quotation_trace_p2025_07",
+        "CREATE INDEX IF NOT EXISTS loan_quotation_trace_p2025_09_created_at_brin ON "
+            + "loan_quotation_trace_p2025_09 USING BRIN (created_at)",
+        "DROP INDEX IF EXISTS loan_quotation_trace_p2025_09_created_at"), statements);
+  }
+
+  @Test
+  @DisplayName("Should Detach And Archive Expired Partitions When Archiving")
+  void shouldDetachAndArchiveExpiredPartitionsWhenArchiving() {
+    // Arrange
+    LoanQuotationTracePartitionJob job = createJob(ExpiredAction.ARCHIVE);
+
+    // Act
+    List<String> statements = job.plan(CURRENT, List.of("loan_quotation_trace_p2025_01",
+        "loan_quotation_trace_p2025_10", "loan_quotation_trace_p2025_11",
+        "loan_quotation_trace_p2025_12"));
+
+    // Assert
+    assertTrue(statements.containsAll(List.of(
+        "ALTER TABLE loan_quotation_trace DETACH PARTITION loan_quotation_trace_p2025_01",
+        "ALTER TABLE loan_quotation_trace_p2025_01 SET SCHEMA loan_quotation_archive")));
+  }
+
+  private LoanQuotationTracePartitionJob createJob(ExpiredAction expiredAction) {
+    return new LoanQuotationTracePartitionJob(databaseClient, transactionalOperator, 2, 2,
+        expiredAction, Clock.systemUTC());
+  }
+
+}
@@ -0,0 +1,330 @@
+package com.klab.services.backarchetype.repository.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.klab.core.starter.audit.model.avro.AvroAuditV2;
+import com.klab.services.backarchetype.mapper.AuditEventIds;
+import com.klab.services.backarchetype.messaging.AuditEncoder;
+import com.klab.services.backarchetype.messaging.AuditEncoder.AuditFormat;
+import com.klab.services.backarchetype.repository.TraceExchangeRateDimension;
+import com.klab.services.backarchetype.repository.entity.LoanQuotationTrace;
+import com.klab.services.backarchetype.services.policy.Durability;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.FetchSpec;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for WriteBehindLoanQuotationTraceWriter.
+ * Every statement built on the mocked {@link DatabaseClient} is recorded with its bound values
+ * when it runs, and its outcome is decided per test.
+ * <b>Class</b>: WriteBehindLoanQuotationTraceWriterTest
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindLoanQuotationTraceWriterTest {
+
+  private static final String FIRST_DNI = "12345678";
+  private static final String SECOND_DNI = "87654321";
+  private static final String THIRD_DNI = "11223344";
+  private static final String REJECTED_DNI = "99999999";
+  private static final String LOAN_INSERT = "INSERT INTO loan_quotation_trace";
+  private static final String OUTBOX_INSERT = "INSERT INTO audit_outbox";
+  private static final int LOAN_COLUMNS = 11;
+  private static final Duration VERIFY_TIMEOUT = Duration.ofSeconds(5);
+
+  @Mock
+  private DatabaseClient databaseClient;
+
+  @Mock
+  private DatabaseClient.GenericExecuteSpec spec;
+
+  @Mock
+  private FetchSpec<Map<String, Object>> fetchSpec;
+
+  @Mock
+  private TransactionalOperator transactionalOperator;
+
+  @Mock
+  private TraceExchangeRateDimension exchangeRates;
+
+  private final List<Statement> executed = new CopyOnWriteArrayList<>();
+  private volatile Statement current;
+  private volatile Function<Statement, Mono<Long>> database =
+      statement -> Mono.just((long) statement.values().size());
+  private WriteBehindLoanQuotationTraceWriter writer;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    lenient().when(databaseClient.sql(anyString())).thenAnswer(invocation -> {
+      current = new Statement(invocation.getArgument(0), new ArrayList<>());
+      return spec;
+    });
+    lenient().when(spec.bind(anyInt(), any())).thenAnswer(invocation -> {
+      current.values().add(invocation.getArgument(1));
+      return spec;
+    });
+    lenient().when(spec.bindNull(anyInt(), any())).thenAnswer(invocation -> {
+      current.values().add(null);
+      return spec;
+    });
+    lenient().when(spec.fetch()).thenReturn(fetchSpec);
+    lenient().when(fetchSpec.rowsUpdated()).thenAnswer(invocation -> {
+      Statement statement = current;
+      return Mono.defer(() -> {
+        executed.add(statement);
+        return database.apply(statement);
+      });
+    });
+    lenient().when(transactionalOperator.transactional(any(Mono.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    lenient().when(exchangeRates.resolve(anyList())).thenReturn(Mono.empty());
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (writer != null && writer.isRunning()) {
+      writer.stop();
+    }
+  }
+
+  @Test
+  @DisplayName("Should Complete Best Effort Write Once Queued")
+  void shouldCompleteBestEffortWriteOnceQueued() {
+    // Arrange
+    writer = createWriter(8, 2, Durability.BEST_EFFORT, VERIFY_TIMEOUT);
+
+    // Act & Assert
+    StepVerifier.create(writer.write(trace(FIRST_DNI), audit(FIRST_DNI)))
+        .verifyComplete();
+
+    assertTrue(executed.isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should Write Strict Trace In Its Own Transaction")
+  void shouldWriteStrictTraceInItsOwnTransaction() {
+    // Arrange
+    writer = createWriter(8, 2, Durability.STRICT, VERIFY_TIMEOUT);
+    writer.start();
+
+    // Act & Assert
+    StepVerifier.create(writer.write(trace(FIRST_DNI), audit(FIRST_DNI)))
+        .expectComplete()
+        .verify(VERIFY_TIMEOUT);
+
+    List<Statement> loans = executed(LOAN_INSERT);
+    assertEquals(1, loans.size());
+    assertEquals(LOAN_COLUMNS, loans.get(0).values().size());
+    assertTrue(loans.get(0).values().contains(FIRST_DNI));
+    assertEquals(2, executed(OUTBOX_INSERT).get(0).values().size());
+    verify(transactionalOperator, times(1)).transactional(any(Mono.class));
+  }
+
+  @Test
+  @DisplayName("Should Fail Strict Write When The Insert Fails")
+  void shouldFailStrictWriteWhenTheInsertFails() {
+    // Arrange
+    database = statement -> Mono.error(new DataAccessResourceFailureException("Connection lost"));
+    writer = createWriter(8, 2, Durability.STRICT, VERIFY_TIMEOUT);
+
+    // Act & Assert
+    StepVerifier.create(writer.write(trace(FIRST_DNI), audit(FIRST_DNI)))
+        .expectError(DataAccessResourceFailureException.class)
+        .verify(VERIFY_TIMEOUT);
+
+    assertEquals(1, executed(LOAN_INSERT).size());
+  }
+
+  @Test
+  @DisplayName("Should Not Write Strict Trace Later When The Request Gives Up On It")
+  void shouldNotWriteStrictTraceLaterWhenTheRequestGivesUpOnIt() {
+    // Arrange
+    database = statement -> Mono.never();
+    writer = createWriter(8, 2, Durability.STRICT, VERIFY_TIMEOUT);
+    writer.start();
+
+    // Act & Assert
+    StepVerifier.create(writer.write(trace(FIRST_DNI), audit(FIRST_DNI))
+            .timeout(Duration.ofMillis(100)))
+        .expectError(TimeoutException.class)
+        .verify(VERIFY_TIMEOUT);
+    writer.stop();
+
+    assertEquals(1, executed(LOAN_INSERT).size());
+    assertTrue(executed(OUTBOX_INSERT).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should Write Synchronously When Queue Is Full")
+  void shouldWriteSynchronouslyWhenQueueIsFull() {
+    // Arrange
+    writer = createWriter(1, 2, Durability.BEST_EFFORT, VERIFY_TIMEOUT);
+    StepVerifier.create(writer.write(trace(FIRST_DNI), audit(FIRST_DNI)))
+        .verifyComplete();
+
+    // Act & Assert
+    StepVerifier.create(writer.write(trace(SECOND_DNI), audit(SECOND_DNI)))
+        .verifyComplete();
+
+    List<Statement> loans = executed(LOAN_INSERT);
+    assertEquals(1, loans.size());
+    assertEquals(LOAN_COLUMNS, loans.get(0).values().size());
+    assertTrue(loans.get(0).values().contains(SECOND_DNI));
+    assertEquals(1, executed(OUTBOX_INSERT).size());
+  }
+
+  @Test
+  @DisplayName("Should Retry Batch Until Database Recovers")
+  void shouldRetryBatchUntilDatabaseRecovers() {
+    // Arrange
+    AtomicInteger attempts = new AtomicInteger();
+    database = statement -> statement.sql().startsWith(LOAN_INSERT)
+        && attempts.incrementAndGet() <= 2
+        ? Mono.error(new DataAccessResourceFailureException("Connection lost"))
+        : Mono.just(1L);
+    writer = createWriter(8, 2, Durability.BEST_EFFORT, VERIFY_TIMEOUT);
+    writer.start();
+
+    // Act
+    StepVerifier.create(writer.write(trace(FIRST_DNI), audit(FIRST_DNI)))
+        .verifyComplete();
+    writer.stop();
+
+    // Assert
+    assertEquals(3, executed(LOAN_INSERT).size());
+    assertEquals(1, executed(OUTBOX_INSERT).size());
+  }
+
+  @Test
+  @DisplayName("Should Dead Letter Only The Row The Database Rejects")
+  void shouldDeadLetterOnlyTheRowTheDatabaseRejects() {
+    // Arrange
+    database = statement -> statement.values().contains(REJECTED_DNI)
+        ? Mono.error(new DataIntegrityViolationException("Value too long"))
+        : Mono.just(1L);
+    writer = createWriter(8, 4, Durability.BEST_EFFORT, VERIFY_TIMEOUT);
+    writer.start();
+
+    // Act
+    StepVerifier.create(Mono.when(writer.write(trace(FIRST_DNI), audit(FIRST_DNI)),
+            writer.write(trace(SECOND_DNI), audit(SECOND_DNI)),
+            writer.write(trace(THIRD_DNI), audit(THIRD_DNI)),
+            writer.write(trace(REJECTED_DNI), audit(REJECTED_DNI))))
+        .verifyComplete();
+    writer.stop();
+
+    // Assert
+    List<Object> written = executed(LOAN_INSERT).stream()
+        .filter(statement -> !statement.values().contains(REJECTED_DNI))
+        .flatMap(statement -> statement.values().stream())
+        .toList();
+    assertEquals(1, Collections.frequency(written, FIRST_DNI));
+    assertEquals(1, Collections.frequency(written, SECOND_DNI));
+    assertEquals(1, Collections.frequency(written, THIRD_DNI));
+  }
+
+  @Test
+  @DisplayName("Should Dead Letter Unwritten Traces When Shutdown Times Out")
+  void shouldDeadLetterUnwrittenTracesWhenShutdownTimesOut() {
+    // Arrange
+    database = statement -> Mono.error(new DataAccessResourceFailureException("Connection lost"));
+    writer = createWriter(8, 2, Durability.BEST_EFFORT, Duration.ofMillis(200));
+    writer.start();
+    StepVerifier.create(writer.write(trace(FIRST_DNI), audit(FIRST_DNI)))
+        .verifyComplete();
+
+    // Act
+    writer.stop();
+
+    // Assert
+    assertFalse(writer.isRunning());
+    assertFalse(executed(LOAN_INSERT).isEmpty());
+    assertTrue(executed(OUTBOX_INSERT).isEmpty());
+  }
+
+  private WriteBehindLoanQuotationTraceWriter createWriter(int queueCapacity, int batchSize,
+                                                           Durability durability,
+                                                           Duration shutdownTimeout) {
+    return new WriteBehindLoanQuotationTraceWriter(databaseClient, transactionalOperator,
+        new AuditEncoder(AuditFormat.V2, 1), exchangeRates, queueCapacity, batchSize,
+        Duration.ofMillis(200), shutdownTimeout, durability);
+  }
+
+  private List<Statement> executed(String prefix) {
+    return executed.stream().filter(statement -> statement.sql().startsWith(prefix)).toList();
+  }
+
+  private static LoanQuotationTrace trace(String dni) {
+    LoanQuotationTrace trace = new LoanQuotationTrace();
+    trace.setCreatedAt(LocalDateTime.of(2025, 10, 1, 10, 30));
+    trace.setAmountUsdCents(1_000_000L);
+    trace.setAmountPenCents(3_750_000L);
+    trace.setTotalPaymentUsdCents(1_135_428L);
+    trace.setTotalPaymentPenCents(4_257_855L);
+    trace.setExchangeRateId(1);
+    trace.setTermMonths(24);
+    trace.setAnnualInterestRateBps(1250);
+    trace.setDni(dni);
+    return trace;
+  }
+
+  private static AvroAuditV2 audit(String dni) {
+    return AvroAuditV2.newBuilder()
+        .setEventId(AuditEventIds.next())
+        .setQuotationDate(Instant.parse("2025-10-01T15:30:00Z"))
+        .setCustomerDni(dni)
+        .setBuyRate(3.70)
+        .setSellRate(3.75)
+        .setAmountUsd(10000.0)
+        .setAmountPen(37500.0)
+        .setTermMonths(24)
+        .setAnnualInterestRate(12.5)
+        .setMonthlyPaymentPen(1774.04)
+        .build();
+  }
+
+  /**
+   * A statement run on the mocked database.
+   *
+   * @param sql    the statement text
+   * @param values the bound values, in order
+   */
+  private record Statement(String sql, List<Object> values) {
+  }
+
+}
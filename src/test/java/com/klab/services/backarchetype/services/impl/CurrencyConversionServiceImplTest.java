@@ -0,0 +1,200 @@
+package com.klab.services.backarchetype.services.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.klab.core.starter.audit.model.avro.AvroAuditV2;
+import com.klab.services.backarchetype.domain.builder.CurrencyConversionBuilder;
+import com.klab.services.backarchetype.domain.calculator.CurrencyConversionCalculator;
+import com.klab.services.backarchetype.mapper.CurrencyConversionMapperImpl;
+import com.klab.services.backarchetype.mapper.LoanQuotationMapperImpl;
+import com.klab.services.backarchetype.metrics.QuotationMetrics;
+import com.klab.services.backarchetype.proxy.CurrencyExchangeProxy;
+import com.klab.services.backarchetype.repository.CurrencyConversionTraceWriter;
+import com.klab.services.backarchetype.repository.entity.CurrencyConversionTrace;
+import com.klab.services.backarchetype.services.policy.Durability;
+import com.klab.services.model.api.ConversionProduct;
+import com.klab.services.model.api.CurrencyConversionBatchRequest;
+import com.klab.services.model.api.CurrencyConversionBatchResponse;
+import com.klab.services.model.api.CurrencyConversionRequest;
+import com.klab.services.model.api.CurrencyConversionResponse;
+import com.klab.services.thirdparty.currencyexchange.model.CurrencyExchangeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for CurrencyConversionServiceImpl.
+ * <b>Class</b>: CurrencyConversionServiceImplTest
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@ExtendWith(MockitoExtension.class)
+class CurrencyConversionServiceImplTest {
+
+  private static final String TEST_DNI = "12345678";
+
+  @Mock
+  private CurrencyExchangeProxy currencyExchangeProxy;
+
+  @Mock
+  private CurrencyConversionTraceWriter traceWriter;
+
+  @Mock
+  private ServerWebExchange exchange;
+
+  private CurrencyConversionServiceImpl conversionService;
+
+  @BeforeEach
+  void setUp() {
+    conversionService = createService(Durability.STRICT);
+  }
+
+  @Test
+  @DisplayName("Should Convert Savings At Buy Rate And Trace It")
+  void shouldConvertSavingsAtBuyRateAndTraceIt() {
+    // Arrange
+    givenExchangeRate();
+    when(traceWriter.write(any(), any())).thenReturn(Mono.empty());
+    ArgumentCaptor<CurrencyConversionTrace> trace =
+        ArgumentCaptor.forClass(CurrencyConversionTrace.class);
+    ArgumentCaptor<AvroAuditV2> audit = ArgumentCaptor.forClass(AvroAuditV2.class);
+
+    // Act
+    Mono<CurrencyConversionResponse> result = conversionService.convert(
+        ConversionProduct.SAVINGS, Mono.just(request(1000.01)), exchange);
+
+    // Assert
+    StepVerifier.create(result)
+        .assertNext(response -> {
+          assertEquals(3.7125, response.getAppliedRate());
+          assertEquals(3712.54, response.getAmountPen());
+        })
+        .verifyComplete();
+    verify(traceWriter, times(1)).write(trace.capture(), audit.capture());
+    assertEquals(ConversionProduct.SAVINGS.name(), trace.getValue().getProduct());
+    assertEquals(3.7125, trace.getValue().getExchangeRate());
+    assertEquals(1, trace.getValue().getItemCount());
+    assertEquals(ConversionProduct.SAVINGS.getValue(), audit.getValue().getProduct());
+  }
+
+  @Test
+  @DisplayName("Should Convert Credit Card At Sell Rate")
+  void shouldConvertCreditCardAtSellRate() {
+    // Arrange
+    givenExchangeRate();
+    when(traceWriter.write(any(), any())).thenReturn(Mono.empty());
+
+    // Act
+    Mono<CurrencyConversionResponse> result = conversionService.convert(
+        ConversionProduct.CREDIT_CARD, Mono.just(request(1000.01)), exchange);
+
+    // Assert
+    StepVerifier.create(result)
+        .assertNext(response -> {
+          assertEquals(3.7425, response.getAppliedRate());
+          assertEquals(3742.54, response.getAmountPen());
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("Should Convert Batch With One Exchange Rate Call And One Trace Of Totals")
+  void shouldConvertBatchWithOneExchangeRateCallAndOneTraceOfTotals() {
+    // Arrange
+    givenExchangeRate();
+    when(traceWriter.write(any(), any())).thenReturn(Mono.empty());
+    ArgumentCaptor<CurrencyConversionTrace> trace =
+        ArgumentCaptor.forClass(CurrencyConversionTrace.class);
+    CurrencyConversionBatchRequest request =
+        new CurrencyConversionBatchRequest(TEST_DNI, List.of(10.0, 0.01, 2500.5));
+
+    // Act
+    Mono<CurrencyConversionBatchResponse> result = conversionService.convertBatch(
+        ConversionProduct.CREDIT_CARD, Mono.just(request), exchange);
+
+    // Assert
+    StepVerifier.create(result)
+        .assertNext(response -> {
+          assertEquals(List.of(37.43, 0.04, 9358.12), response.getAmountsPen());
+          assertEquals(9395.59, response.getTotalPen());
+        })
+        .verifyComplete();
+    verify(currencyExchangeProxy, times(1)).getCurrencyExchange(TEST_DNI);
+    verify(traceWriter, times(1)).write(trace.capture(), any());
+    assertEquals(3, trace.getValue().getItemCount());
+    assertEquals(2510.51, trace.getValue().getAmountUsd());
+    assertEquals(9395.59, trace.getValue().getAmountPen());
+  }
+
+  @Test
+  @DisplayName("Should Fail Conversion When Strict Trace Write Fails")
+  void shouldFailConversionWhenStrictTraceWriteFails() {
+    // Arrange
+    givenExchangeRate();
+    when(traceWriter.write(any(), any()))
+        .thenReturn(Mono.error(new RuntimeException("Database error")));
+
+    // Act
+    Mono<CurrencyConversionResponse> result = conversionService.convert(
+        ConversionProduct.SAVINGS, Mono.just(request(1000.01)), exchange);
+
+    // Assert
+    StepVerifier.create(result)
+        .expectErrorMessage("Database error")
+        .verify();
+  }
+
+  @Test
+  @DisplayName("Should Return Conversion When Best Effort Trace Write Fails")
+  void shouldReturnConversionWhenBestEffortTraceWriteFails() {
+    // Arrange
+    conversionService = createService(Durability.BEST_EFFORT);
+    givenExchangeRate();
+    when(traceWriter.write(any(), any()))
+        .thenReturn(Mono.error(new RuntimeException("Database error")));
+
+    // Act
+    Mono<CurrencyConversionResponse> result = conversionService.convert(
+        ConversionProduct.SAVINGS, Mono.just(request(1000.01)), exchange);
+
+    // Assert
+    StepVerifier.create(result)
+        .assertNext(response -> assertEquals(3712.54, response.getAmountPen()))
+        .verifyComplete();
+  }
+
+  private CurrencyConversionServiceImpl createService(Durability traceDurability) {
+    return new CurrencyConversionServiceImpl(currencyExchangeProxy, traceWriter,
+        new CurrencyConversionBuilder(new CurrencyConversionCalculator()),
+        new CurrencyConversionMapperImpl(), new LoanQuotationMapperImpl(),
+        new QuotationMetrics(new SimpleMeterRegistry()), traceDurability, Duration.ofSeconds(2));
+  }
+
+  private void givenExchangeRate() {
+    when(currencyExchangeProxy.getCurrencyExchange(TEST_DNI)).thenReturn(Mono.just(
+        new CurrencyExchangeResponse().date(LocalDate.now()).currency("USD")
+            .buyRate(3.7125).sellRate(3.7425).source("SBS")));
+  }
+
+  private static CurrencyConversionRequest request(double amountUsd) {
+    return new CurrencyConversionRequest(TEST_DNI, amountUsd);
+  }
+
+}
@@ -0,0 +1,151 @@
+package com.klab.services.backarchetype.services.impl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.klab.services.backarchetype.services.LoanQuotationService;
+import com.klab.services.model.api.LoanQuotationRequest;
+import com.klab.services.model.api.LoanQuotationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for IdempotentLoanQuotationService.
+ * <b>Class</b>: IdempotentLoanQuotationServiceTest
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@ExtendWith(MockitoExtension.class)
+class IdempotentLoanQuotationServiceTest {
+
+  private static final String TEST_DNI = "12345678";
+  private static final Instant NOW = Instant.parse("2025-10-01T15:00:00Z");
+
+  @Mock
+  private LoanQuotationService delegate;
+
+  private IdempotentLoanQuotationService service;
+  private LoanQuotationResponse response;
+
+  @BeforeEach
+  void setUp() {
+    Clock clock = Clock.fixed(NOW, ZoneId.of("America/Lima"));
+    service = new IdempotentLoanQuotationService(delegate, new SimpleMeterRegistry(), 100, clock);
+    response = new LoanQuotationResponse()
+        .customerDni(TEST_DNI)
+        .validUntil(OffsetDateTime.parse("2025-10-02T15:00:00Z"));
+  }
+
+  @Test
+  @DisplayName("Should Compute Once When Same Request Is Repeated On Same Day")
+  void shouldComputeOnceWhenSameRequestIsRepeatedOnSameDay() {
+    // Arrange
+    when(delegate.quoteLoan(any(), any())).thenReturn(Mono.just(response));
+
+    // Act & Assert
+    StepVerifier.create(service.quoteLoan(Mono.just(createRequest(10000.0)), exchange(null)))
+        .expectNext(response)
+        .verifyComplete();
+    StepVerifier.create(service.quoteLoan(Mono.just(createRequest(10000.0)), exchange(null)))
+        .expectNext(response)
+        .verifyComplete();
+
+    verify(delegate, times(1)).quoteLoan(any(), any());
+  }
+
+  @Test
+  @DisplayName("Should Share One Computation When Duplicates Arrive Concurrently")
+  void shouldShareOneComputationWhenDuplicatesArriveConcurrently() {
+    // Arrange
+    Sinks.One<LoanQuotationResponse> pending = Sinks.one();
+    when(delegate.quoteLoan(any(), any())).thenReturn(pending.asMono());
+    Mono<LoanQuotationResponse> first =
+        service.quoteLoan(Mono.just(createRequest(10000.0)), exchange("retry-1"));
+    Mono<LoanQuotationResponse> second =
+        service.quoteLoan(Mono.just(createRequest(10000.0)), exchange("retry-1"));
+
+    // Act & Assert
+    StepVerifier.create(Mono.zip(first, second))
+        .then(() -> pending.tryEmitValue(response))
+        .expectNextMatches(both -> both.getT1() == response && both.getT2() == response)
+        .verifyComplete();
+
+    verify(delegate, times(1)).quoteLoan(any(), any());
+  }
+
+  @Test
+  @DisplayName("Should Reject Idempotency Key Reused With Different Request")
+  void shouldRejectIdempotencyKeyReusedWithDifferentRequest() {
+    // Arrange
+    when(delegate.quoteLoan(any(), any())).thenReturn(Mono.just(response));
+    StepVerifier.create(service.quoteLoan(Mono.just(createRequest(10000.0)), exchange("key-1")))
+        .expectNext(response)
+        .verifyComplete();
+
+    // Act & Assert
+    StepVerifier.create(service.quoteLoan(Mono.just(createRequest(20000.0)), exchange("key-1")))
+        .expectErrorMatches(error -> error instanceof ResponseStatusException ex
+            && ex.getStatusCode() == HttpStatus.UNPROCESSABLE_ENTITY)
+        .verify();
+
+    verify(delegate, times(1)).quoteLoan(any(), any());
+  }
+
+  @Test
+  @DisplayName("Should Compute Again When Issued Quotation Is No Longer Valid")
+  void shouldComputeAgainWhenIssuedQuotationIsNoLongerValid() {
+    // Arrange
+    response.setValidUntil(OffsetDateTime.parse("2025-10-01T14:00:00Z"));
+    when(delegate.quoteLoan(any(), any())).thenReturn(Mono.just(response));
+
+    // Act & Assert
+    StepVerifier.create(service.quoteLoan(Mono.just(createRequest(10000.0)), exchange(null)))
+        .expectNext(response)
+        .verifyComplete();
+    StepVerifier.create(service.quoteLoan(Mono.just(createRequest(10000.0)), exchange(null)))
+        .expectNext(response)
+        .verifyComplete();
+
+    verify(delegate, times(2)).quoteLoan(any(), any());
+  }
+
+  private ServerWebExchange exchange(String idempotencyKey) {
+    MockServerHttpRequest.BaseBuilder<?> request =
+        MockServerHttpRequest.post("/v1/quotations/loan");
+    if (idempotencyKey != null) {
+      request.header(IdempotentLoanQuotationService.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+    }
+    return MockServerWebExchange.from(request);
+  }
+
+  private LoanQuotationRequest createRequest(double amountUsd) {
+    LoanQuotationRequest loanRequest = new LoanQuotationRequest();
+    loanRequest.setDni(TEST_DNI);
+    loanRequest.setAmountUsd(amountUsd);
+    loanRequest.setTermMonths(24);
+    loanRequest.setAnnualInterestRate(12.5);
+    return loanRequest;
+  }
+
+}
@@ -0,0 +1,210 @@
+package com.klab.services.backarchetype.services.impl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.klab.services.backarchetype.domain.builder.LoanQuotationBuilder;
+import com.klab.services.backarchetype.mapper.LoanQuotationMapper;
+import com.klab.services.backarchetype.proxy.CurrencyExchangeProxy;
+import com.klab.services.backarchetype.repository.LoanQuotationTraceWriter;
+import com.klab.services.model.api.ExchangeRateInfo;
+import com.klab.services.model.api.LoanQuotationBatchResult;
+import com.klab.services.model.api.LoanQuotationBatchResult.StatusEnum;
+import com.klab.services.model.api.LoanQuotationRequest;
+import com.klab.services.model.api.LoanQuotationResponse;
+import com.klab.services.thirdparty.currencyexchange.model.CurrencyExchangeResponse;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.time.Duration;
+import java.util.Comparator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for LoanQuotationBatchServiceImpl.
+ * <b>Class</b>: LoanQuotationBatchServiceImplTest
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@ExtendWith(MockitoExtension.class)
+class LoanQuotationBatchServiceImplTest {
+
+  private static final String FIRST_DNI = "12345678";
+  private static final String SECOND_DNI = "87654321";
+  private static final Validator VALIDATOR =
+      Validation.buildDefaultValidatorFactory().getValidator();
+
+  @Mock
+  private CurrencyExchangeProxy currencyExchangeProxy;
+
+  @Mock
+  private LoanQuotationTraceWriter traceWriter;
+
+  @Mock
+  private LoanQuotationBuilder builder;
+
+  @Mock
+  private LoanQuotationMapper mapper;
+
+  @Mock
+  private ServerWebExchange exchange;
+
+  private LoanQuotationBatchServiceImpl batchService;
+  private CurrencyExchangeResponse currencyExchangeResponse;
+  private ExchangeRateInfo exchangeRateInfo;
+
+  @BeforeEach
+  void setUp() {
+    batchService = new LoanQuotationBatchServiceImpl(currencyExchangeProxy, traceWriter, builder,
+        mapper, VALIDATOR, 4, 10, Duration.ofMillis(50));
+    currencyExchangeResponse = new CurrencyExchangeResponse();
+    exchangeRateInfo = new ExchangeRateInfo();
+  }
+
+  @Test
+  @DisplayName("Should Fetch Exchange Rate Once And Quote Every Item")
+  void shouldFetchExchangeRateOnceAndQuoteEveryItem() {
+    // Arrange
+    LoanQuotationRequest first = createRequest(FIRST_DNI);
+    LoanQuotationRequest second = createRequest(SECOND_DNI);
+    when(currencyExchangeProxy.getCurrencyExchange(FIRST_DNI))
+        .thenReturn(Mono.just(currencyExchangeResponse));
+    when(mapper.toExchangeRateInfo(currencyExchangeResponse))
+        .thenReturn(exchangeRateInfo);
+    when(builder.build(any(), any()))
+        .thenReturn(new LoanQuotationResponse());
+    when(traceWriter.writeAll(anyList(), anyList()))
+        .thenReturn(Mono.empty());
+
+    // Act
+    Flux<LoanQuotationBatchResult> result =
+        batchService.quoteLoanBatch(Flux.just(first, second), exchange);
+
+    // Assert
+    StepVerifier.create(result.map(LoanQuotationBatchResult::getStatus))
+        .expectNext(StatusEnum.OK, StatusEnum.OK)
+        .verifyComplete();
+
+    verify(currencyExchangeProxy, times(1)).getCurrencyExchange(any());
+    verify(traceWriter).writeAll(anyList(), anyList());
+  }
+
+  @Test
+  @DisplayName("Should Report Failure Per Item When Builder Fails")
+  void shouldReportFailurePerItemWhenBuilderFails() {
+    // Arrange
+    LoanQuotationRequest first = createRequest(FIRST_DNI);
+    LoanQuotationRequest second = createRequest(SECOND_DNI);
+    when(currencyExchangeProxy.getCurrencyExchange(FIRST_DNI))
+        .thenReturn(Mono.just(currencyExchangeResponse));
+    when(mapper.toExchangeRateInfo(currencyExchangeResponse))
+        .thenReturn(exchangeRateInfo);
+    when(builder.build(first, exchangeRateInfo))
+        .thenReturn(new LoanQuotationResponse());
+    when(builder.build(second, exchangeRateInfo))
+        .thenThrow(new IllegalArgumentException("Sell rate must not be null"));
+    when(traceWriter.writeAll(anyList(), anyList()))
+        .thenReturn(Mono.empty());
+
+    // Act
+    Flux<LoanQuotationBatchResult> result =
+        batchService.quoteLoanBatch(Flux.just(first, second), exchange);
+
+    // Assert
+    StepVerifier.create(result.sort(Comparator.comparing(LoanQuotationBatchResult::getIndex)))
+        .expectNextMatches(item -> item.getIndex() == 0 && item.getStatus() == StatusEnum.OK)
+        .expectNextMatches(item -> item.getIndex() == 1 && item.getStatus() == StatusEnum.ERROR
+            && "Sell rate must not be null".equals(item.getError().getMessage()))
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("Should Report Every Item As Failed When Exchange Rate Fails")
+  void shouldReportEveryItemAsFailedWhenExchangeRateFails() {
+    // Arrange
+    when(currencyExchangeProxy.getCurrencyExchange(FIRST_DNI))
+        .thenReturn(Mono.error(new RuntimeException("Proxy error")));
+    when(traceWriter.writeAll(anyList(), anyList()))
+        .thenReturn(Mono.empty());
+
+    // Act
+    Flux<LoanQuotationBatchResult> result = batchService.quoteLoanBatch(
+        Flux.just(createRequest(FIRST_DNI), createRequest(SECOND_DNI)), exchange);
+
+    // Assert
+    StepVerifier.create(result.map(LoanQuotationBatchResult::getStatus))
+        .expectNext(StatusEnum.ERROR, StatusEnum.ERROR)
+        .verifyComplete();
+
+    verifyNoInteractions(builder);
+  }
+
+  @Test
+  @DisplayName("Should Report Invalid Item In Its Own Result And Quote The Rest")
+  void shouldReportInvalidItemInItsOwnResultAndQuoteTheRest() {
+    // Arrange
+    LoanQuotationRequest invalid = createRequest("1234");
+    invalid.setTermMonths(null);
+    LoanQuotationRequest valid = createRequest(SECOND_DNI);
+    when(currencyExchangeProxy.getCurrencyExchange(SECOND_DNI))
+        .thenReturn(Mono.just(currencyExchangeResponse));
+    when(mapper.toExchangeRateInfo(currencyExchangeResponse))
+        .thenReturn(exchangeRateInfo);
+    when(builder.build(valid, exchangeRateInfo))
+        .thenReturn(new LoanQuotationResponse());
+    when(traceWriter.writeAll(anyList(), anyList()))
+        .thenReturn(Mono.empty());
+
+    // Act
+    Flux<LoanQuotationBatchResult> result =
+        batchService.quoteLoanBatch(Flux.just(invalid, valid), exchange);
+
+    // Assert
+    StepVerifier.create(result.sort(Comparator.comparing(LoanQuotationBatchResult::getIndex)))
+        .expectNextMatches(item -> item.getIndex() == 0 && item.getStatus() == StatusEnum.ERROR
+            && item.getError().getMessage().startsWith("dni: ")
+            && item.getError().getMessage().contains("; termMonths: "))
+        .expectNextMatches(item -> item.getIndex() == 1 && item.getStatus() == StatusEnum.OK)
+        .verifyComplete();
+
+    verify(currencyExchangeProxy, times(1)).getCurrencyExchange(SECOND_DNI);
+    verify(builder, times(1)).build(any(), any());
+  }
+
+  @Test
+  @DisplayName("Should Complete Without Side Effects When Batch Is Empty")
+  void shouldCompleteWithoutSideEffectsWhenBatchIsEmpty() {
+    // Act
+    Flux<LoanQuotationBatchResult> result = batchService.quoteLoanBatch(Flux.empty(), exchange);
+
+    // Assert
+    StepVerifier.create(result)
+        .verifyComplete();
+
+    verifyNoInteractions(currencyExchangeProxy, traceWriter);
+  }
+
+  private LoanQuotationRequest createRequest(String dni) {
+    LoanQuotationRequest loanRequest = new LoanQuotationRequest();
+    loanRequest.setDni(dni);
+    loanRequest.setAmountUsd(10000.0);
+    loanRequest.setTermMonths(24);
+    loanRequest.setAnnualInterestRate(12.5);
+    return loanRequest;
+  }
+
+}
@@ -0,0 +1,128 @@
+package com.klab.services.backarchetype.services.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.klab.core.starter.audit.model.avro.AvroAuditV2;
+import com.klab.services.backarchetype.domain.builder.LoanQuotationGridBuilder;
+import com.klab.services.backarchetype.domain.calculator.AnnuityFactorTable;
+import com.klab.services.backarchetype.domain.calculator.LoanQuotationGridCalculator;
+import com.klab.services.backarchetype.mapper.LoanQuotationMapperImpl;
+import com.klab.services.backarchetype.metrics.QuotationMetrics;
+import com.klab.services.backarchetype.proxy.CurrencyExchangeProxy;
+import com.klab.services.backarchetype.repository.LoanQuotationTraceWriter;
+import com.klab.services.backarchetype.repository.entity.LoanQuotationTrace;
+import com.klab.services.backarchetype.services.policy.Durability;
+import com.klab.services.model.api.LoanQuotationGridRequest;
+import com.klab.services.model.api.LoanQuotationGridResponse;
+import com.klab.services.thirdparty.currencyexchange.model.CurrencyExchangeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for LoanQuotationGridServiceImpl.
+ * <b>Class</b>: LoanQuotationGridServiceImplTest
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@ExtendWith(MockitoExtension.class)
+class LoanQuotationGridServiceImplTest {
+
+  private static final String TEST_DNI = "12345678";
+  private static final int MAX_CELLS = 100;
+
+  @Mock
+  private CurrencyExchangeProxy currencyExchangeProxy;
+
+  @Mock
+  private LoanQuotationTraceWriter traceWriter;
+
+  @Mock
+  private ServerWebExchange exchange;
+
+  private LoanQuotationGridServiceImpl gridService;
+
+  @BeforeEach
+  void setUp() {
+    LoanQuotationGridBuilder builder = new LoanQuotationGridBuilder(
+        new LoanQuotationGridCalculator(new AnnuityFactorTable(), true));
+    gridService = new LoanQuotationGridServiceImpl(currencyExchangeProxy, traceWriter, builder,
+        new LoanQuotationMapperImpl(), new QuotationMetrics(new SimpleMeterRegistry()),
+        MAX_CELLS, Durability.STRICT, Duration.ofSeconds(2));
+  }
+
+  @Test
+  @DisplayName("Should Quote Grid With One Exchange Rate Call And One Trace Of Largest Cell")
+  void shouldQuoteGridWithOneExchangeRateCallAndOneTraceOfLargestCell() {
+    // Arrange
+    when(currencyExchangeProxy.getCurrencyExchange(TEST_DNI)).thenReturn(Mono.just(
+        new CurrencyExchangeResponse().date(LocalDate.now()).currency("USD")
+            .buyRate(3.7125).sellRate(3.7525).source("SBS")));
+    when(traceWriter.write(any(), any())).thenReturn(Mono.empty());
+    ArgumentCaptor<LoanQuotationTrace> trace = ArgumentCaptor.forClass(LoanQuotationTrace.class);
+    ArgumentCaptor<AvroAuditV2> audit = ArgumentCaptor.forClass(AvroAuditV2.class);
+
+    // Act
+    Mono<LoanQuotationGridResponse> result =
+        gridService.quoteLoanGrid(Mono.just(request(12, 36, 10.5, 14.5)), exchange);
+
+    // Assert
+    StepVerifier.create(result)
+        .assertNext(grid -> {
+          assertEquals(5, grid.getRows().size());
+          assertEquals(14.5, grid.getRows().get(4).getAnnualInterestRate());
+          assertEquals(3, grid.getRows().get(4).getCells().size());
+        })
+        .verifyComplete();
+    verify(currencyExchangeProxy, times(1)).getCurrencyExchange(TEST_DNI);
+    verify(traceWriter, times(1)).write(trace.capture(), audit.capture());
+    assertEquals(36, trace.getValue().getTermMonths());
+    assertEquals(1450, trace.getValue().getAnnualInterestRateBps());
+    assertEquals(LoanQuotationGridServiceImpl.AUDIT_PRODUCT, audit.getValue().getProduct());
+  }
+
+  @Test
+  @DisplayName("Should Reject Grid Larger Than Max Cells With Bad Request")
+  void shouldRejectGridLargerThanMaxCellsWithBadRequest() {
+    // Arrange
+    LoanQuotationGridRequest request = request(6, 60, 5, 30);
+
+    // Act
+    Mono<LoanQuotationGridResponse> result = gridService.quoteLoanGrid(Mono.just(request),
+        exchange);
+
+    // Assert
+    StepVerifier.create(result)
+        .expectErrorMatches(error -> error instanceof ResponseStatusException ex
+            && ex.getStatusCode() == HttpStatus.BAD_REQUEST)
+        .verify();
+    verifyNoInteractions(currencyExchangeProxy, traceWriter);
+  }
+
+  private static LoanQuotationGridRequest request(int termFrom, int termTo, double rateFrom,
+                                                  double rateTo) {
+    return new LoanQuotationGridRequest(TEST_DNI, 10000.0, termFrom, termTo, rateFrom, rateTo)
+        .termMonthsStep(12)
+        .annualInterestRateStep(1.0);
+  }
+
+}
@@ -0,0 +1,100 @@
+package com.klab.services.backarchetype.services.impl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.klab.services.backarchetype.mapper.LoanQuotationMapper;
+import com.klab.services.backarchetype.repository.LoanQuotationTraceReader;
+import com.klab.services.backarchetype.repository.entity.LoanQuotationTrace;
+import com.klab.services.model.api.LoanQuotationHistoryItem;
+import java.time.OffsetDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for LoanQuotationHistoryServiceImpl.
+ * <b>Class</b>: LoanQuotationHistoryServiceImplTest
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+@ExtendWith(MockitoExtension.class)
+class LoanQuotationHistoryServiceImplTest {
+
+  private static final String DNI = "12345678";
+
+  @Mock
+  private LoanQuotationTraceReader traceReader;
+
+  @Mock
+  private LoanQuotationMapper mapper;
+
+  @Mock
+  private ServerWebExchange exchange;
+
+  private LoanQuotationHistoryServiceImpl historyService;
+
+  @BeforeEach
+  void setUp() {
+    historyService = new LoanQuotationHistoryServiceImpl(traceReader, mapper, 100, 500);
+  }
+
+  @Test
+  @DisplayName("Should Map Every Trace Of The Page")
+  void shouldMapEveryTraceOfThePage() {
+    // Arrange
+    LoanQuotationTrace first = new LoanQuotationTrace();
+    LoanQuotationTrace second = new LoanQuotationTrace();
+    LoanQuotationHistoryItem firstItem = new LoanQuotationHistoryItem().id(2L);
+    LoanQuotationHistoryItem secondItem = new LoanQuotationHistoryItem().id(1L);
+    when(traceReader.findPage(DNI, null, null, 100)).thenReturn(Flux.just(first, second));
+    when(mapper.toHistoryItem(first)).thenReturn(firstItem);
+    when(mapper.toHistoryItem(second)).thenReturn(secondItem);
+
+    // Act & Assert
+    StepVerifier.create(historyService.getLoanHistory(DNI, null, null, null, exchange))
+        .expectNext(firstItem, secondItem)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("Should Reject Cursor Without Both Fields")
+  void shouldRejectCursorWithoutBothFields() {
+    // Act & Assert
+    StepVerifier.create(historyService.getLoanHistory(DNI, OffsetDateTime.now(), null, 10,
+            exchange))
+        .expectErrorMatches(error -> error instanceof ResponseStatusException ex
+            && ex.getStatusCode() == HttpStatus.BAD_REQUEST)
+        .verify();
+    verifyNoInteractions(traceReader);
+  }
+
+  @Test
+  @DisplayName("Should Clamp The Page Size To The Maximum")
+  void shouldClampThePageSizeToTheMaximum() {
+    // Arrange
+    when(traceReader.findPage(eq(DNI), any(), eq(7L), eq(500))).thenReturn(Flux.empty());
+
+    // Act
+    StepVerifier.create(historyService.getLoanHistory(DNI, OffsetDateTime.now(), 7L, 10_000,
+            exchange))
+        .verifyComplete();
+
+    // Assert
+    verify(traceReader).findPage(eq(DNI), any(), eq(7L), eq(500));
+  }
+
+}
@@ -1,28 +1,39 @@
 package com.klab.services.backarchetype.services.impl;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.klab.core.starter.audit.model.avro.AvroAuditV2;
+import com.klab.services.backarchetype.domain.builder.AmortizationScheduleBuilder;
 import com.klab.services.backarchetype.domain.builder.LoanQuotationBuilder;
 import com.klab.services.backarchetype.mapper.LoanQuotationMapper;
+import com.klab.services.backarchetype.metrics.QuotationMetrics;
 import com.klab.services.backarchetype.proxy.CurrencyExchangeProxy;
-import com.klab.services.backarchetype.repository.LoanQuotationTraceRepository;
+import com.klab.services.backarchetype.repository.LoanQuotationTraceWriter;
 import com.klab.services.backarchetype.repository.entity.LoanQuotationTrace;
+import com.klab.services.backarchetype.services.policy.Durability;
+import com.klab.services.model.api.AmortizationScheduleRow;
 import com.klab.services.model.api.ExchangeRateInfo;
 import com.klab.services.model.api.LoanQuotationRequest;
 import com.klab.services.model.api.LoanQuotationResponse;
 import com.klab.services.thirdparty.currencyexchange.model.CurrencyExchangeResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeoutException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -39,30 +50,35 @@ class LoanQuotationServiceImplTest {
 
   private static final String TEST_DNI = "12345678";
   private static final Long TRACE_ID = 1L;
+  private static final Duration SIDE_EFFECT_TIMEOUT = Duration.ofSeconds(2);
 
   @Mock
   private CurrencyExchangeProxy currencyExchangeProxy;
 
   @Mock
-  private LoanQuotationTraceRepository traceRepository;
+  private LoanQuotationTraceWriter traceWriter;
 
   @Mock
   private LoanQuotationBuilder builder;
 
+  @Mock
+  private AmortizationScheduleBuilder scheduleBuilder;
+
   @Mock
   private LoanQuotationMapper mapper;
 
   @Mock
   private ServerWebExchange exchange;
 
-  @InjectMocks
   private LoanQuotationServiceImpl loanQuotationService;
+  private MeterRegistry meterRegistry;
 
   private LoanQuotationRequest request;
   private LoanQuotationResponse response;
   private CurrencyExchangeResponse currencyExchangeResponse;
   private ExchangeRateInfo exchangeRateInfo;
   private LoanQuotationTrace trace;
+  private AvroAuditV2 audit;
 
   @BeforeEach
   void setUp() {
@@ -71,6 +87,9 @@ class LoanQuotationServiceImplTest {
     currencyExchangeResponse = new CurrencyExchangeResponse();
     exchangeRateInfo = new ExchangeRateInfo();
     trace = createLoanQuotationTrace();
+    audit = new AvroAuditV2();
+    meterRegistry = new SimpleMeterRegistry();
+    loanQuotationService = createService(Durability.STRICT);
   }
 
   @Test
@@ -85,8 +104,10 @@ class LoanQuotationServiceImplTest {
         .thenReturn(response);
     when(mapper.toTrace(response))
         .thenReturn(trace);
-    when(traceRepository.save(trace))
-        .thenReturn(Mono.just(trace));
+    when(mapper.toAudit(response))
+        .thenReturn(audit);
+    when(traceWriter.write(trace, audit))
+        .thenReturn(Mono.empty());
 
     // Act
     Mono<LoanQuotationResponse> result =
@@ -101,7 +122,7 @@ class LoanQuotationServiceImplTest {
     verify(mapper).toExchangeRateInfo(currencyExchangeResponse);
     verify(builder).build(request, exchangeRateInfo);
     verify(mapper).toTrace(response);
-    verify(traceRepository).save(trace);
+    verify(traceWriter).write(trace, audit);
   }
 
   @Test
@@ -118,7 +139,7 @@ class LoanQuotationServiceImplTest {
         .expectError(NullPointerException.class)
         .verify();
 
-    verifyNoInteractions(currencyExchangeProxy, mapper, builder, traceRepository);
+    verifyNoInteractions(currencyExchangeProxy, mapper, builder, traceWriter);
   }
 
   @Test
@@ -136,7 +157,7 @@ class LoanQuotationServiceImplTest {
         .expectError(RuntimeException.class)
         .verify();
 
-    verifyNoInteractions(currencyExchangeProxy, mapper, builder, traceRepository);
+    verifyNoInteractions(currencyExchangeProxy, mapper, builder, traceWriter);
   }
 
   @Test
@@ -157,7 +178,7 @@ class LoanQuotationServiceImplTest {
         .verify();
 
     verify(currencyExchangeProxy).getCurrencyExchange(TEST_DNI);
-    verifyNoInteractions(builder, traceRepository);
+    verifyNoInteractions(builder, traceWriter);
     verify(mapper, never()).toExchangeRateInfo(any());
   }
 
@@ -202,7 +223,7 @@ class LoanQuotationServiceImplTest {
 
     verify(currencyExchangeProxy).getCurrencyExchange(TEST_DNI);
     verify(mapper).toExchangeRateInfo(currencyExchangeResponse);
-    verifyNoInteractions(builder, traceRepository);
+    verifyNoInteractions(builder, traceWriter);
   }
 
   @Test
@@ -229,7 +250,7 @@ class LoanQuotationServiceImplTest {
     verify(currencyExchangeProxy).getCurrencyExchange(TEST_DNI);
     verify(mapper).toExchangeRateInfo(currencyExchangeResponse);
     verify(builder).build(request, exchangeRateInfo);
-    verifyNoInteractions(traceRepository);
+    verifyNoInteractions(traceWriter);
   }
 
   @Test
@@ -259,12 +280,12 @@ class LoanQuotationServiceImplTest {
     verify(mapper).toExchangeRateInfo(currencyExchangeResponse);
     verify(builder).build(request, exchangeRateInfo);
     verify(mapper).toTrace(response);
-    verifyNoInteractions(traceRepository);
+    verifyNoInteractions(traceWriter);
   }
 
   @Test
-  @DisplayName("Should Propagate Error When Repository Save Fails")
-  void shouldPropagateErrorWhenRepositorySaveFails() {
+  @DisplayName("Should Propagate Error When Trace Writer Fails")
+  void shouldPropagateErrorWhenTraceWriterFails() {
     // Arrange
     RuntimeException expectedException = new RuntimeException("Database error");
     when(currencyExchangeProxy.getCurrencyExchange(TEST_DNI))
@@ -275,8 +296,10 @@ class LoanQuotationServiceImplTest {
         .thenReturn(response);
     when(mapper.toTrace(response))
         .thenReturn(trace);
-    when(traceRepository.save(trace))
-        .thenReturn(Mono.error(expectedException));
+    when(mapper.toAudit(response))
+        .thenReturn(audit);
+    when(traceWriter.write(trace, audit))
+        .thenReturn(Mono.delay(Duration.ofMillis(10)).then(Mono.error(expectedException)));
 
     // Act
     Mono<LoanQuotationResponse> result =
@@ -287,13 +310,14 @@ class LoanQuotationServiceImplTest {
         .expectError(RuntimeException.class)
         .verify();
 
-    verify(traceRepository).save(trace);
+    verify(traceWriter).write(trace, audit);
   }
 
   @Test
-  @DisplayName("Should Throw NullPointerException When Repository Save Returns Empty")
-  void shouldThrowNullPointerExceptionWhenRepositorySaveReturnsEmpty() {
+  @DisplayName("Should Return Response When Best Effort Trace Writer Fails")
+  void shouldReturnResponseWhenBestEffortTraceWriterFails() {
     // Arrange
+    loanQuotationService = createService(Durability.BEST_EFFORT);
     when(currencyExchangeProxy.getCurrencyExchange(TEST_DNI))
         .thenReturn(Mono.just(currencyExchangeResponse));
     when(mapper.toExchangeRateInfo(currencyExchangeResponse))
@@ -302,8 +326,10 @@ class LoanQuotationServiceImplTest {
         .thenReturn(response);
     when(mapper.toTrace(response))
         .thenReturn(trace);
-    when(traceRepository.save(trace))
-        .thenReturn(Mono.empty());
+    when(mapper.toAudit(response))
+        .thenReturn(audit);
+    when(traceWriter.write(trace, audit))
+        .thenReturn(Mono.error(new RuntimeException("Database error")));
 
     // Act
     Mono<LoanQuotationResponse> result =
@@ -311,10 +337,106 @@ class LoanQuotationServiceImplTest {
 
     // Assert
     StepVerifier.create(result)
-        .expectError(NullPointerException.class)
+        .expectNext(response)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("Should Fail With Timeout When Strict Trace Does Not Complete")
+  void shouldFailWithTimeoutWhenStrictTraceDoesNotComplete() {
+    // Arrange
+    when(currencyExchangeProxy.getCurrencyExchange(TEST_DNI))
+        .thenReturn(Mono.just(currencyExchangeResponse));
+    when(mapper.toExchangeRateInfo(currencyExchangeResponse))
+        .thenReturn(exchangeRateInfo);
+    when(builder.build(request, exchangeRateInfo))
+        .thenReturn(response);
+    when(mapper.toTrace(response))
+        .thenReturn(trace);
+    when(mapper.toAudit(response))
+        .thenReturn(audit);
+    when(traceWriter.write(trace, audit))
+        .thenReturn(Mono.never());
+
+    // Act & Assert
+    StepVerifier.withVirtualTime(() -> loanQuotationService.quoteLoan(Mono.just(request),
+            exchange))
+        .expectSubscription()
+        .thenAwait(SIDE_EFFECT_TIMEOUT)
+        .expectError(TimeoutException.class)
         .verify();
+  }
+
+  @Test
+  @DisplayName("Should Stream Loan Schedule Without Exchange Rate Or Side Effects")
+  void shouldStreamLoanScheduleWithoutExchangeRateOrSideEffects() {
+    // Arrange
+    AmortizationScheduleRow first = new AmortizationScheduleRow(1, 473.07, 104.17, 368.90,
+        9631.10);
+    AmortizationScheduleRow second = new AmortizationScheduleRow(2, 473.07, 100.32, 372.75,
+        9258.35);
+    when(scheduleBuilder.build(request))
+        .thenReturn(Flux.just(first, second));
+
+    // Act
+    Flux<AmortizationScheduleRow> result =
+        loanQuotationService.getLoanSchedule(Mono.just(request), exchange);
+
+    // Assert
+    StepVerifier.create(result)
+        .expectNext(first, second)
+        .verifyComplete();
+
+    verifyNoInteractions(currencyExchangeProxy, traceWriter);
+  }
+
+  @Test
+  @DisplayName("Should Record Stage Timers And Errors By Type")
+  void shouldRecordStageTimersAndErrorsByType() {
+    // Arrange
+    when(currencyExchangeProxy.getCurrencyExchange(TEST_DNI))
+        .thenReturn(Mono.just(currencyExchangeResponse));
+    when(mapper.toExchangeRateInfo(currencyExchangeResponse))
+        .thenReturn(exchangeRateInfo);
+    when(builder.build(request, exchangeRateInfo))
+        .thenReturn(response);
+    when(mapper.toTrace(response))
+        .thenReturn(trace);
+    when(mapper.toAudit(response))
+        .thenReturn(audit);
+    when(traceWriter.write(trace, audit))
+        .thenReturn(Mono.error(new IllegalStateException("Database down")));
+
+    // Act
+    Mono<LoanQuotationResponse> result =
+        loanQuotationService.quoteLoan(Mono.just(request), exchange);
+
+    // Assert
+    StepVerifier.create(result)
+        .expectError(IllegalStateException.class)
+        .verify();
+
+    assertEquals(1L, stageCount("exchange-rate", "success"));
+    assertEquals(1L, stageCount("process", "success"));
+    assertEquals(1L, stageCount("trace", "error"));
+    assertEquals(1L, stageCount("request", "error"));
+    assertEquals(1.0, meterRegistry.get(QuotationMetrics.ERROR_COUNTER)
+        .tag("stage", "trace")
+        .tag("exception", "IllegalStateException")
+        .counter().count());
+  }
+
+  private long stageCount(String stage, String outcome) {
+    return meterRegistry.get(QuotationMetrics.STAGE_TIMER)
+        .tag("stage", stage)
+        .tag("outcome", outcome)
+        .timer().count();
+  }
 
-    verify(traceRepository).save(trace);
+  private LoanQuotationServiceImpl createService(Durability traceDurability) {
+    return new LoanQuotationServiceImpl(currencyExchangeProxy, traceWriter, builder,
+        scheduleBuilder, mapper, new QuotationMetrics(meterRegistry), traceDurability,
+        SIDE_EFFECT_TIMEOUT);
   }
 
   private LoanQuotationRequest createLoanQuotationRequest() {
@@ -326,6 +448,8 @@ class LoanQuotationServiceImplTest {
   private LoanQuotationResponse createLoanQuotationResponse() {
     LoanQuotationResponse loanResponse = new LoanQuotationResponse();
     loanResponse.setCustomerDni(TEST_DNI);
+    loanResponse.setExchangeRate(new ExchangeRateInfo().buyRate(3.72).sellRate(3.75));
+    loanResponse.setQuotationDate(OffsetDateTime.now());
     return loanResponse;
   }
 
@@ -0,0 +1,101 @@
+package com.klab.services.expose.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.klab.services.backarchetype.concurrent.GradientConcurrencyLimit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for ConcurrencyLimitWebFilter.
+ * <b>Class</b>: ConcurrencyLimitWebFilterTest
+ * <b>Company</b>: Klab
+ *
+ * @author Klab Dev Team
+ */
+
+class ConcurrencyLimitWebFilterTest {
+
+  private static final String LOAN_PATH = "/v1/quotations/loan";
+  private static final String BATCH_PATH = "/v1/quotations/loan/batch";
+
+  private final WebFilterChain pending = exchange -> Mono.never();
+  private final Disposable.Composite requests = Disposables.composite();
+
+  private SimpleMeterRegistry meterRegistry;
+  private ConcurrencyLimitWebFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    filter = new ConcurrencyLimitWebFilter(new GradientConcurrencyLimit(4, 4, 4, 10, 0.2, 1.5),
+        meterRegistry, List.of("/v1/quotations/**"), List.of(BATCH_PATH), 0.5,
+        Duration.ofSeconds(2));
+  }
+
+  @AfterEach
+  void tearDown() {
+    requests.dispose();
+  }
+
+  @Test
+  @DisplayName("Should Reject With Service Unavailable And Retry After Beyond Limit")
+  void shouldRejectWithServiceUnavailableAndRetryAfterBeyondLimit() {
+    // Arrange
+    for (int request = 0; request < 4; request++) {
+      requests.add(filter.filter(exchange(LOAN_PATH), pending).subscribe());
+    }
+    MockServerWebExchange exchange = exchange(LOAN_PATH);
+
+    // Act
+    StepVerifier.create(filter.filter(exchange, pending))
+        .verifyComplete();
+
+    // Assert
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exchange.getResponse().getStatusCode());
+    assertEquals("2", exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    assertEquals(1.0, meterRegistry.get("quotation.concurrency.rejected")
+        .tag("lane", "interactive").counter().count());
+  }
+
+  @Test
+  @DisplayName("Should Keep Capacity For Interactive Requests When Bulk Lane Is Full")
+  void shouldKeepCapacityForInteractiveRequestsWhenBulkLaneIsFull() {
+    // Arrange
+    for (int request = 0; request < 2; request++) {
+      requests.add(filter.filter(exchange(BATCH_PATH), pending).subscribe());
+    }
+    MockServerWebExchange bulk = exchange(BATCH_PATH);
+    MockServerWebExchange interactive = exchange(LOAN_PATH);
+
+    // Act
+    StepVerifier.create(filter.filter(bulk, pending))
+        .verifyComplete();
+    requests.add(filter.filter(interactive, pending).subscribe());
+
+    // Assert
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, bulk.getResponse().getStatusCode());
+    assertNull(interactive.getResponse().getStatusCode());
+    assertEquals(3.0, meterRegistry.get("quotation.concurrency.in-flight").gauge().value());
+  }
+
+  private static MockServerWebExchange exchange(String path) {
+    return MockServerWebExchange.from(MockServerHttpRequest.post(path));
+  }
+
+}